@@ -0,0 +1,121 @@
+package benchmarks;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import model.CalendarInstance;
+import model.EventStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the creation operations of {@link CalendarInstance} at several calendar
+ * sizes.
+ *
+ * <p>Every call adds a new event or series, so the calendar is rebuilt at every
+ * iteration and each iteration times a fixed batch of {@value #BATCH} creations. A
+ * calendar therefore never holds more than {@value #BATCH} extra events or series, and
+ * the scores are for a whole batch at the size given by {@code size}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = CalendarCreateBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = CalendarCreateBenchmark.BATCH)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CalendarCreateBenchmark {
+
+  /**
+   * Creations timed per iteration.
+   */
+  static final int BATCH = 20;
+
+  /**
+   * Number of single events in the calendar.
+   */
+  @Param({"1000", "100000", "1000000"})
+  public int size;
+
+  private CalendarInstance calendar;
+  private LocalDateTime middle;
+  private Set<DayOfWeek> weekdays;
+  private int counter;
+
+  /**
+   * Prepares the values shared by every iteration of a trial.
+   */
+  @Setup
+  public void setUp() {
+    middle = CalendarFixture.middle(size);
+    weekdays = EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+  }
+
+  /**
+   * Starts every iteration from a freshly built calendar of the benchmarked size.
+   */
+  @Setup(Level.Iteration)
+  public void resetCalendar() {
+    calendar = CalendarFixture.create(size);
+    counter = 0;
+  }
+
+  /**
+   * Creates a single timed event.
+   */
+  @Benchmark
+  public boolean createEvent() {
+    LocalDateTime start = middle.plusSeconds(++counter);
+    return calendar.createEvent("Created", start, start.plusMinutes(30));
+  }
+
+  /**
+   * Creates a series limited by an occurrence count.
+   */
+  @Benchmark
+  public boolean createEventSeries() {
+    return calendar.createEventSeries("Series " + (++counter), middle, middle.plusHours(1),
+            weekdays, 100, null, null, EventStatus.PUBLIC, counter);
+  }
+
+  /**
+   * Creates a series running for ten years.
+   */
+  @Benchmark
+  public boolean createEventSeriesUntil() {
+    return calendar.createEventSeriesUntil("Series " + (++counter), middle,
+            middle.plusHours(1), weekdays, middle.toLocalDate().plusYears(10),
+            null, null, EventStatus.PUBLIC, counter);
+  }
+
+  /**
+   * Creates an all-day series limited by an occurrence count.
+   */
+  @Benchmark
+  public boolean createAllDayEventSeries() {
+    return calendar.createAllDayEventSeries("All Day " + (++counter), middle.toLocalDate(),
+            weekdays, 100, null, null, EventStatus.PUBLIC, counter);
+  }
+
+  /**
+   * Creates an all-day series running for ten years.
+   */
+  @Benchmark
+  public boolean createAllDayEventSeriesUntil() {
+    return calendar.createAllDayEventSeriesUntil("All Day " + (++counter),
+            middle.toLocalDate(), weekdays, middle.toLocalDate().plusYears(10),
+            null, null, EventStatus.PUBLIC, counter);
+  }
+}
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+
+import model.CalendarInstance;
+import model.EventStatus;
+
+/**
+ * Builds calendars of a given size for the benchmarks.
+ * Events are laid out every 37 minutes from {@link #BASE}, which gives roughly 39 events
+ * per day with no two events sharing a start time, plus one weekly series that the
+ * series-edit benchmarks work on.
+ */
+final class CalendarFixture {
+
+  /**
+   * Start time of the first generated event.
+   */
+  static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 6, 0, 0);
+
+  /**
+   * Minutes between consecutive generated events.
+   */
+  static final int SPACING_MINUTES = 37;
+
+  /**
+   * Subject of the weekly series added to every fixture calendar.
+   */
+  static final String SERIES_SUBJECT = "Weekly Sync";
+
+  private CalendarFixture() {
+  }
+
+  /**
+   * Creates a calendar holding {@code size} single events and one weekly series.
+   *
+   * @param size number of single events to create
+   * @return the populated calendar
+   */
+  static CalendarInstance create(int size) {
+    CalendarInstance calendar = new CalendarInstance("bench", ZoneId.of("UTC"));
+    for (int i = 0; i < size; i++) {
+      LocalDateTime start = startOf(i);
+      calendar.createEvent("Event " + (i % 1000), start, start.plusMinutes(30),
+              null, "Room " + (i % 20), EventStatus.PUBLIC);
+    }
+    LocalDateTime seriesStart = BASE.withHour(7).withMinute(1);
+    calendar.createEventSeries(SERIES_SUBJECT, seriesStart, seriesStart.plusHours(1),
+            EnumSet.of(DayOfWeek.MONDAY), 52, null, null, EventStatus.PUBLIC, 0);
+    return calendar;
+  }
+
+  /**
+   * Gets the start time of the i-th generated event.
+   *
+   * @param i index of the event
+   * @return its start time
+   */
+  static LocalDateTime startOf(int i) {
+    return BASE.plusMinutes((long) i * SPACING_MINUTES);
+  }
+
+  /**
+   * Gets a time near the middle of the generated events.
+   *
+   * @param size number of generated events
+   * @return the middle start time
+   */
+  static LocalDateTime middle(int size) {
+    return startOf(size / 2);
+  }
+}
@@ -0,0 +1,98 @@
+package benchmarks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import model.CalendarInstance;
+import model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the query and edit operations of {@link CalendarInstance} at several
+ * calendar sizes. None of them adds events, so the calendar keeps its size for the whole
+ * run; creation is measured by {@link CalendarCreateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CalendarInstanceBenchmark {
+
+  /**
+   * Number of single events in the calendar.
+   */
+  @Param({"1000", "100000", "1000000"})
+  public int size;
+
+  private CalendarInstance calendar;
+  private LocalDateTime middle;
+  private String middleSubject;
+  private int counter;
+
+  /**
+   * Builds the calendar for one trial.
+   */
+  @Setup
+  public void setUp() {
+    calendar = CalendarFixture.create(size);
+    middle = CalendarFixture.middle(size);
+    middleSubject = "Event " + ((size / 2) % 1000);
+    counter = 0;
+  }
+
+  /**
+   * Lists the events on one day.
+   */
+  @Benchmark
+  public List<Event> getEventsOnDate() {
+    return calendar.getEventsOnDate(middle.toLocalDate());
+  }
+
+  /**
+   * Lists the events in a one-week range.
+   */
+  @Benchmark
+  public List<Event> getEventsInRange() {
+    return calendar.getEventsInRange(middle, middle.plusDays(7));
+  }
+
+  /**
+   * Checks whether the calendar is busy at one instant.
+   */
+  @Benchmark
+  public boolean isBusy() {
+    return calendar.isBusy(middle.plusMinutes(10));
+  }
+
+  /**
+   * Looks up one event by subject and start time.
+   */
+  @Benchmark
+  public Event findEventBySubjectAndStart() {
+    return calendar.findEventBySubjectAndStart(middleSubject, middle);
+  }
+
+  /**
+   * Edits the location of every event in a 52-week series.
+   */
+  @Benchmark
+  public boolean editEntireSeries() {
+    LocalDate firstMonday = CalendarFixture.BASE.toLocalDate();
+    return calendar.editEntireSeries("location", CalendarFixture.SERIES_SUBJECT,
+            firstMonday.atTime(7, 1), (++counter & 1) == 0 ? "Room A" : "Room B");
+  }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import controller.CalendarCommand;
+import controller.CommandParser;
+import controller.CommandSyntaxException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for selecting and parsing text commands with {@link CommandParser}.
+ *
+ * <p>There is one command line per kind of command, listed in the order the old
+ * {@code startsWith} chains tested them. {@code dispatch} times only the keyword lookup,
+ * which should cost about the same for every line whatever its position in that order;
+ * {@code parse} adds each command's own grammar and argument conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandDispatchBenchmark {
+
+  /**
+   * The command line to dispatch.
+   */
+  @Param({
+      "create calendar --name work --timezone America/New_York",
+      "edit calendar --name work --property timezone Europe/Paris",
+      "use calendar --name work",
+      "copy event Standup on 2025-05-05T09:00 --target home to 2025-05-06T09:00",
+      "copy events on 2025-05-05 --target home to 2025-05-06",
+      "copy events between 2025-05-05 and 2025-05-09 --target home to 2025-06-02",
+      "list calendars",
+      "current calendar",
+      "create event Standup from 2025-05-05T09:00 to 2025-05-05T09:15",
+      "edit event location Standup from 2025-05-05T09:00 to 2025-05-05T09:15 with Lab",
+      "print events on 2025-05-05",
+      "show status 2025-05-05T09:30"
+  })
+  public String line;
+
+  /**
+   * Selects the command from the line's leading keywords.
+   */
+  @Benchmark
+  public CalendarCommand.Kind dispatch() {
+    return CommandParser.kindOf(line);
+  }
+
+  /**
+   * Parses the whole line into a typed command.
+   *
+   * @throws CommandSyntaxException never, as every line is valid
+   */
+  @Benchmark
+  public CalendarCommand parse() throws CommandSyntaxException {
+    return CommandParser.parse(line);
+  }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import model.CalendarInstance;
+import model.EventCopyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link EventCopyService#copyEventsInRange} copying one week of events
+ * out of calendars of several sizes into a calendar in another timezone.
+ *
+ * <p>Each call copies to a new target week, so every copy inserts fresh events instead of
+ * being rejected as duplicates. The target calendar is emptied at every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EventCopyBenchmark {
+
+  /**
+   * Number of single events in the source calendar.
+   */
+  @Param({"1000", "100000", "1000000"})
+  public int size;
+
+  private EventCopyService copyService;
+  private CalendarInstance source;
+  private CalendarInstance target;
+  private LocalDate weekStart;
+  private int counter;
+
+  /**
+   * Builds the source calendar for one trial.
+   */
+  @Setup
+  public void setUp() {
+    copyService = new EventCopyService();
+    source = CalendarFixture.create(size);
+    weekStart = CalendarFixture.middle(size).toLocalDate();
+  }
+
+  /**
+   * Starts every iteration with an empty target calendar.
+   */
+  @Setup(Level.Iteration)
+  public void resetTarget() {
+    target = new CalendarInstance("target", ZoneId.of("Asia/Tokyo"));
+    counter = 0;
+  }
+
+  /**
+   * Copies one week of events.
+   */
+  @Benchmark
+  public boolean copyEventsInRange() {
+    return copyService.copyEventsInRange(weekStart, weekStart.plusDays(6), source, target,
+            LocalDate.of(2000, 1, 3).plusWeeks(++counter));
+  }
+}
@@ -0,0 +1,89 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import model.CalendarManager;
+import model.CalendarSnapshot;
+import model.EventStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for loading a {@link CalendarSnapshot}, the startup cost of a persistent
+ * manager whose log has been compacted.
+ *
+ * <p>Loads are timed one at a time, each in its own fork with only a few warmup loads,
+ * to stay close to a cold start. The snapshot holds the same events as the other
+ * benchmarks' fixture calendars.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 3, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SnapshotBenchmark {
+
+  /**
+   * Number of single events in the snapshot.
+   */
+  @Param({"1000", "100000", "1000000"})
+  public int size;
+
+  private Path file;
+
+  /**
+   * Writes the snapshot for one trial.
+   *
+   * @throws IOException if the snapshot cannot be written
+   */
+  @Setup
+  public void setUp() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("bench", ZoneId.of("UTC"));
+    manager.useCalendar("bench");
+    for (int i = 0; i < size; i++) {
+      LocalDateTime start = CalendarFixture.startOf(i);
+      manager.createEvent("Event " + (i % 1000), start, start.plusMinutes(30), null,
+              "Room " + (i % 20), EventStatus.PUBLIC);
+    }
+    file = Files.createTempFile("calendars", ".snapshot");
+    CalendarSnapshot.write(manager, file);
+  }
+
+  /**
+   * Deletes the snapshot after the trial.
+   *
+   * @throws IOException if the snapshot cannot be deleted
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  /**
+   * Loads every calendar in the snapshot.
+   *
+   * @return the loaded manager
+   * @throws IOException if the snapshot cannot be read
+   */
+  @Benchmark
+  public CalendarManager load() throws IOException {
+    return CalendarSnapshot.load(file);
+  }
+}
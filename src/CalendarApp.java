@@ -1,16 +1,22 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Scanner;
 
 import controller.CalendarCommandHandler;
 import controller.CalendarGUIController;
+import controller.CalendarServer;
+import controller.HeadlessScriptRunner;
 import model.CalendarManager;
+import view.BufferedOutputSink;
 import javax.swing.SwingUtilities;
 
 /**
  * Enhanced Main application class for the Calendar Application.
- * Now supports interactive, headless, and GUI modes with proper MVC architecture.
+ * Now supports interactive, headless, GUI, and HTTP server modes with proper MVC architecture.
  * Uses dependency injection and interface-based design for better testability.
+ *
+ * <p>When the {@code calendar.log} system property names a file, every mode keeps its
+ * calendars in that write-ahead log and restores them from it on startup.
  */
 public class CalendarApp {
 
@@ -48,6 +54,12 @@ public class CalendarApp {
           }
           runGUIMode();
           break;
+        case "server":
+          if (args.length > 3) {
+            printUsageAndExit();
+          }
+          runServerMode(args.length == 3 ? args[2] : "8080");
+          break;
         default:
           printUsageAndExit();
       }
@@ -69,62 +81,92 @@ public class CalendarApp {
             "- Run headless mode with script file");
     System.err.println("  java -jar Calendar.jar --mode gui                " +
             "- Launch GUI mode");
+    System.err.println("  java -jar Calendar.jar --mode server [port]      " +
+            "- Serve calendars over HTTP (default port 8080)");
     System.exit(1);
   }
 
+  /**
+   * Creates the calendar manager for a run: a persistent one restored from the log named
+   * by the {@code calendar.log} system property, or an in-memory one if it is not set.
+   *
+   * @return the calendar manager
+   */
+  private static CalendarManager newCalendarManager() {
+    String logFile = System.getProperty("calendar.log");
+    if (logFile == null) {
+      return new CalendarManager();
+    }
+    try {
+      return CalendarManager.open(Paths.get(logFile));
+    } catch (IOException e) {
+      System.err.println("Error opening calendar log: " + e.getMessage());
+      System.exit(1);
+      return null;
+    }
+  }
+
   /**
    * Runs the application in interactive mode using the original MVC architecture.
    */
   private static void runInteractiveMode() {
-    CalendarManager calendarManager = new CalendarManager();
-    CalendarCommandHandler commandHandler = new CalendarCommandHandler(calendarManager);
+    CalendarManager calendarManager = newCalendarManager();
+    CalendarCommandHandler commandHandler = new CalendarCommandHandler(calendarManager,
+            new Scanner(System.in), new BufferedOutputSink(System.out));
 
     commandHandler.startCommandLoop();
   }
 
   /**
-   * Runs the application in headless mode using the original MVC architecture.
+   * Runs the application in headless mode using the original MVC architecture. Commands
+   * are parsed in parallel ahead of the model and applied in file order.
    *
    * @param filename commands file name
    */
   private static void runHeadlessMode(String filename) {
-    CalendarManager calendarManager = new CalendarManager();
-    CalendarCommandHandler commandHandler = new CalendarCommandHandler(calendarManager);
-
-    try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-      String line;
-      boolean foundExit = false;
+    CalendarManager calendarManager = newCalendarManager();
+    CalendarCommandHandler commandHandler = new CalendarCommandHandler(calendarManager,
+            new Scanner(System.in), new BufferedOutputSink(System.out));
 
-      while ((line = reader.readLine()) != null) {
-        line = line.trim();
-        if (line.isEmpty() || line.startsWith("#")) {
-          continue;
-        }
-
-        // Check for exit BEFORE processing the command
-        if (line.equalsIgnoreCase("exit")) {
-          foundExit = true;
-          System.out.println("Goodbye!");
-          break;
-        }
+    HeadlessScriptRunner runner = new HeadlessScriptRunner(commandHandler);
 
-        boolean result = commandHandler.processCommand(line);
-        if (!result) {
-          System.err.println("Command failed: " + line);
-        }
-      }
-
-      if (!foundExit) {
+    try {
+      if (!runner.run(Paths.get(filename))) {
         System.err.println("Error: Commands file must end with 'exit' command.");
         System.exit(1);
       }
-
     } catch (IOException e) {
       System.err.println("Error reading commands file: " + e.getMessage());
       System.exit(1);
     }
   }
 
+  /**
+   * Runs the application as an HTTP server. The server's request threads keep the
+   * application running until the process is stopped.
+   *
+   * @param portArg the port to listen on
+   */
+  private static void runServerMode(String portArg) {
+    int port;
+    try {
+      port = Integer.parseInt(portArg);
+    } catch (NumberFormatException e) {
+      printUsageAndExit();
+      return;
+    }
+
+    CalendarServer server = new CalendarServer(newCalendarManager(), port);
+    try {
+      server.start();
+    } catch (IOException e) {
+      System.err.println("Error starting server: " + e.getMessage());
+      System.exit(1);
+    }
+    Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+    System.out.println("Calendar server listening on port " + server.getPort() + ".");
+  }
+
   /**
    * Runs the application in GUI mode using the new multi-calendar architecture.
    * Uses SwingUtilities.invokeLater to ensure thread safety with Swing components.
@@ -141,7 +183,7 @@ public class CalendarApp {
                   e.getMessage());
         }
 
-        CalendarManager calendarManager = new CalendarManager();
+        CalendarManager calendarManager = newCalendarManager();
 
         CalendarGUIController guiController = new CalendarGUIController(calendarManager);
         guiController.startGUI();
@@ -1,5 +1,8 @@
+import java.util.Scanner;
+
 import controller.CalendarCommandHandler;
 import model.CalendarManager;
+import view.BufferedOutputSink;
 
 /**
  * Main class for the enhanced calendar application with multi-calendar support.
@@ -19,7 +22,8 @@ public class CalendarMain {
   public static void main(String[] args) {
     CalendarManager calendarManager = new CalendarManager();
 
-    CalendarCommandHandler commandHandler = new CalendarCommandHandler(calendarManager);
+    CalendarCommandHandler commandHandler = new CalendarCommandHandler(calendarManager,
+            new Scanner(System.in), new BufferedOutputSink(System.out));
 
     commandHandler.startCommandLoop();
   }
@@ -0,0 +1,495 @@
+package controller;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import model.OccurrenceGenerator;
+
+/**
+ * A parsed text command, as produced by {@link CommandParser}.
+ * Each kind of command has its own subclass holding its arguments already converted to
+ * dates, numbers, and weekday sets, so controllers only check and execute them.
+ */
+public abstract class CalendarCommand {
+
+  /**
+   * The kinds of commands the parser recognizes.
+   */
+  public enum Kind {
+    CREATE_CALENDAR,
+    EDIT_CALENDAR,
+    USE_CALENDAR,
+    LIST_CALENDARS,
+    CURRENT_CALENDAR,
+    CREATE_EVENT,
+    EDIT_EVENT,
+    PRINT_EVENTS,
+    SHOW_STATUS,
+    COPY_EVENT,
+    COPY_EVENTS_ON,
+    COPY_EVENTS_BETWEEN,
+    FIND_FREE_SLOTS,
+    HELP,
+    EXIT
+  }
+
+  private final Kind kind;
+
+  /**
+   * Creates a command of the given kind.
+   *
+   * @param kind the kind of command
+   */
+  protected CalendarCommand(Kind kind) {
+    this.kind = kind;
+  }
+
+  /**
+   * Gets the kind of this command.
+   *
+   * @return the kind
+   */
+  public Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * A command without arguments: list calendars, current calendar, help, or exit.
+   */
+  public static final class Simple extends CalendarCommand {
+
+    Simple(Kind kind) {
+      super(kind);
+    }
+  }
+
+  /**
+   * A {@code create calendar}, {@code edit calendar}, or {@code use calendar} command.
+   */
+  public static final class ManageCalendar extends CalendarCommand {
+    private final String name;
+    private final String property;
+    private final String value;
+
+    ManageCalendar(Kind kind, String name, String property, String value) {
+      super(kind);
+      this.name = name;
+      this.property = property;
+      this.value = value;
+    }
+
+    /**
+     * Gets the name of the calendar the command applies to.
+     *
+     * @return the calendar name
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Gets the property to edit, {@code timezone} for a create command.
+     *
+     * @return the property, or null for a use command
+     */
+    public String getProperty() {
+      return property;
+    }
+
+    /**
+     * Gets the new property value, the time zone for a create command.
+     *
+     * @return the value, or null for a use command
+     */
+    public String getValue() {
+      return value;
+    }
+  }
+
+  /**
+   * A {@code create event} command for a single or recurring, timed or all-day event.
+   */
+  public static final class CreateEvent extends CalendarCommand {
+    private final String subject;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final LocalDate date;
+    private final int weekdayMask;
+    private final int occurrences;
+    private final LocalDate until;
+
+    CreateEvent(String subject, LocalDateTime start, LocalDateTime end, LocalDate date,
+                int weekdayMask, int occurrences, LocalDate until) {
+      super(Kind.CREATE_EVENT);
+      this.subject = subject;
+      this.start = start;
+      this.end = end;
+      this.date = date;
+      this.weekdayMask = weekdayMask;
+      this.occurrences = occurrences;
+      this.until = until;
+    }
+
+    /**
+     * Gets the event subject.
+     *
+     * @return the subject
+     */
+    public String getSubject() {
+      return subject;
+    }
+
+    /**
+     * Tells whether this creates all-day events.
+     *
+     * @return true for an {@code on <date>} command
+     */
+    public boolean isAllDay() {
+      return date != null;
+    }
+
+    /**
+     * Gets the start of a timed event.
+     *
+     * @return the start, or null for an all-day event
+     */
+    public LocalDateTime getStart() {
+      return start;
+    }
+
+    /**
+     * Gets the end of a timed event.
+     *
+     * @return the end, or null for an all-day event
+     */
+    public LocalDateTime getEnd() {
+      return end;
+    }
+
+    /**
+     * Gets the date of an all-day event.
+     *
+     * @return the date, or null for a timed event
+     */
+    public LocalDate getDate() {
+      return date;
+    }
+
+    /**
+     * Tells whether this creates a series.
+     *
+     * @return true if the command has a {@code repeats} clause
+     */
+    public boolean isRecurring() {
+      return occurrences >= 0 || until != null;
+    }
+
+    /**
+     * Gets the weekdays a series repeats on.
+     *
+     * @return the weekdays, empty for a single event
+     */
+    public Set<DayOfWeek> getWeekdays() {
+      return new OccurrenceGenerator(weekdayMask).toWeekdays();
+    }
+
+    /**
+     * Gets the number of occurrences of a {@code for <n> times} series.
+     *
+     * @return the count, or -1 if the series ends on a date or this is a single event
+     */
+    public int getOccurrences() {
+      return occurrences;
+    }
+
+    /**
+     * Gets the last date of an {@code until <date>} series.
+     *
+     * @return the date, or null if the series has a count or this is a single event
+     */
+    public LocalDate getUntil() {
+      return until;
+    }
+  }
+
+  /**
+   * An {@code edit event}, {@code edit events}, or {@code edit series} command.
+   */
+  public static final class EditEvent extends CalendarCommand {
+    private final String scope;
+    private final String property;
+    private final String subject;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final String value;
+
+    EditEvent(String scope, String property, String subject, LocalDateTime start,
+              LocalDateTime end, String value) {
+      super(Kind.EDIT_EVENT);
+      this.scope = scope;
+      this.property = property;
+      this.subject = subject;
+      this.start = start;
+      this.end = end;
+      this.value = value;
+    }
+
+    /**
+     * Gets which events to edit: {@code event}, {@code events}, or {@code series}.
+     *
+     * @return the scope
+     */
+    public String getScope() {
+      return scope;
+    }
+
+    /**
+     * Gets the property to edit.
+     *
+     * @return the property name as written
+     */
+    public String getProperty() {
+      return property;
+    }
+
+    /**
+     * Gets the subject of the event to edit.
+     *
+     * @return the subject
+     */
+    public String getSubject() {
+      return subject;
+    }
+
+    /**
+     * Gets the start of the event to edit.
+     *
+     * @return the start
+     */
+    public LocalDateTime getStart() {
+      return start;
+    }
+
+    /**
+     * Gets the end of the event to edit.
+     *
+     * @return the end, or null if the command has no {@code to} clause
+     */
+    public LocalDateTime getEnd() {
+      return end;
+    }
+
+    /**
+     * Gets the new property value.
+     *
+     * @return the value
+     */
+    public String getValue() {
+      return value;
+    }
+  }
+
+  /**
+   * A {@code print events}, {@code show status}, or {@code copy events} command, which all
+   * work on a date or a span of time.
+   */
+  public static final class TimeQuery extends CalendarCommand {
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final LocalDate date;
+    private final LocalDate endDate;
+    private final String target;
+    private final LocalDate targetDate;
+
+    TimeQuery(Kind kind, LocalDateTime from, LocalDateTime to, LocalDate date,
+              LocalDate endDate, String target, LocalDate targetDate) {
+      super(kind);
+      this.from = from;
+      this.to = to;
+      this.date = date;
+      this.endDate = endDate;
+      this.target = target;
+      this.targetDate = targetDate;
+    }
+
+    /**
+     * Gets the start of a {@code print events from} range, or the time of a
+     * {@code show status} command.
+     *
+     * @return the date-time, or null for a date-based command
+     */
+    public LocalDateTime getFrom() {
+      return from;
+    }
+
+    /**
+     * Gets the end of a {@code print events from} range.
+     *
+     * @return the end, or null for other commands
+     */
+    public LocalDateTime getTo() {
+      return to;
+    }
+
+    /**
+     * Gets the date of a {@code print events on} or {@code copy events on} command, or
+     * the first date of a {@code copy events between} command.
+     *
+     * @return the date, or null for a date-time based command
+     */
+    public LocalDate getDate() {
+      return date;
+    }
+
+    /**
+     * Gets the last date of a {@code copy events between} command.
+     *
+     * @return the date, or null for other commands
+     */
+    public LocalDate getEndDate() {
+      return endDate;
+    }
+
+    /**
+     * Gets the calendar events are copied to.
+     *
+     * @return the target calendar name, or null for other commands
+     */
+    public String getTarget() {
+      return target;
+    }
+
+    /**
+     * Gets the date events are copied to.
+     *
+     * @return the target date, or null for other commands
+     */
+    public LocalDate getTargetDate() {
+      return targetDate;
+    }
+  }
+
+  /**
+   * A {@code copy event} command.
+   */
+  public static final class CopyEvent extends CalendarCommand {
+    private final String subject;
+    private final LocalDateTime start;
+    private final String target;
+    private final LocalDateTime targetStart;
+
+    CopyEvent(String subject, LocalDateTime start, String target, LocalDateTime targetStart) {
+      super(Kind.COPY_EVENT);
+      this.subject = subject;
+      this.start = start;
+      this.target = target;
+      this.targetStart = targetStart;
+    }
+
+    /**
+     * Gets the subject of the event to copy.
+     *
+     * @return the subject
+     */
+    public String getSubject() {
+      return subject;
+    }
+
+    /**
+     * Gets the start of the event to copy.
+     *
+     * @return the start
+     */
+    public LocalDateTime getStart() {
+      return start;
+    }
+
+    /**
+     * Gets the calendar the event is copied to.
+     *
+     * @return the target calendar name
+     */
+    public String getTarget() {
+      return target;
+    }
+
+    /**
+     * Gets the start of the copy.
+     *
+     * @return the new start
+     */
+    public LocalDateTime getTargetStart() {
+      return targetStart;
+    }
+  }
+
+  /**
+   * A {@code find free} command, which looks for times when several calendars are all
+   * free.
+   */
+  public static final class FreeSlotQuery extends CalendarCommand {
+    private final int minutes;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final List<String> calendars;
+    private final int limit;
+
+    FreeSlotQuery(int minutes, LocalDateTime from, LocalDateTime to, List<String> calendars,
+                  int limit) {
+      super(Kind.FIND_FREE_SLOTS);
+      this.minutes = minutes;
+      this.from = from;
+      this.to = to;
+      this.calendars = calendars;
+      this.limit = limit;
+    }
+
+    /**
+     * Gets the shortest free time to report.
+     *
+     * @return the length in minutes
+     */
+    public int getMinutes() {
+      return minutes;
+    }
+
+    /**
+     * Gets the start of the range to search, in the first calendar's timezone.
+     *
+     * @return the start
+     */
+    public LocalDateTime getFrom() {
+      return from;
+    }
+
+    /**
+     * Gets the end of the range to search, in the first calendar's timezone.
+     *
+     * @return the end
+     */
+    public LocalDateTime getTo() {
+      return to;
+    }
+
+    /**
+     * Gets the calendars that must all be free.
+     *
+     * @return the calendar names, in the order written
+     */
+    public List<String> getCalendars() {
+      return calendars;
+    }
+
+    /**
+     * Gets the most slots to report.
+     *
+     * @return the limit, 1 if the command has no {@code --limit} option
+     */
+    public int getLimit() {
+      return limit;
+    }
+  }
+}
@@ -0,0 +1,551 @@
+package controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import model.CalendarInstance;
+import model.CalendarManager;
+import model.Event;
+import model.EventStatus;
+import model.OccurrenceGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * HTTP front end for the calendar manager, built on the JDK's {@code com.sun.net.httpserver}.
+ * Every request is answered with a JSON document; nothing is printed, and only unexpected
+ * failures are logged.
+ *
+ * <p>Resources live under {@code /calendars}:
+ * <ul>
+ *   <li>{@code GET /calendars} lists calendars, {@code POST /calendars} creates one from
+ *       {@code name} and {@code timezone}.</li>
+ *   <li>{@code GET /calendars/{name}} describes a calendar, {@code PUT /calendars/{name}}
+ *       edits it from {@code property} and {@code value}.</li>
+ *   <li>{@code GET /calendars/{name}/events} lists events on a {@code date}, between
+ *       {@code from} and {@code to}, or all of them; {@code POST} creates a timed event from
+ *       {@code start} and {@code end} or an all-day event on {@code date}; {@code PUT} edits
+ *       {@code property} to {@code value} for the event at {@code subject} and
+ *       {@code start}, with {@code scope} {@code single} (needs {@code end}),
+ *       {@code following}, or {@code series}.</li>
+ *   <li>{@code POST /calendars/{name}/series} creates a series on {@code weekdays}, for
+ *       {@code count} occurrences or {@code until} a date.</li>
+ *   <li>{@code GET /calendars/{name}/busy} checks the instant {@code at}.</li>
+ *   <li>{@code POST /calendars/{name}/copy} copies to {@code target} one event
+ *       ({@code subject}, {@code start}, {@code targetStart}), one {@code date}, or the
+ *       dates {@code from} to {@code to}, placing them from {@code targetDate}.</li>
+ * </ul>
+ * Parameters come from the query string and from a form-encoded request body, dates as
+ * {@code yyyy-MM-dd} and date-times as {@code yyyy-MM-dd'T'HH:mm}.
+ *
+ * <p>Each request runs on its own virtual thread when the JVM offers them and on a cached
+ * thread pool otherwise. Every request runs in a fresh session of the shared manager, so
+ * clients never see each other's current calendar. Responses always carry a
+ * Content-Length, so connections stay open for further requests, and requests pipelined
+ * on one connection are answered in order.
+ */
+public class CalendarServer implements ICalendarServer {
+
+  private static final Logger LOGGER = Logger.getLogger(CalendarServer.class.getName());
+
+  private static final DateTimeFormatter DATE_FORMATTER =
+          DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  private static final DateTimeFormatter DATETIME_FORMATTER =
+          DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+  private final CalendarManager calendarManager;
+  private final int requestedPort;
+  private HttpServer server;
+  private ExecutorService executor;
+
+  /**
+   * Creates a server for the given calendar manager.
+   *
+   * @param calendarManager the calendar manager whose calendars are served
+   * @param port            the port to listen on, or 0 for any free port
+   */
+  public CalendarServer(CalendarManager calendarManager, int port) {
+    this.calendarManager = calendarManager;
+    this.requestedPort = port;
+  }
+
+  @Override
+  public void start() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(requestedPort), 0);
+    executor = newRequestExecutor();
+    server.setExecutor(executor);
+    server.createContext("/calendars", this::handle);
+    server.start();
+  }
+
+  @Override
+  public void stop() {
+    if (server == null) {
+      return;
+    }
+    server.stop(1);
+    executor.shutdown();
+    try {
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    server = null;
+    executor = null;
+  }
+
+  @Override
+  public int getPort() {
+    return server == null ? -1 : server.getAddress().getPort();
+  }
+
+  /**
+   * Creates the executor requests run on: one virtual thread per request when the JVM
+   * provides them, otherwise a cached pool of platform threads.
+   *
+   * @return the request executor
+   */
+  static ExecutorService newRequestExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  /**
+   * Answers one request, turning failures into error responses. Unexpected failures are
+   * logged here and answered with a generic message, since theirs can name server files.
+   *
+   * @param exchange the request and response
+   * @throws IOException if the response cannot be written
+   */
+  private void handle(HttpExchange exchange) throws IOException {
+    Response response;
+    try {
+      response = route(exchange.getRequestMethod(), pathSegments(exchange),
+              parameters(exchange));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      response = Response.error(400, e.getMessage());
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.SEVERE, "Failed to answer " + exchange.getRequestMethod() + " "
+              + exchange.getRequestURI(), e);
+      response = Response.error(500, "Internal error");
+    }
+
+    byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(response.status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  /**
+   * Dispatches a request to the operation for its method and path.
+   *
+   * @param method   the HTTP method
+   * @param segments the decoded path segments, starting with "calendars"
+   * @param params   the query and form parameters
+   * @return the response to send
+   */
+  private Response route(String method, List<String> segments, Map<String, String> params) {
+    if (segments.isEmpty() || !segments.get(0).equals("calendars") || segments.size() > 3) {
+      return Response.error(404, "Unknown resource");
+    }
+    if (segments.size() == 1) {
+      switch (method) {
+        case "GET":
+          return listCalendars();
+        case "POST":
+          return createCalendar(params);
+        default:
+          return Response.error(405, "Method not allowed");
+      }
+    }
+
+    String name = segments.get(1);
+    CalendarManager session = calendarManager.openSession();
+    if (!session.useCalendar(name)) {
+      return Response.error(404, "Calendar not found: " + name);
+    }
+    String resource = segments.size() == 3 ? segments.get(2) : "";
+    switch (method + " " + resource) {
+      case "GET ":
+        return Response.ok(calendarJson(session.getCurrentCalendar()));
+      case "PUT ":
+        return result(session.editCalendar(name, required(params, "property"),
+                required(params, "value")), "Calendar could not be edited");
+      case "GET events":
+        return listEvents(session, params);
+      case "POST events":
+        return createEvent(session, params);
+      case "PUT events":
+        return editEvent(session, params);
+      case "POST series":
+        return createSeries(session, params);
+      case "GET busy":
+        return Response.ok("{\"busy\":"
+                + session.isBusy(dateTime(required(params, "at"))) + "}");
+      case "POST copy":
+        return copy(session, params);
+      default:
+        return Response.error(resource.isEmpty() || isResource(resource) ? 405 : 404,
+                "Unsupported request");
+    }
+  }
+
+  private Response listCalendars() {
+    StringBuilder json = new StringBuilder("{\"calendars\":[");
+    boolean first = true;
+    for (String name : new TreeSet<>(calendarManager.getCalendarNames())) {
+      CalendarInstance calendar = calendarManager.getCalendar(name);
+      if (calendar == null) {
+        continue;
+      }
+      if (!first) {
+        json.append(',');
+      }
+      json.append(calendarJson(calendar));
+      first = false;
+    }
+    return Response.ok(json.append("]}").toString());
+  }
+
+  private Response createCalendar(Map<String, String> params) {
+    String name = required(params, "name");
+    ZoneId timezone;
+    try {
+      timezone = ZoneId.of(required(params, "timezone"));
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid timezone: " + params.get("timezone"));
+    }
+    if (!calendarManager.createCalendar(name, timezone)) {
+      return Response.error(409, "Calendar already exists: " + name);
+    }
+    return new Response(201, calendarJson(calendarManager.getCalendar(name)));
+  }
+
+  private Response listEvents(CalendarManager session, Map<String, String> params) {
+    List<Event> events;
+    if (params.containsKey("date")) {
+      events = session.getEventsOnDate(date(params.get("date")));
+    } else if (params.containsKey("from") || params.containsKey("to")) {
+      events = session.getEventsInRange(dateTime(required(params, "from")),
+              dateTime(required(params, "to")));
+    } else {
+      events = new ArrayList<>(session.getAllEvents());
+      events.sort(Comparator.comparing(Event::getStartDateTime));
+    }
+
+    StringBuilder json = new StringBuilder("{\"events\":[");
+    for (int i = 0; i < events.size(); i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append(eventJson(events.get(i)));
+    }
+    return Response.ok(json.append("]}").toString());
+  }
+
+  private Response createEvent(CalendarManager session, Map<String, String> params) {
+    String subject = required(params, "subject");
+    String description = params.get("description");
+    String location = params.get("location");
+    EventStatus status = status(params.get("status"));
+    boolean created;
+    if (params.containsKey("date")) {
+      created = session.createAllDayEvent(subject, date(params.get("date")), description,
+              location, status);
+    } else {
+      LocalDateTime start = dateTime(required(params, "start"));
+      LocalDateTime end = dateTime(required(params, "end"));
+      if (!end.isAfter(start)) {
+        throw new IllegalArgumentException("End must be after start");
+      }
+      created = session.createEvent(subject, start, end, description, location, status);
+    }
+    if (!created) {
+      return Response.error(409, "Event conflicts with an existing event");
+    }
+    return new Response(201, "{\"ok\":true}");
+  }
+
+  private Response editEvent(CalendarManager session, Map<String, String> params) {
+    String property = required(params, "property");
+    String subject = required(params, "subject");
+    LocalDateTime start = dateTime(required(params, "start"));
+    String value = required(params, "value");
+    String scope = params.getOrDefault("scope", "single");
+    boolean edited;
+    switch (scope) {
+      case "single":
+        edited = session.editEvent(property, subject, start,
+                dateTime(required(params, "end")), value);
+        break;
+      case "following":
+        edited = session.editEventsFromDate(property, subject, start, value);
+        break;
+      case "series":
+        edited = session.editEntireSeries(property, subject, start, value);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown scope: " + scope);
+    }
+    return result(edited, "No matching event could be edited");
+  }
+
+  private Response createSeries(CalendarManager session, Map<String, String> params) {
+    String subject = required(params, "subject");
+    Set<DayOfWeek> weekdays = OccurrenceGenerator.parse(required(params, "weekdays"))
+            .toWeekdays();
+    if (weekdays.isEmpty()) {
+      throw new IllegalArgumentException("No valid weekdays given");
+    }
+    String description = params.get("description");
+    String location = params.get("location");
+    EventStatus status = status(params.get("status"));
+    boolean bounded = params.containsKey("until");
+    int count = bounded ? 0 : count(required(params, "count"));
+    LocalDate until = bounded ? date(params.get("until")) : null;
+
+    boolean created;
+    if (params.containsKey("date")) {
+      LocalDate startDate = date(params.get("date"));
+      created = bounded
+              ? session.createAllDayEventSeriesUntil(subject, startDate, weekdays, until,
+                      description, location, status)
+              : session.createAllDayEventSeries(subject, startDate, weekdays, count,
+                      description, location, status);
+    } else {
+      LocalDateTime start = dateTime(required(params, "start"));
+      LocalDateTime end = dateTime(required(params, "end"));
+      if (!end.isAfter(start) || !end.toLocalDate().equals(start.toLocalDate())) {
+        throw new IllegalArgumentException("Series events must start and end on one day");
+      }
+      created = bounded
+              ? session.createEventSeriesUntil(subject, start, end, weekdays, until,
+                      description, location, status)
+              : session.createEventSeries(subject, start, end, weekdays, count,
+                      description, location, status);
+    }
+    if (!created) {
+      return Response.error(409, "Series conflicts with an existing event");
+    }
+    return new Response(201, "{\"ok\":true}");
+  }
+
+  private Response copy(CalendarManager session, Map<String, String> params) {
+    String target = required(params, "target");
+    boolean copied;
+    if (params.containsKey("subject")) {
+      copied = session.copyEvent(params.get("subject"), dateTime(required(params, "start")),
+              target, dateTime(required(params, "targetStart")));
+    } else if (params.containsKey("date")) {
+      copied = session.copyEventsOnDate(date(params.get("date")), target,
+              date(required(params, "targetDate")));
+    } else {
+      copied = session.copyEventsInRange(date(required(params, "from")),
+              date(required(params, "to")), target, date(required(params, "targetDate")));
+    }
+    return result(copied, "Events could not be copied");
+  }
+
+  private static boolean isResource(String resource) {
+    return resource.equals("events") || resource.equals("series")
+            || resource.equals("busy") || resource.equals("copy");
+  }
+
+  private static Response result(boolean success, String failure) {
+    return success ? Response.ok("{\"ok\":true}") : Response.error(409, failure);
+  }
+
+  private static String required(Map<String, String> params, String name) {
+    String value = params.get(name);
+    if (value == null || value.isEmpty()) {
+      throw new IllegalArgumentException("Missing parameter: " + name);
+    }
+    return value;
+  }
+
+  private static LocalDate date(String value) {
+    return LocalDate.parse(value, DATE_FORMATTER);
+  }
+
+  private static LocalDateTime dateTime(String value) {
+    return LocalDateTime.parse(value, DATETIME_FORMATTER);
+  }
+
+  private static EventStatus status(String value) {
+    if (value == null) {
+      return EventStatus.PUBLIC;
+    }
+    try {
+      return EventStatus.valueOf(value.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid status: " + value);
+    }
+  }
+
+  private static int count(String value) {
+    try {
+      int count = Integer.parseInt(value);
+      if (count <= 0) {
+        throw new IllegalArgumentException("Count must be positive");
+      }
+      return count;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid count: " + value);
+    }
+  }
+
+  /**
+   * Splits the request path into URL-decoded segments, ignoring empty ones.
+   *
+   * @param exchange the request
+   * @return the path segments
+   */
+  private static List<String> pathSegments(HttpExchange exchange) {
+    List<String> segments = new ArrayList<>();
+    for (String segment : exchange.getRequestURI().getRawPath().split("/")) {
+      if (!segment.isEmpty()) {
+        segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * Collects the query parameters and any form-encoded body parameters of a request.
+   * The body is always read to the end so the connection can carry the next request.
+   *
+   * @param exchange the request
+   * @return the parameters, body values overriding query values
+   * @throws IOException if the body cannot be read
+   */
+  private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+    Map<String, String> params = new HashMap<>();
+    parseForm(exchange.getRequestURI().getRawQuery(), params);
+    try (InputStream in = exchange.getRequestBody()) {
+      parseForm(new String(in.readAllBytes(), StandardCharsets.UTF_8), params);
+    }
+    return params;
+  }
+
+  private static void parseForm(String form, Map<String, String> params) {
+    if (form == null || form.isEmpty()) {
+      return;
+    }
+    for (String pair : form.split("&")) {
+      int split = pair.indexOf('=');
+      String name = split < 0 ? pair : pair.substring(0, split);
+      String value = split < 0 ? "" : pair.substring(split + 1);
+      params.put(URLDecoder.decode(name, StandardCharsets.UTF_8).trim(),
+              URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+  }
+
+  private static String calendarJson(CalendarInstance calendar) {
+    return "{\"name\":" + quote(calendar.getName())
+            + ",\"timezone\":" + quote(calendar.getTimezone().getId()) + "}";
+  }
+
+  private static String eventJson(Event event) {
+    return "{\"subject\":" + quote(event.getSubject())
+            + ",\"start\":" + quote(event.getStartDateTime().format(DATETIME_FORMATTER))
+            + ",\"end\":" + quote(event.getEndDateTime().format(DATETIME_FORMATTER))
+            + ",\"allDay\":" + event.isAllDay()
+            + ",\"description\":" + quote(event.getDescription())
+            + ",\"location\":" + quote(event.getLocation())
+            + ",\"status\":" + quote(event.getStatus() == null ? null
+                    : event.getStatus().name().toLowerCase())
+            + ",\"seriesId\":" + quote(event.getSeriesId()) + "}";
+  }
+
+  /**
+   * Formats a string as a JSON string literal, or null.
+   *
+   * @param value the string to quote
+   * @return the JSON literal
+   */
+  static String quote(String value) {
+    if (value == null) {
+      return "null";
+    }
+    StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          json.append("\\\"");
+          break;
+        case '\\':
+          json.append("\\\\");
+          break;
+        case '\n':
+          json.append("\\n");
+          break;
+        case '\r':
+          json.append("\\r");
+          break;
+        case '\t':
+          json.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+      }
+    }
+    return json.append('"').toString();
+  }
+
+  /**
+   * Status code and JSON body of a response.
+   */
+  private static class Response {
+    final int status;
+    final String body;
+
+    Response(int status, String body) {
+      this.status = status;
+      this.body = body;
+    }
+
+    static Response ok(String body) {
+      return new Response(200, body);
+    }
+
+    static Response error(int status, String message) {
+      return new Response(status, "{\"ok\":false,\"error\":" + quote(message) + "}");
+    }
+  }
+}
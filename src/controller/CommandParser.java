@@ -0,0 +1,560 @@
+package controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import controller.CalendarCommand.Kind;
+import controller.CommandSyntaxException.Reason;
+
+/**
+ * Recursive-descent parser for the text command language shared by
+ * {@link CommandProcessor} and {@link CalendarCommandHandler}.
+ *
+ * <p>A command line is read once, left to right, by a {@link CommandTokenizer}. The first
+ * words select the command through a {@link CommandTrie}, and each command's grammar is
+ * checked in full before any argument is converted, so a malformed command is always
+ * reported as a syntax error even when one of its dates is also invalid. Argument
+ * conversion then reports the first bad date, date-time, or count.
+ */
+public final class CommandParser {
+
+  private static final CalendarCommand LIST_CALENDARS =
+          new CalendarCommand.Simple(Kind.LIST_CALENDARS);
+  private static final CalendarCommand CURRENT_CALENDAR =
+          new CalendarCommand.Simple(Kind.CURRENT_CALENDAR);
+  private static final CalendarCommand HELP = new CalendarCommand.Simple(Kind.HELP);
+  private static final CalendarCommand EXIT = new CalendarCommand.Simple(Kind.EXIT);
+
+  private static final String DATE_TIME_FORMAT = "Invalid date/time format.";
+  private static final String DATE_FORMAT = "Invalid date format.";
+  private static final String COUNT_FORMAT = "Invalid occurrence count.";
+  private static final String FREE_SLOT_SYNTAX = "Invalid syntax. Use: find free <minutes> "
+          + "minutes from <dateTime> to <dateTime> --calendars <name>[,<name>...] "
+          + "[--limit <n>]";
+  private static final String COPY_DATE_TIME_FORMAT = "Invalid date and time format. "
+          + "Use: yyyy-MM-ddTHH:mm (e.g., 2024-09-15T14:30)";
+  private static final String COPY_DATE_FORMAT =
+          "Invalid date format. Use: yyyy-MM-dd (e.g., 2024-09-15)";
+
+  private static final CommandTrie<Rule> RULES = rules();
+
+  private CommandParser() {
+  }
+
+  /**
+   * Parses one command line.
+   *
+   * @param line the command line, a string or a view of a larger buffer
+   * @return the parsed command
+   * @throws CommandSyntaxException if the line is not a valid command
+   */
+  public static CalendarCommand parse(CharSequence line) throws CommandSyntaxException {
+    CommandTokenizer in = new CommandTokenizer(line);
+    Rule rule = RULES.match(in);
+    if (rule != null) {
+      CalendarCommand command = rule.grammar.parse(in);
+      if (command != null) {
+        return command;
+      }
+    }
+    throw new CommandSyntaxException(null, Reason.UNKNOWN_COMMAND,
+            "Invalid command: " + line.toString().trim());
+  }
+
+  /**
+   * Finds which command a line names from its leading keywords alone, without checking
+   * or converting its arguments.
+   *
+   * @param line the command line
+   * @return the kind of command, or null if the line starts with no command's keywords
+   */
+  public static Kind kindOf(CharSequence line) {
+    Rule rule = RULES.match(new CommandTokenizer(line));
+    return rule == null ? null : rule.kind;
+  }
+
+  /**
+   * Builds the table from each command's keywords to its grammar. A grammar returns null
+   * when the rest of the line makes it no command at all.
+   */
+  private static CommandTrie<Rule> rules() {
+    CommandTrie<Rule> rules = new CommandTrie<>();
+    rules.putIgnoreCase("exit", new Rule(Kind.EXIT, in -> in.atEnd() ? EXIT : null));
+    rules.putIgnoreCase("help", new Rule(Kind.HELP, in -> in.atEnd() ? HELP : null));
+    rules.put("create calendar",
+            new Rule(Kind.CREATE_CALENDAR, CommandParser::parseCreateCalendar));
+    rules.put("edit calendar", new Rule(Kind.EDIT_CALENDAR, CommandParser::parseEditCalendar));
+    rules.put("use calendar", new Rule(Kind.USE_CALENDAR, CommandParser::parseUseCalendar));
+    rules.put("list calendars",
+            new Rule(Kind.LIST_CALENDARS, in -> in.atEnd() ? LIST_CALENDARS : null));
+    rules.put("current calendar",
+            new Rule(Kind.CURRENT_CALENDAR, in -> in.atEnd() ? CURRENT_CALENDAR : null));
+    rules.put("create event", new Rule(Kind.CREATE_EVENT, CommandParser::parseCreateEvent));
+    for (String scope : new String[] {"event", "events", "series"}) {
+      rules.put("edit " + scope, new Rule(Kind.EDIT_EVENT, in -> parseEditEvent(in, scope)));
+    }
+    rules.put("print events", new Rule(Kind.PRINT_EVENTS, CommandParser::parsePrintEvents));
+    rules.put("show status", new Rule(Kind.SHOW_STATUS, CommandParser::parseShowStatus));
+    rules.put("copy event", new Rule(Kind.COPY_EVENT, CommandParser::parseCopyEvent));
+    rules.put("copy events on",
+            new Rule(Kind.COPY_EVENTS_ON, CommandParser::parseCopyEventsOn));
+    rules.put("copy events between",
+            new Rule(Kind.COPY_EVENTS_BETWEEN, CommandParser::parseCopyEventsBetween));
+    rules.put("find free", new Rule(Kind.FIND_FREE_SLOTS, CommandParser::parseFindFree));
+    return rules;
+  }
+
+  private static CalendarCommand parseCreateCalendar(CommandTokenizer in)
+          throws CommandSyntaxException {
+    if (in.expect("--name") && in.next()) {
+      String name = in.token();
+      if (in.expect("--timezone") && in.next()) {
+        String timezone = in.token();
+        if (in.atEnd()) {
+          return new CalendarCommand.ManageCalendar(Kind.CREATE_CALENDAR, name, "timezone",
+                  timezone);
+        }
+      }
+    }
+    throw syntax(Kind.CREATE_CALENDAR,
+            "Invalid syntax. Use: create calendar --name <calName> --timezone <area/location>");
+  }
+
+  private static CalendarCommand parseEditCalendar(CommandTokenizer in)
+          throws CommandSyntaxException {
+    if (in.expect("--name") && in.next()) {
+      String name = in.token();
+      if (in.expect("--property") && in.next() && in.tokenIsWord()) {
+        String property = in.token();
+        if (in.rest()) {
+          return new CalendarCommand.ManageCalendar(Kind.EDIT_CALENDAR, name, property,
+                  in.token());
+        }
+      }
+    }
+    throw syntax(Kind.EDIT_CALENDAR,
+            "Invalid syntax. Use: edit calendar --name <name> --property <property> <value>");
+  }
+
+  private static CalendarCommand parseUseCalendar(CommandTokenizer in)
+          throws CommandSyntaxException {
+    if (in.expect("--name") && in.next()) {
+      String name = in.token();
+      if (in.atEnd()) {
+        return new CalendarCommand.ManageCalendar(Kind.USE_CALENDAR, name, null, null);
+      }
+    }
+    throw syntax(Kind.USE_CALENDAR, "Invalid syntax. Use: use calendar --name <name>");
+  }
+
+  /**
+   * Parses {@code create event <subject> (from <dateTime> to <dateTime> | on <date>)
+   * [repeats <weekdays> (for <n> times | until <date>)]}.
+   */
+  private static CalendarCommand parseCreateEvent(CommandTokenizer in)
+          throws CommandSyntaxException {
+    if (in.hasUnclosedQuote()) {
+      throw syntax(Kind.CREATE_EVENT, "Missing closing quote for subject.");
+    }
+    if (in.nextSubject(true)) {
+      String subject = in.token();
+      if (in.accept("from")) {
+        return parseTimedEvent(in, subject);
+      }
+      if (in.accept("on")) {
+        return parseAllDayEvent(in, subject);
+      }
+    }
+    throw syntax(Kind.CREATE_EVENT, "Invalid create event syntax.");
+  }
+
+  private static CalendarCommand parseTimedEvent(CommandTokenizer in, String subject)
+          throws CommandSyntaxException {
+    String error = "Invalid timed event syntax.";
+    if (!in.next()) {
+      throw syntax(Kind.CREATE_EVENT, error);
+    }
+    int startFrom = in.tokenStart();
+    int startTo = in.tokenEnd();
+    if (!in.expect("to") || !in.next()) {
+      throw syntax(Kind.CREATE_EVENT, error);
+    }
+    int endFrom = in.tokenStart();
+    int endTo = in.tokenEnd();
+    Repeat repeat = parseRepeat(in, error);
+
+    LocalDateTime start = dateTime(in, startFrom, startTo, Kind.CREATE_EVENT, DATE_TIME_FORMAT);
+    LocalDateTime end = dateTime(in, endFrom, endTo, Kind.CREATE_EVENT, DATE_TIME_FORMAT);
+    if (repeat == null) {
+      return new CalendarCommand.CreateEvent(subject, start, end, null, 0, -1, null);
+    }
+    return new CalendarCommand.CreateEvent(subject, start, end, null, repeat.mask,
+            repeat.count(in), repeat.until(in, Reason.DATE_TIME, DATE_TIME_FORMAT));
+  }
+
+  private static CalendarCommand parseAllDayEvent(CommandTokenizer in, String subject)
+          throws CommandSyntaxException {
+    String error = "Invalid all-day event syntax.";
+    if (!in.next()) {
+      throw syntax(Kind.CREATE_EVENT, error);
+    }
+    int dateFrom = in.tokenStart();
+    int dateTo = in.tokenEnd();
+    Repeat repeat = parseRepeat(in, error);
+
+    LocalDate date = date(in, dateFrom, dateTo, Kind.CREATE_EVENT, Reason.DATE, DATE_FORMAT);
+    if (repeat == null) {
+      return new CalendarCommand.CreateEvent(subject, null, null, date, 0, -1, null);
+    }
+    return new CalendarCommand.CreateEvent(subject, null, null, date, repeat.mask,
+            repeat.count(in), repeat.until(in, Reason.DATE, DATE_FORMAT));
+  }
+
+  /**
+   * Parses an optional {@code repeats} clause, which must end the line.
+   *
+   * @return the clause, or null if there is none
+   */
+  private static Repeat parseRepeat(CommandTokenizer in, String error)
+          throws CommandSyntaxException {
+    if (in.atEnd()) {
+      return null;
+    }
+    if (in.expect("repeats") && in.next()) {
+      Repeat repeat = new Repeat(in.weekdayMask());
+      if (in.accept("for")) {
+        if (in.next() && in.tokenIsDigits()) {
+          repeat.countFrom = in.tokenStart();
+          repeat.countTo = in.tokenEnd();
+          if (in.expect("times") && in.atEnd()) {
+            return repeat;
+          }
+        }
+      } else if (in.accept("until") && in.next()) {
+        repeat.untilFrom = in.tokenStart();
+        repeat.untilTo = in.tokenEnd();
+        if (in.atEnd()) {
+          return repeat;
+        }
+      }
+    }
+    throw syntax(Kind.CREATE_EVENT, error);
+  }
+
+  /**
+   * Parses {@code edit (event|events|series) <property> <subject> from <dateTime>
+   * [to <dateTime>] with <value>}.
+   */
+  private static CalendarCommand parseEditEvent(CommandTokenizer in, String scope)
+          throws CommandSyntaxException {
+    if (in.next()) {
+      String property = in.token();
+      if (!in.hasUnclosedQuote() && in.nextSubject(true)) {
+        String subject = in.token();
+        if (in.expect("from") && in.next()) {
+          int startFrom = in.tokenStart();
+          int startTo = in.tokenEnd();
+          int endFrom = -1;
+          int endTo = -1;
+          boolean valid = true;
+          if (in.accept("to")) {
+            valid = in.next();
+            endFrom = in.tokenStart();
+            endTo = in.tokenEnd();
+          }
+          if (valid && in.expect("with") && in.rest()) {
+            String value = in.token();
+            try {
+              LocalDateTime start = in.dateTime(startFrom, startTo);
+              LocalDateTime end = endFrom < 0 ? null : in.dateTime(endFrom, endTo);
+              return new CalendarCommand.EditEvent(scope, property, subject, start, end,
+                      value);
+            } catch (DateTimeParseException e) {
+              // reported as a syntax error below
+            }
+          }
+        }
+      }
+    }
+    throw syntax(Kind.EDIT_EVENT, "Invalid edit command syntax.");
+  }
+
+  /**
+   * Parses {@code print events on <date>} or {@code print events from <dateTime> to
+   * <dateTime>}.
+   */
+  private static CalendarCommand parsePrintEvents(CommandTokenizer in)
+          throws CommandSyntaxException {
+    if (in.accept("on")) {
+      in.rest();
+      LocalDate date = date(in, in.tokenStart(), in.tokenEnd(), Kind.PRINT_EVENTS,
+              Reason.DATE_TIME, DATE_TIME_FORMAT);
+      return new CalendarCommand.TimeQuery(Kind.PRINT_EVENTS, null, null, date, null, null,
+              null);
+    }
+    if (in.accept("from") && in.next()) {
+      int fromStart = in.tokenStart();
+      int fromEnd = in.tokenEnd();
+      if (in.expect("to") && in.next()) {
+        int toStart = in.tokenStart();
+        int toEnd = in.tokenEnd();
+        if (in.atEnd()) {
+          LocalDateTime from = dateTime(in, fromStart, fromEnd, Kind.PRINT_EVENTS,
+                  DATE_TIME_FORMAT);
+          LocalDateTime to = dateTime(in, toStart, toEnd, Kind.PRINT_EVENTS,
+                  DATE_TIME_FORMAT);
+          return new CalendarCommand.TimeQuery(Kind.PRINT_EVENTS, from, to, null, null, null,
+                  null);
+        }
+      }
+    }
+    throw syntax(Kind.PRINT_EVENTS, "Invalid print events syntax.");
+  }
+
+  private static CalendarCommand parseShowStatus(CommandTokenizer in)
+          throws CommandSyntaxException {
+    if (!in.rest()) {
+      throw new CommandSyntaxException(Kind.SHOW_STATUS, Reason.MISSING_ARGUMENT,
+              "Missing date/time parameter.");
+    }
+    LocalDateTime at = dateTime(in, in.tokenStart(), in.tokenEnd(), Kind.SHOW_STATUS,
+            DATE_TIME_FORMAT);
+    return new CalendarCommand.TimeQuery(Kind.SHOW_STATUS, at, null, null, null, null, null);
+  }
+
+  /**
+   * Parses {@code copy event <subject> on <dateTime> --target <calendar> to <dateTime>}.
+   */
+  private static CalendarCommand parseCopyEvent(CommandTokenizer in)
+          throws CommandSyntaxException {
+    if (in.nextSubject(false)) {
+      String subject = in.token();
+      if (in.expect("on") && in.next()) {
+        int startFrom = in.tokenStart();
+        int startTo = in.tokenEnd();
+        if (in.expect("--target") && in.next()) {
+          String target = in.token();
+          if (in.expect("to") && in.next() && in.atEnd()) {
+            LocalDateTime start = dateTime(in, startFrom, startTo, Kind.COPY_EVENT,
+                    COPY_DATE_TIME_FORMAT);
+            LocalDateTime targetStart = dateTime(in, in.tokenStart(), in.tokenEnd(),
+                    Kind.COPY_EVENT, COPY_DATE_TIME_FORMAT);
+            return new CalendarCommand.CopyEvent(subject, start, target, targetStart);
+          }
+        }
+      }
+    }
+    throw syntax(Kind.COPY_EVENT, "Invalid syntax. Use: copy event <eventName> on "
+            + "<dateTime> --target <calendarName> to <dateTime>");
+  }
+
+  /**
+   * Parses the rest of {@code copy events on <date> --target <calendar> to <date>}.
+   */
+  private static CalendarCommand parseCopyEventsOn(CommandTokenizer in)
+          throws CommandSyntaxException {
+    if (in.next()) {
+      int dateFrom = in.tokenStart();
+      int dateTo = in.tokenEnd();
+      if (in.expect("--target") && in.next()) {
+        String target = in.token();
+        if (in.expect("to") && in.next() && in.atEnd()) {
+          Kind kind = Kind.COPY_EVENTS_ON;
+          LocalDate date = date(in, dateFrom, dateTo, kind, Reason.DATE, COPY_DATE_FORMAT);
+          LocalDate targetDate = date(in, in.tokenStart(), in.tokenEnd(), kind, Reason.DATE,
+                  COPY_DATE_FORMAT);
+          return new CalendarCommand.TimeQuery(kind, null, null, date, null, target,
+                  targetDate);
+        }
+      }
+    }
+    throw syntax(Kind.COPY_EVENTS_ON,
+            "Invalid syntax. Use: copy events on <date> --target <calendarName> to <date>");
+  }
+
+  /**
+   * Parses the rest of {@code copy events between <date> and <date> --target <calendar>
+   * to <date>}.
+   */
+  private static CalendarCommand parseCopyEventsBetween(CommandTokenizer in)
+          throws CommandSyntaxException {
+    if (in.next()) {
+      int startFrom = in.tokenStart();
+      int startTo = in.tokenEnd();
+      if (in.expect("and") && in.next()) {
+        int endFrom = in.tokenStart();
+        int endTo = in.tokenEnd();
+        if (in.expect("--target") && in.next()) {
+          String target = in.token();
+          if (in.expect("to") && in.next() && in.atEnd()) {
+            Kind kind = Kind.COPY_EVENTS_BETWEEN;
+            LocalDate start = date(in, startFrom, startTo, kind, Reason.DATE,
+                    COPY_DATE_FORMAT);
+            LocalDate end = date(in, endFrom, endTo, kind, Reason.DATE, COPY_DATE_FORMAT);
+            LocalDate targetDate = date(in, in.tokenStart(), in.tokenEnd(), kind, Reason.DATE,
+                    COPY_DATE_FORMAT);
+            return new CalendarCommand.TimeQuery(kind, null, null, start, end, target,
+                    targetDate);
+          }
+        }
+      }
+    }
+    throw syntax(Kind.COPY_EVENTS_BETWEEN, "Invalid syntax. Use: copy events between "
+            + "<date> and <date> --target <calendarName> to <date>");
+  }
+
+  /**
+   * Parses the rest of {@code find free <minutes> minutes from <dateTime> to <dateTime>
+   * --calendars <name>[,<name>...] [--limit <n>]}.
+   */
+  private static CalendarCommand parseFindFree(CommandTokenizer in)
+          throws CommandSyntaxException {
+    Kind kind = Kind.FIND_FREE_SLOTS;
+    if (!in.next() || !in.tokenIsDigits()) {
+      throw syntax(kind, FREE_SLOT_SYNTAX);
+    }
+    int minutesFrom = in.tokenStart();
+    int minutesTo = in.tokenEnd();
+    if (!in.expect("minutes") || !in.expect("from") || !in.next()) {
+      throw syntax(kind, FREE_SLOT_SYNTAX);
+    }
+    int fromStart = in.tokenStart();
+    int fromEnd = in.tokenEnd();
+    if (!in.expect("to") || !in.next()) {
+      throw syntax(kind, FREE_SLOT_SYNTAX);
+    }
+    int toStart = in.tokenStart();
+    int toEnd = in.tokenEnd();
+    if (!in.expect("--calendars") || !in.next()) {
+      throw syntax(kind, FREE_SLOT_SYNTAX);
+    }
+    List<String> calendars = calendarNames(in.token());
+    int limitFrom = -1;
+    int limitTo = -1;
+    if (in.accept("--limit")) {
+      if (!in.next() || !in.tokenIsDigits()) {
+        throw syntax(kind, FREE_SLOT_SYNTAX);
+      }
+      limitFrom = in.tokenStart();
+      limitTo = in.tokenEnd();
+    }
+    if (calendars == null || !in.atEnd()) {
+      throw syntax(kind, FREE_SLOT_SYNTAX);
+    }
+
+    LocalDateTime from = dateTime(in, fromStart, fromEnd, kind, DATE_TIME_FORMAT);
+    LocalDateTime to = dateTime(in, toStart, toEnd, kind, DATE_TIME_FORMAT);
+    try {
+      int minutes = in.integer(minutesFrom, minutesTo);
+      int limit = limitFrom < 0 ? 1 : in.integer(limitFrom, limitTo);
+      return new CalendarCommand.FreeSlotQuery(minutes, from, to, calendars, limit);
+    } catch (NumberFormatException e) {
+      throw new CommandSyntaxException(kind, Reason.COUNT, "Invalid number of minutes or "
+              + "slots.");
+    }
+  }
+
+  /**
+   * Splits a comma-separated list of calendar names.
+   *
+   * @return the names, or null if any of them is empty
+   */
+  private static List<String> calendarNames(String list) {
+    List<String> names = new ArrayList<>();
+    int start = 0;
+    while (start <= list.length()) {
+      int comma = list.indexOf(',', start);
+      int end = comma < 0 ? list.length() : comma;
+      if (end == start) {
+        return null;
+      }
+      names.add(list.substring(start, end));
+      start = end + 1;
+    }
+    return names;
+  }
+
+  private static LocalDateTime dateTime(CommandTokenizer in, int from, int to, Kind kind,
+                                        String error) throws CommandSyntaxException {
+    try {
+      return in.dateTime(from, to);
+    } catch (DateTimeParseException e) {
+      throw new CommandSyntaxException(kind, Reason.DATE_TIME, error);
+    }
+  }
+
+  private static LocalDate date(CommandTokenizer in, int from, int to, Kind kind,
+                                Reason reason, String error) throws CommandSyntaxException {
+    try {
+      return in.date(from, to);
+    } catch (DateTimeParseException e) {
+      throw new CommandSyntaxException(kind, reason, error);
+    }
+  }
+
+  private static CommandSyntaxException syntax(Kind kind, String message) {
+    return new CommandSyntaxException(kind, Reason.SYNTAX, message);
+  }
+
+  /**
+   * Parses the rest of a line once its command keywords have been read.
+   */
+  private interface Grammar {
+    CalendarCommand parse(CommandTokenizer in) throws CommandSyntaxException;
+  }
+
+  /**
+   * The kind of command some keywords start and the grammar for the rest of its line.
+   */
+  private static final class Rule {
+    final Kind kind;
+    final Grammar grammar;
+
+    Rule(Kind kind, Grammar grammar) {
+      this.kind = kind;
+      this.grammar = grammar;
+    }
+  }
+
+  /**
+   * Bounds of the parts of a {@code repeats} clause, converted once the whole line has
+   * been checked.
+   */
+  private static final class Repeat {
+    final int mask;
+    int countFrom = -1;
+    int countTo;
+    int untilFrom = -1;
+    int untilTo;
+
+    Repeat(int mask) {
+      this.mask = mask;
+    }
+
+    int count(CommandTokenizer in) throws CommandSyntaxException {
+      if (countFrom < 0) {
+        return -1;
+      }
+      try {
+        return in.integer(countFrom, countTo);
+      } catch (NumberFormatException e) {
+        throw new CommandSyntaxException(Kind.CREATE_EVENT, Reason.COUNT, COUNT_FORMAT);
+      }
+    }
+
+    LocalDate until(CommandTokenizer in, Reason reason, String error)
+            throws CommandSyntaxException {
+      if (untilFrom < 0) {
+        return null;
+      }
+      try {
+        return in.date(untilFrom, untilTo);
+      } catch (DateTimeParseException e) {
+        throw new CommandSyntaxException(Kind.CREATE_EVENT, reason, error);
+      }
+    }
+  }
+}
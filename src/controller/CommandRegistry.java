@@ -0,0 +1,75 @@
+package controller;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import controller.CalendarCommand.Kind;
+
+/**
+ * The handlers a controller runs for parsed commands, looked up by command kind.
+ * A controller registers one handler per kind it supports when it is created, so running
+ * a command is a single table lookup and supporting a new command means registering a
+ * handler rather than extending a chain of checks.
+ *
+ * @param <R> the type of result the controller's handlers return
+ */
+final class CommandRegistry<R> {
+
+  /**
+   * Runs one kind of parsed command.
+   *
+   * @param <C> the command class for the kind
+   * @param <R> the type of result
+   */
+  interface Handler<C extends CalendarCommand, R> {
+
+    /**
+     * Runs a command.
+     *
+     * @param command the parsed command
+     * @return the controller's result
+     */
+    R handle(C command);
+  }
+
+  private final Map<Kind, Handler<CalendarCommand, R>> handlers = new EnumMap<>(Kind.class);
+
+  /**
+   * Registers the handler for a kind of command.
+   *
+   * @param kind    the kind of command
+   * @param type    the command class the parser produces for the kind
+   * @param handler the handler
+   * @param <C>     the command class
+   * @return this registry
+   * @throws IllegalStateException if the kind already has a handler
+   */
+  <C extends CalendarCommand> CommandRegistry<R> register(Kind kind, Class<C> type,
+                                                          Handler<? super C, R> handler) {
+    if (handlers.putIfAbsent(kind, command -> handler.handle(type.cast(command))) != null) {
+      throw new IllegalStateException("Command already registered: " + kind);
+    }
+    return this;
+  }
+
+  /**
+   * Tells whether a kind of command has a handler.
+   *
+   * @param kind the kind of command
+   * @return true if the kind is registered
+   */
+  boolean handles(Kind kind) {
+    return handlers.containsKey(kind);
+  }
+
+  /**
+   * Runs a command through the handler for its kind.
+   *
+   * @param command the parsed command
+   * @return the handler's result, or null if its kind has no handler
+   */
+  R dispatch(CalendarCommand command) {
+    Handler<CalendarCommand, R> handler = handlers.get(command.getKind());
+    return handler == null ? null : handler.handle(command);
+  }
+}
@@ -0,0 +1,76 @@
+package controller;
+
+/**
+ * Thrown by {@link CommandParser} when a command line cannot be parsed.
+ * The exception tells which command was recognized, if any, and why it was rejected, so
+ * each controller can report the problem in its own words; the message is the wording
+ * shared by the controllers.
+ */
+public class CommandSyntaxException extends Exception {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Why a command was rejected.
+   */
+  public enum Reason {
+    /**
+     * The line does not start with any known command.
+     */
+    UNKNOWN_COMMAND,
+    /**
+     * The command is known but its arguments do not follow its grammar.
+     */
+    SYNTAX,
+    /**
+     * A date-time argument is not in {@code yyyy-MM-dd'T'HH:mm} form.
+     */
+    DATE_TIME,
+    /**
+     * A date argument is not in {@code yyyy-MM-dd} form.
+     */
+    DATE,
+    /**
+     * An occurrence count, or another number in a command, is too large.
+     */
+    COUNT,
+    /**
+     * A required argument is missing.
+     */
+    MISSING_ARGUMENT
+  }
+
+  private final CalendarCommand.Kind kind;
+  private final Reason reason;
+
+  /**
+   * Creates an exception for a rejected command.
+   *
+   * @param kind    the recognized command, or null if none was recognized
+   * @param reason  why the command was rejected
+   * @param message the description of the problem
+   */
+  public CommandSyntaxException(CalendarCommand.Kind kind, Reason reason, String message) {
+    super(message);
+    this.kind = kind;
+    this.reason = reason;
+  }
+
+  /**
+   * Gets the command that was recognized before parsing failed.
+   *
+   * @return the kind of command, or null if the line matched no command
+   */
+  public CalendarCommand.Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * Gets why the command was rejected.
+   *
+   * @return the reason
+   */
+  public Reason getReason() {
+    return reason;
+  }
+}
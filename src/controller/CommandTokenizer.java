@@ -0,0 +1,392 @@
+package controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+
+import model.OccurrenceGenerator;
+
+/**
+ * Single-pass tokenizer over one command line.
+ * Tokens are runs of non-whitespace characters, or a double-quoted subject when asked for
+ * one. The tokenizer keeps only the bounds of the current token, so matching keywords and
+ * parsing dates and numbers happen in place; a string is created only when the parser
+ * asks for one.
+ *
+ * <p>Dates in the fixed-width {@code yyyy-MM-dd} and {@code yyyy-MM-dd'T'HH:mm} forms are
+ * decoded directly from the characters. Anything else, including values the formatters
+ * would adjust such as February 30 or 24:00, goes through the formatters so the results
+ * and errors stay exactly those of {@link DateTimeFormatter}.
+ */
+final class CommandTokenizer {
+
+  static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+  static final DateTimeFormatter DATETIME_FORMATTER =
+          DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+
+  private final CharSequence text;
+  private int position;
+  private int start;
+  private int end;
+
+  /**
+   * Creates a tokenizer positioned at the start of a command line.
+   *
+   * @param text the command line, which may be a view of a larger buffer
+   */
+  CommandTokenizer(CharSequence text) {
+    this.text = text;
+  }
+
+  /**
+   * Advances to the next whitespace-delimited token.
+   *
+   * @return true if there was another token
+   */
+  boolean next() {
+    skipWhitespace();
+    start = position;
+    while (position < text.length() && !isWhitespace(text.charAt(position))) {
+      position++;
+    }
+    end = position;
+    return end > start;
+  }
+
+  /**
+   * Advances to the next token if it equals a keyword, and stays put otherwise.
+   *
+   * @param keyword the expected token
+   * @return true if the keyword was consumed
+   */
+  boolean accept(String keyword) {
+    int saved = position;
+    if (next() && tokenEquals(keyword)) {
+      return true;
+    }
+    position = saved;
+    return false;
+  }
+
+  /**
+   * Advances to the next token and checks that it equals a keyword.
+   *
+   * @param keyword the expected token
+   * @return true if the next token was the keyword
+   */
+  boolean expect(String keyword) {
+    return next() && tokenEquals(keyword);
+  }
+
+  /**
+   * Advances to the next token, reading a double-quoted string as one token when the next
+   * character is a quote. The quotes are not part of the token.
+   *
+   * @param allowEmpty whether a pair of quotes with nothing between them is a token
+   * @return true if there was a token, false at the end of the line or when a quoted
+   *         string is empty but should not be or has no closing quote
+   */
+  boolean nextSubject(boolean allowEmpty) {
+    skipWhitespace();
+    if (position >= text.length() || text.charAt(position) != '"') {
+      return next();
+    }
+    int close = indexOf('"', position + 1);
+    if (close < 0 || (!allowEmpty && close == position + 1)) {
+      return false;
+    }
+    start = position + 1;
+    end = close;
+    position = close + 1;
+    return true;
+  }
+
+  /**
+   * Tells whether the next non-whitespace character opens a quoted string without a
+   * closing quote.
+   *
+   * @return true if a quote is left open
+   */
+  boolean hasUnclosedQuote() {
+    skipWhitespace();
+    return position < text.length() && text.charAt(position) == '"'
+            && indexOf('"', position + 1) < 0;
+  }
+
+  /**
+   * Tells whether only whitespace is left.
+   *
+   * @return true at the end of the line
+   */
+  boolean atEnd() {
+    skipWhitespace();
+    return position >= text.length();
+  }
+
+  /**
+   * Consumes the rest of the line as one token, without surrounding whitespace.
+   *
+   * @return true if anything but whitespace was left
+   */
+  boolean rest() {
+    skipWhitespace();
+    start = position;
+    end = text.length();
+    while (end > start && isWhitespace(text.charAt(end - 1))) {
+      end--;
+    }
+    position = text.length();
+    return end > start;
+  }
+
+  /**
+   * Gets the current position, to return to with {@link #reset}.
+   *
+   * @return the index of the next character to read
+   */
+  int mark() {
+    return position;
+  }
+
+  /**
+   * Returns to a position saved by {@link #mark}.
+   *
+   * @param mark the saved position
+   */
+  void reset(int mark) {
+    position = mark;
+  }
+
+  /**
+   * Gets a character of the line.
+   *
+   * @param index the index of the character
+   * @return the character
+   */
+  char charAt(int index) {
+    return text.charAt(index);
+  }
+
+  /**
+   * Gets the current token as a string.
+   *
+   * @return the token text
+   */
+  String token() {
+    return text.subSequence(start, end).toString();
+  }
+
+  /**
+   * Gets where the current token starts.
+   *
+   * @return the index of its first character
+   */
+  int tokenStart() {
+    return start;
+  }
+
+  /**
+   * Gets where the current token ends.
+   *
+   * @return the index after its last character
+   */
+  int tokenEnd() {
+    return end;
+  }
+
+  /**
+   * Checks whether the current token equals a keyword.
+   *
+   * @param keyword the keyword
+   * @return true if the token is the keyword
+   */
+  boolean tokenEquals(String keyword) {
+    if (end - start != keyword.length()) {
+      return false;
+    }
+    for (int i = 0; i < keyword.length(); i++) {
+      if (text.charAt(start + i) != keyword.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether the current token is made of ASCII digits only.
+   *
+   * @return true for a non-empty run of digits
+   */
+  boolean tokenIsDigits() {
+    for (int i = start; i < end; i++) {
+      if (digit(text, i) < 0) {
+        return false;
+      }
+    }
+    return end > start;
+  }
+
+  /**
+   * Checks whether the current token is made of letters, digits, and underscores only.
+   *
+   * @return true for a non-empty word
+   */
+  boolean tokenIsWord() {
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+              || c == '_')) {
+        return false;
+      }
+    }
+    return end > start;
+  }
+
+  /**
+   * Reads the current token as weekday letters.
+   *
+   * @return the weekday mask of the letters, as {@link OccurrenceGenerator#parse} reads them
+   */
+  int weekdayMask() {
+    return OccurrenceGenerator.parse(text, start, end).getMask();
+  }
+
+  /**
+   * Parses a decimal integer between two indices of the line.
+   *
+   * @param from index of the first character
+   * @param to   index after the last character
+   * @return the number
+   * @throws NumberFormatException if the text is not a number or is out of range
+   */
+  int integer(int from, int to) {
+    return Integer.parseInt(text, from, to, 10);
+  }
+
+  /**
+   * Parses a date between two indices of the line.
+   *
+   * @param from index of the first character
+   * @param to   index after the last character
+   * @return the date
+   * @throws java.time.format.DateTimeParseException if the text is not a date
+   */
+  LocalDate date(int from, int to) {
+    return parseDate(text, from, to);
+  }
+
+  /**
+   * Parses a date-time between two indices of the line.
+   *
+   * @param from index of the first character
+   * @param to   index after the last character
+   * @return the date-time
+   * @throws java.time.format.DateTimeParseException if the text is not a date-time
+   */
+  LocalDateTime dateTime(int from, int to) {
+    return parseDateTime(text, from, to);
+  }
+
+  /**
+   * Parses a {@code yyyy-MM-dd} date, decoding the common fixed-width form directly.
+   *
+   * @param text the text holding the date
+   * @param from index of the first character
+   * @param to   index after the last character
+   * @return the date
+   * @throws java.time.format.DateTimeParseException if the text is not a date
+   */
+  static LocalDate parseDate(CharSequence text, int from, int to) {
+    if (to - from == 10) {
+      int year = fixedDate(text, from);
+      if (year > 0) {
+        return LocalDate.of(year, number(text, from + 5), number(text, from + 8));
+      }
+    }
+    return LocalDate.parse(text.subSequence(from, to), DATE_FORMATTER);
+  }
+
+  /**
+   * Parses a {@code yyyy-MM-dd'T'HH:mm} date-time, decoding the common fixed-width form
+   * directly.
+   *
+   * @param text the text holding the date-time
+   * @param from index of the first character
+   * @param to   index after the last character
+   * @return the date-time
+   * @throws java.time.format.DateTimeParseException if the text is not a date-time
+   */
+  static LocalDateTime parseDateTime(CharSequence text, int from, int to) {
+    if (to - from == 16 && text.charAt(from + 10) == 'T' && text.charAt(from + 13) == ':') {
+      int year = fixedDate(text, from);
+      int hour = number(text, from + 11);
+      int minute = number(text, from + 14);
+      if (year > 0 && hour >= 0 && hour < 24 && minute >= 0 && minute < 60) {
+        return LocalDateTime.of(year, number(text, from + 5), number(text, from + 8),
+                hour, minute);
+      }
+    }
+    return LocalDateTime.parse(text.subSequence(from, to), DATETIME_FORMATTER);
+  }
+
+  /**
+   * Checks the {@code yyyy-MM-dd} prefix of a fixed-width value.
+   *
+   * @return the year if the prefix is a valid date as written, or -1 when it needs the
+   *         formatter
+   */
+  private static int fixedDate(CharSequence text, int from) {
+    if (text.charAt(from + 4) != '-' || text.charAt(from + 7) != '-') {
+      return -1;
+    }
+    int high = number(text, from);
+    int low = number(text, from + 2);
+    int month = number(text, from + 5);
+    int day = number(text, from + 8);
+    if (high < 0 || low < 0 || month < 1 || month > 12 || day < 1) {
+      return -1;
+    }
+    int year = high * 100 + low;
+    if (year < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+      return -1;
+    }
+    return year;
+  }
+
+  /**
+   * Reads a two-digit number.
+   *
+   * @return the number, or -1 if either character is not a digit
+   */
+  private static int number(CharSequence text, int at) {
+    int tens = digit(text, at);
+    int ones = digit(text, at + 1);
+    return tens < 0 || ones < 0 ? -1 : tens * 10 + ones;
+  }
+
+  private static int digit(CharSequence text, int at) {
+    char c = text.charAt(at);
+    return c >= '0' && c <= '9' ? c - '0' : -1;
+  }
+
+  private int indexOf(char c, int from) {
+    for (int i = from; i < text.length(); i++) {
+      if (text.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private void skipWhitespace() {
+    while (position < text.length() && isWhitespace(text.charAt(position))) {
+      position++;
+    }
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c <= ' ';
+  }
+}
@@ -0,0 +1,116 @@
+package controller;
+
+/**
+ * Trie over the leading keywords of a command line, such as {@code copy events between}.
+ * Each node indexes its children directly by letter, so finding a command costs one array
+ * step per character of its keywords however many commands are registered and in
+ * whatever order.
+ *
+ * <p>Keywords are lower-case ASCII words separated by single spaces. They match only
+ * when written the same way, unless registered with {@link #putIgnoreCase}; whitespace
+ * between words on the command line may be any run of whitespace.
+ *
+ * @param <V> the type of value registered for each command
+ */
+final class CommandTrie<V> {
+
+  private static final int WORD_BREAK = 26;
+
+  private final Node<V> root = new Node<>();
+
+  /**
+   * Registers a value for a keyword sequence that must match exactly.
+   *
+   * @param keywords the space-separated keywords
+   * @param value    the value to return for them
+   * @throws IllegalArgumentException if the keywords are malformed or already registered
+   */
+  void put(String keywords, V value) {
+    insert(keywords, value, false);
+  }
+
+  /**
+   * Registers a value for a keyword sequence that matches in any letter case.
+   *
+   * @param keywords the space-separated keywords
+   * @param value    the value to return for them
+   * @throws IllegalArgumentException if the keywords are malformed or already registered
+   */
+  void putIgnoreCase(String keywords, V value) {
+    insert(keywords, value, true);
+  }
+
+  /**
+   * Finds the longest registered keyword sequence at the tokenizer's position. The
+   * tokenizer is left just after the matched keywords, or where it was if nothing
+   * matched.
+   *
+   * @param in the tokenizer over the command line
+   * @return the value registered for the matched keywords, or null if none match
+   */
+  V match(CommandTokenizer in) {
+    Node<V> node = root;
+    V found = null;
+    int matched = in.mark();
+    boolean exact = true;
+    while (in.next()) {
+      for (int i = in.tokenStart(); i < in.tokenEnd() && node != null; i++) {
+        char c = in.charAt(i);
+        if (c >= 'A' && c <= 'Z') {
+          c += 'a' - 'A';
+          exact = false;
+        }
+        node = c >= 'a' && c <= 'z' ? node.children[c - 'a'] : null;
+      }
+      if (node == null) {
+        break;
+      }
+      if (node.value != null && (exact || node.ignoreCase)) {
+        found = node.value;
+        matched = in.mark();
+      }
+      node = node.children[WORD_BREAK];
+      if (node == null) {
+        break;
+      }
+    }
+    in.reset(matched);
+    return found;
+  }
+
+  private void insert(String keywords, V value, boolean ignoreCase) {
+    Node<V> node = root;
+    for (int i = 0; i < keywords.length(); i++) {
+      char c = keywords.charAt(i);
+      int slot;
+      if (c >= 'a' && c <= 'z') {
+        slot = c - 'a';
+      } else if (c == ' ' && i > 0 && i < keywords.length() - 1
+              && keywords.charAt(i - 1) != ' ') {
+        slot = WORD_BREAK;
+      } else {
+        throw new IllegalArgumentException("Invalid command keywords: '" + keywords + "'");
+      }
+      if (node.children[slot] == null) {
+        node.children[slot] = new Node<>();
+      }
+      node = node.children[slot];
+    }
+    if (node == root || node.value != null) {
+      throw new IllegalArgumentException("Invalid command keywords: '" + keywords + "'");
+    }
+    node.value = value;
+    node.ignoreCase = ignoreCase;
+  }
+
+  /**
+   * One character position in the trie; child 26 continues with the next word.
+   */
+  private static final class Node<V> {
+    // Only Node<V> children are ever stored, so the cast from the wildcard array is safe.
+    @SuppressWarnings("unchecked")
+    private final Node<V>[] children = (Node<V>[]) new Node<?>[WORD_BREAK + 1];
+    private V value;
+    private boolean ignoreCase;
+  }
+}
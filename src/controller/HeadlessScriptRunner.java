@@ -0,0 +1,250 @@
+package controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs a headless command script through a {@link CalendarCommandHandler} as a pipeline.
+ *
+ * <p>A reader thread splits the script into batches of command lines, skipping blank lines
+ * and {@code #} comments and stopping at the {@code exit} line. Parser threads turn each
+ * batch into {@link CalendarCommand}s. The calling thread takes the batches back in file
+ * order and applies them to the handler one command at a time, so the model sees exactly
+ * the sequence of commands a line-by-line run would and the output is the same. Both
+ * queues between the stages are bounded, so a large script is never held in memory.
+ *
+ * <p>Output goes through the handler's {@link view.IOutputSink}. The sink is flushed
+ * before each failure is reported on standard error, so the two streams keep their
+ * order, and once more when the run ends.
+ */
+public final class HeadlessScriptRunner {
+
+  private static final int BATCH_SIZE = 512;
+  private static final int BATCHES_PER_PARSER = 4;
+  private static final Batch NO_MORE_BATCHES = new Batch();
+
+  private final CalendarCommandHandler handler;
+  private final int parsers;
+
+  /**
+   * Creates a runner with a parser thread for every processor but one.
+   *
+   * @param handler the handler to apply commands to
+   */
+  public HeadlessScriptRunner(CalendarCommandHandler handler) {
+    this(handler, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+  }
+
+  /**
+   * Creates a runner with a given number of parser threads.
+   *
+   * @param handler the handler to apply commands to
+   * @param parsers the number of parser threads
+   * @throws IllegalArgumentException if the number of parsers is not positive
+   */
+  public HeadlessScriptRunner(CalendarCommandHandler handler, int parsers) {
+    if (parsers < 1) {
+      throw new IllegalArgumentException("At least one parser thread is required");
+    }
+    this.handler = handler;
+    this.parsers = parsers;
+  }
+
+  /**
+   * Runs every command of a script file up to its {@code exit} line, reading the file
+   * through a {@link MappedScriptReader}. Each command that fails is reported on standard
+   * error, and reaching {@code exit} prints a goodbye.
+   *
+   * @param script the script file, as UTF-8 text
+   * @return true if the script ended with {@code exit}, false if it ran out of lines
+   * @throws IOException if the script cannot be read
+   */
+  public boolean run(Path script) throws IOException {
+    try (MappedScriptReader reader = new MappedScriptReader(script)) {
+      return run(reader::readLine);
+    }
+  }
+
+  /**
+   * Runs every command of a script up to its {@code exit} line. Each command that fails
+   * is reported on standard error, and reaching {@code exit} prints a goodbye.
+   *
+   * @param script the script to run
+   * @return true if the script ended with {@code exit}, false if it ran out of lines
+   * @throws IOException if the script cannot be read
+   */
+  public boolean run(BufferedReader script) throws IOException {
+    return run(script::readLine);
+  }
+
+  private boolean run(LineSource script) throws IOException {
+    int capacity = parsers * BATCHES_PER_PARSER;
+    BlockingQueue<Batch> toParse = new ArrayBlockingQueue<>(capacity);
+    BlockingQueue<Batch> toApply = new ArrayBlockingQueue<>(capacity + parsers);
+
+    Thread reader = new Thread(() -> read(script, toParse, toApply), "script-reader");
+    Thread[] parserThreads = new Thread[parsers];
+    for (int i = 0; i < parsers; i++) {
+      parserThreads[i] = new Thread(() -> parse(toParse), "script-parser-" + i);
+    }
+    reader.setDaemon(true);
+    reader.start();
+    for (Thread thread : parserThreads) {
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    try {
+      while (true) {
+        Batch batch = toApply.take();
+        batch.parsed.await();
+        apply(batch);
+        if (batch.last) {
+          if (batch.failure != null) {
+            throw batch.failure;
+          }
+          if (batch.exit) {
+            handler.getOutput().println("Goodbye!");
+          }
+          return batch.exit;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while running the script", e);
+    } finally {
+      handler.getOutput().flush();
+      reader.interrupt();
+      for (Thread thread : parserThreads) {
+        thread.interrupt();
+      }
+    }
+  }
+
+  /**
+   * The reader stage: hands each batch to the parsers and, in the same order, to the
+   * applying thread. The last batch, possibly empty, records how the script ended.
+   */
+  private void read(LineSource script, BlockingQueue<Batch> toParse,
+                    BlockingQueue<Batch> toApply) {
+    Batch batch = new Batch();
+    try {
+      CharSequence line;
+      while ((line = script.readLine()) != null) {
+        line = trim(line);
+        if (line.length() == 0 || line.charAt(0) == '#') {
+          continue;
+        }
+        if (line.length() == 4 && line.toString().equalsIgnoreCase("exit")) {
+          batch.exit = true;
+          break;
+        }
+        batch.lines[batch.size++] = line;
+        if (batch.size == BATCH_SIZE) {
+          toApply.put(batch);
+          toParse.put(batch);
+          batch = new Batch();
+        }
+      }
+    } catch (IOException e) {
+      batch.failure = e;
+    } catch (InterruptedException e) {
+      return;
+    }
+
+    batch.last = true;
+    try {
+      toApply.put(batch);
+      toParse.put(batch);
+      for (int i = 0; i < parsers; i++) {
+        toParse.put(NO_MORE_BATCHES);
+      }
+    } catch (InterruptedException e) {
+      // The applying thread has stopped; nobody is waiting for the batch.
+    }
+  }
+
+  /**
+   * The parser stage. A line the parser fails on unexpectedly is left unparsed, to be
+   * run through {@link CalendarCommandHandler#processCommand} so it fails the same way
+   * it always has.
+   */
+  private static void parse(BlockingQueue<Batch> toParse) {
+    try {
+      Batch batch;
+      while ((batch = toParse.take()) != NO_MORE_BATCHES) {
+        for (int i = 0; i < batch.size; i++) {
+          try {
+            batch.commands[i] = CommandParser.parse(batch.lines[i]);
+          } catch (CommandSyntaxException e) {
+            batch.errors[i] = e;
+          } catch (RuntimeException e) {
+            // Left unparsed.
+          }
+        }
+        batch.parsed.countDown();
+      }
+    } catch (InterruptedException e) {
+      // The applying thread has stopped.
+    }
+  }
+
+  private void apply(Batch batch) {
+    for (int i = 0; i < batch.size; i++) {
+      boolean result;
+      if (batch.commands[i] != null) {
+        result = handler.execute(batch.commands[i]);
+      } else if (batch.errors[i] != null) {
+        result = handler.reportSyntaxError(batch.errors[i]);
+      } else {
+        result = handler.processCommand(batch.lines[i].toString());
+      }
+      if (!result) {
+        handler.getOutput().flush();
+        System.err.println("Command failed: " + batch.lines[i]);
+      }
+    }
+  }
+
+  /**
+   * Strips leading and trailing whitespace as {@link String#trim} does, without copying
+   * the line.
+   */
+  private static CharSequence trim(CharSequence line) {
+    int start = 0;
+    int end = line.length();
+    while (start < end && line.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && line.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return start == 0 && end == line.length() ? line : line.subSequence(start, end);
+  }
+
+  /**
+   * Where the reader stage gets the script's lines.
+   */
+  private interface LineSource {
+    CharSequence readLine() throws IOException;
+  }
+
+  /**
+   * A run of consecutive command lines and, once parsed, their commands or parse errors.
+   * The latch publishes the parser's results to the applying thread.
+   */
+  private static final class Batch {
+    final CharSequence[] lines = new CharSequence[BATCH_SIZE];
+    final CalendarCommand[] commands = new CalendarCommand[BATCH_SIZE];
+    final CommandSyntaxException[] errors = new CommandSyntaxException[BATCH_SIZE];
+    final CountDownLatch parsed = new CountDownLatch(1);
+    int size;
+    boolean last;
+    boolean exit;
+    IOException failure;
+  }
+}
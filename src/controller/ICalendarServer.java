@@ -0,0 +1,30 @@
+package controller;
+
+import java.io.IOException;
+
+/**
+ * Interface for the HTTP server front end of the calendar application.
+ * Defines the contract for exposing calendar manager operations to network clients
+ * with structured responses instead of printed text.
+ */
+public interface ICalendarServer {
+
+  /**
+   * Binds the server socket and starts accepting requests.
+   *
+   * @throws IOException if the port cannot be bound
+   */
+  void start() throws IOException;
+
+  /**
+   * Stops accepting requests and waits briefly for requests in progress to finish.
+   */
+  void stop();
+
+  /**
+   * Gets the port the server is bound to, which is useful when it was started on port 0.
+   *
+   * @return the bound port, or -1 if the server is not running
+   */
+  int getPort();
+}
@@ -0,0 +1,180 @@
+package controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Reads the lines of a script file straight from memory-mapped windows of the file.
+ *
+ * <p>A line of ASCII text is returned as a {@link CharSequence} view of the mapped bytes,
+ * so reading and parsing it copies nothing; only the strings the parser keeps, such as
+ * subjects and names, are created. A line containing other bytes is decoded as UTF-8
+ * into a string. Lines end at {@code \n}, {@code \r}, or {@code \r\n}, as with
+ * {@link java.io.BufferedReader#readLine}.
+ *
+ * <p>Files larger than one window are mapped a window at a time, each new window starting
+ * at the first line the previous one did not finish. Returned lines stay valid after the
+ * reader moves on or is closed.
+ */
+final class MappedScriptReader implements Closeable {
+
+  private static final long DEFAULT_WINDOW = 1L << 28;
+
+  private final FileChannel channel;
+  private final long size;
+  private final long windowSize;
+  private ByteBuffer window;
+  private long windowStart;
+  private int position;
+
+  /**
+   * Opens a script file with the default window size.
+   *
+   * @param file the script file
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  MappedScriptReader(Path file) throws IOException {
+    this(file, DEFAULT_WINDOW);
+  }
+
+  /**
+   * Opens a script file.
+   *
+   * @param file       the script file
+   * @param windowSize the most bytes to map at once, which bounds the length of a line
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  MappedScriptReader(Path file, long windowSize) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    this.windowSize = windowSize;
+    try {
+      this.size = channel.size();
+      map(0);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the next line, without its line terminator.
+   *
+   * @return the line, or null at the end of the file
+   * @throws IOException if the next window cannot be mapped or a line does not fit in one
+   */
+  CharSequence readLine() throws IOException {
+    while (true) {
+      int limit = window.limit();
+      boolean lastWindow = windowStart + limit == size;
+      boolean ascii = true;
+      for (int i = position; i < limit; i++) {
+        byte b = window.get(i);
+        if (b == '\n' || b == '\r') {
+          int next = i + 1;
+          if (b == '\r') {
+            if (next == limit && !lastWindow) {
+              break;
+            }
+            if (next < limit && window.get(next) == '\n') {
+              next++;
+            }
+          }
+          CharSequence line = line(position, i, ascii);
+          position = next;
+          return line;
+        }
+        ascii &= b >= 0;
+      }
+
+      if (lastWindow) {
+        if (position == limit) {
+          return null;
+        }
+        CharSequence line = line(position, limit, ascii);
+        position = limit;
+        return line;
+      }
+      if (position == 0) {
+        throw new IOException("Script line longer than " + windowSize + " bytes at offset "
+                + windowStart);
+      }
+      map(windowStart + position);
+    }
+  }
+
+  /**
+   * Closes the file. Mapped windows, and lines viewing them, stay readable.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private void map(long start) throws IOException {
+    windowStart = start;
+    window = channel.map(FileChannel.MapMode.READ_ONLY, start,
+            Math.min(windowSize, size - start));
+    position = 0;
+  }
+
+  private CharSequence line(int from, int to, boolean ascii) {
+    if (ascii) {
+      return new Line(window, from, to - from);
+    }
+    byte[] bytes = new byte[to - from];
+    ByteBuffer view = window.duplicate();
+    view.position(from);
+    view.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * An ASCII line read in place from a mapped window. Reads use absolute indices only,
+   * so any number of threads may read the same line.
+   */
+  private static final class Line implements CharSequence {
+    private final ByteBuffer bytes;
+    private final int offset;
+    private final int length;
+
+    Line(ByteBuffer bytes, int offset, int length) {
+      this.bytes = bytes;
+      this.offset = offset;
+      this.length = length;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      Objects.checkIndex(index, length);
+      return (char) bytes.get(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      Objects.checkFromToIndex(start, end, length);
+      return new Line(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+      byte[] copy = new byte[length];
+      for (int i = 0; i < length; i++) {
+        copy[i] = bytes.get(offset + i);
+      }
+      return new String(copy, StandardCharsets.US_ASCII);
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the times when every one of several calendars is free.
+ *
+ * <p>Each calendar's events are turned into busy intervals of epoch seconds through the
+ * {@link ZoneTimeline} of the calendar's own timezone, so calendars kept in different
+ * zones are compared on one timeline. The per-calendar interval lists, each ordered by
+ * start, are merged through a priority queue keyed on their next start, and a single
+ * sweep tracks the end of the busy time seen so far; any gap before the next busy
+ * interval that is long enough is a free slot. Events are read a week at a time, so a
+ * search that finds its slots early never expands the recurring events of the rest of a
+ * long range.
+ */
+final class AvailabilityFinder {
+
+  /**
+   * Span of time whose events are read from every calendar at once.
+   */
+  private static final long WINDOW_SECONDS = Duration.ofDays(7).getSeconds();
+
+  /**
+   * Extra local time read on each side of a window, which covers any daylight saving
+   * shift between a calendar's wall clock and the instants of the window.
+   */
+  private static final Duration ZONE_MARGIN = Duration.ofDays(1);
+
+  private AvailabilityFinder() {
+  }
+
+  /**
+   * Finds the first free slots, in time order, shared by all the given calendars.
+   * A slot is a whole gap between busy times, clipped to the searched range, that is at
+   * least the requested length.
+   *
+   * @param calendars the calendars that must all be free
+   * @param from      the start of the range to search
+   * @param to        the end of the range to search
+   * @param length    the shortest gap to report
+   * @param limit     the most slots to return
+   * @return up to {@code limit} free slots
+   */
+  static List<TimeSlot> findFreeSlots(List<CalendarInstance> calendars, Instant from,
+                                      Instant to, Duration length, int limit) {
+    List<TimeSlot> slots = new ArrayList<>();
+    long end = to.getEpochSecond();
+    long needed = length.getSeconds();
+    long freeFrom = from.getEpochSecond();
+    PriorityQueue<BusyIntervals> queue = new PriorityQueue<>(Math.max(1, calendars.size()),
+            Comparator.comparingLong(BusyIntervals::start));
+
+    long windowStart = freeFrom;
+    while (windowStart < end) {
+      long windowEnd = Math.min(end, windowStart + WINDOW_SECONDS);
+      for (CalendarInstance calendar : calendars) {
+        BusyIntervals busy = BusyIntervals.read(calendar, windowStart, windowEnd);
+        if (busy.hasCurrent()) {
+          queue.add(busy);
+        }
+      }
+      while (!queue.isEmpty()) {
+        BusyIntervals busy = queue.poll();
+        long gapEnd = Math.min(busy.start(), end);
+        if (gapEnd - freeFrom >= needed) {
+          slots.add(slot(freeFrom, gapEnd));
+          if (slots.size() == limit) {
+            return slots;
+          }
+        }
+        freeFrom = Math.max(freeFrom, busy.end());
+        if (busy.advance()) {
+          queue.add(busy);
+        }
+      }
+      windowStart = Math.max(windowEnd, freeFrom);
+    }
+    if (end - freeFrom >= needed) {
+      slots.add(slot(freeFrom, end));
+    }
+    return slots;
+  }
+
+  private static TimeSlot slot(long start, long end) {
+    return new TimeSlot(Instant.ofEpochSecond(start), Instant.ofEpochSecond(end));
+  }
+
+  /**
+   * The busy intervals of one calendar over a window, ordered by start, with a cursor
+   * on the next one to merge.
+   */
+  private static final class BusyIntervals {
+    private final long[] starts;
+    private final long[] ends;
+    private final int size;
+    private int current;
+
+    private BusyIntervals(long[] starts, long[] ends, int size) {
+      this.starts = starts;
+      this.ends = ends;
+      this.size = size;
+    }
+
+    /**
+     * Reads the events of a calendar that may overlap a span of epoch seconds.
+     */
+    static BusyIntervals read(CalendarInstance calendar, long from, long to) {
+      ZoneTimeline timeline = calendar.getTimeline();
+      LocalDateTime localFrom = timeline.toLocal(from).minus(ZONE_MARGIN);
+      LocalDateTime localTo = timeline.toLocal(to).plus(ZONE_MARGIN);
+      List<Event> events = calendar.getEventsInRange(localFrom, localTo);
+
+      long[] starts = new long[events.size()];
+      long[] ends = new long[events.size()];
+      int size = 0;
+      boolean sorted = true;
+      for (Event event : events) {
+        long start = timeline.toEpochSecond(event.getStartDateTime());
+        long end = timeline.toEpochSecond(event.getEndDateTime());
+        if (end <= start || end <= from || start >= to) {
+          continue;
+        }
+        sorted &= size == 0 || starts[size - 1] <= start;
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+      }
+      if (!sorted) {
+        sortByStart(starts, ends, size);
+      }
+      return new BusyIntervals(starts, ends, size);
+    }
+
+    boolean hasCurrent() {
+      return current < size;
+    }
+
+    long start() {
+      return starts[current];
+    }
+
+    long end() {
+      return ends[current];
+    }
+
+    boolean advance() {
+      return ++current < size;
+    }
+
+    /**
+     * Restores start order, which local start order only breaks for events starting in
+     * a daylight saving gap.
+     */
+    private static void sortByStart(long[] starts, long[] ends, int size) {
+      long[][] pairs = new long[size][];
+      for (int i = 0; i < size; i++) {
+        pairs[i] = new long[] {starts[i], ends[i]};
+      }
+      Arrays.sort(pairs, Comparator.comparingLong(pair -> pair[0]));
+      for (int i = 0; i < size; i++) {
+        starts[i] = pairs[i][0];
+        ends[i] = pairs[i][1];
+      }
+    }
+  }
+}
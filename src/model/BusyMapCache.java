@@ -0,0 +1,186 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of which minutes of each day a calendar is busy, used to answer busy queries with
+ * a single bit test.
+ *
+ * <p>Each day is a bitmap of 1440 bits, one per minute, built the first time the day is
+ * asked about from the events that overlap it. Only the most recently used days are
+ * kept, up to a fixed number, so the cache stays small however long the calendar is.
+ * Every bitmap is dropped as soon as the calendar's modification count moves, which
+ * covers edits made through event setters as well as through the calendar.
+ *
+ * <p>Minute bits are exact only when events start and end on whole minutes, as events
+ * entered through commands always do. A day holding any other event is remembered as
+ * such, and busy queries on it go back to the calendar's own search.
+ *
+ * <p>The cache may be used by several threads at once. A bitmap built while the events
+ * were changing is used for the query that built it but not kept.
+ */
+final class BusyMapCache {
+
+  /**
+   * Number of days each calendar keeps bitmaps for.
+   */
+  static final int DEFAULT_MAX_DAYS = 366;
+
+  private static final int MINUTES_PER_DAY = 24 * 60;
+  private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+  /**
+   * Marks a day with events that do not fall on whole minutes.
+   */
+  private static final long[] INEXACT = new long[0];
+
+  private final Source source;
+  private final Map<LocalDate, long[]> days;
+  private long builtAt = -1;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxDays the most days to keep bitmaps for
+   * @param source  the calendar whose events the bitmaps are built from
+   */
+  BusyMapCache(int maxDays, Source source) {
+    this.source = source;
+    this.days = new LinkedHashMap<LocalDate, long[]>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<LocalDate, long[]> eldest) {
+        return size() > maxDays;
+      }
+    };
+  }
+
+  /**
+   * Checks whether any event is active at an instant, as defined by
+   * {@link Event#isActiveAt(LocalDateTime)}.
+   *
+   * @param dateTime the instant to check
+   * @return true if an event covers the instant
+   */
+  boolean isBusy(LocalDateTime dateTime) {
+    long[] words = dayMap(dateTime.toLocalDate());
+    if (words == INEXACT) {
+      return source.anyActiveAt(dateTime);
+    }
+    int minute = dateTime.getHour() * 60 + dateTime.getMinute();
+    return (words[minute / Long.SIZE] & (1L << minute)) != 0;
+  }
+
+  /**
+   * Gets the bitmap of a day, building and keeping it if it is not cached.
+   */
+  private long[] dayMap(LocalDate date) {
+    long changes = source.modificationCount();
+    synchronized (this) {
+      if (changes > builtAt) {
+        days.clear();
+        builtAt = changes;
+      }
+      long[] words = days.get(date);
+      if (words != null) {
+        return words;
+      }
+    }
+    long[] words = build(date);
+    synchronized (this) {
+      if (builtAt == changes && source.modificationCount() == changes) {
+        days.put(date, words);
+      }
+    }
+    return words;
+  }
+
+  private long[] build(LocalDate date) {
+    LocalDateTime dayStart = date.atStartOfDay();
+    LocalDateTime dayEnd = dayStart.plusDays(1);
+    long[] words = new long[WORDS_PER_DAY];
+    for (Event event : source.getEventsInRange(dayStart, dayEnd)) {
+      LocalDateTime start = event.getStartDateTime();
+      LocalDateTime end = event.getEndDateTime();
+      if (!start.isBefore(end) || !end.isAfter(dayStart) || !start.isBefore(dayEnd)) {
+        continue;
+      }
+      int from = start.isBefore(dayStart) ? 0 : minuteOf(start);
+      int to = end.isBefore(dayEnd) ? minuteOf(end) : MINUTES_PER_DAY;
+      if (from < 0 || to < 0) {
+        return INEXACT;
+      }
+      setRange(words, from, to);
+    }
+    return words;
+  }
+
+  /**
+   * Gets the minute of the day a time falls on.
+   *
+   * @return the minute, or -1 if the time is not a whole minute
+   */
+  private static int minuteOf(LocalDateTime dateTime) {
+    if (dateTime.getSecond() != 0 || dateTime.getNano() != 0) {
+      return -1;
+    }
+    return dateTime.getHour() * 60 + dateTime.getMinute();
+  }
+
+  /**
+   * Sets the bits of minutes {@code from} (inclusive) to {@code to} (exclusive).
+   */
+  private static void setRange(long[] words, int from, int to) {
+    if (from >= to) {
+      return;
+    }
+    int first = from / Long.SIZE;
+    int last = (to - 1) / Long.SIZE;
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+    if (first == last) {
+      words[first] |= firstMask & lastMask;
+      return;
+    }
+    words[first] |= firstMask;
+    for (int i = first + 1; i < last; i++) {
+      words[i] = -1L;
+    }
+    words[last] |= lastMask;
+  }
+
+  /**
+   * The events a cache is built from. Calls are made with the calendar's read access
+   * already held.
+   */
+  interface Source {
+
+    /**
+     * Finds every event that does not end before {@code from} and does not start after
+     * {@code to}.
+     *
+     * @param from start of the range
+     * @param to   end of the range
+     * @return the matching events
+     */
+    List<Event> getEventsInRange(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Checks whether any event is active at an instant, without the cache.
+     *
+     * @param dateTime the instant to check
+     * @return true if an event covers the instant
+     */
+    boolean anyActiveAt(LocalDateTime dateTime);
+
+    /**
+     * Counts the changes made to the events so far.
+     *
+     * @return a number that grows with every change
+     */
+    long modificationCount();
+  }
+}
@@ -6,11 +6,11 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -25,9 +25,14 @@ import java.util.Set;
  */
 public class Calendar implements ICalendar {
   /**
-   * Set of all events in the calendar.
+   * Storage engine holding the stored (non-generated) events of the calendar.
    */
-  private Set<Event> events;
+  private IEventStore store;
+
+  /**
+   * Recurrence rules whose occurrences are generated on demand rather than stored.
+   */
+  private SeriesRuleIndex seriesRules;
 
   /**
    * Map of event series indexed by series ID.
@@ -39,12 +44,44 @@ public class Calendar implements ICalendar {
    */
   private int seriesCounter;
 
+  /**
+   * Per-day busy bitmaps, rebuilt after any change to the stored events or series rules.
+   */
+  private final BusyMapCache busyMap = new BusyMapCache(BusyMapCache.DEFAULT_MAX_DAYS,
+          new BusyMapCache.Source() {
+            @Override
+            public List<Event> getEventsInRange(LocalDateTime from, LocalDateTime to) {
+              return EventsByStart.merge(store.getEventsInRange(from, to),
+                      seriesRules.getOccurrencesInRange(from, to));
+            }
+
+            @Override
+            public boolean anyActiveAt(LocalDateTime dateTime) {
+              return store.anyActiveAt(dateTime) || seriesRules.anyActiveAt(dateTime);
+            }
+
+            @Override
+            public long modificationCount() {
+              return store.modificationCount() + seriesRules.modificationCount();
+            }
+          });
+
   /**
    * Creates a new empty calendar.
    * Initializes internal data structures for events and event series.
    */
   public Calendar() {
-    this.events = new HashSet<>();
+    this(new IndexedEventStore());
+  }
+
+  /**
+   * Creates a new empty calendar that keeps its events in the given store.
+   *
+   * @param store the empty event store to use
+   */
+  public Calendar(IEventStore store) {
+    this.store = store;
+    this.seriesRules = new SeriesRuleIndex();
     this.eventSeries = new HashMap<>();
     this.seriesCounter = 0;
   }
@@ -55,14 +92,11 @@ public class Calendar implements ICalendar {
                              String location, EventStatus status) {
     Event event = new Event(subject, startDateTime, endDateTime, description, location, status);
 
-    for (Event existing : events) {
-      if (existing.conflictsWith(event)) {
-        return false;
-      }
+    if (seriesRules.contains(EventKey.of(event))) {
+      return false;
     }
 
-    events.add(event);
-    return true;
+    return store.add(event);
   }
 
   @Override
@@ -76,14 +110,11 @@ public class Calendar implements ICalendar {
                                    String location, EventStatus status) {
     Event event = new Event(subject, date, description, location, status);
 
-    for (Event existing : events) {
-      if (existing.conflictsWith(event)) {
-        return false;
-      }
+    if (seriesRules.contains(EventKey.of(event))) {
+      return false;
     }
 
-    events.add(event);
-    return true;
+    return store.add(event);
   }
 
   @Override
@@ -96,36 +127,15 @@ public class Calendar implements ICalendar {
                                    LocalDateTime endDateTime, Set<DayOfWeek> weekdays,
                                    int occurrences, String description, String location,
                                    EventStatus status) {
-    String seriesId = "series_" + (++seriesCounter);
-    EventSeries series = new EventSeries(seriesId, weekdays, startDateTime.toLocalTime(),
-            endDateTime.toLocalTime(), false);
-
-    List<Event> eventsToAdd = new ArrayList<>();
-    LocalDate currentDate = startDateTime.toLocalDate();
-    int created = 0;
-
-    while (created < occurrences) {
-      if (weekdays.contains(currentDate.getDayOfWeek())) {
-        LocalDateTime eventStart = currentDate.atTime(startDateTime.toLocalTime());
-        LocalDateTime eventEnd = currentDate.atTime(endDateTime.toLocalTime());
-        Event event = new Event(subject, eventStart, eventEnd, description, location, status);
-        event.setSeriesId(seriesId);
-
-        for (Event existing : events) {
-          if (existing.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        eventsToAdd.add(event);
-        created++;
-      }
-      currentDate = currentDate.plusDays(1);
+    LocalDate lastDate = EventSeries.lastOccurrenceDate(startDateTime.toLocalDate(),
+            weekdays, occurrences);
+    if (lastDate == null) {
+      return false;
     }
 
-    eventSeries.put(seriesId, series);
-    events.addAll(eventsToAdd);
-    return true;
+    return addSeries(new EventSeries("series_" + (++seriesCounter), weekdays,
+            startDateTime.toLocalTime(), endDateTime.toLocalTime(), false, subject,
+            startDateTime.toLocalDate(), lastDate, description, location, status));
   }
 
   @Override
@@ -141,34 +151,9 @@ public class Calendar implements ICalendar {
                                         LocalDateTime endDateTime, Set<DayOfWeek> weekdays,
                                         LocalDate endDate, String description,
                                         String location, EventStatus status) {
-    String seriesId = "series_" + (++seriesCounter);
-    EventSeries series = new EventSeries(seriesId, weekdays, startDateTime.toLocalTime(),
-            endDateTime.toLocalTime(), false);
-
-    List<Event> eventsToAdd = new ArrayList<>();
-    LocalDate currentDate = startDateTime.toLocalDate();
-
-    while (!currentDate.isAfter(endDate)) {
-      if (weekdays.contains(currentDate.getDayOfWeek())) {
-        LocalDateTime eventStart = currentDate.atTime(startDateTime.toLocalTime());
-        LocalDateTime eventEnd = currentDate.atTime(endDateTime.toLocalTime());
-        Event event = new Event(subject, eventStart, eventEnd, description, location, status);
-        event.setSeriesId(seriesId);
-
-        for (Event existing : events) {
-          if (existing.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        eventsToAdd.add(event);
-      }
-      currentDate = currentDate.plusDays(1);
-    }
-
-    eventSeries.put(seriesId, series);
-    events.addAll(eventsToAdd);
-    return true;
+    return addSeries(new EventSeries("series_" + (++seriesCounter), weekdays,
+            startDateTime.toLocalTime(), endDateTime.toLocalTime(), false, subject,
+            startDateTime.toLocalDate(), endDate, description, location, status));
   }
 
   @Override
@@ -184,34 +169,14 @@ public class Calendar implements ICalendar {
                                          Set<DayOfWeek> weekdays, int occurrences,
                                          String description, String location,
                                          EventStatus status) {
-    String seriesId = "series_" + (++seriesCounter);
-    EventSeries series = new EventSeries(seriesId, weekdays, LocalTime.of(8, 0),
-            LocalTime.of(17, 0), true);
-
-    List<Event> eventsToAdd = new ArrayList<>();
-    LocalDate currentDate = startDate;
-    int created = 0;
-
-    while (created < occurrences) {
-      if (weekdays.contains(currentDate.getDayOfWeek())) {
-        Event event = new Event(subject, currentDate, description, location, status);
-        event.setSeriesId(seriesId);
-
-        for (Event existing : events) {
-          if (existing.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        eventsToAdd.add(event);
-        created++;
-      }
-      currentDate = currentDate.plusDays(1);
+    LocalDate lastDate = EventSeries.lastOccurrenceDate(startDate, weekdays, occurrences);
+    if (lastDate == null) {
+      return false;
     }
 
-    eventSeries.put(seriesId, series);
-    events.addAll(eventsToAdd);
-    return true;
+    return addSeries(new EventSeries("series_" + (++seriesCounter), weekdays,
+            LocalTime.of(8, 0), LocalTime.of(17, 0), true, subject,
+            startDate, lastDate, description, location, status));
   }
 
   @Override
@@ -226,32 +191,9 @@ public class Calendar implements ICalendar {
                                               Set<DayOfWeek> weekdays, LocalDate endDate,
                                               String description, String location,
                                               EventStatus status) {
-    String seriesId = "series_" + (++seriesCounter);
-    EventSeries series = new EventSeries(seriesId, weekdays, LocalTime.of(8, 0),
-            LocalTime.of(17, 0), true);
-
-    List<Event> eventsToAdd = new ArrayList<>();
-    LocalDate currentDate = startDate;
-
-    while (!currentDate.isAfter(endDate)) {
-      if (weekdays.contains(currentDate.getDayOfWeek())) {
-        Event event = new Event(subject, currentDate, description, location, status);
-        event.setSeriesId(seriesId);
-
-        for (Event existing : events) {
-          if (existing.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        eventsToAdd.add(event);
-      }
-      currentDate = currentDate.plusDays(1);
-    }
-
-    eventSeries.put(seriesId, series);
-    events.addAll(eventsToAdd);
-    return true;
+    return addSeries(new EventSeries("series_" + (++seriesCounter), weekdays,
+            LocalTime.of(8, 0), LocalTime.of(17, 0), true, subject,
+            startDate, endDate, description, location, status));
   }
 
   @Override
@@ -263,33 +205,53 @@ public class Calendar implements ICalendar {
 
   @Override
   public Event findEvent(String subject, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-    for (Event event : events) {
-      if (event.getSubject().equals(subject)
-              && event.getStartDateTime().equals(startDateTime)
-              && event.getEndDateTime().equals(endDateTime)) {
-        return event;
-      }
-    }
-    return null;
+    Event event = findStoredEvent(subject, startDateTime, endDateTime);
+    return event != null
+            ? event : seriesRules.find(new EventKey(subject, startDateTime, endDateTime));
+  }
+
+  /**
+   * Finds an event held in the event set, ignoring occurrences generated by series rules.
+   *
+   * @param subject       event subject
+   * @param startDateTime event start time
+   * @param endDateTime   event end time
+   * @return the stored event, or null if none matches
+   */
+  private Event findStoredEvent(String subject, LocalDateTime startDateTime,
+                                LocalDateTime endDateTime) {
+    return store.find(new EventKey(subject, startDateTime, endDateTime));
   }
 
   @Override
   public Event findEventBySubjectAndStart(String subject, LocalDateTime startDateTime) {
-    for (Event event : events) {
-      if (event.getSubject().equals(subject)
-              && event.getStartDateTime().equals(startDateTime)) {
+    if (startDateTime == null) {
+      return null;
+    }
+    for (Event event : store.findByStart(startDateTime)) {
+      if (Objects.equals(event.getSubject(), subject)) {
         return event;
       }
     }
-    return null;
+    return seriesRules.findBySubjectAndStart(subject, startDateTime);
   }
 
   @Override
   public boolean editEvent(String property, String subject, LocalDateTime startDateTime,
                            LocalDateTime endDateTime, String newValue) {
-    Event event = findEvent(subject, startDateTime, endDateTime);
+    Event event = findStoredEvent(subject, startDateTime, endDateTime);
     if (event == null) {
-      return false;
+      EventKey key = new EventKey(subject, startDateTime, endDateTime);
+      EventSeries rule = seriesRules.findRule(key);
+      if (rule == null) {
+        return false;
+      }
+      LocalDate date = startDateTime.toLocalDate();
+      event = storeDetached(rule.createOccurrence(date));
+      if (event == null) {
+        return false;
+      }
+      seriesRules.materialize(rule, date);
     }
     return updateEventProperty(event, property, newValue);
   }
@@ -306,17 +268,34 @@ public class Calendar implements ICalendar {
       return updateEventProperty(targetEvent, property, newValue);
     }
 
+    if (!isValidSeriesEdit(property, newValue)) {
+      return false;
+    }
+
     String seriesId = targetEvent.getSeriesId();
-    boolean isTimeChange = "start".equals(property);
+    boolean isTimeChange = "start".equalsIgnoreCase(property);
+
+    List<Event> eventsToEdit = store.getSeriesMembersFrom(seriesId, startDateTime);
+    List<EventSeries> cut = new ArrayList<>();
+    List<LocalDate> cutFrom = new ArrayList<>();
+    for (EventSeries rule : seriesRules.getRules(seriesId)) {
+      LocalDate fromDate = startDateTime.toLocalDate();
+      if (fromDate.atTime(rule.getStartTime()).isBefore(startDateTime)) {
+        fromDate = fromDate.plusDays(1);
+      }
+      editRule(rule, fromDate, property, newValue, cut, cutFrom);
+    }
+    List<Event> detached = detachAll(cut, cutFrom);
+    if (detached == null) {
+      return false;
+    }
+    eventsToEdit.addAll(detached);
 
-    for (Event event : events) {
-      if (seriesId.equals(event.getSeriesId())
-              && !event.getStartDateTime().isBefore(startDateTime)) {
-        updateEventProperty(event, property, newValue);
+    for (Event event : eventsToEdit) {
+      updateEventProperty(event, property, newValue);
 
-        if (isTimeChange) {
-          event.setSeriesId(null);
-        }
+      if (isTimeChange) {
+        event.setSeriesId(null);
       }
     }
 
@@ -335,22 +314,63 @@ public class Calendar implements ICalendar {
       return updateEventProperty(targetEvent, property, newValue);
     }
 
+    if (!isValidSeriesEdit(property, newValue)) {
+      return false;
+    }
+
     String seriesId = targetEvent.getSeriesId();
-    boolean isTimeChange = "start".equals(property);
+    boolean isTimeChange = "start".equalsIgnoreCase(property);
 
-    for (Event event : events) {
-      if (seriesId.equals(event.getSeriesId())) {
-        updateEventProperty(event, property, newValue);
+    List<Event> eventsToEdit = store.getSeriesMembers(seriesId);
+    List<EventSeries> cut = new ArrayList<>();
+    List<LocalDate> cutFrom = new ArrayList<>();
+    for (EventSeries rule : seriesRules.getRules(seriesId)) {
+      editRule(rule, LocalDate.MIN, property, newValue, cut, cutFrom);
+    }
+    List<Event> detached = detachAll(cut, cutFrom);
+    if (detached == null) {
+      return false;
+    }
+    eventsToEdit.addAll(detached);
 
-        if (isTimeChange) {
-          event.setSeriesId(null);
-        }
+    for (Event event : eventsToEdit) {
+      updateEventProperty(event, property, newValue);
+
+      if (isTimeChange) {
+        event.setSeriesId(null);
       }
     }
 
     return true;
   }
 
+  /**
+   * Applies a series edit to the occurrences a rule generates on or after a date.
+   * Subject, description, location, and status edits change the rule directly, splitting
+   * it at the date when needed. Time edits queue the rule to have its occurrences
+   * detached into stored events.
+   *
+   * @param rule     the rule to edit
+   * @param from     the first date to edit
+   * @param property a property accepted by {@link #isValidSeriesEdit(String, String)}
+   * @param newValue the new value for the property
+   * @param cut      rules whose occurrences are to be detached; this rule may be added
+   * @param cutFrom  the first date to detach from each rule in {@code cut}
+   */
+  private void editRule(EventSeries rule, LocalDate from, String property, String newValue,
+                        List<EventSeries> cut, List<LocalDate> cutFrom) {
+    LocalDate first = rule.nextOccurrenceFrom(from);
+    if (first == null) {
+      return;
+    }
+    if (SeriesRuleIndex.isRuleProperty(property)) {
+      seriesRules.setProperty(seriesRules.splitAt(rule, first), property, newValue);
+    } else {
+      cut.add(rule);
+      cutFrom.add(first);
+    }
+  }
+
   /**
    * Updates a single property of an event.
    *
@@ -391,42 +411,98 @@ public class Calendar implements ICalendar {
 
   @Override
   public List<Event> getEventsOnDate(LocalDate date) {
-    List<Event> dayEvents = new ArrayList<>();
-    for (Event event : events) {
-      if (event.occursOnDate(date)) {
-        dayEvents.add(event);
-      }
-    }
-    dayEvents.sort(Comparator.comparing(Event::getStartDateTime));
-    return dayEvents;
+    return EventsByStart.merge(store.getEventsOnDate(date),
+            seriesRules.getOccurrencesOnDate(date));
   }
 
   @Override
   public List<Event> getEventsInRange(LocalDateTime startDateTime, LocalDateTime endDateTime) {
-    List<Event> rangeEvents = new ArrayList<>();
-    for (Event event : events) {
-      if (!(event.getEndDateTime().isBefore(startDateTime)
-              || event.getStartDateTime().isAfter(endDateTime))) {
-        rangeEvents.add(event);
-      }
-    }
-    rangeEvents.sort(Comparator.comparing(Event::getStartDateTime));
-    return rangeEvents;
+    return EventsByStart.merge(store.getEventsInRange(startDateTime, endDateTime),
+            seriesRules.getOccurrencesInRange(startDateTime, endDateTime));
   }
 
   @Override
   public boolean isBusy(LocalDateTime dateTime) {
-    for (Event event : events) {
-      if (event.isActiveAt(dateTime)) {
-        return true;
-      }
-    }
-    return false;
+    return busyMap.isBusy(dateTime);
   }
 
   @Override
   public Set<Event> getAllEvents() {
-    return new HashSet<>(events);
+    Set<Event> allEvents = new HashSet<>(store.getAllEvents());
+    allEvents.addAll(seriesRules.getAllOccurrences());
+    return allEvents;
+  }
+
+  /**
+   * Checks whether an event with the given identity is already stored or generated by a
+   * series rule.
+   *
+   * @param key the subject, start, and end to look for
+   * @return true if such an event exists
+   */
+  private boolean isDuplicate(EventKey key) {
+    return store.contains(key) || seriesRules.contains(key);
+  }
+
+  /**
+   * Registers a series rule if none of its occurrences duplicates an existing event.
+   * Occurrences are checked one by one but never stored.
+   *
+   * @param series the series rule to add
+   * @return true if the series was added
+   */
+  private boolean addSeries(EventSeries series) {
+    for (LocalDate date = series.nextOccurrenceFrom(series.getFirstDate()); date != null;
+         date = series.nextOccurrenceFrom(date.plusDays(1))) {
+      if (isDuplicate(new EventKey(series.getSubject(), date.atTime(series.getStartTime()),
+              date.atTime(series.getEndTime())))) {
+        return false;
+      }
+    }
+
+    eventSeries.put(series.getSeriesId(), series);
+    seriesRules.add(series);
+    return true;
+  }
+
+  /**
+   * Stores an occurrence detached from its series rule so it can be edited on its own.
+   *
+   * @param occurrence the detached occurrence
+   * @return the stored event, as the store hands it out, or null if the store already
+   *         holds an event with the same subject, start, and end or cannot hold its times
+   */
+  private Event storeDetached(Event occurrence) {
+    return store.add(occurrence) ? store.find(EventKey.of(occurrence)) : null;
+  }
+
+  /**
+   * Stores the occurrences that rules generate from given dates as events of their own,
+   * then stops the rules generating them. Nothing changes unless every occurrence can be
+   * stored; one that collides with a stored event of the same subject, start, and end,
+   * such as an event renamed onto the series, fails the whole detach.
+   *
+   * @param rules the rules to cut
+   * @param froms the first date to detach from each rule
+   * @return the stored events, or null if an occurrence could not be stored
+   */
+  private List<Event> detachAll(List<EventSeries> rules, List<LocalDate> froms) {
+    List<Event> detached = new ArrayList<>();
+    for (int i = 0; i < rules.size(); i++) {
+      EventSeries rule = rules.get(i);
+      for (Event occurrence : rule.getOccurrences(froms.get(i), rule.getLastDate())) {
+        Event stored = storeDetached(occurrence);
+        if (stored == null) {
+          detached.forEach(store::remove);
+          return null;
+        }
+        detached.add(stored);
+      }
+    }
+    for (int i = 0; i < rules.size(); i++) {
+      seriesRules.materializeFrom(rules.get(i), froms.get(i));
+    }
+    return detached;
   }
 
   /**
@@ -439,4 +515,30 @@ public class Calendar implements ICalendar {
   private LocalDateTime parseDateTime(String dateTimeStr) {
     return LocalDateTime.parse(dateTimeStr, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm"));
   }
+
+  /**
+   * Checks whether {@link #updateEventProperty} would accept an edit, so that a series
+   * edit can be rejected before it detaches or changes anything.
+   *
+   * @param property the property to edit
+   * @param newValue the new value for the property
+   * @return true if the property is known and, for a time, the value parses
+   */
+  private boolean isValidSeriesEdit(String property, String newValue) {
+    if (SeriesRuleIndex.isRuleProperty(property)) {
+      return true;
+    }
+    switch (property.toLowerCase()) {
+      case "start":
+      case "end":
+        try {
+          parseDateTime(newValue);
+          return true;
+        } catch (Exception e) {
+          return false;
+        }
+      default:
+        return false;
+    }
+  }
 }
\ No newline at end of file
@@ -7,13 +7,14 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +24,18 @@ import java.util.stream.Collectors;
  *
  * <p>Each CalendarInstance has its own name, timezone, and collection of events.
  * This enables the multi-calendar support in the enhanced Calendar system.
+ *
+ * <p>A calendar instance is safe to share between threads. Every instance is guarded by
+ * its own {@link StampedLock}: queries take the shared read lock, so any number of
+ * readers run in parallel, while creating and editing events takes the exclusive write
+ * lock. When the store is concurrent, adding a single event only needs the shared lock,
+ * so bulk imports run in parallel with each other and with queries. The name and timezone
+ * are read optimistically without locking at all. Events handed out by queries are the
+ * live stored events, so changes to them should go through the edit methods of this class
+ * rather than through the event setters.
+ *
+ * <p>Busy queries are answered from a {@link BusyMapCache} of per-minute bitmaps for the
+ * most recently queried days.
  */
 public class CalendarInstance implements ICalendarInstance {
   /**
@@ -36,15 +49,55 @@ public class CalendarInstance implements ICalendarInstance {
   private ZoneId timezone;
 
   /**
-   * Set of all events in this calendar instance.
+   * Storage engine holding the stored (non-generated) events of this calendar.
    */
-  private Set<Event> events;
+  private IEventStore store;
+
+  /**
+   * Recurrence rules whose occurrences are generated on demand rather than stored.
+   */
+  private SeriesRuleIndex seriesRules;
 
   /**
    * Map of series IDs to EventSeries objects for managing recurring events.
    */
   private Map<String, EventSeries> eventSeries;
 
+  /**
+   * Lock guarding the name, timezone, store, and series rules of this calendar.
+   */
+  private final StampedLock lock = new StampedLock();
+
+  /**
+   * Held by a persistent {@link CalendarManager} from the start of each logged mutation of
+   * this calendar until its record is appended, so that the calendar's records are logged
+   * in the order its mutations took effect. {@link #lock} is not reentrant, so it cannot
+   * be held across the mutation itself.
+   */
+  private final ReentrantLock logOrder = new ReentrantLock();
+
+  /**
+   * Per-day busy bitmaps, rebuilt after any change to the stored events or series rules.
+   */
+  private final BusyMapCache busyMap = new BusyMapCache(BusyMapCache.DEFAULT_MAX_DAYS,
+          new BusyMapCache.Source() {
+            @Override
+            public List<Event> getEventsInRange(LocalDateTime from, LocalDateTime to) {
+              return EventsByStart.merge(store.getEventsInRange(from, to),
+                      seriesRules.getOccurrencesInRange(from, to));
+            }
+
+            @Override
+            public boolean anyActiveAt(LocalDateTime dateTime) {
+              return store.anyActiveAt(dateTime) || seriesRules.anyActiveAt(dateTime);
+            }
+
+            @Override
+            public long modificationCount() {
+              return store.modificationCount() + seriesRules.modificationCount();
+            }
+          });
+
   /**
    * Date/time formatter for parsing.
    */
@@ -58,9 +111,21 @@ public class CalendarInstance implements ICalendarInstance {
    * @param timezone the timezone for the calendar
    */
   public CalendarInstance(String name, ZoneId timezone) {
+    this(name, timezone, new IndexedEventStore());
+  }
+
+  /**
+   * Creates a new calendar instance that keeps its events in the given store.
+   *
+   * @param name     the name of the calendar
+   * @param timezone the timezone for the calendar
+   * @param store    the empty event store to use
+   */
+  public CalendarInstance(String name, ZoneId timezone, IEventStore store) {
     this.name = name;
     this.timezone = timezone;
-    this.events = new HashSet<>();
+    this.store = store;
+    this.seriesRules = new SeriesRuleIndex();
     this.eventSeries = new HashMap<>();
   }
 
@@ -71,7 +136,17 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public String getName() {
-    return name;
+    long stamp = lock.tryOptimisticRead();
+    String result = name;
+    if (!lock.validate(stamp)) {
+      stamp = lock.readLock();
+      try {
+        result = name;
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+    return result;
   }
 
   /**
@@ -81,7 +156,12 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public void setName(String name) {
-    this.name = name;
+    long stamp = lock.writeLock();
+    try {
+      this.name = name;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
   }
 
   /**
@@ -91,7 +171,26 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public ZoneId getTimezone() {
-    return timezone;
+    long stamp = lock.tryOptimisticRead();
+    ZoneId result = timezone;
+    if (!lock.validate(stamp)) {
+      stamp = lock.readLock();
+      try {
+        result = timezone;
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the timeline that converts this calendar's wall-clock times to epoch seconds.
+   *
+   * @return the timeline of the calendar's current timezone
+   */
+  ZoneTimeline getTimeline() {
+    return ZoneTimeline.of(getTimezone());
   }
 
   /**
@@ -101,7 +200,12 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public void setTimezone(ZoneId timezone) {
-    this.timezone = timezone;
+    long stamp = lock.writeLock();
+    try {
+      this.timezone = timezone;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
   }
 
   /**
@@ -112,12 +216,16 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public boolean addEvent(Event event) {
-    for (Event existing : events) {
-      if (existing.conflictsWith(event)) {
+    EventKey key = EventKey.of(event);
+    long stamp = store.isConcurrent() ? lock.readLock() : lock.writeLock();
+    try {
+      if (seriesRules.contains(key)) {
         return false;
       }
+      return store.add(event);
+    } finally {
+      lock.unlock(stamp);
     }
-    return events.add(event);
   }
 
   /**
@@ -201,43 +309,15 @@ public class CalendarInstance implements ICalendarInstance {
                                    LocalDateTime endDateTime, Set<DayOfWeek> weekdays,
                                    int occurrences, String description, String location,
                                    EventStatus status, int seriesId) {
-    String seriesIdStr = "series-" + seriesId;
-
-    EventSeries series = new EventSeries(seriesIdStr, weekdays,
-            startDateTime.toLocalTime(), endDateTime.toLocalTime(), false);
-
-    List<Event> eventsToAdd = new ArrayList<>();
-    LocalDate currentDate = startDateTime.toLocalDate();
-    int created = 0;
-
-    while (created < occurrences) {
-      if (weekdays.contains(currentDate.getDayOfWeek())) {
-        LocalDateTime eventStart = currentDate.atTime(startDateTime.toLocalTime());
-        LocalDateTime eventEnd = currentDate.atTime(endDateTime.toLocalTime());
-        Event event = new Event(subject, eventStart, eventEnd, description, location, status);
-        event.setSeriesId(seriesIdStr);
-
-        for (Event existing : events) {
-          if (existing.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        for (Event otherEvent : eventsToAdd) {
-          if (otherEvent.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        eventsToAdd.add(event);
-        created++;
-      }
-      currentDate = currentDate.plusDays(1);
+    LocalDate lastDate = EventSeries.lastOccurrenceDate(startDateTime.toLocalDate(),
+            weekdays, occurrences);
+    if (lastDate == null) {
+      return false;
     }
 
-    eventSeries.put(seriesIdStr, series);
-    events.addAll(eventsToAdd);
-    return true;
+    return addSeries(new EventSeries("series-" + seriesId, weekdays,
+            startDateTime.toLocalTime(), endDateTime.toLocalTime(), false, subject,
+            startDateTime.toLocalDate(), lastDate, description, location, status));
   }
 
   /**
@@ -259,41 +339,9 @@ public class CalendarInstance implements ICalendarInstance {
                                         LocalDateTime endDateTime, Set<DayOfWeek> weekdays,
                                         LocalDate endDate, String description, String location,
                                         EventStatus status, int seriesId) {
-    String seriesIdStr = "series-" + seriesId;
-
-    EventSeries series = new EventSeries(seriesIdStr, weekdays,
-            startDateTime.toLocalTime(), endDateTime.toLocalTime(), false);
-
-    List<Event> eventsToAdd = new ArrayList<>();
-    LocalDate currentDate = startDateTime.toLocalDate();
-
-    while (!currentDate.isAfter(endDate)) {
-      if (weekdays.contains(currentDate.getDayOfWeek())) {
-        LocalDateTime eventStart = currentDate.atTime(startDateTime.toLocalTime());
-        LocalDateTime eventEnd = currentDate.atTime(endDateTime.toLocalTime());
-        Event event = new Event(subject, eventStart, eventEnd, description, location, status);
-        event.setSeriesId(seriesIdStr);
-
-        for (Event existing : events) {
-          if (existing.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        for (Event otherEvent : eventsToAdd) {
-          if (otherEvent.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        eventsToAdd.add(event);
-      }
-      currentDate = currentDate.plusDays(1);
-    }
-
-    eventSeries.put(seriesIdStr, series);
-    events.addAll(eventsToAdd);
-    return true;
+    return addSeries(new EventSeries("series-" + seriesId, weekdays,
+            startDateTime.toLocalTime(), endDateTime.toLocalTime(), false, subject,
+            startDateTime.toLocalDate(), endDate, description, location, status));
   }
 
   /**
@@ -314,41 +362,14 @@ public class CalendarInstance implements ICalendarInstance {
                                          Set<DayOfWeek> weekdays, int occurrences,
                                          String description, String location,
                                          EventStatus status, int seriesId) {
-    String seriesIdStr = "series-" + seriesId;
-
-    EventSeries series = new EventSeries(seriesIdStr, weekdays,
-            LocalTime.of(8, 0), LocalTime.of(17, 0), true);
-
-    List<Event> eventsToAdd = new ArrayList<>();
-    LocalDate currentDate = startDate;
-    int created = 0;
-
-    while (created < occurrences) {
-      if (weekdays.contains(currentDate.getDayOfWeek())) {
-        Event event = new Event(subject, currentDate, description, location, status);
-        event.setSeriesId(seriesIdStr);
-
-        for (Event existing : events) {
-          if (existing.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        for (Event otherEvent : eventsToAdd) {
-          if (otherEvent.conflictsWith(event)) {
-            return false;
-          }
-        }
-
-        eventsToAdd.add(event);
-        created++;
-      }
-      currentDate = currentDate.plusDays(1);
+    LocalDate lastDate = EventSeries.lastOccurrenceDate(startDate, weekdays, occurrences);
+    if (lastDate == null) {
+      return false;
     }
 
-    eventSeries.put(seriesIdStr, series);
-    events.addAll(eventsToAdd);
-    return true;
+    return addSeries(new EventSeries("series-" + seriesId, weekdays,
+            LocalTime.of(8, 0), LocalTime.of(17, 0), true, subject,
+            startDate, lastDate, description, location, status));
   }
 
   /**
@@ -369,39 +390,76 @@ public class CalendarInstance implements ICalendarInstance {
                                               Set<DayOfWeek> weekdays, LocalDate endDate,
                                               String description, String location,
                                               EventStatus status, int seriesId) {
-    String seriesIdStr = "series-" + seriesId;
-
-    EventSeries series = new EventSeries(seriesIdStr, weekdays,
-            LocalTime.of(8, 0), LocalTime.of(17, 0), true);
+    return addSeries(new EventSeries("series-" + seriesId, weekdays,
+            LocalTime.of(8, 0), LocalTime.of(17, 0), true, subject,
+            startDate, endDate, description, location, status));
+  }
 
-    List<Event> eventsToAdd = new ArrayList<>();
-    LocalDate currentDate = startDate;
+  /**
+   * Registers a series rule if none of its occurrences duplicates an existing event.
+   * Occurrences are checked one by one but never stored.
+   *
+   * @param series the series rule to add
+   * @return true if the series was added
+   */
+  private boolean addSeries(EventSeries series) {
+    long stamp = lock.writeLock();
+    try {
+      for (LocalDate date = series.nextOccurrenceFrom(series.getFirstDate()); date != null;
+           date = series.nextOccurrenceFrom(date.plusDays(1))) {
+        EventKey key = new EventKey(series.getSubject(), date.atTime(series.getStartTime()),
+                date.atTime(series.getEndTime()));
+        if (store.contains(key) || seriesRules.contains(key)) {
+          return false;
+        }
+      }
 
-    while (!currentDate.isAfter(endDate)) {
-      if (weekdays.contains(currentDate.getDayOfWeek())) {
-        Event event = new Event(subject, currentDate, description, location, status);
-        event.setSeriesId(seriesIdStr);
+      eventSeries.put(series.getSeriesId(), series);
+      seriesRules.add(series);
+      return true;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
 
-        for (Event existing : events) {
-          if (existing.conflictsWith(event)) {
-            return false;
-          }
-        }
+  /**
+   * Stores an occurrence detached from its series rule so it can be edited on its own.
+   *
+   * @param occurrence the detached occurrence
+   * @return the stored event, as the store hands it out, or null if the store already
+   *         holds an event with the same subject, start, and end or cannot hold its times
+   */
+  private Event storeDetached(Event occurrence) {
+    return store.add(occurrence) ? store.find(EventKey.of(occurrence)) : null;
+  }
 
-        for (Event otherEvent : eventsToAdd) {
-          if (otherEvent.conflictsWith(event)) {
-            return false;
-          }
+  /**
+   * Stores the occurrences that rules generate from given dates as events of their own,
+   * then stops the rules generating them. Nothing changes unless every occurrence can be
+   * stored; one that collides with a stored event of the same subject, start, and end,
+   * such as an event renamed onto the series, fails the whole detach.
+   *
+   * @param rules the rules to cut
+   * @param froms the first date to detach from each rule
+   * @return the stored events, or null if an occurrence could not be stored
+   */
+  private List<Event> detachAll(List<EventSeries> rules, List<LocalDate> froms) {
+    List<Event> detached = new ArrayList<>();
+    for (int i = 0; i < rules.size(); i++) {
+      EventSeries rule = rules.get(i);
+      for (Event occurrence : rule.getOccurrences(froms.get(i), rule.getLastDate())) {
+        Event stored = storeDetached(occurrence);
+        if (stored == null) {
+          detached.forEach(store::remove);
+          return null;
         }
-
-        eventsToAdd.add(event);
+        detached.add(stored);
       }
-      currentDate = currentDate.plusDays(1);
     }
-
-    eventSeries.put(seriesIdStr, series);
-    events.addAll(eventsToAdd);
-    return true;
+    for (int i = 0; i < rules.size(); i++) {
+      seriesRules.materializeFrom(rules.get(i), froms.get(i));
+    }
+    return detached;
   }
 
   /**
@@ -415,12 +473,38 @@ public class CalendarInstance implements ICalendarInstance {
   @Override
   public Event findEvent(String subject, LocalDateTime startDateTime,
                          LocalDateTime endDateTime) {
-    return events.stream()
-            .filter(event -> Objects.equals(event.getSubject(), subject)
-                    && Objects.equals(event.getStartDateTime(), startDateTime)
-                    && Objects.equals(event.getEndDateTime(), endDateTime))
-            .findFirst()
-            .orElse(null);
+    EventKey key = new EventKey(subject, startDateTime, endDateTime);
+    long stamp = lock.readLock();
+    try {
+      Event event = store.find(key);
+      return event != null ? event : seriesRules.find(key);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Finds a stored event by key, first detaching it from its series rule if it is only
+   * generated by one, so that it can be edited on its own.
+   *
+   * @param key the subject, start, and end of the event
+   * @return the stored event, or null if no such event exists
+   */
+  private Event findStoredEvent(EventKey key) {
+    Event event = store.find(key);
+    if (event != null) {
+      return event;
+    }
+    EventSeries rule = seriesRules.findRule(key);
+    if (rule == null) {
+      return null;
+    }
+    LocalDate date = key.getStartDateTime().toLocalDate();
+    Event stored = storeDetached(rule.createOccurrence(date));
+    if (stored != null) {
+      seriesRules.materialize(rule, date);
+    }
+    return stored;
   }
 
   /**
@@ -432,11 +516,29 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public Event findEventBySubjectAndStart(String subject, LocalDateTime startDateTime) {
-    return events.stream()
-            .filter(event -> Objects.equals(event.getSubject(), subject)
-                    && Objects.equals(event.getStartDateTime(), startDateTime))
+    long stamp = lock.readLock();
+    try {
+      return findBySubjectAndStart(subject, startDateTime);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Finds an event by subject and start time while the caller holds the lock.
+   *
+   * @param subject       event subject
+   * @param startDateTime start date and time
+   * @return the event if found, null otherwise
+   */
+  private Event findBySubjectAndStart(String subject, LocalDateTime startDateTime) {
+    if (startDateTime == null) {
+      return null;
+    }
+    return store.findByStart(startDateTime).stream()
+            .filter(event -> Objects.equals(event.getSubject(), subject))
             .findFirst()
-            .orElse(null);
+            .orElseGet(() -> seriesRules.findBySubjectAndStart(subject, startDateTime));
   }
 
   /**
@@ -447,10 +549,13 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public List<Event> getEventsOnDate(LocalDate date) {
-    return events.stream()
-            .filter(event -> event.occursOnDate(date))
-            .sorted(Comparator.comparing(Event::getStartDateTime))
-            .collect(Collectors.toList());
+    long stamp = lock.readLock();
+    try {
+      return EventsByStart.merge(store.getEventsOnDate(date),
+              seriesRules.getOccurrencesOnDate(date));
+    } finally {
+      lock.unlockRead(stamp);
+    }
   }
 
   /**
@@ -462,11 +567,13 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public List<Event> getEventsInRange(LocalDateTime startDateTime, LocalDateTime endDateTime) {
-    return events.stream()
-            .filter(event -> !event.getEndDateTime().isBefore(startDateTime)
-                    && !event.getStartDateTime().isAfter(endDateTime))
-            .sorted(Comparator.comparing(Event::getStartDateTime))
-            .collect(Collectors.toList());
+    long stamp = lock.readLock();
+    try {
+      return EventsByStart.merge(store.getEventsInRange(startDateTime, endDateTime),
+              seriesRules.getOccurrencesInRange(startDateTime, endDateTime));
+    } finally {
+      lock.unlockRead(stamp);
+    }
   }
 
   /**
@@ -477,8 +584,12 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public boolean isBusy(LocalDateTime dateTime) {
-    return events.stream()
-            .anyMatch(event -> event.isActiveAt(dateTime));
+    long stamp = lock.readLock();
+    try {
+      return busyMap.isBusy(dateTime);
+    } finally {
+      lock.unlockRead(stamp);
+    }
   }
 
   /**
@@ -488,7 +599,14 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public Set<Event> getAllEvents() {
-    return new HashSet<>(events);
+    long stamp = lock.readLock();
+    try {
+      Set<Event> events = new HashSet<>(store.getAllEvents());
+      events.addAll(seriesRules.getAllOccurrences());
+      return events;
+    } finally {
+      lock.unlockRead(stamp);
+    }
   }
 
   /**
@@ -504,12 +622,17 @@ public class CalendarInstance implements ICalendarInstance {
   @Override
   public boolean editEvent(String property, String subject, LocalDateTime startDateTime,
                            LocalDateTime endDateTime, String newValue) {
-    Event event = findEvent(subject, startDateTime, endDateTime);
-    if (event == null) {
-      return false;
-    }
+    long stamp = lock.writeLock();
+    try {
+      Event event = findStoredEvent(new EventKey(subject, startDateTime, endDateTime));
+      if (event == null) {
+        return false;
+      }
 
-    return updateEventProperty(event, property, newValue);
+      return updateEventProperty(event, property, newValue);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
   }
 
   /**
@@ -524,27 +647,25 @@ public class CalendarInstance implements ICalendarInstance {
   @Override
   public boolean editEventsFromDate(String property, String subject,
                                     LocalDateTime startDateTime, String newValue) {
-    Event startEvent = findEventBySubjectAndStart(subject, startDateTime);
-    if (startEvent == null || startEvent.getSeriesId() == null) {
-      return false;
-    }
+    long stamp = lock.writeLock();
+    try {
+      Event startEvent = findBySubjectAndStart(subject, startDateTime);
+      if (startEvent == null || startEvent.getSeriesId() == null) {
+        return false;
+      }
 
-    String seriesId = startEvent.getSeriesId();
-    LocalDate startDate = startDateTime.toLocalDate();
+      String seriesId = startEvent.getSeriesId();
+      LocalDate startDate = startDateTime.toLocalDate();
 
-    List<Event> eventsToEdit = events.stream()
-            .filter(event -> Objects.equals(event.getSeriesId(), seriesId)
-                    && Objects.equals(event.getSubject(), subject)
-                    && !event.getStartDateTime().toLocalDate().isBefore(startDate))
-            .collect(Collectors.toList());
+      List<Event> eventsToEdit = store.getSeriesMembersFrom(seriesId, startDate.atStartOfDay())
+              .stream()
+              .filter(event -> Objects.equals(event.getSubject(), subject))
+              .collect(Collectors.toCollection(ArrayList::new));
 
-    for (Event event : eventsToEdit) {
-      if (!updateEventProperty(event, property, newValue)) {
-        return false;
-      }
+      return editSeriesEvents(eventsToEdit, seriesId, subject, startDate, property, newValue);
+    } finally {
+      lock.unlockWrite(stamp);
     }
-
-    return !eventsToEdit.isEmpty();
   }
 
   /**
@@ -559,17 +680,69 @@ public class CalendarInstance implements ICalendarInstance {
   @Override
   public boolean editEntireSeries(String property, String subject,
                                   LocalDateTime startDateTime, String newValue) {
-    Event referenceEvent = findEventBySubjectAndStart(subject, startDateTime);
-    if (referenceEvent == null || referenceEvent.getSeriesId() == null) {
-      return false;
+    long stamp = lock.writeLock();
+    try {
+      Event referenceEvent = findBySubjectAndStart(subject, startDateTime);
+      if (referenceEvent == null || referenceEvent.getSeriesId() == null) {
+        return false;
+      }
+
+      String seriesId = referenceEvent.getSeriesId();
+
+      List<Event> eventsToEdit = store.getSeriesMembers(seriesId).stream()
+              .filter(event -> Objects.equals(event.getSubject(), subject))
+              .collect(Collectors.toCollection(ArrayList::new));
+
+      return editSeriesEvents(eventsToEdit, seriesId, subject, LocalDate.MIN, property,
+              newValue);
+    } finally {
+      lock.unlockWrite(stamp);
     }
+  }
 
-    String seriesId = referenceEvent.getSeriesId();
+  /**
+   * Applies an edit to the stored members of a series and to the occurrences its rules
+   * generate on or after a date. Subject, description, location, and status edits change
+   * the rules directly, splitting a rule at the date when needed; time edits detach the
+   * generated occurrences into stored events first. An edit that could not be applied to
+   * every event, or whose occurrences could not all be detached, is rejected before any
+   * rule is split or cut.
+   *
+   * @param eventsToEdit stored series members to edit
+   * @param seriesId     the series being edited
+   * @param subject      only occurrences with this subject are edited
+   * @param from         the first date to edit
+   * @param property     the property to edit
+   * @param newValue     the new value for the property
+   * @return true if at least one event was edited and every edit succeeded
+   */
+  private boolean editSeriesEvents(List<Event> eventsToEdit, String seriesId, String subject,
+                                   LocalDate from, String property, String newValue) {
+    if (!isValidSeriesEdit(property, newValue)) {
+      return false;
+    }
 
-    List<Event> eventsToEdit = events.stream()
-            .filter(event -> Objects.equals(event.getSeriesId(), seriesId)
-                    && Objects.equals(event.getSubject(), subject))
-            .collect(Collectors.toList());
+    boolean ruleEdited = false;
+    List<EventSeries> cut = new ArrayList<>();
+    List<LocalDate> cutFrom = new ArrayList<>();
+    for (EventSeries rule : seriesRules.getRules(seriesId)) {
+      LocalDate first = rule.nextOccurrenceFrom(from);
+      if (first == null || !Objects.equals(rule.getSubject(), subject)) {
+        continue;
+      }
+      if (SeriesRuleIndex.isRuleProperty(property)) {
+        seriesRules.setProperty(seriesRules.splitAt(rule, first), property, newValue);
+        ruleEdited = true;
+      } else {
+        cut.add(rule);
+        cutFrom.add(first);
+      }
+    }
+    List<Event> detached = detachAll(cut, cutFrom);
+    if (detached == null) {
+      return false;
+    }
+    eventsToEdit.addAll(detached);
 
     for (Event event : eventsToEdit) {
       if (!updateEventProperty(event, property, newValue)) {
@@ -577,7 +750,174 @@ public class CalendarInstance implements ICalendarInstance {
       }
     }
 
-    return !eventsToEdit.isEmpty();
+    return ruleEdited || !eventsToEdit.isEmpty();
+  }
+
+  /**
+   * Checks whether {@link #updateEventProperty} would accept an edit, so that a series
+   * edit can be rejected before it changes anything.
+   *
+   * @param property the property to edit
+   * @param newValue the new value for the property
+   * @return true if the property is known and, for a time, the value parses
+   */
+  private static boolean isValidSeriesEdit(String property, String newValue) {
+    if (SeriesRuleIndex.isRuleProperty(property)) {
+      return true;
+    }
+    switch (property.toLowerCase()) {
+      case "start":
+      case "end":
+        try {
+          LocalDateTime.parse(newValue, DATETIME_FORMATTER);
+          return true;
+        } catch (Exception e) {
+          return false;
+        }
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Gets the lock that orders this calendar's logged mutations with their log records.
+   *
+   * @return the log order lock
+   */
+  ReentrantLock getLogOrder() {
+    return logOrder;
+  }
+
+  /**
+   * Gets the class of the store this calendar keeps its events in.
+   *
+   * @return the store class
+   */
+  Class<? extends IEventStore> getStoreType() {
+    return store.getClass();
+  }
+
+  /**
+   * Gets the events held in the store, without the occurrences generated by series rules.
+   *
+   * @return the stored events ordered by start time
+   */
+  List<Event> getStoredEvents() {
+    long stamp = lock.readLock();
+    try {
+      return store.getAllEvents();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Gets the series rules whose occurrences this calendar generates.
+   *
+   * @return a new list of the rules
+   */
+  List<EventSeries> getSeriesRules() {
+    long stamp = lock.readLock();
+    try {
+      return seriesRules.getAllRules();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Adds copies of events from another calendar as one batch under a single write lock.
+   * Every copy is first checked against the stored events, the series rules, and the
+   * copies before it in the batch, and the copies that pass are then stored together.
+   *
+   * @param sources      the events the copies were made from, in the same order
+   * @param copies       the copies to add
+   * @param allOrNothing when true, nothing is added if any copy cannot be
+   * @return the copies added and the copies that could not be
+   */
+  CopyResult addCopies(List<Event> sources, List<Event> copies, boolean allOrNothing) {
+    CopyResult.Reason[] reasons = new CopyResult.Reason[copies.size()];
+    boolean conflicted = false;
+    long stamp = lock.writeLock();
+    try {
+      Set<EventKey> batchKeys = new HashSet<>();
+      List<Event> accepted = new ArrayList<>(copies.size());
+      for (int i = 0; i < copies.size(); i++) {
+        EventKey key = EventKey.of(copies.get(i));
+        if (!batchKeys.add(key)) {
+          reasons[i] = CopyResult.Reason.DUPLICATE_IN_BATCH;
+        } else if (store.contains(key) || seriesRules.contains(key)) {
+          reasons[i] = CopyResult.Reason.DUPLICATE_IN_TARGET;
+        } else {
+          accepted.add(copies.get(i));
+          continue;
+        }
+        conflicted = true;
+      }
+
+      if (!conflicted || !allOrNothing) {
+        if (store.addAll(accepted) < accepted.size()) {
+          for (int i = 0; i < copies.size(); i++) {
+            if (reasons[i] == null && !store.contains(EventKey.of(copies.get(i)))) {
+              reasons[i] = CopyResult.Reason.NOT_STORABLE;
+              conflicted = true;
+            }
+          }
+          if (allOrNothing) {
+            for (Event copy : accepted) {
+              Event stored = store.find(EventKey.of(copy));
+              if (stored != null) {
+                store.remove(stored);
+              }
+            }
+          }
+        }
+      }
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+
+    List<Event> copied = new ArrayList<>();
+    List<CopyResult.Conflict> conflicts = new ArrayList<>();
+    for (int i = 0; i < copies.size(); i++) {
+      if (reasons[i] != null) {
+        conflicts.add(new CopyResult.Conflict(sources.get(i), copies.get(i), reasons[i]));
+      } else if (!conflicted || !allOrNothing) {
+        copied.add(copies.get(i));
+      }
+    }
+    return new CopyResult(copied, conflicts);
+  }
+
+  /**
+   * Puts back the stored events when rebuilding a calendar from a snapshot, in one batch
+   * under a single write lock and bypassing the duplicate check against series rules.
+   *
+   * @param events the events to restore
+   */
+  void restoreEvents(List<Event> events) {
+    long stamp = lock.writeLock();
+    try {
+      store.addAll(events);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Puts back a series rule when rebuilding a calendar from a snapshot, without checking
+   * its occurrences for duplicates.
+   *
+   * @param rule the rule to restore
+   */
+  void restoreSeries(EventSeries rule) {
+    long stamp = lock.writeLock();
+    try {
+      eventSeries.put(rule.getSeriesId(), rule);
+      seriesRules.add(rule);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
   }
 
   /**
@@ -630,7 +970,12 @@ public class CalendarInstance implements ICalendarInstance {
    */
   @Override
   public String toString() {
-    return String.format("CalendarInstance{name='%s', timezone=%s, events=%d}",
-            name, timezone, events.size());
+    long stamp = lock.readLock();
+    try {
+      return String.format("CalendarInstance{name='%s', timezone=%s, events=%d}",
+              name, timezone, store.size() + seriesRules.countOccurrences());
+    } finally {
+      lock.unlockRead(stamp);
+    }
   }
 }
\ No newline at end of file
@@ -1,37 +1,66 @@
 package model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 /**
  * CalendarManager class that manages multiple calendar instances.
  * Handles calendar creation, selection, and cross-calendar operations.
  * This is the main coordinator for the multi-calendar system.
+ *
+ * <p>The calendar registry and the series counter are safe to share between threads.
+ * The current calendar, on the other hand, belongs to a session: each thread or user
+ * works through its own manager obtained from {@link #openSession()}, which sees the
+ * same calendars but selects its current calendar independently. A single session
+ * should not be used by several threads at once.
+ *
+ * <p>A manager opened with {@link #open(Path)} is persistent: every calendar and event
+ * mutation is recorded in a {@link WriteAheadLog} before the call returns, the log is
+ * replayed when the manager is opened again, and the log is compacted once it grows past
+ * its threshold: the calendars are written to a binary {@link CalendarSnapshot} next to the
+ * log, and the log is replaced by a single record naming that snapshot. Mutations of one
+ * calendar are logged in the order they take effect, while mutations of different
+ * calendars run and are logged concurrently; creating, renaming, and editing calendars
+ * is ordered against every other change to the calendar registry.
  */
 public class CalendarManager implements ICalendarManager {
 
   /**
-   * Map of calendar names to CalendarInstance objects.
+   * Suffix, followed by a number, of the snapshot files written next to the log.
    */
-  private Map<String, CalendarInstance> calendars;
+  private static final String SNAPSHOT_SUFFIX = ".snapshot-";
 
   /**
-   * The currently active/selected calendar.
+   * Map of calendar names to CalendarInstance objects, shared by all sessions.
    */
-  private CalendarInstance currentCalendar;
+  private final ConcurrentMap<String, CalendarInstance> calendars;
 
   /**
-   * Name of the currently active calendar.
+   * The currently active/selected calendar of this session.
    */
-  private String currentCalendarName;
+  private CalendarInstance currentCalendar;
 
   /**
    * Service for copying events between calendars.
@@ -39,20 +68,27 @@ public class CalendarManager implements ICalendarManager {
   private IEventCopyService eventCopyService;
 
   /**
-   * Global series counter to ensure unique series IDs across all calendars.
+   * Global series counter to ensure unique series IDs across all calendars and sessions.
+   */
+  private final AtomicInteger globalSeriesCounter;
+
+  /**
+   * Log every mutation is recorded in, shared by all sessions; null when not persistent.
+   */
+  private final WriteAheadLog log;
+
+  /**
+   * Orders logged changes to the calendar registry, shared by all sessions. Always taken
+   * before any calendar's log order lock.
    */
-  private int globalSeriesCounter;
+  private final ReentrantLock catalogLock;
 
   /**
    * Creates a new CalendarManager with no calendars.
    * Uses default EventCopyService implementation.
    */
   public CalendarManager() {
-    this.calendars = new HashMap<>();
-    this.currentCalendar = null;
-    this.currentCalendarName = null;
-    this.eventCopyService = new EventCopyService();
-    this.globalSeriesCounter = 0;
+    this(new EventCopyService());
   }
 
   /**
@@ -62,11 +98,99 @@ public class CalendarManager implements ICalendarManager {
    * @param eventCopyService the event copy service to use
    */
   public CalendarManager(IEventCopyService eventCopyService) {
-    this.calendars = new HashMap<>();
+    this(new ConcurrentHashMap<>(), new AtomicInteger(), eventCopyService, null,
+            new ReentrantLock());
+  }
+
+  /**
+   * Creates a session over an existing calendar registry.
+   *
+   * @param calendars           the shared calendar registry
+   * @param globalSeriesCounter the shared series counter
+   * @param eventCopyService    the event copy service to use
+   * @param log                 the shared write-ahead log, or null
+   * @param catalogLock         the shared lock ordering changes to the registry
+   */
+  private CalendarManager(ConcurrentMap<String, CalendarInstance> calendars,
+                          AtomicInteger globalSeriesCounter,
+                          IEventCopyService eventCopyService, WriteAheadLog log,
+                          ReentrantLock catalogLock) {
+    this.calendars = calendars;
     this.currentCalendar = null;
-    this.currentCalendarName = null;
     this.eventCopyService = eventCopyService;
-    this.globalSeriesCounter = 0;
+    this.globalSeriesCounter = globalSeriesCounter;
+    this.log = log;
+    this.catalogLock = catalogLock;
+  }
+
+  /**
+   * Opens a persistent manager backed by a write-ahead log, replaying the log to restore
+   * the calendars it records. The log file is created if it does not exist.
+   *
+   * @param logFile the write-ahead log file
+   * @return the restored manager
+   * @throws IOException if the log cannot be read or holds a record that cannot be replayed
+   */
+  public static CalendarManager open(Path logFile) throws IOException {
+    return open(logFile, WriteAheadLog.DEFAULT_COMPACTION_THRESHOLD);
+  }
+
+  /**
+   * Opens a persistent manager backed by a write-ahead log with a custom compaction
+   * threshold, replaying the log to restore the calendars it records.
+   *
+   * @param logFile             the write-ahead log file
+   * @param compactionThreshold the log size in bytes past which it is compacted
+   * @return the restored manager
+   * @throws IOException if the log cannot be read or holds a record that cannot be replayed
+   */
+  public static CalendarManager open(Path logFile, long compactionThreshold)
+          throws IOException {
+    WriteAheadLog log = WriteAheadLog.open(logFile, compactionThreshold);
+    ConcurrentMap<String, CalendarInstance> calendars = new ConcurrentHashMap<>();
+    AtomicInteger seriesCounter = new AtomicInteger();
+    IEventCopyService copyService = new EventCopyService();
+
+    ReentrantLock catalogLock = new ReentrantLock();
+    CalendarManager replayer = new CalendarManager(calendars, seriesCounter, copyService,
+            null, catalogLock);
+    for (String[] record : log.readRecords()) {
+      try {
+        if (record[0].equals("snapshot")) {
+          CalendarSnapshot.loadInto(replayer, logFile.resolveSibling(record[1]));
+        } else {
+          replayer.replay(record);
+        }
+      } catch (IOException | RuntimeException e) {
+        log.close();
+        throw new IOException("Cannot replay log record " + String.join(" ", record), e);
+      }
+    }
+    return new CalendarManager(calendars, seriesCounter, copyService, log, catalogLock);
+  }
+
+  /**
+   * Closes the write-ahead log of a persistent manager and every session sharing it.
+   * Every mutation that returned is already durable. Does nothing for other managers.
+   *
+   * @throws IOException if the log cannot be closed
+   */
+  public void close() throws IOException {
+    if (log != null) {
+      log.close();
+    }
+  }
+
+  /**
+   * Opens a new session on the same calendars. The session starts with no current
+   * calendar, and selecting one does not affect this or any other session.
+   *
+   * @return a manager sharing this manager's calendars
+   */
+  @Override
+  public CalendarManager openSession() {
+    return new CalendarManager(calendars, globalSeriesCounter, eventCopyService, log,
+            catalogLock);
   }
 
   /**
@@ -78,13 +202,23 @@ public class CalendarManager implements ICalendarManager {
    */
   @Override
   public boolean createCalendar(String name, ZoneId timezone) {
-    if (calendars.containsKey(name)) {
-      return false;
-    }
+    return createCalendar(name, timezone, new IndexedEventStore());
+  }
 
-    CalendarInstance calendar = new CalendarInstance(name, timezone);
-    calendars.put(name, calendar);
-    return true;
+  /**
+   * Creates a new calendar that keeps its events in the given storage engine.
+   *
+   * @param name     the unique name for the calendar
+   * @param timezone the timezone for the calendar
+   * @param store    the empty event store for the calendar to use
+   * @return true if calendar was created successfully, false if name already exists
+   */
+  @Override
+  public boolean createCalendar(String name, ZoneId timezone, IEventStore store) {
+    CalendarInstance calendar = new CalendarInstance(name, timezone, store);
+    return logged(Collections.singletonList(catalogLock),
+            () -> calendars.putIfAbsent(name, calendar) == null, false,
+            () -> calendarRecord(calendar));
   }
 
   /**
@@ -97,6 +231,25 @@ public class CalendarManager implements ICalendarManager {
    */
   @Override
   public boolean editCalendar(String calendarName, String property, String newValue) {
+    catalogLock.lock();
+    try {
+      List<Lock> order = new ArrayList<>();
+      order.add(catalogLock);
+      CalendarInstance calendar = calendars.get(calendarName);
+      if (calendar != null) {
+        order.add(calendar.getLogOrder());
+      }
+      return logged(order, () -> applyCalendarEdit(calendarName, property, newValue), false,
+              () -> new String[] {"edit-calendar", calendarName, property, newValue});
+    } finally {
+      catalogLock.unlock();
+    }
+  }
+
+  /**
+   * Applies a calendar edit without logging it.
+   */
+  private boolean applyCalendarEdit(String calendarName, String property, String newValue) {
     CalendarInstance calendar = calendars.get(calendarName);
     if (calendar == null) {
       return false;
@@ -132,7 +285,6 @@ public class CalendarManager implements ICalendarManager {
     }
 
     this.currentCalendar = calendar;
-    this.currentCalendarName = calendarName;
     return true;
   }
 
@@ -153,7 +305,7 @@ public class CalendarManager implements ICalendarManager {
    */
   @Override
   public String getCurrentCalendarName() {
-    return currentCalendarName;
+    return currentCalendar == null ? null : currentCalendar.getName();
   }
 
   /**
@@ -209,8 +361,12 @@ public class CalendarManager implements ICalendarManager {
       return false;
     }
 
-    return eventCopyService.copyEvent(eventName, eventStartTime,
-            currentCalendar, targetCalendar, newStartTime);
+    CalendarInstance source = currentCalendar;
+    return logged(logOrder(source, targetCalendar),
+            () -> eventCopyService.copyEvent(eventName, eventStartTime, source, targetCalendar,
+            newStartTime), true,
+            () -> new String[] {"copy-event", source.getName(), eventName, text(eventStartTime),
+                targetCalendar.getName(), text(newStartTime)});
   }
 
   /**
@@ -233,8 +389,12 @@ public class CalendarManager implements ICalendarManager {
       return false;
     }
 
-    return eventCopyService.copyEventsOnDate(sourceDate, currentCalendar,
-            targetCalendar, targetDate);
+    CalendarInstance source = currentCalendar;
+    return logged(logOrder(source, targetCalendar),
+            () -> eventCopyService.copyEventsOnDate(sourceDate, source, targetCalendar, targetDate),
+            true,
+            () -> new String[] {"copy-date", source.getName(), text(sourceDate),
+                targetCalendar.getName(), text(targetDate)});
   }
 
   /**
@@ -258,8 +418,110 @@ public class CalendarManager implements ICalendarManager {
       return false;
     }
 
-    return eventCopyService.copyEventsInRange(startDate, endDate, currentCalendar,
-            targetCalendar, targetStartDate);
+    CalendarInstance source = currentCalendar;
+    return logged(logOrder(source, targetCalendar),
+            () -> eventCopyService.copyEventsInRange(startDate, endDate, source, targetCalendar,
+            targetStartDate), true,
+            () -> new String[] {"copy-range", source.getName(), text(startDate), text(endDate),
+                targetCalendar.getName(), text(targetStartDate)});
+  }
+
+  /**
+   * Copies all events from a specific date from current calendar to target calendar as
+   * one batch. Only a batch that was copied is logged, since a rejected one changes
+   * nothing.
+   *
+   * @param sourceDate         the date to copy events from
+   * @param targetCalendarName the target calendar name
+   * @param targetDate         the target date
+   * @return the copies added, the events that kept the batch from being copied, or why
+   *         the copy could not be attempted
+   */
+  @Override
+  public CopyResult copyAllOnDate(LocalDate sourceDate, String targetCalendarName,
+                                  LocalDate targetDate) {
+    CalendarInstance source = currentCalendar;
+    CalendarInstance targetCalendar = calendars.get(targetCalendarName);
+    CopyResult failure = copyFailure(source, targetCalendar);
+    if (failure != null) {
+      return failure;
+    }
+    CopyResult[] result = new CopyResult[1];
+    logged(logOrder(source, targetCalendar), () -> {
+      result[0] = eventCopyService.copyAllOnDate(sourceDate, source, targetCalendar,
+              targetDate);
+      return result[0].isComplete();
+    }, false,
+            () -> new String[] {"copy-all-date", source.getName(), text(sourceDate),
+                targetCalendar.getName(), text(targetDate)});
+    return result[0];
+  }
+
+  /**
+   * Copies events within a date range from current calendar to target calendar as one
+   * batch. Only a batch that was copied is logged, since a rejected one changes nothing.
+   *
+   * @param startDate          the start date of the range
+   * @param endDate            the end date of the range
+   * @param targetCalendarName the target calendar name
+   * @param targetStartDate    the target start date
+   * @return the copies added, the events that kept the batch from being copied, or why
+   *         the copy could not be attempted
+   */
+  @Override
+  public CopyResult copyAllInRange(LocalDate startDate, LocalDate endDate,
+                                   String targetCalendarName, LocalDate targetStartDate) {
+    CalendarInstance source = currentCalendar;
+    CalendarInstance targetCalendar = calendars.get(targetCalendarName);
+    CopyResult failure = copyFailure(source, targetCalendar);
+    if (failure != null) {
+      return failure;
+    }
+    CopyResult[] result = new CopyResult[1];
+    logged(logOrder(source, targetCalendar), () -> {
+      result[0] = eventCopyService.copyAllInRange(startDate, endDate, source, targetCalendar,
+              targetStartDate);
+      return result[0].isComplete();
+    }, false,
+            () -> new String[] {"copy-all-range", source.getName(), text(startDate),
+                text(endDate), targetCalendar.getName(), text(targetStartDate)});
+    return result[0];
+  }
+
+  /**
+   * Gets the result of a batch copy that cannot be attempted, like the other copy
+   * methods returning false when no calendar is in use or the target does not exist.
+   */
+  private static CopyResult copyFailure(CalendarInstance source,
+                                        CalendarInstance targetCalendar) {
+    if (source == null) {
+      return CopyResult.failed(CopyResult.Failure.NO_CALENDAR_IN_USE);
+    }
+    if (targetCalendar == null) {
+      return CopyResult.failed(CopyResult.Failure.UNKNOWN_TARGET);
+    }
+    return null;
+  }
+
+  /**
+   * Finds the first times when all the given calendars are free at once.
+   * Delegates to {@link AvailabilityFinder}, which merges the calendars' busy times.
+   */
+  @Override
+  public List<TimeSlot> findFreeSlots(List<String> calendarNames, Instant from, Instant to,
+                                      Duration length, int limit) {
+    if (length.isNegative() || length.isZero() || limit <= 0) {
+      throw new IllegalArgumentException("Slot length and limit must be positive");
+    }
+    List<CalendarInstance> selected = new ArrayList<>(calendarNames.size());
+    for (String name : calendarNames) {
+      CalendarInstance calendar = calendars.get(name);
+      if (calendar == null) {
+        throw new IllegalArgumentException("Unknown calendar " + name);
+      }
+      selected.add(calendar);
+    }
+    return AvailabilityFinder.findFreeSlots(selected, from, to, length, limit);
   }
 
   /**
@@ -270,11 +532,15 @@ public class CalendarManager implements ICalendarManager {
   public boolean createEvent(String subject, LocalDateTime startDateTime,
                              LocalDateTime endDateTime, String description, String location,
                              EventStatus status) {
-    if (currentCalendar == null) {
+    CalendarInstance calendar = currentCalendar;
+    if (calendar == null) {
       return false;
     }
-    return currentCalendar.createEvent(subject, startDateTime, endDateTime, description,
-            location, status);
+    return logged(logOrder(calendar),
+            () -> calendar.createEvent(subject, startDateTime, endDateTime, description, location,
+            status), false,
+            () -> new String[] {"event", calendar.getName(), subject, text(startDateTime),
+                text(endDateTime), description, location, text(status)});
   }
 
   /**
@@ -282,10 +548,7 @@ public class CalendarManager implements ICalendarManager {
    */
   public boolean createEvent(String subject, LocalDateTime startDateTime,
                              LocalDateTime endDateTime) {
-    if (currentCalendar == null) {
-      return false;
-    }
-    return currentCalendar.createEvent(subject, startDateTime, endDateTime);
+    return createEvent(subject, startDateTime, endDateTime, null, null, EventStatus.PUBLIC);
   }
 
   /**
@@ -293,20 +556,21 @@ public class CalendarManager implements ICalendarManager {
    */
   public boolean createAllDayEvent(String subject, LocalDate date, String description,
                                    String location, EventStatus status) {
-    if (currentCalendar == null) {
+    CalendarInstance calendar = currentCalendar;
+    if (calendar == null) {
       return false;
     }
-    return currentCalendar.createAllDayEvent(subject, date, description, location, status);
+    return logged(logOrder(calendar),
+            () -> calendar.createAllDayEvent(subject, date, description, location, status), false,
+            () -> new String[] {"all-day-event", calendar.getName(), subject, text(date),
+                description, location, text(status)});
   }
 
   /**
    * Added createAllDayEvent overload with minimal parameters.
    */
   public boolean createAllDayEvent(String subject, LocalDate date) {
-    if (currentCalendar == null) {
-      return false;
-    }
-    return currentCalendar.createAllDayEvent(subject, date);
+    return createAllDayEvent(subject, date, null, null, EventStatus.PUBLIC);
   }
 
   /**
@@ -316,12 +580,17 @@ public class CalendarManager implements ICalendarManager {
                                    LocalDateTime endDateTime, Set<DayOfWeek> weekdays,
                                    int occurrences, String description, String location,
                                    EventStatus status) {
-    if (currentCalendar == null) {
+    CalendarInstance calendar = currentCalendar;
+    if (calendar == null) {
       return false;
     }
-    return currentCalendar.createEventSeries(subject, startDateTime, endDateTime, weekdays,
-            occurrences, description, location, status,
-            ++globalSeriesCounter);
+    int seriesId = globalSeriesCounter.incrementAndGet();
+    return logged(logOrder(calendar),
+            () -> calendar.createEventSeries(subject, startDateTime, endDateTime, weekdays,
+            occurrences, description, location, status, seriesId), false,
+            () -> new String[] {"series", calendar.getName(), subject, text(startDateTime),
+                text(endDateTime), text(weekdays), String.valueOf(occurrences), description,
+                location, text(status), String.valueOf(seriesId)});
   }
 
   /**
@@ -330,12 +599,8 @@ public class CalendarManager implements ICalendarManager {
   public boolean createEventSeries(String subject, LocalDateTime startDateTime,
                                    LocalDateTime endDateTime, Set<DayOfWeek> weekdays,
                                    int occurrences) {
-    if (currentCalendar == null) {
-      return false;
-    }
-    return currentCalendar.createEventSeries(subject, startDateTime, endDateTime, weekdays,
-            occurrences, null, null, EventStatus.PUBLIC,
-            ++globalSeriesCounter);
+    return createEventSeries(subject, startDateTime, endDateTime, weekdays, occurrences,
+            null, null, EventStatus.PUBLIC);
   }
 
   /**
@@ -345,12 +610,17 @@ public class CalendarManager implements ICalendarManager {
                                         LocalDateTime endDateTime, Set<DayOfWeek> weekdays,
                                         LocalDate endDate, String description, String location,
                                         EventStatus status) {
-    if (currentCalendar == null) {
+    CalendarInstance calendar = currentCalendar;
+    if (calendar == null) {
       return false;
     }
-    return currentCalendar.createEventSeriesUntil(subject, startDateTime, endDateTime,
-            weekdays, endDate, description, location,
-            status, ++globalSeriesCounter);
+    int seriesId = globalSeriesCounter.incrementAndGet();
+    return logged(logOrder(calendar),
+            () -> calendar.createEventSeriesUntil(subject, startDateTime, endDateTime, weekdays,
+            endDate, description, location, status, seriesId), false,
+            () -> new String[] {"series-until", calendar.getName(), subject, text(startDateTime),
+                text(endDateTime), text(weekdays), text(endDate), description, location,
+                text(status), String.valueOf(seriesId)});
   }
 
   /**
@@ -359,12 +629,8 @@ public class CalendarManager implements ICalendarManager {
   public boolean createEventSeriesUntil(String subject, LocalDateTime startDateTime,
                                         LocalDateTime endDateTime, Set<DayOfWeek> weekdays,
                                         LocalDate endDate) {
-    if (currentCalendar == null) {
-      return false;
-    }
-    return currentCalendar.createEventSeriesUntil(subject, startDateTime, endDateTime,
-            weekdays, endDate, null, null,
-            EventStatus.PUBLIC, ++globalSeriesCounter);
+    return createEventSeriesUntil(subject, startDateTime, endDateTime, weekdays, endDate,
+            null, null, EventStatus.PUBLIC);
   }
 
   /**
@@ -374,12 +640,17 @@ public class CalendarManager implements ICalendarManager {
                                          Set<DayOfWeek> weekdays, int occurrences,
                                          String description, String location,
                                          EventStatus status) {
-    if (currentCalendar == null) {
+    CalendarInstance calendar = currentCalendar;
+    if (calendar == null) {
       return false;
     }
-    return currentCalendar.createAllDayEventSeries(subject, startDate, weekdays, occurrences,
-            description, location, status,
-            ++globalSeriesCounter);
+    int seriesId = globalSeriesCounter.incrementAndGet();
+    return logged(logOrder(calendar),
+            () -> calendar.createAllDayEventSeries(subject, startDate, weekdays, occurrences,
+            description, location, status, seriesId), false,
+            () -> new String[] {"all-day-series", calendar.getName(), subject, text(startDate),
+                text(weekdays), String.valueOf(occurrences), description, location,
+                text(status), String.valueOf(seriesId)});
   }
 
   /**
@@ -387,12 +658,8 @@ public class CalendarManager implements ICalendarManager {
    */
   public boolean createAllDayEventSeries(String subject, LocalDate startDate,
                                          Set<DayOfWeek> weekdays, int occurrences) {
-    if (currentCalendar == null) {
-      return false;
-    }
-    return currentCalendar.createAllDayEventSeries(subject, startDate, weekdays, occurrences,
-            null, null, EventStatus.PUBLIC,
-            ++globalSeriesCounter);
+    return createAllDayEventSeries(subject, startDate, weekdays, occurrences, null, null,
+            EventStatus.PUBLIC);
   }
 
   /**
@@ -402,12 +669,17 @@ public class CalendarManager implements ICalendarManager {
                                               Set<DayOfWeek> weekdays, LocalDate endDate,
                                               String description, String location,
                                               EventStatus status) {
-    if (currentCalendar == null) {
+    CalendarInstance calendar = currentCalendar;
+    if (calendar == null) {
       return false;
     }
-    return currentCalendar.createAllDayEventSeriesUntil(subject, startDate, weekdays, endDate,
-            description, location, status,
-            ++globalSeriesCounter);
+    int seriesId = globalSeriesCounter.incrementAndGet();
+    return logged(logOrder(calendar),
+            () -> calendar.createAllDayEventSeriesUntil(subject, startDate, weekdays, endDate,
+            description, location, status, seriesId), false,
+            () -> new String[] {"all-day-series-until", calendar.getName(), subject,
+                text(startDate), text(weekdays), text(endDate), description, location,
+                text(status), String.valueOf(seriesId)});
   }
 
   /**
@@ -415,12 +687,8 @@ public class CalendarManager implements ICalendarManager {
    */
   public boolean createAllDayEventSeriesUntil(String subject, LocalDate startDate,
                                               Set<DayOfWeek> weekdays, LocalDate endDate) {
-    if (currentCalendar == null) {
-      return false;
-    }
-    return currentCalendar.createAllDayEventSeriesUntil(subject, startDate, weekdays, endDate,
-            null, null, EventStatus.PUBLIC,
-            ++globalSeriesCounter);
+    return createAllDayEventSeriesUntil(subject, startDate, weekdays, endDate, null, null,
+            EventStatus.PUBLIC);
   }
 
   /**
@@ -481,10 +749,14 @@ public class CalendarManager implements ICalendarManager {
   @Override
   public boolean editEvent(String property, String subject, LocalDateTime startDateTime,
                            LocalDateTime endDateTime, String newValue) {
-    if (currentCalendar == null) {
+    CalendarInstance calendar = currentCalendar;
+    if (calendar == null) {
       return false;
     }
-    return currentCalendar.editEvent(property, subject, startDateTime, endDateTime, newValue);
+    return logged(logOrder(calendar),
+            () -> calendar.editEvent(property, subject, startDateTime, endDateTime, newValue), true,
+            () -> new String[] {"edit-event", calendar.getName(), property, subject,
+                text(startDateTime), text(endDateTime), newValue});
   }
 
   /**
@@ -492,10 +764,14 @@ public class CalendarManager implements ICalendarManager {
    */
   public boolean editEventsFromDate(String property, String subject,
                                     LocalDateTime startDateTime, String newValue) {
-    if (currentCalendar == null) {
+    CalendarInstance calendar = currentCalendar;
+    if (calendar == null) {
       return false;
     }
-    return currentCalendar.editEventsFromDate(property, subject, startDateTime, newValue);
+    return logged(logOrder(calendar),
+            () -> calendar.editEventsFromDate(property, subject, startDateTime, newValue), true,
+            () -> new String[] {"edit-from", calendar.getName(), property, subject,
+                text(startDateTime), newValue});
   }
 
   /**
@@ -503,10 +779,14 @@ public class CalendarManager implements ICalendarManager {
    */
   public boolean editEntireSeries(String property, String subject, LocalDateTime startDateTime,
                                   String newValue) {
-    if (currentCalendar == null) {
+    CalendarInstance calendar = currentCalendar;
+    if (calendar == null) {
       return false;
     }
-    return currentCalendar.editEntireSeries(property, subject, startDateTime, newValue);
+    return logged(logOrder(calendar),
+            () -> calendar.editEntireSeries(property, subject, startDateTime, newValue), true,
+            () -> new String[] {"edit-series", calendar.getName(), property, subject,
+                text(startDateTime), newValue});
   }
 
   /**
@@ -539,26 +819,310 @@ public class CalendarManager implements ICalendarManager {
 
   // Helper methods
 
+  /**
+   * Runs a mutation, recording it in the write-ahead log when this manager is persistent,
+   * and compacts the log once it has grown past its threshold.
+   *
+   * @param order      the locks ordering the mutation against others touching the same
+   *                   calendars, in the order they are taken; unused when not persistent
+   * @param mutation   the mutation to run
+   * @param logFailure whether to record the mutation even when it reports failure
+   * @param record     builds the log record once the mutation has run
+   * @return the result of the mutation
+   */
+  private boolean logged(List<? extends Lock> order, BooleanSupplier mutation,
+                         boolean logFailure, Supplier<String[]> record) {
+    if (log == null) {
+      return mutation.getAsBoolean();
+    }
+    boolean result = log.apply(order, mutation, logFailure, record);
+    if (log.needsCompaction()) {
+      try {
+        Path[] snapshot = new Path[1];
+        log.compact(() -> {
+          snapshot[0] = checkpoint();
+          List<String[]> records = new ArrayList<>();
+          records.add(new String[] {"snapshot", snapshot[0].getFileName().toString()});
+          return records;
+        });
+        if (snapshot[0] != null) {
+          deleteSnapshotsBefore(snapshot[0]);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the lock ordering the logged mutations of one calendar.
+   */
+  private static List<Lock> logOrder(CalendarInstance calendar) {
+    return Collections.singletonList(calendar.getLogOrder());
+  }
+
+  /**
+   * Gets the locks ordering a logged mutation of two calendars, such as a copy. They are
+   * taken in a fixed order so that two copies in opposite directions cannot deadlock,
+   * with the registry lock first to break the rare tie.
+   */
+  private List<Lock> logOrder(CalendarInstance source, CalendarInstance target) {
+    if (source == target) {
+      return logOrder(source);
+    }
+    int sourceHash = System.identityHashCode(source);
+    int targetHash = System.identityHashCode(target);
+    List<Lock> order = new ArrayList<>();
+    if (sourceHash == targetHash) {
+      order.add(catalogLock);
+    }
+    boolean sourceFirst = sourceHash <= targetHash;
+    order.add((sourceFirst ? source : target).getLogOrder());
+    order.add((sourceFirst ? target : source).getLogOrder());
+    return order;
+  }
+
+  /**
+   * Writes a snapshot of every calendar next to the log, for log compaction, and returns
+   * its file. Each snapshot gets a new file numbered after every existing one, so the log
+   * being replaced keeps pointing at an intact snapshot until the compacted log is in
+   * place.
+   */
+  private Path checkpoint() {
+    Path logFile = log.getPath();
+    try {
+      List<Path> snapshots = snapshots();
+      long id = System.currentTimeMillis();
+      if (!snapshots.isEmpty()) {
+        id = Math.max(id, snapshotId(snapshots.get(snapshots.size() - 1)) + 1);
+      }
+      Path snapshot = logFile.resolveSibling(logFile.getFileName() + SNAPSHOT_SUFFIX + id);
+      CalendarSnapshot.write(this, snapshot);
+      return snapshot;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Deletes the snapshots older than one a compacted log on disk refers to. Snapshots
+   * written since, by a compaction that may not have replaced the log yet, are kept.
+   *
+   * @param snapshot the snapshot the compacted log refers to
+   * @throws IOException if the directory cannot be listed or a snapshot deleted
+   */
+  private void deleteSnapshotsBefore(Path snapshot) throws IOException {
+    long id = snapshotId(snapshot);
+    for (Path file : snapshots()) {
+      if (snapshotId(file) < id) {
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  /**
+   * Lists the snapshots next to the log, oldest first.
+   */
+  private List<Path> snapshots() throws IOException {
+    Path logFile = log.getPath();
+    String prefix = logFile.getFileName() + SNAPSHOT_SUFFIX;
+    Path directory = logFile.toAbsolutePath().getParent();
+    List<Path> snapshots = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*")) {
+      for (Path file : files) {
+        if (file.getFileName().toString().substring(prefix.length()).matches("\\d+")) {
+          snapshots.add(file);
+        }
+      }
+    }
+    snapshots.sort(Comparator.comparingLong(CalendarManager::snapshotId));
+    return snapshots;
+  }
+
+  /**
+   * Gets the number a snapshot file is named with.
+   */
+  private static long snapshotId(Path snapshot) {
+    String name = snapshot.getFileName().toString();
+    return Long.parseLong(name.substring(name.lastIndexOf(SNAPSHOT_SUFFIX)
+            + SNAPSHOT_SUFFIX.length()));
+  }
+
+  /**
+   * Applies one log record to this manager, which must not be logging itself.
+   */
+  private void replay(String[] record) {
+    switch (record[0]) {
+      case "calendar":
+        calendars.putIfAbsent(record[1], new CalendarInstance(record[1],
+                ZoneId.of(record[2]), newStore(record[3])));
+        return;
+      case "edit-calendar":
+        applyCalendarEdit(record[1], record[2], record[3]);
+        return;
+      case "series-counter":
+        seriesId(record[1]);
+        return;
+      default:
+        break;
+    }
+
+    CalendarInstance calendar = calendars.get(record[1]);
+    if (calendar == null) {
+      throw new IllegalStateException("Unknown calendar " + record[1]);
+    }
+    currentCalendar = calendar;
+    switch (record[0]) {
+      case "event":
+        createEvent(record[2], LocalDateTime.parse(record[3]), LocalDateTime.parse(record[4]),
+                record[5], record[6], status(record[7]));
+        break;
+      case "all-day-event":
+        createAllDayEvent(record[2], LocalDate.parse(record[3]), record[4], record[5],
+                status(record[6]));
+        break;
+      case "series":
+        calendar.createEventSeries(record[2], LocalDateTime.parse(record[3]),
+                LocalDateTime.parse(record[4]), weekdays(record[5]),
+                Integer.parseInt(record[6]), record[7], record[8], status(record[9]),
+                seriesId(record[10]));
+        break;
+      case "series-until":
+        calendar.createEventSeriesUntil(record[2], LocalDateTime.parse(record[3]),
+                LocalDateTime.parse(record[4]), weekdays(record[5]),
+                LocalDate.parse(record[6]), record[7], record[8], status(record[9]),
+                seriesId(record[10]));
+        break;
+      case "all-day-series":
+        calendar.createAllDayEventSeries(record[2], LocalDate.parse(record[3]),
+                weekdays(record[4]), Integer.parseInt(record[5]), record[6], record[7],
+                status(record[8]), seriesId(record[9]));
+        break;
+      case "all-day-series-until":
+        calendar.createAllDayEventSeriesUntil(record[2], LocalDate.parse(record[3]),
+                weekdays(record[4]), LocalDate.parse(record[5]), record[6], record[7],
+                status(record[8]), seriesId(record[9]));
+        break;
+      case "edit-event":
+        editEvent(record[2], record[3], LocalDateTime.parse(record[4]),
+                LocalDateTime.parse(record[5]), record[6]);
+        break;
+      case "edit-from":
+        editEventsFromDate(record[2], record[3], LocalDateTime.parse(record[4]), record[5]);
+        break;
+      case "edit-series":
+        editEntireSeries(record[2], record[3], LocalDateTime.parse(record[4]), record[5]);
+        break;
+      case "copy-event":
+        copyEvent(record[2], LocalDateTime.parse(record[3]), record[4],
+                LocalDateTime.parse(record[5]));
+        break;
+      case "copy-date":
+        copyEventsOnDate(LocalDate.parse(record[2]), record[3], LocalDate.parse(record[4]));
+        break;
+      case "copy-range":
+        copyEventsInRange(LocalDate.parse(record[2]), LocalDate.parse(record[3]), record[4],
+                LocalDate.parse(record[5]));
+        break;
+      case "copy-all-date":
+        copyAllOnDate(LocalDate.parse(record[2]), record[3], LocalDate.parse(record[4]));
+        break;
+      case "copy-all-range":
+        copyAllInRange(LocalDate.parse(record[2]), LocalDate.parse(record[3]), record[4],
+                LocalDate.parse(record[5]));
+        break;
+      default:
+        throw new IllegalStateException("Unknown record type " + record[0]);
+    }
+  }
+
+  private static String[] calendarRecord(CalendarInstance calendar) {
+    return new String[] {"calendar", calendar.getName(), calendar.getTimezone().getId(),
+            calendar.getStoreType().getName()};
+  }
+
+  /**
+   * Creates an empty store of a logged store class, falling back to the default store
+   * when the class is not available.
+   */
+  static IEventStore newStore(String className) {
+    try {
+      return (IEventStore) Class.forName(className).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | ClassCastException e) {
+      return new IndexedEventStore();
+    }
+  }
+
+  /**
+   * Gets the highest series number handed out so far.
+   *
+   * @return the series counter
+   */
+  int getSeriesCounter() {
+    return globalSeriesCounter.get();
+  }
+
+  /**
+   * Keeps the series counter at or ahead of a restored series number.
+   *
+   * @param seriesId the restored series number
+   */
+  void advanceSeriesCounter(int seriesId) {
+    globalSeriesCounter.accumulateAndGet(seriesId, Math::max);
+  }
+
+  /**
+   * Registers a calendar restored from a snapshot, replacing any calendar of that name.
+   *
+   * @param calendar the restored calendar
+   */
+  void restoreCalendar(CalendarInstance calendar) {
+    calendars.put(calendar.getName(), calendar);
+  }
+
+  /**
+   * Parses a logged series number and keeps the series counter ahead of it.
+   */
+  private int seriesId(String value) {
+    int seriesId = Integer.parseInt(value);
+    advanceSeriesCounter(seriesId);
+    return seriesId;
+  }
+
+  private static String text(Object value) {
+    return value == null ? null : value.toString();
+  }
+
+  private static String text(Set<DayOfWeek> weekdays) {
+    return String.valueOf(OccurrenceGenerator.of(weekdays).getMask());
+  }
+
+  private static Set<DayOfWeek> weekdays(String mask) {
+    return new OccurrenceGenerator(Integer.parseInt(mask)).toWeekdays();
+  }
+
+  private static EventStatus status(String value) {
+    return value == null ? null : EventStatus.valueOf(value);
+  }
+
   /**
    * Edits the name of a calendar and updates internal mappings.
+   * The calendar is claimed under its new name before the old entry is released, so a
+   * concurrent create or rename can never take the new name in between.
    */
   private boolean editCalendarName(String oldName, String newName) {
-    if (calendars.containsKey(newName)) {
+    CalendarInstance calendar = calendars.get(oldName);
+    if (calendar == null || calendars.putIfAbsent(newName, calendar) != null) {
       return false;
     }
 
-    CalendarInstance calendar = calendars.remove(oldName);
-    if (calendar == null) {
+    if (!calendars.remove(oldName, calendar)) {
+      calendars.remove(newName, calendar);
       return false;
     }
 
     calendar.setName(newName);
-    calendars.put(newName, calendar);
-
-    if (oldName.equals(currentCalendarName)) {
-      currentCalendarName = newName;
-    }
-
     return true;
   }
 
@@ -568,6 +1132,6 @@ public class CalendarManager implements ICalendarManager {
   @Override
   public String toString() {
     return String.format("CalendarManager{calendars=%d, current='%s'}",
-            calendars.size(), currentCalendarName);
+            calendars.size(), getCurrentCalendarName());
   }
 }
\ No newline at end of file
@@ -0,0 +1,375 @@
+package model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Versioned binary snapshot of every calendar in a {@link CalendarManager}: names, time
+ * zones, store types, stored events, series rules with their exceptions, and the series
+ * counter.
+ *
+ * <p>The file starts with a header holding the magic number, the format version, the
+ * series counter, and the offset and length of every calendar's section, so sections can
+ * be decoded independently. Each section has its own string table, so repeated subjects,
+ * locations, and series IDs are stored once, followed by fixed-width event and rule rows.
+ * All numbers are big-endian.
+ *
+ * <p>Snapshots are written with a {@link FileChannel} to a side file that is then moved
+ * into place. They are loaded from a {@link MappedByteBuffer}, with the calendars decoded
+ * in parallel and their events restored in bulk, without the per-event duplicate checks
+ * that creating events one by one performs.
+ */
+public final class CalendarSnapshot {
+
+  /**
+   * Magic number at the start of every snapshot, "CALS" in ASCII.
+   */
+  private static final int MAGIC = 0x43414C53;
+
+  /**
+   * Version of the format written by this class.
+   */
+  static final int VERSION = 1;
+
+  private static final int NO_STRING = -1;
+  private static final long NO_DATE = Long.MIN_VALUE;
+  private static final byte ALL_DAY = 1;
+
+  private CalendarSnapshot() {
+  }
+
+  /**
+   * Writes a snapshot of every calendar in a manager. The file is replaced atomically, so
+   * readers never observe a partly written snapshot, and is on disk, directory entry
+   * included, once this returns.
+   *
+   * @param manager the manager to snapshot
+   * @param file    the snapshot file
+   * @throws IOException if the snapshot cannot be written
+   */
+  public static void write(CalendarManager manager, Path file) throws IOException {
+    List<ByteBuffer> sections = new ArrayList<>();
+    for (String name : new TreeSet<>(manager.getCalendarNames())) {
+      CalendarInstance calendar = manager.getCalendar(name);
+      if (calendar != null) {
+        sections.add(encodeCalendar(calendar));
+      }
+    }
+
+    ByteBuffer header = ByteBuffer.allocate(16 + 16 * sections.size());
+    header.putInt(MAGIC).putInt(VERSION).putInt(manager.getSeriesCounter())
+            .putInt(sections.size());
+    long offset = header.capacity();
+    for (ByteBuffer section : sections) {
+      header.putLong(offset).putLong(section.remaining());
+      offset += section.remaining();
+    }
+    header.flip();
+
+    ByteBuffer[] buffers = new ByteBuffer[sections.size() + 1];
+    buffers[0] = header;
+    for (int i = 0; i < sections.size(); i++) {
+      buffers[i + 1] = sections.get(i);
+    }
+
+    Path partial = file.resolveSibling(file.getFileName() + ".partial");
+    try (FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      long remaining = offset;
+      while (remaining > 0) {
+        remaining -= out.write(buffers);
+      }
+      out.force(true);
+    }
+    Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    WriteAheadLog.forceDirectory(file);
+  }
+
+  /**
+   * Loads a snapshot into a new in-memory manager.
+   *
+   * @param file the snapshot file
+   * @return a manager holding the snapshot's calendars
+   * @throws IOException if the file cannot be read or is not a valid snapshot
+   */
+  public static CalendarManager load(Path file) throws IOException {
+    CalendarManager manager = new CalendarManager();
+    loadInto(manager, file);
+    return manager;
+  }
+
+  /**
+   * Loads a snapshot into a manager, replacing any calendar with the same name.
+   *
+   * @param manager the manager to restore into
+   * @param file    the snapshot file
+   * @throws IOException if the file cannot be read or is not a valid snapshot
+   */
+  static void loadInto(CalendarManager manager, Path file) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = in.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Calendar snapshot of " + size + " bytes is larger than the "
+                + Integer.MAX_VALUE + " bytes that can be loaded: " + file);
+      }
+      buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a calendar snapshot: " + file);
+      }
+      int version = buffer.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported snapshot version " + version + ": " + file);
+      }
+      int seriesCounter = buffer.getInt();
+      int calendarCount = buffer.getInt();
+      long[] offsets = new long[calendarCount];
+      long[] lengths = new long[calendarCount];
+      for (int i = 0; i < calendarCount; i++) {
+        offsets[i] = buffer.getLong();
+        lengths[i] = buffer.getLong();
+      }
+
+      List<CalendarInstance> calendars = IntStream.range(0, calendarCount).parallel()
+              .mapToObj(i -> decodeCalendar(slice(buffer, offsets[i], lengths[i])))
+              .collect(Collectors.toList());
+      for (CalendarInstance calendar : calendars) {
+        manager.restoreCalendar(calendar);
+      }
+      manager.advanceSeriesCounter(seriesCounter);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException
+             | IllegalArgumentException | DateTimeException | ArithmeticException e) {
+      throw new IOException("Corrupt calendar snapshot: " + file, e);
+    }
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, long offset, long length) {
+    ByteBuffer section = buffer.duplicate();
+    section.position(Math.toIntExact(offset));
+    section.limit(Math.toIntExact(offset + length));
+    return section.slice();
+  }
+
+  /**
+   * Encodes one calendar as a self-contained section.
+   */
+  private static ByteBuffer encodeCalendar(CalendarInstance calendar) {
+    List<Event> events = calendar.getStoredEvents();
+    List<EventSeries> rules = calendar.getSeriesRules();
+
+    StringTable strings = new StringTable();
+    int name = strings.id(calendar.getName());
+    int timezone = strings.id(calendar.getTimezone().getId());
+    int storeType = strings.id(calendar.getStoreType().getName());
+    int ruleBytes = 0;
+    for (Event event : events) {
+      strings.id(event.getSubject());
+      strings.id(event.getDescription());
+      strings.id(event.getLocation());
+      strings.id(event.getSeriesId());
+    }
+    for (EventSeries rule : rules) {
+      strings.id(rule.getSeriesId());
+      strings.id(rule.getSubject());
+      strings.id(rule.getDescription());
+      strings.id(rule.getLocation());
+      ruleBytes += RULE_BYTES + 8 * rule.getExceptions().size();
+    }
+
+    ByteBuffer out = ByteBuffer.allocate(strings.encodedSize() + 12 + 4
+            + events.size() * EVENT_BYTES + 4 + ruleBytes);
+    strings.writeTo(out);
+    out.putInt(name).putInt(timezone).putInt(storeType);
+
+    out.putInt(events.size());
+    for (Event event : events) {
+      out.putInt(strings.id(event.getSubject()));
+      putDateTime(out, event.getStartDateTime());
+      putDateTime(out, event.getEndDateTime());
+      out.put(event.isAllDay() ? ALL_DAY : 0);
+      out.put(statusCode(event.getStatus()));
+      out.putInt(strings.id(event.getDescription()));
+      out.putInt(strings.id(event.getLocation()));
+      out.putInt(strings.id(event.getSeriesId()));
+    }
+
+    out.putInt(rules.size());
+    for (EventSeries rule : rules) {
+      out.putInt(strings.id(rule.getSeriesId()));
+      out.put((byte) rule.getGenerator().getMask());
+      out.putLong(rule.getStartTime().toNanoOfDay());
+      out.putLong(rule.getEndTime().toNanoOfDay());
+      out.put(rule.isAllDay() ? ALL_DAY : 0);
+      out.putInt(strings.id(rule.getSubject()));
+      out.putLong(rule.getFirstDate() == null ? NO_DATE : rule.getFirstDate().toEpochDay());
+      out.putLong(rule.getLastDate() == null ? NO_DATE : rule.getLastDate().toEpochDay());
+      out.putInt(strings.id(rule.getDescription()));
+      out.putInt(strings.id(rule.getLocation()));
+      out.put(statusCode(rule.getStatus()));
+      Set<LocalDate> exceptions = rule.getExceptions();
+      out.putInt(exceptions.size());
+      for (LocalDate exception : exceptions) {
+        out.putLong(exception.toEpochDay());
+      }
+    }
+    out.flip();
+    return out;
+  }
+
+  /**
+   * Bytes per event row: subject, two date-times, flags, status, and three string IDs.
+   */
+  private static final int EVENT_BYTES = 4 + 12 + 12 + 1 + 1 + 4 + 4 + 4;
+
+  /**
+   * Bytes per rule row, not counting its exception dates.
+   */
+  private static final int RULE_BYTES = 4 + 1 + 8 + 8 + 1 + 4 + 8 + 8 + 4 + 4 + 1 + 4;
+
+  /**
+   * Decodes one calendar section into a calendar instance.
+   */
+  private static CalendarInstance decodeCalendar(ByteBuffer in) {
+    String[] strings = StringTable.read(in);
+    String name = strings[in.getInt()];
+    ZoneId timezone = ZoneId.of(strings[in.getInt()]);
+    CalendarInstance calendar = new CalendarInstance(name, timezone,
+            CalendarManager.newStore(strings[in.getInt()]));
+
+    int eventCount = in.getInt();
+    List<Event> events = new ArrayList<>(eventCount);
+    for (int i = 0; i < eventCount; i++) {
+      String subject = string(strings, in.getInt());
+      LocalDateTime start = getDateTime(in);
+      LocalDateTime end = getDateTime(in);
+      boolean allDay = in.get() == ALL_DAY;
+      EventStatus status = status(in.get());
+      Event event = new Event(subject, start, end, string(strings, in.getInt()),
+              string(strings, in.getInt()), status);
+      event.setAllDay(allDay);
+      event.setSeriesId(string(strings, in.getInt()));
+      events.add(event);
+    }
+    calendar.restoreEvents(events);
+
+    int ruleCount = in.getInt();
+    for (int i = 0; i < ruleCount; i++) {
+      String seriesId = string(strings, in.getInt());
+      Set<DayOfWeek> weekdays = new OccurrenceGenerator(in.get()).toWeekdays();
+      LocalTime startTime = LocalTime.ofNanoOfDay(in.getLong());
+      LocalTime endTime = LocalTime.ofNanoOfDay(in.getLong());
+      boolean allDay = in.get() == ALL_DAY;
+      String subject = string(strings, in.getInt());
+      LocalDate firstDate = date(in.getLong());
+      LocalDate lastDate = date(in.getLong());
+      String description = string(strings, in.getInt());
+      String location = string(strings, in.getInt());
+      EventSeries rule = new EventSeries(seriesId, weekdays, startTime, endTime, allDay,
+              subject, firstDate, lastDate, description, location, status(in.get()));
+      int exceptionCount = in.getInt();
+      for (int j = 0; j < exceptionCount; j++) {
+        rule.addException(LocalDate.ofEpochDay(in.getLong()));
+      }
+      calendar.restoreSeries(rule);
+    }
+    return calendar;
+  }
+
+  private static void putDateTime(ByteBuffer out, LocalDateTime dateTime) {
+    out.putLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+    out.putInt(dateTime.getNano());
+  }
+
+  private static LocalDateTime getDateTime(ByteBuffer in) {
+    long seconds = in.getLong();
+    return LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+  }
+
+  private static LocalDate date(long epochDay) {
+    return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+  }
+
+  private static byte statusCode(EventStatus status) {
+    return status == null ? 0 : (byte) (status.ordinal() + 1);
+  }
+
+  private static EventStatus status(byte code) {
+    return code == 0 ? null : EventStatus.values()[code - 1];
+  }
+
+  private static String string(String[] strings, int id) {
+    return id == NO_STRING ? null : strings[id];
+  }
+
+  /**
+   * Table of the distinct strings of one calendar section.
+   */
+  private static final class StringTable {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<byte[]> encoded = new ArrayList<>();
+    private int encodedSize = 4;
+
+    int id(String value) {
+      if (value == null) {
+        return NO_STRING;
+      }
+      Integer id = ids.get(value);
+      if (id == null) {
+        id = encoded.size();
+        ids.put(value, id);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        encoded.add(bytes);
+        encodedSize += 4 + bytes.length;
+      }
+      return id;
+    }
+
+    int encodedSize() {
+      return encodedSize;
+    }
+
+    void writeTo(ByteBuffer out) {
+      out.putInt(encoded.size());
+      for (byte[] bytes : encoded) {
+        out.putInt(bytes.length).put(bytes);
+      }
+    }
+
+    static String[] read(ByteBuffer in) {
+      String[] strings = new String[in.getInt()];
+      for (int i = 0; i < strings.length; i++) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        strings[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+      return strings;
+    }
+  }
+}
@@ -0,0 +1,695 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Event storage laid out as parallel primitive columns instead of one object per event.
+ * Start and end times are kept as epoch minutes in {@code int} columns, the all-day flag
+ * and status share a flags byte, and strings are replaced by ids into per-store
+ * dictionaries, so an event costs a few dozen bytes however many objects its
+ * {@link Event} form would need.
+ *
+ * <p>Rows are kept sorted by start minute. Range, day, and busy queries binary-search the
+ * start column and then scan adjacent rows, never looking further back than the longest
+ * event stored; the scans read only primitive columns and allocate nothing until a
+ * matching row is turned into an {@link Event}. Batches are sorted once and merged into
+ * the rows in a single pass, and the rows of each series are indexed so that series edits
+ * do not scan the store.
+ *
+ * <p>Events handed out by the store are views built on demand. Each view remembers the
+ * row it was built from, and changes made through its setters are written back to the
+ * store. Setting a time the store cannot hold on such a view throws an
+ * {@link IllegalArgumentException} and leaves both the view and its row unchanged. A view
+ * of a row that has since been removed no longer affects the store.
+ * Dictionary entries live as long as the store, so strings are shared between rows
+ * that were added or edited at different times.
+ *
+ * <p>Times are stored at minute precision; events with seconds, or outside the range an
+ * {@code int} of epoch minutes can hold, are rejected.
+ */
+public class CompactEventStore implements IEventStore {
+
+  /**
+   * Flags bit set for all-day events.
+   */
+  private static final byte ALL_DAY = 1;
+
+  /**
+   * Flags bit set for public events.
+   */
+  private static final byte PUBLIC = 2;
+
+  /**
+   * Dictionary id used for null strings.
+   */
+  private static final int NONE = -1;
+
+  /**
+   * Minutes in one day.
+   */
+  private static final int MINUTES_PER_DAY = 24 * 60;
+
+  /**
+   * Stable row identity, used by views to find their row after other rows move.
+   */
+  private int[] ids;
+
+  /**
+   * Start times in epoch minutes, sorted ascending.
+   */
+  private int[] starts;
+
+  /**
+   * End times in epoch minutes.
+   */
+  private int[] ends;
+
+  /**
+   * All-day and status bits.
+   */
+  private byte[] flags;
+
+  /**
+   * Dictionary ids of subjects.
+   */
+  private int[] subjects;
+
+  /**
+   * Dictionary ids of descriptions.
+   */
+  private int[] descriptions;
+
+  /**
+   * Dictionary ids of locations.
+   */
+  private int[] locations;
+
+  /**
+   * Dictionary ids of series IDs.
+   */
+  private int[] seriesIds;
+
+  /**
+   * Number of rows in use.
+   */
+  private int size;
+
+  /**
+   * Next row identity to hand out.
+   */
+  private int nextId;
+
+  /**
+   * Longest end-minus-start span ever stored, bounding how far back a scan must look.
+   */
+  private int maxSpan;
+
+  /**
+   * Number of rows inserted and deleted, and of clears.
+   */
+  private long modifications;
+
+  /**
+   * Strings shared by every text column.
+   */
+  private final Dictionary dictionary;
+
+  /**
+   * Rows of each series, by series ID dictionary id, as {@link #rowKey(int, int)}s so
+   * that they are ordered by start time.
+   */
+  private final Map<Integer, TreeSet<Long>> seriesRows;
+
+  /**
+   * Creates an empty store.
+   */
+  public CompactEventStore() {
+    this.dictionary = new Dictionary();
+    this.seriesRows = new HashMap<>();
+    clear();
+  }
+
+  /**
+   * Adds an event unless one with the same subject, start, and end is already stored.
+   * The store copies the event's fields; the event itself is not retained.
+   *
+   * @param event the event to add
+   * @return true if the event was added, false if it is a duplicate or its times cannot
+   *         be stored at minute precision
+   */
+  @Override
+  public boolean add(Event event) {
+    if (!isStorable(event) || contains(EventKey.of(event))) {
+      return false;
+    }
+    insertRow(nextId++, event);
+    return true;
+  }
+
+  /**
+   * Adds every event {@link #add(Event)} would accept, skipping repeats within the batch.
+   * The accepted events are sorted by start once and merged into the rows from the back,
+   * so a batch costs one pass over the store however its events are ordered.
+   *
+   * @param events the events to add
+   * @return the number of events added
+   */
+  @Override
+  public int addAll(List<Event> events) {
+    List<Event> batch = new ArrayList<>();
+    Set<EventKey> keys = new HashSet<>();
+    for (Event event : events) {
+      if (isStorable(event)) {
+        EventKey key = EventKey.of(event);
+        if (!contains(key) && keys.add(key)) {
+          batch.add(event);
+        }
+      }
+    }
+
+    int count = batch.size();
+    long[] order = new long[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = rowKey((int) toMinutes(batch.get(i).getStartDateTime()), i);
+    }
+    Arrays.sort(order);
+
+    ensureCapacity(size + count);
+    int row = size - 1;
+    int target = size + count - 1;
+    for (int next = count - 1; next >= 0; next--) {
+      int start = (int) (order[next] >> 32);
+      int stay = row + 1;
+      while (stay > 0 && starts[stay - 1] > start) {
+        stay--;
+      }
+      int length = row + 1 - stay;
+      shift(stay, target - length + 1, length);
+      target -= length;
+      row = stay - 1;
+      int index = (int) order[next];
+      writeRow(target--, nextId + index, batch.get(index));
+    }
+    nextId += count;
+    size += count;
+    modifications += count;
+    return count;
+  }
+
+  /**
+   * Removes an event. A view is removed by identity; any other event removes the first
+   * stored row with the same subject, start, and end.
+   *
+   * @param event the event to remove
+   * @return true if a row was removed
+   */
+  @Override
+  public boolean remove(Event event) {
+    EventChangeListener listener = event.getChangeListener();
+    int row = listener instanceof RowView && ((RowView) listener).store() == this
+            ? findRow(event, ((RowView) listener).id)
+            : findRow(EventKey.of(event));
+    if (row < 0) {
+      return false;
+    }
+    deleteRow(row);
+    return true;
+  }
+
+  /**
+   * Finds the event with the given subject, start, and end.
+   *
+   * @param key the identity to look up
+   * @return a view of the event, or null if none is stored
+   */
+  @Override
+  public Event find(EventKey key) {
+    int row = findRow(key);
+    return row < 0 ? null : view(row);
+  }
+
+  /**
+   * Checks whether an event with the given subject, start, and end is stored.
+   *
+   * @param key the identity to look up
+   * @return true if such an event exists
+   */
+  @Override
+  public boolean contains(EventKey key) {
+    return findRow(key) >= 0;
+  }
+
+  /**
+   * Finds every event that starts exactly at a time.
+   *
+   * @param startDateTime the start time to look up
+   * @return views of the matching events in insertion order
+   */
+  @Override
+  public List<Event> findByStart(LocalDateTime startDateTime) {
+    List<Event> result = new ArrayList<>();
+    if (!isMinute(startDateTime)) {
+      return result;
+    }
+    long start = toMinutes(startDateTime);
+    for (int row = lowerBound(start); row < size && starts[row] == start; row++) {
+      result.add(view(row));
+    }
+    return result;
+  }
+
+  /**
+   * Finds every event that occurs on a date, with the same semantics as
+   * {@link Event#occursOnDate(LocalDate)}.
+   *
+   * @param date the date to look up
+   * @return views of the matching events ordered by start time
+   */
+  @Override
+  public List<Event> getEventsOnDate(LocalDate date) {
+    long dayStart = date.toEpochDay() * MINUTES_PER_DAY;
+    long dayEnd = dayStart + MINUTES_PER_DAY - 1;
+    List<Event> result = new ArrayList<>();
+    for (int row = lowerBound(dayStart - maxSpan); row < size && starts[row] <= dayEnd; row++) {
+      if (ends[row] >= dayStart) {
+        result.add(view(row));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds every event touching the closed range [from, to], with the same semantics as
+   * {@link EventIntervalTree#query(LocalDateTime, LocalDateTime)}.
+   *
+   * @param from start of the range
+   * @param to   end of the range
+   * @return views of the matching events ordered by start time
+   */
+  @Override
+  public List<Event> getEventsInRange(LocalDateTime from, LocalDateTime to) {
+    long first = ceilMinutes(from);
+    long last = toMinutes(to);
+    List<Event> result = new ArrayList<>();
+    for (int row = lowerBound(first - maxSpan); row < size && starts[row] <= last; row++) {
+      if (ends[row] >= first) {
+        result.add(view(row));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Counts the events touching the closed range [from, to] without building views.
+   *
+   * @param from start of the range
+   * @param to   end of the range
+   * @return the number of matching events
+   */
+  public int countInRange(LocalDateTime from, LocalDateTime to) {
+    long first = ceilMinutes(from);
+    long last = toMinutes(to);
+    int count = 0;
+    for (int row = lowerBound(first - maxSpan); row < size && starts[row] <= last; row++) {
+      if (ends[row] >= first) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Checks whether any event is active at an instant, using start-inclusive,
+   * end-exclusive spans as {@link Event#isActiveAt(LocalDateTime)} does.
+   *
+   * @param dateTime the instant to check
+   * @return true if an event covers the instant
+   */
+  @Override
+  public boolean anyActiveAt(LocalDateTime dateTime) {
+    long minute = toMinutes(dateTime);
+    for (int row = lowerBound(minute - maxSpan); row < size && starts[row] <= minute; row++) {
+      if (ends[row] > minute) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets every member of a series.
+   *
+   * @param seriesId the series to look up
+   * @return views of the members ordered by start time
+   */
+  @Override
+  public List<Event> getSeriesMembers(String seriesId) {
+    return getSeriesMembersFrom(seriesId, LocalDateTime.MIN);
+  }
+
+  /**
+   * Gets the members of a series that start at or after a time.
+   *
+   * @param seriesId the series to look up
+   * @param from     the earliest start time to include
+   * @return views of the matching members ordered by start time
+   */
+  @Override
+  public List<Event> getSeriesMembersFrom(String seriesId, LocalDateTime from) {
+    List<Event> result = new ArrayList<>();
+    TreeSet<Long> rows = seriesId == null ? null : seriesRows.get(dictionary.idOf(seriesId));
+    long first = ceilMinutes(from);
+    if (rows == null || first > Integer.MAX_VALUE) {
+      return result;
+    }
+    for (long key : rows.tailSet(rowKey((int) Math.max(first, Integer.MIN_VALUE), 0))) {
+      result.add(view(findRow(key >> 32, (int) key)));
+    }
+    return result;
+  }
+
+  /**
+   * Gets every stored event.
+   *
+   * @return views of all events ordered by start time
+   */
+  @Override
+  public List<Event> getAllEvents() {
+    List<Event> result = new ArrayList<>(size);
+    for (int row = 0; row < size; row++) {
+      result.add(view(row));
+    }
+    return result;
+  }
+
+  /**
+   * Gets the number of stored events.
+   *
+   * @return the event count
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes every event. Views handed out earlier no longer affect the store.
+   */
+  @Override
+  public void clear() {
+    ids = new int[8];
+    starts = new int[8];
+    ends = new int[8];
+    flags = new byte[8];
+    subjects = new int[8];
+    descriptions = new int[8];
+    locations = new int[8];
+    seriesIds = new int[8];
+    size = 0;
+    maxSpan = 0;
+    dictionary.clear();
+    seriesRows.clear();
+    modifications++;
+  }
+
+  @Override
+  public long modificationCount() {
+    return modifications;
+  }
+
+  @Override
+  public boolean isConcurrent() {
+    return false;
+  }
+
+  private Event view(int row) {
+    LocalDateTime start = fromMinutes(starts[row]);
+    Event event = new Event(dictionary.get(subjects[row]), start, fromMinutes(ends[row]),
+            dictionary.get(descriptions[row]), dictionary.get(locations[row]),
+            (flags[row] & PUBLIC) != 0 ? EventStatus.PUBLIC : EventStatus.PRIVATE);
+    if ((flags[row] & ALL_DAY) != 0) {
+      event.setAllDay(true);
+    }
+    event.setSeriesId(dictionary.get(seriesIds[row]));
+    event.setChangeListener(new RowView(ids[row]));
+    return event;
+  }
+
+  private void insertRow(int id, Event event) {
+    ensureCapacity(size + 1);
+    int row = upperBound(toMinutes(event.getStartDateTime()));
+    shift(row, row + 1, size - row);
+    writeRow(row, id, event);
+    size++;
+    modifications++;
+  }
+
+  /**
+   * Fills a row with an event's fields and indexes it under its series.
+   */
+  private void writeRow(int row, int id, Event event) {
+    int start = (int) toMinutes(event.getStartDateTime());
+    int end = (int) toMinutes(event.getEndDateTime());
+    ids[row] = id;
+    starts[row] = start;
+    ends[row] = end;
+    flags[row] = (byte) ((event.isAllDay() ? ALL_DAY : 0)
+            | (event.getStatus() == EventStatus.PUBLIC ? PUBLIC : 0));
+    subjects[row] = dictionary.intern(event.getSubject());
+    descriptions[row] = dictionary.intern(event.getDescription());
+    locations[row] = dictionary.intern(event.getLocation());
+    seriesIds[row] = dictionary.intern(event.getSeriesId());
+    maxSpan = Math.max(maxSpan, end - start);
+    if (seriesIds[row] != NONE) {
+      seriesRows.computeIfAbsent(seriesIds[row], series -> new TreeSet<>())
+              .add(rowKey(start, id));
+    }
+  }
+
+  private void deleteRow(int row) {
+    TreeSet<Long> rows = seriesRows.get(seriesIds[row]);
+    if (rows != null && rows.remove(rowKey(starts[row], ids[row])) && rows.isEmpty()) {
+      seriesRows.remove(seriesIds[row]);
+    }
+    shift(row + 1, row, size - row - 1);
+    size--;
+    modifications++;
+  }
+
+  private void shift(int from, int to, int length) {
+    System.arraycopy(ids, from, ids, to, length);
+    System.arraycopy(starts, from, starts, to, length);
+    System.arraycopy(ends, from, ends, to, length);
+    System.arraycopy(flags, from, flags, to, length);
+    System.arraycopy(subjects, from, subjects, to, length);
+    System.arraycopy(descriptions, from, descriptions, to, length);
+    System.arraycopy(locations, from, locations, to, length);
+    System.arraycopy(seriesIds, from, seriesIds, to, length);
+  }
+
+  private void ensureCapacity(int needed) {
+    if (needed <= starts.length) {
+      return;
+    }
+    int capacity = Math.max(starts.length * 2, needed);
+    ids = Arrays.copyOf(ids, capacity);
+    starts = Arrays.copyOf(starts, capacity);
+    ends = Arrays.copyOf(ends, capacity);
+    flags = Arrays.copyOf(flags, capacity);
+    subjects = Arrays.copyOf(subjects, capacity);
+    descriptions = Arrays.copyOf(descriptions, capacity);
+    locations = Arrays.copyOf(locations, capacity);
+    seriesIds = Arrays.copyOf(seriesIds, capacity);
+  }
+
+  private int findRow(EventKey key) {
+    if (!isMinute(key.getStartDateTime()) || !isMinute(key.getEndDateTime())) {
+      return -1;
+    }
+    int subject = dictionary.idOf(key.getSubject());
+    if (subject == NONE && key.getSubject() != null) {
+      return -1;
+    }
+    long start = toMinutes(key.getStartDateTime());
+    long end = toMinutes(key.getEndDateTime());
+    for (int row = lowerBound(start); row < size && starts[row] == start; row++) {
+      if (ends[row] == end && subjects[row] == subject) {
+        return row;
+      }
+    }
+    return -1;
+  }
+
+  private int findRow(Event event, int id) {
+    if (!isMinute(event.getStartDateTime())) {
+      return -1;
+    }
+    return findRow(toMinutes(event.getStartDateTime()), id);
+  }
+
+  private int findRow(long start, int id) {
+    for (int row = lowerBound(start); row < size && starts[row] == start; row++) {
+      if (ids[row] == id) {
+        return row;
+      }
+    }
+    return -1;
+  }
+
+  private int lowerBound(long minute) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (starts[mid] < minute) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int upperBound(long minute) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (starts[mid] <= minute) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Packs a start minute and a row identity into one value that sorts by start time.
+   */
+  private static long rowKey(int start, int id) {
+    return ((long) start << 32) | (id & 0xFFFFFFFFL);
+  }
+
+  private static boolean isStorable(Event event) {
+    return isStorable(event.getStartDateTime(), event.getEndDateTime());
+  }
+
+  private static boolean isStorable(LocalDateTime start, LocalDateTime end) {
+    return isMinute(start) && isMinute(end)
+            && fitsInt(toMinutes(start)) && fitsInt(toMinutes(end));
+  }
+
+  private static boolean isMinute(LocalDateTime dateTime) {
+    return dateTime != null && dateTime.getSecond() == 0 && dateTime.getNano() == 0;
+  }
+
+  private static boolean fitsInt(long minutes) {
+    return minutes >= Integer.MIN_VALUE && minutes <= Integer.MAX_VALUE;
+  }
+
+  /**
+   * Converts a time to epoch minutes, dropping seconds.
+   */
+  private static long toMinutes(LocalDateTime dateTime) {
+    return dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY
+            + dateTime.getHour() * 60L + dateTime.getMinute();
+  }
+
+  /**
+   * Converts a time to epoch minutes, rounding any seconds up to the next minute.
+   */
+  private static long ceilMinutes(LocalDateTime dateTime) {
+    return toMinutes(dateTime) + (isMinute(dateTime) ? 0 : 1);
+  }
+
+  private static LocalDateTime fromMinutes(int minutes) {
+    return LocalDate.ofEpochDay(Math.floorDiv(minutes, MINUTES_PER_DAY))
+            .atTime(LocalTime.ofSecondOfDay(Math.floorMod(minutes, MINUTES_PER_DAY) * 60L));
+  }
+
+  /**
+   * Change listener attached to a view, writing its edits back to the view's row.
+   */
+  private class RowView implements EventChangeListener {
+    private final int id;
+    private int pendingRow = -1;
+
+    RowView(int id) {
+      this.id = id;
+    }
+
+    CompactEventStore store() {
+      return CompactEventStore.this;
+    }
+
+    @Override
+    public void checkTimes(Event event, LocalDateTime start, LocalDateTime end) {
+      if (findRow(event, id) >= 0 && !isStorable(start, end)) {
+        throw new IllegalArgumentException("Event times " + start + " to " + end
+                + " cannot be stored at minute precision");
+      }
+    }
+
+    @Override
+    public void beforeChange(Event event) {
+      pendingRow = findRow(event, id);
+    }
+
+    @Override
+    public void afterChange(Event event) {
+      if (pendingRow >= 0) {
+        deleteRow(pendingRow);
+        insertRow(id, event);
+      }
+      pendingRow = -1;
+    }
+  }
+
+  /**
+   * Two-way mapping between strings and dense integer ids.
+   */
+  private static class Dictionary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int intern(String value) {
+      if (value == null) {
+        return NONE;
+      }
+      Integer id = ids.get(value);
+      if (id == null) {
+        id = values.size();
+        values.add(value);
+        ids.put(value, id);
+      }
+      return id;
+    }
+
+    int idOf(String value) {
+      if (value == null) {
+        return NONE;
+      }
+      return ids.getOrDefault(value, NONE);
+    }
+
+    String get(int id) {
+      return id == NONE ? null : values.get(id);
+    }
+
+    void clear() {
+      ids.clear();
+      values.clear();
+    }
+  }
+}
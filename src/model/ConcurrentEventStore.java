@@ -0,0 +1,309 @@
+package model;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe event store built on a {@link ConcurrentSkipListMap} ordered by
+ * (start, subject, end).
+ *
+ * <p>Adding an event is a single atomic put-if-absent on its key, so concurrent adds need
+ * no lock and exactly one of several racing duplicates wins. Queries iterate sub-maps of
+ * the skip list without locking and are weakly consistent: they never fail because of
+ * concurrent adds, and they see every event added before the query began.
+ *
+ * <p>Range queries start scanning at the query start minus the longest event span ever
+ * stored, so long events that begin before the range are still found. Series member
+ * lookups scan the whole store. Like {@link IndexedEventStore}, the store listens to the
+ * events it holds; edits made through their setters should be serialized by the caller,
+ * which {@link CalendarInstance} does with its write lock.
+ */
+public class ConcurrentEventStore implements IEventStore {
+
+  /**
+   * Key order of the skip list: start time, then subject, then end time.
+   */
+  private static final Comparator<EventKey> KEY_ORDER =
+          Comparator.comparing(EventKey::getStartDateTime)
+                  .thenComparing(EventKey::getSubject,
+                          Comparator.nullsFirst(Comparator.naturalOrder()))
+                  .thenComparing(EventKey::getEndDateTime);
+
+  /**
+   * Stored events by key. Events only share a key after edits, so a value nearly always
+   * holds a single event; values are immutable and replaced as a whole.
+   */
+  private final ConcurrentSkipListMap<EventKey, List<Event>> events;
+
+  /**
+   * Number of events stored.
+   */
+  private final AtomicInteger size;
+
+  /**
+   * Longest span, in seconds rounded up, of any event stored since the last clear.
+   */
+  private final AtomicLong maxSpanSeconds;
+
+  /**
+   * Number of changes made to the stored events, counted once each change is visible.
+   */
+  private final AtomicLong modifications;
+
+  /**
+   * Listener that re-keys an event whenever one of its fields is edited.
+   */
+  private final EventChangeListener keyUpdater = new EventChangeListener() {
+    @Override
+    public void beforeChange(Event event) {
+      unindex(event);
+    }
+
+    @Override
+    public void afterChange(Event event) {
+      index(event);
+    }
+  };
+
+  /**
+   * Creates an empty store.
+   */
+  public ConcurrentEventStore() {
+    this.events = new ConcurrentSkipListMap<>(KEY_ORDER);
+    this.size = new AtomicInteger();
+    this.maxSpanSeconds = new AtomicLong();
+    this.modifications = new AtomicLong();
+  }
+
+  @Override
+  public boolean add(Event event) {
+    recordSpan(event);
+    if (events.putIfAbsent(EventKey.of(event), List.of(event)) != null) {
+      return false;
+    }
+    size.incrementAndGet();
+    event.setChangeListener(keyUpdater);
+    modifications.incrementAndGet();
+    return true;
+  }
+
+  @Override
+  public int addAll(List<Event> events) {
+    int added = 0;
+    for (Event event : events) {
+      if (add(event)) {
+        added++;
+      }
+    }
+    return added;
+  }
+
+  @Override
+  public boolean remove(Event event) {
+    if (event.getChangeListener() != keyUpdater) {
+      return false;
+    }
+    unindex(event);
+    event.setChangeListener(null);
+    return true;
+  }
+
+  @Override
+  public Event find(EventKey key) {
+    List<Event> found = events.get(key);
+    return found == null ? null : found.get(0);
+  }
+
+  @Override
+  public boolean contains(EventKey key) {
+    return events.containsKey(key);
+  }
+
+  @Override
+  public List<Event> findByStart(LocalDateTime startDateTime) {
+    List<Event> result = new ArrayList<>();
+    for (Map.Entry<EventKey, List<Event>> entry : tailFrom(startDateTime).entrySet()) {
+      if (!entry.getKey().getStartDateTime().equals(startDateTime)) {
+        break;
+      }
+      result.addAll(entry.getValue());
+    }
+    return result;
+  }
+
+  @Override
+  public List<Event> getEventsOnDate(LocalDate date) {
+    return getEventsInRange(date.atStartOfDay(), date.atTime(LocalTime.MAX));
+  }
+
+  @Override
+  public List<Event> getEventsInRange(LocalDateTime from, LocalDateTime to) {
+    List<Event> result = new ArrayList<>();
+    for (Map.Entry<EventKey, List<Event>> entry : tailFrom(minusMaxSpan(from)).entrySet()) {
+      EventKey key = entry.getKey();
+      if (key.getStartDateTime().isAfter(to)) {
+        break;
+      }
+      if (!key.getEndDateTime().isBefore(from)) {
+        result.addAll(entry.getValue());
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean anyActiveAt(LocalDateTime dateTime) {
+    for (Map.Entry<EventKey, List<Event>> entry
+            : tailFrom(minusMaxSpan(dateTime)).entrySet()) {
+      EventKey key = entry.getKey();
+      if (key.getStartDateTime().isAfter(dateTime)) {
+        return false;
+      }
+      if (key.getEndDateTime().isAfter(dateTime)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public List<Event> getSeriesMembers(String seriesId) {
+    return getSeriesMembersFrom(seriesId, LocalDateTime.MIN);
+  }
+
+  @Override
+  public List<Event> getSeriesMembersFrom(String seriesId, LocalDateTime from) {
+    List<Event> result = new ArrayList<>();
+    for (List<Event> stored : tailFrom(from).values()) {
+      for (Event event : stored) {
+        if (Objects.equals(seriesId, event.getSeriesId())) {
+          result.add(event);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<Event> getAllEvents() {
+    List<Event> result = new ArrayList<>(size.get());
+    for (List<Event> stored : events.values()) {
+      result.addAll(stored);
+    }
+    return result;
+  }
+
+  @Override
+  public int size() {
+    return size.get();
+  }
+
+  @Override
+  public void clear() {
+    for (Event event : getAllEvents()) {
+      event.setChangeListener(null);
+    }
+    events.clear();
+    size.set(0);
+    maxSpanSeconds.set(0);
+    modifications.incrementAndGet();
+  }
+
+  @Override
+  public long modificationCount() {
+    return modifications.get();
+  }
+
+  @Override
+  public boolean isConcurrent() {
+    return true;
+  }
+
+  /**
+   * Gets the part of the skip list holding events that start at or after a time.
+   *
+   * @param start the earliest start time to include
+   * @return a live view of the matching entries
+   */
+  private ConcurrentNavigableMap<EventKey, List<Event>> tailFrom(LocalDateTime start) {
+    return events.tailMap(new EventKey(null, start, LocalDateTime.MIN), true);
+  }
+
+  /**
+   * Moves a time back by the longest stored event span, without running past the
+   * earliest representable time.
+   *
+   * @param dateTime the time to move back
+   * @return the earliest start an event touching the time can have
+   */
+  private LocalDateTime minusMaxSpan(LocalDateTime dateTime) {
+    Duration span = Duration.ofSeconds(maxSpanSeconds.get());
+    if (dateTime.isBefore(LocalDateTime.MIN.plus(span))) {
+      return LocalDateTime.MIN;
+    }
+    return dateTime.minus(span);
+  }
+
+  /**
+   * Widens the longest known span to cover an event about to be stored.
+   *
+   * @param event the event about to be stored
+   */
+  private void recordSpan(Event event) {
+    Duration span = Duration.between(event.getStartDateTime(), event.getEndDateTime());
+    long seconds = span.getSeconds() + (span.getNano() > 0 ? 1 : 0);
+    maxSpanSeconds.accumulateAndGet(seconds, Math::max);
+  }
+
+  /**
+   * Removes an event from the skip list before one of its fields changes.
+   *
+   * @param event the event about to change
+   */
+  private void unindex(Event event) {
+    boolean[] removed = new boolean[1];
+    events.computeIfPresent(EventKey.of(event), (key, stored) -> {
+      List<Event> remaining = new ArrayList<>(stored.size());
+      for (Event other : stored) {
+        if (other == event) {
+          removed[0] = true;
+        } else {
+          remaining.add(other);
+        }
+      }
+      return remaining.isEmpty() ? null : List.copyOf(remaining);
+    });
+    if (removed[0]) {
+      size.decrementAndGet();
+    }
+    modifications.incrementAndGet();
+  }
+
+  /**
+   * Adds an event back to the skip list after one of its fields changed, keeping it next
+   * to any event it now shares a key with.
+   *
+   * @param event the event that changed
+   */
+  private void index(Event event) {
+    recordSpan(event);
+    events.merge(EventKey.of(event), List.of(event), (stored, added) -> {
+      List<Event> merged = new ArrayList<>(stored);
+      merged.addAll(added);
+      return List.copyOf(merged);
+    });
+    size.incrementAndGet();
+    modifications.incrementAndGet();
+  }
+}
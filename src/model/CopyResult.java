@@ -0,0 +1,158 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of copying a batch of events into a calendar with
+ * {@link IEventCopyService#copyAllOnDate} or {@link IEventCopyService#copyAllInRange}.
+ * A batch is copied whole or not at all, so either every event was copied and there are
+ * no conflicts, or nothing was copied and the conflicts tell which events stood in the
+ * way and why. A copy that could not be attempted at all, such as one into a calendar
+ * that does not exist, has a {@link Failure} instead.
+ */
+public final class CopyResult {
+
+  /**
+   * Why an event of a batch could not be copied.
+   */
+  public enum Reason {
+    /**
+     * The target calendar already has an event with the same subject, start, and end.
+     */
+    DUPLICATE_IN_TARGET,
+    /**
+     * An earlier event of the same batch has the same subject, start, and end.
+     */
+    DUPLICATE_IN_BATCH,
+    /**
+     * The target calendar's store cannot hold the event's times.
+     */
+    NOT_STORABLE
+  }
+
+  /**
+   * Why a batch copy could not be attempted.
+   */
+  public enum Failure {
+    /**
+     * No calendar is in use to copy from.
+     */
+    NO_CALENDAR_IN_USE,
+    /**
+     * The calendar to copy into does not exist.
+     */
+    UNKNOWN_TARGET
+  }
+
+  /**
+   * One event of a batch that could not be copied.
+   */
+  public static final class Conflict {
+    private final Event source;
+    private final Event copy;
+    private final Reason reason;
+
+    /**
+     * Creates a conflict record.
+     *
+     * @param source the event in the source calendar
+     * @param copy   the copy that would have been added to the target calendar
+     * @param reason why the copy could not be added
+     */
+    public Conflict(Event source, Event copy, Reason reason) {
+      this.source = source;
+      this.copy = copy;
+      this.reason = reason;
+    }
+
+    public Event getSource() {
+      return source;
+    }
+
+    public Event getCopy() {
+      return copy;
+    }
+
+    public Reason getReason() {
+      return reason;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Conflict{copy=%s, reason=%s}", copy, reason);
+    }
+  }
+
+  private final List<Event> copied;
+  private final List<Conflict> conflicts;
+  private final Failure failure;
+
+  /**
+   * Creates a result.
+   *
+   * @param copied    the events added to the target calendar
+   * @param conflicts the events that could not be copied
+   */
+  public CopyResult(List<Event> copied, List<Conflict> conflicts) {
+    this(copied, conflicts, null);
+  }
+
+  private CopyResult(List<Event> copied, List<Conflict> conflicts, Failure failure) {
+    this.copied = Collections.unmodifiableList(copied);
+    this.conflicts = Collections.unmodifiableList(conflicts);
+    this.failure = failure;
+  }
+
+  /**
+   * Creates the result of a copy that could not be attempted.
+   *
+   * @param failure why the copy was not attempted
+   * @return a result with nothing copied and no conflicts
+   */
+  public static CopyResult failed(Failure failure) {
+    return new CopyResult(Collections.emptyList(), Collections.emptyList(), failure);
+  }
+
+  /**
+   * Gets the events added to the target calendar, in source order.
+   *
+   * @return the copies that were added, empty if the batch was rejected
+   */
+  public List<Event> getCopied() {
+    return copied;
+  }
+
+  /**
+   * Gets the events that kept the batch from being copied, in source order.
+   *
+   * @return the conflicts, empty if the batch was copied
+   */
+  public List<Conflict> getConflicts() {
+    return conflicts;
+  }
+
+  /**
+   * Gets why the copy could not be attempted.
+   *
+   * @return the failure, or null if the batch was checked against the target calendar
+   */
+  public Failure getFailure() {
+    return failure;
+  }
+
+  /**
+   * Checks whether the whole batch was copied.
+   *
+   * @return true if the copy was attempted and there were no conflicts
+   */
+  public boolean isComplete() {
+    return failure == null && conflicts.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CopyResult{copied=%d, conflicts=%s, failure=%s}", copied.size(),
+            conflicts, failure);
+  }
+}
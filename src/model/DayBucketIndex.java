@@ -0,0 +1,85 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-day index of events.
+ * Each date maps to the events that occur on it, kept sorted by start time, so that
+ * looking up one day costs time proportional to the events on that day and needs no sort.
+ *
+ * <p>An event is registered under every date from its start date to its end date
+ * inclusive, matching {@link Event#occursOnDate(LocalDate)}. Like
+ * {@link EventIntervalTree}, the index does not observe its events: an event must be
+ * removed before its start or end time changes and added again afterwards.
+ */
+public class DayBucketIndex {
+
+  /**
+   * Events occurring on each date, sorted by start time.
+   */
+  private final Map<LocalDate, List<Event>> buckets;
+
+  /**
+   * Creates an empty day index.
+   */
+  public DayBucketIndex() {
+    this.buckets = new HashMap<>();
+  }
+
+  /**
+   * Registers an event under every date it spans.
+   *
+   * @param event the event to add
+   */
+  public void add(Event event) {
+    if (event.getStartDateTime() == null || event.getEndDateTime() == null) {
+      return;
+    }
+    LocalDate last = event.getEndDateTime().toLocalDate();
+    for (LocalDate date = event.getStartDateTime().toLocalDate(); !date.isAfter(last);
+         date = date.plusDays(1)) {
+      EventsByStart.insert(buckets.computeIfAbsent(date, d -> new ArrayList<>(2)), event);
+    }
+  }
+
+  /**
+   * Removes an event from every date it spans.
+   *
+   * @param event the event to remove
+   */
+  public void remove(Event event) {
+    if (event.getStartDateTime() == null || event.getEndDateTime() == null) {
+      return;
+    }
+    LocalDate last = event.getEndDateTime().toLocalDate();
+    for (LocalDate date = event.getStartDateTime().toLocalDate(); !date.isAfter(last);
+         date = date.plusDays(1)) {
+      List<Event> bucket = buckets.get(date);
+      if (bucket != null && EventsByStart.remove(bucket, event) && bucket.isEmpty()) {
+        buckets.remove(date);
+      }
+    }
+  }
+
+  /**
+   * Gets the events occurring on a date.
+   *
+   * @param date the date to look up
+   * @return a new list of the events on that date, sorted by start time
+   */
+  public List<Event> getEventsOnDate(LocalDate date) {
+    List<Event> bucket = buckets.get(date);
+    return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+  }
+
+  /**
+   * Removes every event from the index.
+   */
+  public void clear() {
+    buckets.clear();
+  }
+}
@@ -1,7 +1,10 @@
 package model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
 
@@ -11,6 +14,8 @@ import java.util.Objects;
  * Implements IEvent interface for proper contract compliance.
  */
 public class Event implements IEvent {
+  private static final String[] MONTH_NAMES = monthNames();
+
   private String subject;
   private LocalDateTime startDateTime;
   private LocalDateTime endDateTime;
@@ -19,6 +24,7 @@ public class Event implements IEvent {
   private EventStatus status;
   private boolean isAllDay;
   private String seriesId; // null if not part of a series
+  private EventChangeListener changeListener; // calendar indexing this event, if any
 
   /**
    * Creates a timed event with all properties.
@@ -126,47 +132,102 @@ public class Event implements IEvent {
   // Setters - Implementation of IEvent interface
   @Override
   public void setSubject(String subject) {
+    beforeChange();
     this.subject = subject;
+    afterChange();
   }
 
   @Override
   public void setStartDateTime(LocalDateTime startDateTime) {
+    checkTimes(startDateTime, endDateTime);
+    beforeChange();
     this.startDateTime = startDateTime;
+    afterChange();
   }
 
   @Override
   public void setEndDateTime(LocalDateTime endDateTime) {
+    checkTimes(startDateTime, endDateTime);
+    beforeChange();
     this.endDateTime = endDateTime;
+    afterChange();
   }
 
   @Override
   public void setDescription(String description) {
+    beforeChange();
     this.description = description;
+    afterChange();
   }
 
   @Override
   public void setLocation(String location) {
+    beforeChange();
     this.location = location;
+    afterChange();
   }
 
   @Override
   public void setStatus(EventStatus status) {
+    beforeChange();
     this.status = status;
+    afterChange();
   }
 
   @Override
   public void setStatus(String status) {
-    this.status = "public".equalsIgnoreCase(status) ? EventStatus.PUBLIC : EventStatus.PRIVATE;
+    setStatus("public".equalsIgnoreCase(status) ? EventStatus.PUBLIC : EventStatus.PRIVATE);
   }
 
   @Override
   public void setAllDay(boolean allDay) {
+    beforeChange();
     this.isAllDay = allDay;
+    afterChange();
   }
 
   @Override
   public void setSeriesId(String seriesId) {
+    beforeChange();
     this.seriesId = seriesId;
+    afterChange();
+  }
+
+  /**
+   * Registers the calendar that indexes this event. An event is tracked by at most one
+   * calendar at a time; registering a new listener replaces the previous one.
+   *
+   * @param changeListener the listener to notify, or null to stop notifications
+   */
+  void setChangeListener(EventChangeListener changeListener) {
+    this.changeListener = changeListener;
+  }
+
+  /**
+   * Gets the calendar listener currently indexing this event.
+   *
+   * @return the listener, or null if the event is not held by an indexing calendar
+   */
+  EventChangeListener getChangeListener() {
+    return changeListener;
+  }
+
+  private void checkTimes(LocalDateTime start, LocalDateTime end) {
+    if (changeListener != null) {
+      changeListener.checkTimes(this, start, end);
+    }
+  }
+
+  private void beforeChange() {
+    if (changeListener != null) {
+      changeListener.beforeChange(this);
+    }
+  }
+
+  private void afterChange() {
+    if (changeListener != null) {
+      changeListener.afterChange(this);
+    }
   }
 
   /**
@@ -234,26 +295,77 @@ public class Event implements IEvent {
     return Objects.hash(subject, startDateTime, endDateTime);
   }
 
+  /**
+   * Short month names as the {@code MMM} pattern writes them in the default locale.
+   */
+  private static String[] monthNames() {
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM");
+    String[] names = new String[12];
+    for (Month month : Month.values()) {
+      names[month.ordinal()] = formatter.format(month);
+    }
+    return names;
+  }
+
   /**
    * Returns a string representation of this event.
    * Enhanced formatting for better display.
    */
   @Override
   public String toString() {
-    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM dd");
-    DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("H:mm");
-
-    String dateStr = startDateTime.format(dateFormatter);
+    StringBuilder text = new StringBuilder(64);
+    try {
+      appendTo(text);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // a StringBuilder never throws
+    }
+    return text.toString();
+  }
 
-    String timeStr;
+  @Override
+  public void appendTo(Appendable out) throws IOException {
+    out.append("• ").append(subject).append(" (")
+            .append(MONTH_NAMES[startDateTime.getMonthValue() - 1]).append(' ');
+    appendTwoDigits(out, startDateTime.getDayOfMonth());
+    out.append(", ");
     if (isAllDay) {
-      timeStr = "All Day";
+      out.append("All Day");
     } else {
-      timeStr = startDateTime.format(timeFormatter) + " - " + endDateTime.format(timeFormatter);
+      appendTime(out, startDateTime);
+      out.append(" - ");
+      appendTime(out, endDateTime);
+    }
+    out.append(')');
+    if (location != null && !isBlank(location)) {
+      out.append(" at ").append(location);
     }
+  }
+
+  /**
+   * Writes a time as {@code H:mm}.
+   */
+  private static void appendTime(Appendable out, LocalDateTime time) throws IOException {
+    int hour = time.getHour();
+    if (hour >= 10) {
+      out.append((char) ('0' + hour / 10));
+    }
+    out.append((char) ('0' + hour % 10)).append(':');
+    appendTwoDigits(out, time.getMinute());
+  }
 
-    String locationStr = (location != null && !location.trim().isEmpty()) ? " at " + location : "";
+  private static void appendTwoDigits(Appendable out, int value) throws IOException {
+    out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+  }
 
-    return "• " + subject + " (" + dateStr + ", " + timeStr + ")" + locationStr;
+  /**
+   * Tells whether a string is empty once trimmed, without trimming it.
+   */
+  private static boolean isBlank(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) > ' ') {
+        return false;
+      }
+    }
+    return true;
   }
-}
\ No newline at end of file
+}
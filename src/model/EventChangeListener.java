@@ -0,0 +1,42 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Callback used by calendars and event stores to keep their indexes in sync with the
+ * events they hold. An {@link Event} notifies its listener immediately before and
+ * immediately after any change to one of its fields, so the old index entries can be
+ * removed while they are still reachable and the new ones added once the change is
+ * complete. Stores that keep events in another form use the same calls to write edits
+ * made through an event view back to their own storage, and can refuse a new time they
+ * could not hold before the event changes.
+ */
+interface EventChangeListener {
+
+  /**
+   * Called before the start or end time of the event changes, ahead of
+   * {@link #beforeChange(Event)}. Listeners that can hold any time accept every change.
+   *
+   * @param event the event about to change
+   * @param start the start time the event would have
+   * @param end   the end time the event would have
+   * @throws IllegalArgumentException if the listener cannot hold the new times, in which
+   *                                  case the event is left unchanged
+   */
+  default void checkTimes(Event event, LocalDateTime start, LocalDateTime end) {
+  }
+
+  /**
+   * Called before a field of the event changes.
+   *
+   * @param event the event about to change
+   */
+  void beforeChange(Event event);
+
+  /**
+   * Called after a field of the event has changed.
+   *
+   * @param event the event that changed
+   */
+  void afterChange(Event event);
+}
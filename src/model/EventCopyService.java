@@ -3,9 +3,8 @@ package model;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,8 +41,7 @@ public class EventCopyService implements IEventCopyService {
 
     LocalDateTime convertedStartTime = convertTimeBetweenTimezones(
             newStartTime,
-            sourceCalendar.getTimezone(),
-            targetCalendar.getTimezone(),
+            conversionBetween(sourceCalendar, targetCalendar),
             newStartTime.toLocalDate()
     );
 
@@ -56,6 +54,7 @@ public class EventCopyService implements IEventCopyService {
 
   /**
    * Copies all events scheduled on a specific date from source to target calendar.
+   * Events that conflict with the target calendar are skipped and the rest are copied.
    *
    * @param sourceDate     the date to copy events from (in source calendar's timezone)
    * @param sourceCalendar the source calendar instance
@@ -66,80 +65,153 @@ public class EventCopyService implements IEventCopyService {
   @Override
   public boolean copyEventsOnDate(LocalDate sourceDate, CalendarInstance sourceCalendar,
                                   CalendarInstance targetCalendar, LocalDate targetDate) {
+    List<Event> eventsOnDate = sourceCalendar.getEventsOnDate(sourceDate);
+    return targetCalendar.addCopies(eventsOnDate,
+            copiesOnDate(eventsOnDate, sourceCalendar, targetCalendar, targetDate), false)
+            .isComplete();
+  }
 
+  /**
+   * Copies all events scheduled on a specific date from source to target calendar as one
+   * batch, which is added whole or not at all.
+   *
+   * @param sourceDate     the date to copy events from (in source calendar's timezone)
+   * @param sourceCalendar the source calendar instance
+   * @param targetCalendar the target calendar instance
+   * @param targetDate     the target date (in target calendar's timezone)
+   * @return the copies added, or the events that kept the batch from being copied
+   */
+  @Override
+  public CopyResult copyAllOnDate(LocalDate sourceDate, CalendarInstance sourceCalendar,
+                                  CalendarInstance targetCalendar, LocalDate targetDate) {
     List<Event> eventsOnDate = sourceCalendar.getEventsOnDate(sourceDate);
-    if (eventsOnDate.isEmpty()) {
-      return true;
-    }
+    return targetCalendar.addCopies(eventsOnDate,
+            copiesOnDate(eventsOnDate, sourceCalendar, targetCalendar, targetDate), true);
+  }
 
-    boolean allSuccessful = true;
+  /**
+   * Copies all events within a date range from source to target calendar.
+   * Events that conflict with the target calendar are skipped and the rest are copied.
+   *
+   * @param startDate       the start date of the range (inclusive, in source calendar's timezone)
+   * @param endDate         the end date of the range (inclusive, in source calendar's timezone)
+   * @param sourceCalendar  the source calendar instance
+   * @param targetCalendar  the target calendar instance
+   * @param targetStartDate the target start date (in target calendar's timezone)
+   * @return true if all events were copied successfully, false if any failed
+   */
+  @Override
+  public boolean copyEventsInRange(LocalDate startDate, LocalDate endDate,
+                                   CalendarInstance sourceCalendar,
+                                   CalendarInstance targetCalendar,
+                                   LocalDate targetStartDate) {
+    List<Event> eventsToProcess = eventsStartingIn(startDate, endDate, sourceCalendar);
+    return targetCalendar.addCopies(eventsToProcess, copiesInRange(eventsToProcess, startDate,
+            sourceCalendar, targetCalendar, targetStartDate), false).isComplete();
+  }
+
+  /**
+   * Copies all events within a date range from source to target calendar as one batch,
+   * which is added whole or not at all.
+   *
+   * @param startDate       the start date of the range (inclusive, in source calendar's timezone)
+   * @param endDate         the end date of the range (inclusive, in source calendar's timezone)
+   * @param sourceCalendar  the source calendar instance
+   * @param targetCalendar  the target calendar instance
+   * @param targetStartDate the target start date (in target calendar's timezone)
+   * @return the copies added, or the events that kept the batch from being copied
+   */
+  @Override
+  public CopyResult copyAllInRange(LocalDate startDate, LocalDate endDate,
+                                   CalendarInstance sourceCalendar,
+                                   CalendarInstance targetCalendar,
+                                   LocalDate targetStartDate) {
+    List<Event> eventsToProcess = eventsStartingIn(startDate, endDate, sourceCalendar);
+    return targetCalendar.addCopies(eventsToProcess, copiesInRange(eventsToProcess, startDate,
+            sourceCalendar, targetCalendar, targetStartDate), true);
+  }
+
+  /**
+   * Makes the target-calendar copies of events moved to a single target date.
+   *
+   * @param eventsOnDate   the events to copy
+   * @param sourceCalendar the source calendar instance
+   * @param targetCalendar the target calendar instance
+   * @param targetDate     the target date (in target calendar's timezone)
+   * @return the copies, in the same order as the events
+   */
+  private List<Event> copiesOnDate(List<Event> eventsOnDate, CalendarInstance sourceCalendar,
+                                   CalendarInstance targetCalendar, LocalDate targetDate) {
+    ZoneConversion conversion = conversionBetween(sourceCalendar, targetCalendar);
+    List<Event> copies = new ArrayList<>(eventsOnDate.size());
 
     for (Event sourceEvent : eventsOnDate) {
       LocalDateTime newStart = convertTimeBetweenTimezones(
               sourceEvent.getStartDateTime(),
-              sourceCalendar.getTimezone(),
-              targetCalendar.getTimezone(),
+              conversion,
               targetDate
       );
 
       LocalDateTime newEnd = convertTimeBetweenTimezones(
               sourceEvent.getEndDateTime(),
-              sourceCalendar.getTimezone(),
-              targetCalendar.getTimezone(),
+              conversion,
               targetDate
       );
 
-      Event newEvent = createEventCopy(sourceEvent, newStart, newEnd);
-
-      if (!targetCalendar.addEvent(newEvent)) {
-        allSuccessful = false;
-      }
+      copies.add(createEventCopy(sourceEvent, newStart, newEnd));
     }
 
-    return allSuccessful;
+    return copies;
   }
 
   /**
-   * Copies all events within a date range from source to target calendar.
+   * Finds the events of a calendar that start within a date range.
    *
-   * @param startDate       the start date of the range (inclusive, in source calendar's timezone)
-   * @param endDate         the end date of the range (inclusive, in source calendar's timezone)
-   * @param sourceCalendar  the source calendar instance
-   * @param targetCalendar  the target calendar instance
-   * @param targetStartDate the target start date (in target calendar's timezone)
-   * @return true if all events were copied successfully, false if any failed
+   * @param startDate      the start date of the range (inclusive)
+   * @param endDate        the end date of the range (inclusive)
+   * @param sourceCalendar the calendar to search
+   * @return the events in start order
    */
-  @Override
-  public boolean copyEventsInRange(LocalDate startDate, LocalDate endDate,
-                                   CalendarInstance sourceCalendar,
-                                   CalendarInstance targetCalendar,
-                                   LocalDate targetStartDate) {
+  private List<Event> eventsStartingIn(LocalDate startDate, LocalDate endDate,
+                                       CalendarInstance sourceCalendar) {
     LocalDateTime rangeStart = startDate.atStartOfDay();
     LocalDateTime rangeEnd = endDate.plusDays(1).atStartOfDay();
     List<Event> eventsInRange = sourceCalendar.getEventsInRange(rangeStart, rangeEnd);
-    if (eventsInRange.isEmpty()) {
-      return true;
-    }
 
-    List<Event> eventsToProcess = eventsInRange.stream()
+    return eventsInRange.stream()
             .filter(event -> {
               LocalDate eventDate = event.getStartDateTime().toLocalDate();
               return !eventDate.isBefore(startDate) && !eventDate.isAfter(endDate);
             })
             .collect(Collectors.toList());
+  }
 
+  /**
+   * Makes the target-calendar copies of events shifted from one start date to another.
+   * Copies of the same series share a new series ID.
+   *
+   * @param eventsToProcess the events to copy
+   * @param startDate       the start date of the source range
+   * @param sourceCalendar  the source calendar instance
+   * @param targetCalendar  the target calendar instance
+   * @param targetStartDate the target start date (in target calendar's timezone)
+   * @return the copies, in the same order as the events
+   */
+  private List<Event> copiesInRange(List<Event> eventsToProcess, LocalDate startDate,
+                                    CalendarInstance sourceCalendar,
+                                    CalendarInstance targetCalendar,
+                                    LocalDate targetStartDate) {
     long dayOffset = ChronoUnit.DAYS.between(startDate, targetStartDate);
-    boolean allSuccessful = true;
+    ZoneConversion conversion = conversionBetween(sourceCalendar, targetCalendar);
+    List<Event> copies = new ArrayList<>(eventsToProcess.size());
     Map<String, String> seriesIdMapping = new HashMap<>();
 
     for (Event sourceEvent : eventsToProcess) {
       LocalDateTime newStart = sourceEvent.getStartDateTime().plusDays(dayOffset);
       LocalDateTime newEnd = sourceEvent.getEndDateTime().plusDays(dayOffset);
 
-      newStart = convertTimeBetweenTimezones(newStart, sourceCalendar.getTimezone(),
-              targetCalendar.getTimezone(), newStart.toLocalDate());
-      newEnd = convertTimeBetweenTimezones(newEnd, sourceCalendar.getTimezone(),
-              targetCalendar.getTimezone(), newEnd.toLocalDate());
+      newStart = convertTimeBetweenTimezones(newStart, conversion, newStart.toLocalDate());
+      newEnd = convertTimeBetweenTimezones(newEnd, conversion, newEnd.toLocalDate());
 
       Event newEvent = createEventCopy(sourceEvent, newStart, newEnd);
 
@@ -150,15 +222,12 @@ public class EventCopyService implements IEventCopyService {
         newEvent.setSeriesId(newSeriesId);
       }
 
-      if (!targetCalendar.addEvent(newEvent)) {
-        allSuccessful = false;
-      }
+      copies.add(newEvent);
     }
 
-    return allSuccessful;
+    return copies;
   }
 
-
   /**
    * Creates a copy of an event with new start and end times.
    *
@@ -188,28 +257,31 @@ public class EventCopyService implements IEventCopyService {
     return newEvent;
   }
 
+  /**
+   * Gets the shared conversion from the source calendar's timezone to the target's.
+   *
+   * @param sourceCalendar the calendar events are copied from
+   * @param targetCalendar the calendar events are copied to
+   * @return the cached conversion between their timezones
+   */
+  private ZoneConversion conversionBetween(CalendarInstance sourceCalendar,
+                                           CalendarInstance targetCalendar) {
+    return ZoneConversion.between(sourceCalendar.getTimezone(), targetCalendar.getTimezone());
+  }
+
   /**
    * Converts a time from one timezone to another, preserving the date context.
    *
    * <p>Example: 2pm EST event copied to PST calendar becomes 11am PST
    *
-   * @param originalTime   the original time in source timezone
-   * @param sourceTimezone the source calendar's timezone
-   * @param targetTimezone the target calendar's timezone
-   * @param targetDate     the target date context
+   * @param originalTime the original time in source timezone
+   * @param conversion   the conversion from the source timezone to the target timezone
+   * @param targetDate   the target date context
    * @return the converted time in target timezone
    */
   private LocalDateTime convertTimeBetweenTimezones(LocalDateTime originalTime,
-                                                    ZoneId sourceTimezone,
-                                                    ZoneId targetTimezone,
+                                                    ZoneConversion conversion,
                                                     LocalDate targetDate) {
-    if (sourceTimezone.equals(targetTimezone)) {
-      return targetDate.atTime(originalTime.toLocalTime());
-    }
-
-    ZonedDateTime sourceZoned = originalTime.atZone(sourceTimezone);
-    ZonedDateTime targetZoned = sourceZoned.withZoneSameInstant(targetTimezone);
-
-    return targetDate.atTime(targetZoned.toLocalTime());
+    return targetDate.atTime(conversion.convert(originalTime).toLocalTime());
   }
-}
\ No newline at end of file
+}
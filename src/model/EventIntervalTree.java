@@ -0,0 +1,393 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Augmented interval tree over event time spans.
+ * Events are kept in a height-balanced (AVL) binary search tree ordered by start time,
+ * and every node records the latest end time found anywhere in its subtree.
+ *
+ * <p>The max-end augmentation lets range and stabbing queries skip whole subtrees that
+ * finish before the query begins, while the start ordering lets them stop as soon as the
+ * remaining events start after the query ends. Results therefore come back already in
+ * start order without a separate sort.
+ *
+ * <p>Events that share a start time are kept together in one node in insertion order.
+ * The tree does not observe the events it holds: callers must remove an event before
+ * changing its start or end time and insert it again afterwards.
+ */
+public class EventIntervalTree {
+
+  /**
+   * Root node of the tree, or null when the tree is empty.
+   */
+  private Node root;
+
+  /**
+   * Number of events stored in the tree.
+   */
+  private int size;
+
+  /**
+   * Inserts an event into the tree.
+   *
+   * @param event the event to insert (start and end must be non-null)
+   */
+  public void insert(Event event) {
+    root = insert(root, event);
+    size++;
+  }
+
+  /**
+   * Inserts a batch of events. When the tree is empty and the batch is ordered by start
+   * time, a balanced tree is built directly from the batch in linear time.
+   *
+   * @param events the events to insert (start and end must be non-null)
+   */
+  public void insertAll(List<Event> events) {
+    if (root != null || !isSortedByStart(events)) {
+      for (Event event : events) {
+        insert(event);
+      }
+      return;
+    }
+
+    List<Node> nodes = new ArrayList<>();
+    for (Event event : events) {
+      Node last = nodes.isEmpty() ? null : nodes.get(nodes.size() - 1);
+      if (last != null && last.start.equals(event.getStartDateTime())) {
+        last.events.add(event);
+      } else {
+        nodes.add(new Node(event));
+      }
+    }
+    root = build(nodes, 0, nodes.size() - 1);
+    size = events.size();
+  }
+
+  /**
+   * Removes a specific event instance from the tree.
+   * The event is located by its current start time, so it must not have been
+   * moved since it was inserted.
+   *
+   * @param event the event to remove
+   * @return true if the event was found and removed
+   */
+  public boolean remove(Event event) {
+    if (event.getStartDateTime() == null) {
+      return false;
+    }
+    boolean[] removed = new boolean[1];
+    root = remove(root, event, removed);
+    if (removed[0]) {
+      size--;
+    }
+    return removed[0];
+  }
+
+  /**
+   * Finds every event whose span touches the closed range [from, to], that is every
+   * event that does not end before {@code from} and does not start after {@code to}.
+   *
+   * @param from start of the query range
+   * @param to   end of the query range
+   * @return matching events ordered by start time
+   */
+  public List<Event> query(LocalDateTime from, LocalDateTime to) {
+    List<Event> result = new ArrayList<>();
+    collect(root, from, to, result);
+    return result;
+  }
+
+  /**
+   * Checks whether any event is active at the given instant, using the same
+   * half-open [start, end) semantics as {@link Event#isActiveAt(LocalDateTime)}.
+   *
+   * @param dateTime the instant to stab the tree with
+   * @return true if at least one event covers the instant
+   */
+  public boolean anyActiveAt(LocalDateTime dateTime) {
+    return anyActiveAt(root, dateTime);
+  }
+
+  /**
+   * Finds every event that starts exactly at the given time.
+   *
+   * @param startDateTime the start time to look up
+   * @return events starting at that time in insertion order, possibly empty
+   */
+  public List<Event> eventsStartingAt(LocalDateTime startDateTime) {
+    Node node = root;
+    while (node != null) {
+      int cmp = startDateTime.compareTo(node.start);
+      if (cmp == 0) {
+        return new ArrayList<>(node.events);
+      }
+      node = cmp < 0 ? node.left : node.right;
+    }
+    return new ArrayList<>();
+  }
+
+  /**
+   * Returns every event in the tree ordered by start time.
+   *
+   * @return list of all events
+   */
+  public List<Event> toList() {
+    List<Event> result = new ArrayList<>(size);
+    inOrder(root, result);
+    return result;
+  }
+
+  /**
+   * Gets the number of events in the tree.
+   *
+   * @return the event count
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks whether the tree holds no events.
+   *
+   * @return true if the tree is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Removes every event from the tree.
+   */
+  public void clear() {
+    root = null;
+    size = 0;
+  }
+
+  private Node insert(Node node, Event event) {
+    if (node == null) {
+      return new Node(event);
+    }
+
+    int cmp = event.getStartDateTime().compareTo(node.start);
+    if (cmp == 0) {
+      node.events.add(event);
+      node.update();
+      return node;
+    }
+
+    if (cmp < 0) {
+      node.left = insert(node.left, event);
+    } else {
+      node.right = insert(node.right, event);
+    }
+    return rebalance(node);
+  }
+
+  /**
+   * Links a start-ordered run of nodes into a balanced subtree around its middle node.
+   */
+  private static Node build(List<Node> nodes, int from, int to) {
+    if (from > to) {
+      return null;
+    }
+    int middle = (from + to) >>> 1;
+    Node node = nodes.get(middle);
+    node.left = build(nodes, from, middle - 1);
+    node.right = build(nodes, middle + 1, to);
+    node.update();
+    return node;
+  }
+
+  private static boolean isSortedByStart(List<Event> events) {
+    for (int i = 1; i < events.size(); i++) {
+      if (events.get(i).getStartDateTime().isBefore(events.get(i - 1).getStartDateTime())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private Node remove(Node node, Event event, boolean[] removed) {
+    if (node == null) {
+      return null;
+    }
+
+    int cmp = event.getStartDateTime().compareTo(node.start);
+    if (cmp < 0) {
+      node.left = remove(node.left, event, removed);
+    } else if (cmp > 0) {
+      node.right = remove(node.right, event, removed);
+    } else {
+      for (int i = 0; i < node.events.size(); i++) {
+        if (node.events.get(i) == event) {
+          node.events.remove(i);
+          removed[0] = true;
+          break;
+        }
+      }
+      if (!node.events.isEmpty()) {
+        node.update();
+        return node;
+      }
+      if (node.left == null) {
+        return node.right;
+      }
+      if (node.right == null) {
+        return node.left;
+      }
+      Node successor = node.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      node.right = removeMin(node.right);
+      successor.right = node.right;
+      successor.left = node.left;
+      node = successor;
+    }
+    return rebalance(node);
+  }
+
+  private Node removeMin(Node node) {
+    if (node.left == null) {
+      return node.right;
+    }
+    node.left = removeMin(node.left);
+    return rebalance(node);
+  }
+
+  private void collect(Node node, LocalDateTime from, LocalDateTime to, List<Event> result) {
+    if (node == null || node.maxEnd.isBefore(from)) {
+      return;
+    }
+
+    collect(node.left, from, to, result);
+
+    if (node.start.isAfter(to)) {
+      return;
+    }
+
+    for (Event event : node.events) {
+      if (!event.getEndDateTime().isBefore(from)) {
+        result.add(event);
+      }
+    }
+    collect(node.right, from, to, result);
+  }
+
+  private boolean anyActiveAt(Node node, LocalDateTime dateTime) {
+    if (node == null || !node.maxEnd.isAfter(dateTime)) {
+      return false;
+    }
+
+    if (anyActiveAt(node.left, dateTime)) {
+      return true;
+    }
+
+    if (node.start.isAfter(dateTime)) {
+      return false;
+    }
+
+    for (Event event : node.events) {
+      if (event.getEndDateTime().isAfter(dateTime)) {
+        return true;
+      }
+    }
+    return anyActiveAt(node.right, dateTime);
+  }
+
+  private void inOrder(Node node, List<Event> result) {
+    if (node == null) {
+      return;
+    }
+    inOrder(node.left, result);
+    result.addAll(node.events);
+    inOrder(node.right, result);
+  }
+
+  private Node rebalance(Node node) {
+    node.update();
+    int balance = height(node.left) - height(node.right);
+
+    if (balance > 1) {
+      if (height(node.left.left) < height(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    }
+
+    if (balance < -1) {
+      if (height(node.right.right) < height(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+
+    return node;
+  }
+
+  private Node rotateRight(Node node) {
+    Node pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    node.update();
+    pivot.update();
+    return pivot;
+  }
+
+  private Node rotateLeft(Node node) {
+    Node pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    node.update();
+    pivot.update();
+    return pivot;
+  }
+
+  private static int height(Node node) {
+    return node == null ? 0 : node.height;
+  }
+
+  /**
+   * Tree node holding all events that share one start time.
+   */
+  private static class Node {
+    final LocalDateTime start;
+    final List<Event> events;
+    LocalDateTime maxEnd;
+    int height;
+    Node left;
+    Node right;
+
+    Node(Event event) {
+      this.start = event.getStartDateTime();
+      this.events = new ArrayList<>(1);
+      this.events.add(event);
+      update();
+    }
+
+    /**
+     * Recomputes the height and subtree max-end from this node's bucket and children.
+     */
+    void update() {
+      height = 1 + Math.max(height(left), height(right));
+
+      LocalDateTime max = null;
+      for (Event event : events) {
+        if (max == null || event.getEndDateTime().isAfter(max)) {
+          max = event.getEndDateTime();
+        }
+      }
+      if (left != null && (max == null || left.maxEnd.isAfter(max))) {
+        max = left.maxEnd;
+      }
+      if (right != null && (max == null || right.maxEnd.isAfter(max))) {
+        max = right.maxEnd;
+      }
+      maxEnd = max;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Immutable identity of an event for duplicate detection.
+ * Two events are duplicates when their subject, start time, and end time are all equal,
+ * which is the same rule used by {@link Event#conflictsWith(IEvent)}.
+ *
+ * <p>Unlike {@link Event} itself, a key never changes after construction, so it is safe
+ * to use as a hash map key while the event it was taken from is edited.
+ */
+public final class EventKey {
+  private final String subject;
+  private final LocalDateTime startDateTime;
+  private final LocalDateTime endDateTime;
+  private final int hash;
+
+  /**
+   * Creates a key from its three components.
+   *
+   * @param subject       event subject
+   * @param startDateTime event start date and time
+   * @param endDateTime   event end date and time
+   */
+  public EventKey(String subject, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    this.subject = subject;
+    this.startDateTime = startDateTime;
+    this.endDateTime = endDateTime;
+    this.hash = Objects.hash(subject, startDateTime, endDateTime);
+  }
+
+  /**
+   * Takes a snapshot of the current key fields of an event.
+   *
+   * @param event the event to take the key from
+   * @return the key of the event as it is now
+   */
+  public static EventKey of(IEvent event) {
+    return new EventKey(event.getSubject(), event.getStartDateTime(), event.getEndDateTime());
+  }
+
+  public String getSubject() {
+    return subject;
+  }
+
+  public LocalDateTime getStartDateTime() {
+    return startDateTime;
+  }
+
+  public LocalDateTime getEndDateTime() {
+    return endDateTime;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    EventKey other = (EventKey) obj;
+    return hash == other.hash
+            && Objects.equals(subject, other.subject)
+            && Objects.equals(startDateTime, other.startDateTime)
+            && Objects.equals(endDateTime, other.endDateTime);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("EventKey{subject='%s', start=%s, end=%s}",
+            subject, startDateTime, endDateTime);
+  }
+}
@@ -1,8 +1,12 @@
 package model;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -15,6 +19,12 @@ import java.util.Set;
  * which days of the week events should occur, what times they should run,
  * and whether they are all-day events.
  *
+ * <p>A series created by a calendar is also the recurrence rule for its occurrences: it
+ * carries the shared event properties and the inclusive date bounds of the series, and
+ * occurrences are generated on demand instead of being stored one by one. Occurrences
+ * that were edited on their own are listed as exceptions and no longer generated, so a
+ * series costs memory in proportion to its exceptions rather than its length.
+ *
  * @author Calendar Application Team
  * @version 1.0
  */
@@ -29,6 +39,11 @@ public class EventSeries implements IEventSeries {
    */
   private Set<DayOfWeek> weekdays;
 
+  /**
+   * Bit-mask form of {@link #weekdays} used to generate occurrence dates.
+   */
+  private OccurrenceGenerator generator;
+
   /**
    * Start time for events in this series.
    */
@@ -44,6 +59,42 @@ public class EventSeries implements IEventSeries {
    */
   private boolean isAllDay;
 
+  /**
+   * Subject shared by generated occurrences.
+   */
+  private String subject;
+
+  /**
+   * Description shared by generated occurrences.
+   */
+  private String description;
+
+  /**
+   * Location shared by generated occurrences.
+   */
+  private String location;
+
+  /**
+   * Status shared by generated occurrences.
+   */
+  private EventStatus status;
+
+  /**
+   * First date on which an occurrence may be generated, or null if the series
+   * generates no occurrences.
+   */
+  private LocalDate firstDate;
+
+  /**
+   * Last date (inclusive) on which an occurrence may be generated.
+   */
+  private LocalDate lastDate;
+
+  /**
+   * Dates whose occurrence is no longer generated from this rule.
+   */
+  private Set<LocalDate> exceptions;
+
   /**
    * Creates a new event series with specified parameters.
    *
@@ -57,9 +108,39 @@ public class EventSeries implements IEventSeries {
                      LocalTime endTime, boolean isAllDay) {
     this.seriesId = seriesId;
     this.weekdays = new HashSet<>(weekdays);
+    this.generator = OccurrenceGenerator.of(weekdays);
     this.startTime = startTime;
     this.endTime = endTime;
     this.isAllDay = isAllDay;
+    this.exceptions = new HashSet<>();
+  }
+
+  /**
+   * Creates a new event series that generates its occurrences between two dates.
+   *
+   * @param seriesId    unique series identifier (required)
+   * @param weekdays    days of week for recurrence (required)
+   * @param startTime   start time for events (required)
+   * @param endTime     end time for events (required)
+   * @param isAllDay    true if events are all-day events
+   * @param subject     subject of every occurrence
+   * @param firstDate   first date of the series (required)
+   * @param lastDate    last date of the series, inclusive (required)
+   * @param description description of every occurrence (can be null)
+   * @param location    location of every occurrence (can be null)
+   * @param status      status of every occurrence (can be null for the event default)
+   */
+  public EventSeries(String seriesId, Set<DayOfWeek> weekdays, LocalTime startTime,
+                     LocalTime endTime, boolean isAllDay, String subject, LocalDate firstDate,
+                     LocalDate lastDate, String description, String location,
+                     EventStatus status) {
+    this(seriesId, weekdays, startTime, endTime, isAllDay);
+    this.subject = subject;
+    this.firstDate = firstDate;
+    this.lastDate = lastDate;
+    this.description = description;
+    this.location = location;
+    this.status = status;
   }
 
   /**
@@ -118,6 +199,296 @@ public class EventSeries implements IEventSeries {
     return isAllDay;
   }
 
+  /**
+   * Gets the generator producing this series' occurrence dates.
+   *
+   * @return the weekday occurrence generator
+   */
+  public OccurrenceGenerator getGenerator() {
+    return generator;
+  }
+
+  /**
+   * Gets the subject shared by generated occurrences.
+   *
+   * @return the occurrence subject
+   */
+  public String getSubject() {
+    return subject;
+  }
+
+  /**
+   * Gets the description shared by generated occurrences.
+   *
+   * @return the occurrence description, or null if none
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Gets the location shared by generated occurrences.
+   *
+   * @return the occurrence location, or null if none
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  /**
+   * Gets the status shared by generated occurrences.
+   *
+   * @return the occurrence status, or null for the event default
+   */
+  public EventStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Gets the first date on which an occurrence may be generated.
+   *
+   * @return the first date, or null if the series generates nothing
+   */
+  public LocalDate getFirstDate() {
+    return firstDate;
+  }
+
+  /**
+   * Gets the last date (inclusive) on which an occurrence may be generated.
+   *
+   * @return the last date, or null if the series generates nothing
+   */
+  public LocalDate getLastDate() {
+    return lastDate;
+  }
+
+  /**
+   * Gets the dates whose occurrence is no longer generated by this series.
+   * Returns a defensive copy to prevent external modification.
+   *
+   * @return set of exception dates
+   */
+  public Set<LocalDate> getExceptions() {
+    return new HashSet<>(exceptions);
+  }
+
+  /**
+   * Checks whether this series generates an occurrence on a date.
+   *
+   * @param date the date to check
+   * @return true if an occurrence falls on the date
+   */
+  public boolean occursOn(LocalDate date) {
+    return firstDate != null
+            && !date.isBefore(firstDate) && !date.isAfter(lastDate)
+            && generator.matches(date)
+            && !exceptions.contains(date);
+  }
+
+  /**
+   * Checks whether an occurrence of this series has exactly the given identity.
+   *
+   * @param key the subject, start, and end to match
+   * @return true if a generated occurrence matches the key
+   */
+  public boolean generates(EventKey key) {
+    if (key.getStartDateTime() == null || key.getEndDateTime() == null
+            || subject == null || !subject.equals(key.getSubject())) {
+      return false;
+    }
+    LocalDate date = key.getStartDateTime().toLocalDate();
+    return occursOn(date)
+            && key.getStartDateTime().equals(date.atTime(startTime))
+            && key.getEndDateTime().equals(date.atTime(endTime));
+  }
+
+  /**
+   * Checks whether an occurrence of this series is active at an instant, using the same
+   * start-inclusive, end-exclusive span as {@link Event#isActiveAt(LocalDateTime)}.
+   *
+   * @param dateTime the instant to check
+   * @return true if a generated occurrence covers the instant
+   */
+  public boolean isActiveAt(LocalDateTime dateTime) {
+    LocalDate date = dateTime.toLocalDate();
+    return occursOn(date)
+            && !dateTime.isBefore(date.atTime(startTime))
+            && dateTime.isBefore(date.atTime(endTime));
+  }
+
+  /**
+   * Finds the first date on or after a given date on which this series occurs.
+   *
+   * @param date the earliest date to consider
+   * @return the next occurrence date, or null if the series has no later occurrence
+   */
+  public LocalDate nextOccurrenceFrom(LocalDate date) {
+    if (firstDate == null) {
+      return null;
+    }
+    LocalDate current = generator.nextFrom(date.isBefore(firstDate) ? firstDate : date);
+    while (current != null && !current.isAfter(lastDate)) {
+      if (!exceptions.contains(current)) {
+        return current;
+      }
+      current = generator.nextFrom(current.plusDays(1));
+    }
+    return null;
+  }
+
+  /**
+   * Builds the occurrence of this series on a date. The returned event is a fresh view:
+   * changing it does not change the series.
+   *
+   * @param date a date on which the series occurs
+   * @return the occurrence event
+   */
+  public Event createOccurrence(LocalDate date) {
+    Event event = isAllDay
+            ? new Event(subject, date, description, location, status)
+            : new Event(subject, date.atTime(startTime), date.atTime(endTime),
+                    description, location, status);
+    event.setSeriesId(seriesId);
+    return event;
+  }
+
+  /**
+   * Generates every occurrence between two dates, inclusive.
+   *
+   * @param from first date to generate
+   * @param to   last date to generate
+   * @return occurrences ordered by date
+   */
+  public List<Event> getOccurrences(LocalDate from, LocalDate to) {
+    List<Event> occurrences = new ArrayList<>();
+    if (firstDate == null) {
+      return occurrences;
+    }
+    LocalDate end = to.isAfter(lastDate) ? lastDate : to;
+    for (LocalDate date = nextOccurrenceFrom(from); date != null && !date.isAfter(end);
+         date = nextOccurrenceFrom(date.plusDays(1))) {
+      occurrences.add(createOccurrence(date));
+    }
+    return occurrences;
+  }
+
+  /**
+   * Generates every occurrence of this series.
+   *
+   * @return occurrences ordered by date
+   */
+  public List<Event> getOccurrences() {
+    if (firstDate == null) {
+      return new ArrayList<>();
+    }
+    return getOccurrences(firstDate, lastDate);
+  }
+
+  /**
+   * Counts the occurrences this series currently generates.
+   *
+   * @return the occurrence count
+   */
+  public int countOccurrences() {
+    if (firstDate == null) {
+      return 0;
+    }
+    return (int) generator.countBetween(firstDate, lastDate) - exceptions.size();
+  }
+
+  /**
+   * Finds the date of the last occurrence of a series limited by an occurrence count.
+   *
+   * @param firstDate   first date of the series
+   * @param weekdays    days of week for recurrence
+   * @param occurrences number of occurrences
+   * @return the date of the last occurrence, the day before {@code firstDate} when the
+   *         count is not positive, or null if the weekdays can never reach the count
+   */
+  static LocalDate lastOccurrenceDate(LocalDate firstDate, Set<DayOfWeek> weekdays,
+                                      int occurrences) {
+    if (occurrences <= 0) {
+      return firstDate.minusDays(1);
+    }
+    return OccurrenceGenerator.of(weekdays).nth(firstDate, occurrences);
+  }
+
+  /**
+   * Stops generating the occurrence on a date, typically because it is now stored as an
+   * event of its own.
+   *
+   * @param date the date to exclude
+   */
+  void addException(LocalDate date) {
+    exceptions.add(date);
+  }
+
+  /**
+   * Cuts this series so that it ends the day before a date, and returns a new series
+   * with the same ID and properties covering the rest. Exceptions move with their dates.
+   *
+   * @param date the first date of the returned series; must be after the first date
+   * @return the tail series
+   */
+  EventSeries splitAt(LocalDate date) {
+    EventSeries tail = new EventSeries(seriesId, weekdays, startTime, endTime, isAllDay,
+            subject, date, lastDate, description, location, status);
+    for (LocalDate exception : exceptions) {
+      if (!exception.isBefore(date)) {
+        tail.exceptions.add(exception);
+      }
+    }
+    tail.exceptions.forEach(exceptions::remove);
+    lastDate = date.minusDays(1);
+    return tail;
+  }
+
+  /**
+   * Ends this series the day before a date.
+   *
+   * @param date the first date that should no longer be generated
+   */
+  void truncateBefore(LocalDate date) {
+    lastDate = date.minusDays(1);
+    exceptions.removeIf(exception -> !exception.isBefore(date));
+  }
+
+  /**
+   * Sets the subject of every generated occurrence.
+   *
+   * @param subject the new subject
+   */
+  void setSubject(String subject) {
+    this.subject = subject;
+  }
+
+  /**
+   * Sets the description of every generated occurrence.
+   *
+   * @param description the new description
+   */
+  void setDescription(String description) {
+    this.description = description;
+  }
+
+  /**
+   * Sets the location of every generated occurrence.
+   *
+   * @param location the new location
+   */
+  void setLocation(String location) {
+    this.location = location;
+  }
+
+  /**
+   * Sets the status of every generated occurrence.
+   *
+   * @param status the new status
+   */
+  void setStatus(EventStatus status) {
+    this.status = status;
+  }
+
   /**
    * Returns a string representation of this event series.
    * Includes the series ID, weekdays, and timing information.
@@ -0,0 +1,117 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for lists of events kept sorted by start time.
+ * Events with equal start times stay in insertion order, and removal is by identity so
+ * that edited events (whose equality may have changed) can still be found.
+ */
+final class EventsByStart {
+
+  private EventsByStart() {
+  }
+
+  /**
+   * Inserts an event after every event that starts at or before it.
+   *
+   * @param events the sorted list to insert into
+   * @param event  the event to insert
+   */
+  static void insert(List<Event> events, Event event) {
+    events.add(upperBound(events, event.getStartDateTime()), event);
+  }
+
+  /**
+   * Removes a specific event instance, located by its current start time.
+   *
+   * @param events the sorted list to remove from
+   * @param event  the event to remove
+   * @return true if the event was found and removed
+   */
+  static boolean remove(List<Event> events, Event event) {
+    LocalDateTime start = event.getStartDateTime();
+    for (int i = lowerBound(events, start); i < events.size(); i++) {
+      Event candidate = events.get(i);
+      if (candidate == event) {
+        events.remove(i);
+        return true;
+      }
+      if (!candidate.getStartDateTime().equals(start)) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Finds the index of the first event that starts at or after the given time.
+   *
+   * @param events the sorted list to search
+   * @param start  the start time to search for
+   * @return the index of the first such event, or the list size if there is none
+   */
+  static int lowerBound(List<Event> events, LocalDateTime start) {
+    int low = 0;
+    int high = events.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (events.get(mid).getStartDateTime().isBefore(start)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Finds the index of the first event that starts strictly after the given time.
+   *
+   * @param events the sorted list to search
+   * @param start  the start time to search for
+   * @return the index of the first such event, or the list size if there is none
+   */
+  static int upperBound(List<Event> events, LocalDateTime start) {
+    int low = 0;
+    int high = events.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (events.get(mid).getStartDateTime().isAfter(start)) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Merges two start-sorted lists into a new start-sorted list. On equal start times,
+   * events from the first list come first.
+   *
+   * @param first  a sorted list
+   * @param second another sorted list
+   * @return a new sorted list holding both inputs
+   */
+  static List<Event> merge(List<Event> first, List<Event> second) {
+    if (second.isEmpty()) {
+      return first;
+    }
+    List<Event> merged = new ArrayList<>(first.size() + second.size());
+    int i = 0;
+    int j = 0;
+    while (i < first.size() && j < second.size()) {
+      if (second.get(j).getStartDateTime().isBefore(first.get(i).getStartDateTime())) {
+        merged.add(second.get(j++));
+      } else {
+        merged.add(first.get(i++));
+      }
+    }
+    merged.addAll(first.subList(i, first.size()));
+    merged.addAll(second.subList(j, second.size()));
+    return merged;
+  }
+}
@@ -1,6 +1,8 @@
 package model;
 
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -22,6 +24,24 @@ public interface ICalendarManager {
    */
   boolean createCalendar(String name, ZoneId timezone);
 
+  /**
+   * Creates a new calendar that keeps its events in the given storage engine.
+   *
+   * @param name     the unique name for the calendar
+   * @param timezone the timezone for the calendar
+   * @param store    the empty event store for the calendar to use
+   * @return true if calendar was created successfully, false if name already exists
+   */
+  boolean createCalendar(String name, ZoneId timezone, IEventStore store);
+
+  /**
+   * Opens a new session on the same calendars. Each session has its own current
+   * calendar, so sessions can be handed to different threads or users.
+   *
+   * @return a manager sharing this manager's calendars
+   */
+  ICalendarManager openSession();
+
   /**
    * Edits a property of an existing calendar.
    *
@@ -111,6 +131,52 @@ public interface ICalendarManager {
   boolean copyEventsInRange(LocalDate startDate, LocalDate endDate,
                             String targetCalendarName, LocalDate targetStartDate);
 
+  /**
+   * Copies all events from a specific date from current calendar to target calendar as
+   * one batch, which is added whole or not at all.
+   *
+   * @param sourceDate         the date to copy events from
+   * @param targetCalendarName the target calendar name
+   * @param targetDate         the target date
+   * @return the copies added, the events that kept the batch from being copied, or why
+   *         the copy could not be attempted when no calendar is in use or the target
+   *         calendar does not exist
+   */
+  CopyResult copyAllOnDate(LocalDate sourceDate, String targetCalendarName,
+                           LocalDate targetDate);
+
+  /**
+   * Copies events within a date range from current calendar to target calendar as one
+   * batch, which is added whole or not at all.
+   *
+   * @param startDate          the start date of the range
+   * @param endDate            the end date of the range
+   * @param targetCalendarName the target calendar name
+   * @param targetStartDate    the target start date
+   * @return the copies added, the events that kept the batch from being copied, or why
+   *         the copy could not be attempted when no calendar is in use or the target
+   *         calendar does not exist
+   */
+  CopyResult copyAllInRange(LocalDate startDate, LocalDate endDate,
+                            String targetCalendarName, LocalDate targetStartDate);
+
+  /**
+   * Finds the first times when all the given calendars are free at once. Each
+   * calendar's events are placed on one timeline through the calendar's own timezone.
+   *
+   * @param calendarNames the calendars that must all be free
+   * @param from          the start of the range to search
+   * @param to            the end of the range to search
+   * @param length        the shortest free time to report
+   * @param limit         the most slots to return
+   * @return the free slots in time order, each a whole gap between busy times that is at
+   *         least {@code length} long, clipped to the range
+   * @throws IllegalArgumentException if a calendar does not exist, or the length or
+   *                                  limit is not positive
+   */
+  List<TimeSlot> findFreeSlots(List<String> calendarNames, Instant from, Instant to,
+                               Duration length, int limit);
+
   /**
    * Creates an event in the current calendar.
    * Delegates to the current CalendarInstance.
@@ -1,5 +1,6 @@
 package model;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -70,4 +71,13 @@ public interface IEvent {
    * @return true if event is active at the time, false otherwise
    */
   boolean isActiveAt(LocalDateTime dateTime);
-}
\ No newline at end of file
+
+  /**
+   * Writes the same text as {@link Object#toString} without building a string, so long
+   * listings can be written straight to their output.
+   *
+   * @param out where to write the text
+   * @throws IOException if writing fails
+   */
+  void appendTo(Appendable out) throws IOException;
+}
@@ -37,6 +37,20 @@ public interface IEventCopyService {
   boolean copyEventsOnDate(LocalDate sourceDate, CalendarInstance sourceCalendar,
                            CalendarInstance targetCalendar, LocalDate targetDate);
 
+  /**
+   * Copies all events scheduled on a specific date from source to target calendar as one
+   * batch. Every copy is checked against the target calendar before any is added, and
+   * the batch is added whole or not at all.
+   *
+   * @param sourceDate     the date to copy events from (in source calendar's timezone)
+   * @param sourceCalendar the source calendar instance
+   * @param targetCalendar the target calendar instance
+   * @param targetDate     the target date (in target calendar's timezone)
+   * @return the copies added, or the events that kept the batch from being copied
+   */
+  CopyResult copyAllOnDate(LocalDate sourceDate, CalendarInstance sourceCalendar,
+                           CalendarInstance targetCalendar, LocalDate targetDate);
+
   /**
    * Copies all events within a date range from source to target calendar.
    *
@@ -50,4 +64,20 @@ public interface IEventCopyService {
   boolean copyEventsInRange(LocalDate startDate, LocalDate endDate,
                             CalendarInstance sourceCalendar, CalendarInstance targetCalendar,
                             LocalDate targetStartDate);
+
+  /**
+   * Copies all events within a date range from source to target calendar as one batch.
+   * Every copy is checked against the target calendar before any is added, and the batch
+   * is added whole or not at all.
+   *
+   * @param startDate       the start date of the range (inclusive, in source calendar's timezone)
+   * @param endDate         the end date of the range (inclusive, in source calendar's timezone)
+   * @param sourceCalendar  the source calendar instance
+   * @param targetCalendar  the target calendar instance
+   * @param targetStartDate the target start date (in target calendar's timezone)
+   * @return the copies added, or the events that kept the batch from being copied
+   */
+  CopyResult copyAllInRange(LocalDate startDate, LocalDate endDate,
+                            CalendarInstance sourceCalendar, CalendarInstance targetCalendar,
+                            LocalDate targetStartDate);
 }
\ No newline at end of file
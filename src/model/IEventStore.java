@@ -0,0 +1,148 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Storage engine for the events of one calendar.
+ * Defines the lookups calendars need, so that the way events are held in memory can be
+ * chosen per calendar without changing calendar logic.
+ *
+ * <p>Events returned by a store are live: changing one through its setters updates the
+ * store, whether the store holds the event object itself or builds the event as a view
+ * of its own representation. Lists returned by a store are new lists owned by the caller.
+ */
+public interface IEventStore {
+
+  /**
+   * Adds an event unless one with the same subject, start, and end is already stored.
+   *
+   * @param event the event to add
+   * @return true if the event was added, false if it is a duplicate or cannot be stored
+   */
+  boolean add(Event event);
+
+  /**
+   * Adds a batch of events, skipping any whose subject, start, and end are already stored
+   * or repeated earlier in the batch. Batches ordered by start time, such as the events of
+   * a snapshot, may be loaded faster than by adding the events one at a time.
+   *
+   * @param events the events to add
+   * @return the number of events added
+   */
+  int addAll(List<Event> events);
+
+  /**
+   * Removes an event previously returned by or added to this store.
+   *
+   * @param event the event to remove
+   * @return true if the event was removed
+   */
+  boolean remove(Event event);
+
+  /**
+   * Finds the event with the given subject, start, and end.
+   *
+   * @param key the identity to look up
+   * @return the event, or null if none is stored
+   */
+  Event find(EventKey key);
+
+  /**
+   * Checks whether an event with the given subject, start, and end is stored.
+   *
+   * @param key the identity to look up
+   * @return true if such an event exists
+   */
+  boolean contains(EventKey key);
+
+  /**
+   * Finds every event that starts exactly at a time.
+   *
+   * @param startDateTime the start time to look up
+   * @return matching events in insertion order
+   */
+  List<Event> findByStart(LocalDateTime startDateTime);
+
+  /**
+   * Finds every event that occurs on a date, as defined by
+   * {@link Event#occursOnDate(LocalDate)}.
+   *
+   * @param date the date to look up
+   * @return matching events ordered by start time
+   */
+  List<Event> getEventsOnDate(LocalDate date);
+
+  /**
+   * Finds every event that does not end before {@code from} and does not start after
+   * {@code to}.
+   *
+   * @param from start of the range
+   * @param to   end of the range
+   * @return matching events ordered by start time
+   */
+  List<Event> getEventsInRange(LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Checks whether any event is active at an instant, as defined by
+   * {@link Event#isActiveAt(LocalDateTime)}.
+   *
+   * @param dateTime the instant to check
+   * @return true if an event covers the instant
+   */
+  boolean anyActiveAt(LocalDateTime dateTime);
+
+  /**
+   * Gets every stored member of a series.
+   *
+   * @param seriesId the series to look up
+   * @return the members ordered by start time
+   */
+  List<Event> getSeriesMembers(String seriesId);
+
+  /**
+   * Gets the stored members of a series that start at or after a time.
+   *
+   * @param seriesId the series to look up
+   * @param from     the earliest start time to include
+   * @return the matching members ordered by start time
+   */
+  List<Event> getSeriesMembersFrom(String seriesId, LocalDateTime from);
+
+  /**
+   * Gets every stored event.
+   *
+   * @return all events ordered by start time
+   */
+  List<Event> getAllEvents();
+
+  /**
+   * Gets the number of stored events.
+   *
+   * @return the event count
+   */
+  int size();
+
+  /**
+   * Removes every event.
+   */
+  void clear();
+
+  /**
+   * Counts the changes made to the stored events so far: adds, removals, and edits made
+   * through the setters of stored events. Anything worked out from the store's contents
+   * is still current while the count is unchanged.
+   *
+   * @return a number that grows with every change
+   */
+  long modificationCount();
+
+  /**
+   * Tells whether the store can take adds and queries from several threads at once
+   * without outside locking. Edits made through event setters must still be serialized.
+   *
+   * @return true if concurrent adds and queries are safe
+   */
+  boolean isConcurrent();
+}
@@ -0,0 +1,231 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event store that keeps the event objects in an {@link EventIntervalTree} for range and
+ * busy queries, alongside a hash index on (subject, start, end), a {@link DayBucketIndex},
+ * and a {@link SeriesMemberIndex}.
+ *
+ * <p>The store registers itself as the change listener of every event it holds, so edits
+ * made through an event's setters re-index the event automatically. Events that come to
+ * share a key through such edits are all kept; key lookups return one of them.
+ */
+public class IndexedEventStore implements IEventStore {
+
+  /**
+   * Interval tree holding every stored event.
+   */
+  private final EventIntervalTree intervalTree;
+
+  /**
+   * Events indexed by their immutable (subject, start, end) key.
+   */
+  private final Map<EventKey, Event> eventsByKey;
+
+  /**
+   * Events bucketed by every date they span.
+   */
+  private final DayBucketIndex dayIndex;
+
+  /**
+   * Start-ordered members of each series.
+   */
+  private final SeriesMemberIndex seriesIndex;
+
+  /**
+   * Number of changes made to the indexed events.
+   */
+  private long modifications;
+
+  /**
+   * Listener that re-indexes an event whenever one of its fields is edited.
+   */
+  private final EventChangeListener indexUpdater = new EventChangeListener() {
+    @Override
+    public void beforeChange(Event event) {
+      unindex(event);
+    }
+
+    @Override
+    public void afterChange(Event event) {
+      index(event);
+    }
+  };
+
+  /**
+   * Creates an empty store.
+   */
+  public IndexedEventStore() {
+    this.intervalTree = new EventIntervalTree();
+    this.eventsByKey = new HashMap<>();
+    this.dayIndex = new DayBucketIndex();
+    this.seriesIndex = new SeriesMemberIndex();
+  }
+
+  @Override
+  public boolean add(Event event) {
+    if (eventsByKey.containsKey(EventKey.of(event))) {
+      return false;
+    }
+    index(event);
+    event.setChangeListener(indexUpdater);
+    return true;
+  }
+
+  /**
+   * Adds a batch of events. When the store is empty, the interval tree is built in one pass
+   * from the batch instead of rebalancing after every insert.
+   *
+   * @param events the events to add
+   * @return the number of events added
+   */
+  @Override
+  public int addAll(List<Event> events) {
+    if (!eventsByKey.isEmpty()) {
+      int added = 0;
+      for (Event event : events) {
+        if (add(event)) {
+          added++;
+        }
+      }
+      return added;
+    }
+
+    List<Event> unique = new ArrayList<>(events.size());
+    for (Event event : events) {
+      if (eventsByKey.putIfAbsent(EventKey.of(event), event) == null) {
+        unique.add(event);
+      }
+    }
+    intervalTree.insertAll(unique);
+    for (Event event : unique) {
+      dayIndex.add(event);
+      seriesIndex.add(event);
+      event.setChangeListener(indexUpdater);
+    }
+    modifications++;
+    return unique.size();
+  }
+
+  @Override
+  public boolean remove(Event event) {
+    if (event.getChangeListener() != indexUpdater) {
+      return false;
+    }
+    unindex(event);
+    event.setChangeListener(null);
+    return true;
+  }
+
+  @Override
+  public Event find(EventKey key) {
+    return eventsByKey.get(key);
+  }
+
+  @Override
+  public boolean contains(EventKey key) {
+    return eventsByKey.containsKey(key);
+  }
+
+  @Override
+  public List<Event> findByStart(LocalDateTime startDateTime) {
+    return intervalTree.eventsStartingAt(startDateTime);
+  }
+
+  @Override
+  public List<Event> getEventsOnDate(LocalDate date) {
+    return dayIndex.getEventsOnDate(date);
+  }
+
+  @Override
+  public List<Event> getEventsInRange(LocalDateTime from, LocalDateTime to) {
+    return intervalTree.query(from, to);
+  }
+
+  @Override
+  public boolean anyActiveAt(LocalDateTime dateTime) {
+    return intervalTree.anyActiveAt(dateTime);
+  }
+
+  @Override
+  public List<Event> getSeriesMembers(String seriesId) {
+    return seriesIndex.getMembers(seriesId);
+  }
+
+  @Override
+  public List<Event> getSeriesMembersFrom(String seriesId, LocalDateTime from) {
+    return seriesIndex.getMembersFrom(seriesId, from);
+  }
+
+  @Override
+  public List<Event> getAllEvents() {
+    return intervalTree.toList();
+  }
+
+  @Override
+  public int size() {
+    return intervalTree.size();
+  }
+
+  @Override
+  public void clear() {
+    for (Event event : intervalTree.toList()) {
+      event.setChangeListener(null);
+    }
+    intervalTree.clear();
+    eventsByKey.clear();
+    dayIndex.clear();
+    seriesIndex.clear();
+    modifications++;
+  }
+
+  @Override
+  public long modificationCount() {
+    return modifications;
+  }
+
+  @Override
+  public boolean isConcurrent() {
+    return false;
+  }
+
+  /**
+   * Removes an event from every index before one of its fields changes.
+   *
+   * @param event the event about to change
+   */
+  private void unindex(Event event) {
+    EventKey key = EventKey.of(event);
+    modifications++;
+    intervalTree.remove(event);
+    dayIndex.remove(event);
+    seriesIndex.remove(event);
+    if (eventsByKey.remove(key, event)) {
+      for (Event other : intervalTree.eventsStartingAt(key.getStartDateTime())) {
+        if (key.equals(EventKey.of(other))) {
+          eventsByKey.put(key, other);
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds an event to every index after one of its fields changed.
+   *
+   * @param event the event that changed
+   */
+  private void index(Event event) {
+    eventsByKey.putIfAbsent(EventKey.of(event), event);
+    intervalTree.insert(event);
+    dayIndex.add(event);
+    seriesIndex.add(event);
+    modifications++;
+  }
+}
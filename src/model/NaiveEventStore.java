@@ -0,0 +1,196 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reference event store that keeps events in a plain list and answers every query with
+ * a linear scan. It holds the event objects themselves and needs no index maintenance,
+ * which makes it the baseline that other stores are checked and measured against. It
+ * listens to its events only to count their edits.
+ */
+public class NaiveEventStore implements IEventStore {
+
+  /**
+   * Stored events in insertion order.
+   */
+  private final List<Event> events;
+
+  /**
+   * Number of adds, removals, clears, and edits made through stored events.
+   */
+  private long modifications;
+
+  /**
+   * Listener that counts edits made through the setters of stored events.
+   */
+  private final EventChangeListener editCounter = new EventChangeListener() {
+    @Override
+    public void beforeChange(Event event) {
+    }
+
+    @Override
+    public void afterChange(Event event) {
+      modifications++;
+    }
+  };
+
+  /**
+   * Creates an empty store.
+   */
+  public NaiveEventStore() {
+    this.events = new ArrayList<>();
+  }
+
+  @Override
+  public boolean add(Event event) {
+    if (contains(EventKey.of(event))) {
+      return false;
+    }
+    events.add(event);
+    event.setChangeListener(editCounter);
+    modifications++;
+    return true;
+  }
+
+  @Override
+  public int addAll(List<Event> events) {
+    int added = 0;
+    for (Event event : events) {
+      if (add(event)) {
+        added++;
+      }
+    }
+    return added;
+  }
+
+  @Override
+  public boolean remove(Event event) {
+    for (int i = 0; i < events.size(); i++) {
+      if (events.get(i) == event) {
+        events.remove(i);
+        if (event.getChangeListener() == editCounter) {
+          event.setChangeListener(null);
+        }
+        modifications++;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Event find(EventKey key) {
+    for (Event event : events) {
+      if (key.equals(EventKey.of(event))) {
+        return event;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean contains(EventKey key) {
+    return find(key) != null;
+  }
+
+  @Override
+  public List<Event> findByStart(LocalDateTime startDateTime) {
+    List<Event> result = new ArrayList<>();
+    for (Event event : events) {
+      if (Objects.equals(event.getStartDateTime(), startDateTime)) {
+        result.add(event);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<Event> getEventsOnDate(LocalDate date) {
+    List<Event> result = new ArrayList<>();
+    for (Event event : events) {
+      if (event.occursOnDate(date)) {
+        result.add(event);
+      }
+    }
+    return sortedByStart(result);
+  }
+
+  @Override
+  public List<Event> getEventsInRange(LocalDateTime from, LocalDateTime to) {
+    List<Event> result = new ArrayList<>();
+    for (Event event : events) {
+      if (!event.getEndDateTime().isBefore(from) && !event.getStartDateTime().isAfter(to)) {
+        result.add(event);
+      }
+    }
+    return sortedByStart(result);
+  }
+
+  @Override
+  public boolean anyActiveAt(LocalDateTime dateTime) {
+    for (Event event : events) {
+      if (event.isActiveAt(dateTime)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public List<Event> getSeriesMembers(String seriesId) {
+    return getSeriesMembersFrom(seriesId, LocalDateTime.MIN);
+  }
+
+  @Override
+  public List<Event> getSeriesMembersFrom(String seriesId, LocalDateTime from) {
+    List<Event> result = new ArrayList<>();
+    for (Event event : events) {
+      if (seriesId != null && seriesId.equals(event.getSeriesId())
+              && !event.getStartDateTime().isBefore(from)) {
+        result.add(event);
+      }
+    }
+    return sortedByStart(result);
+  }
+
+  @Override
+  public List<Event> getAllEvents() {
+    return sortedByStart(new ArrayList<>(events));
+  }
+
+  @Override
+  public int size() {
+    return events.size();
+  }
+
+  @Override
+  public void clear() {
+    for (Event event : events) {
+      if (event.getChangeListener() == editCounter) {
+        event.setChangeListener(null);
+      }
+    }
+    events.clear();
+    modifications++;
+  }
+
+  @Override
+  public long modificationCount() {
+    return modifications;
+  }
+
+  @Override
+  public boolean isConcurrent() {
+    return false;
+  }
+
+  private static List<Event> sortedByStart(List<Event> result) {
+    result.sort(Comparator.comparing(Event::getStartDateTime));
+    return result;
+  }
+}
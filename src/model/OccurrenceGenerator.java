@@ -0,0 +1,230 @@
+package model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Generates the dates of a weekly recurrence from a set of weekdays.
+ * The weekdays are held as a 7-bit mask (bit 0 is Monday, bit 6 is Sunday), so finding
+ * the next matching date, the Nth matching date, or the number of matching dates in a
+ * range is a few bit operations instead of a walk over every day in between.
+ *
+ * <p>Instances are immutable.
+ */
+public final class OccurrenceGenerator {
+
+  /**
+   * Mask with one bit per day of the week.
+   */
+  private static final int ALL_DAYS = 0x7F;
+
+  /**
+   * Bit mask of the weekdays on which the recurrence occurs.
+   */
+  private final int mask;
+
+  /**
+   * Creates a generator from a weekday bit mask.
+   *
+   * @param mask 7-bit mask, bit 0 for Monday through bit 6 for Sunday
+   */
+  public OccurrenceGenerator(int mask) {
+    this.mask = mask & ALL_DAYS;
+  }
+
+  /**
+   * Creates a generator for a set of weekdays.
+   *
+   * @param weekdays days of the week on which the recurrence occurs
+   * @return the generator
+   */
+  public static OccurrenceGenerator of(Set<DayOfWeek> weekdays) {
+    int mask = 0;
+    for (DayOfWeek day : weekdays) {
+      mask |= bit(day);
+    }
+    return new OccurrenceGenerator(mask);
+  }
+
+  /**
+   * Creates a generator from weekday letters as used in commands: M, T, W, R, F, S, and U
+   * for Monday through Sunday. Other characters are ignored.
+   *
+   * @param weekdayStr the weekday letters
+   * @return the generator
+   */
+  public static OccurrenceGenerator parse(String weekdayStr) {
+    return parse(weekdayStr, 0, weekdayStr.length());
+  }
+
+  /**
+   * Parses the weekday letters between two indices of a text, such as a command line,
+   * without copying them out.
+   *
+   * @param text the text holding the letters
+   * @param from index of the first letter
+   * @param to   index after the last letter
+   * @return the generator
+   */
+  public static OccurrenceGenerator parse(CharSequence text, int from, int to) {
+    int mask = 0;
+    for (int i = from; i < to; i++) {
+      switch (text.charAt(i)) {
+        case 'M':
+          mask |= bit(DayOfWeek.MONDAY);
+          break;
+        case 'T':
+          mask |= bit(DayOfWeek.TUESDAY);
+          break;
+        case 'W':
+          mask |= bit(DayOfWeek.WEDNESDAY);
+          break;
+        case 'R':
+          mask |= bit(DayOfWeek.THURSDAY);
+          break;
+        case 'F':
+          mask |= bit(DayOfWeek.FRIDAY);
+          break;
+        case 'S':
+          mask |= bit(DayOfWeek.SATURDAY);
+          break;
+        case 'U':
+          mask |= bit(DayOfWeek.SUNDAY);
+          break;
+        default:
+          break;
+      }
+    }
+    return new OccurrenceGenerator(mask);
+  }
+
+  /**
+   * Gets the weekday bit mask.
+   *
+   * @return 7-bit mask, bit 0 for Monday through bit 6 for Sunday
+   */
+  public int getMask() {
+    return mask;
+  }
+
+  /**
+   * Gets the weekdays on which the recurrence occurs.
+   *
+   * @return a new set of weekdays
+   */
+  public Set<DayOfWeek> toWeekdays() {
+    Set<DayOfWeek> weekdays = EnumSet.noneOf(DayOfWeek.class);
+    for (DayOfWeek day : DayOfWeek.values()) {
+      if ((mask & bit(day)) != 0) {
+        weekdays.add(day);
+      }
+    }
+    return weekdays;
+  }
+
+  /**
+   * Checks whether the recurrence never occurs.
+   *
+   * @return true if no weekday is set
+   */
+  public boolean isEmpty() {
+    return mask == 0;
+  }
+
+  /**
+   * Checks whether the recurrence occurs on a date.
+   *
+   * @param date the date to check
+   * @return true if the date falls on one of the weekdays
+   */
+  public boolean matches(LocalDate date) {
+    return (mask & bit(date.getDayOfWeek())) != 0;
+  }
+
+  /**
+   * Finds the first occurrence on or after a date.
+   *
+   * @param date the earliest date to consider
+   * @return the first matching date, or null if the recurrence never occurs
+   */
+  public LocalDate nextFrom(LocalDate date) {
+    if (mask == 0) {
+      return null;
+    }
+    return date.plusDays(Integer.numberOfTrailingZeros(rotatedFrom(date)));
+  }
+
+  /**
+   * Finds the Nth occurrence on or after a date.
+   *
+   * @param date the earliest date to consider
+   * @param n    which occurrence to find, starting at 1
+   * @return the Nth matching date, or null if {@code n} is not positive or the recurrence
+   *         never occurs
+   */
+  public LocalDate nth(LocalDate date, long n) {
+    if (mask == 0 || n <= 0) {
+      return null;
+    }
+    LocalDate first = nextFrom(date);
+    int perWeek = Integer.bitCount(mask);
+    int remaining = (int) ((n - 1) % perWeek);
+    int rotated = rotatedFrom(first);
+    for (int i = 0; i < remaining; i++) {
+      rotated &= rotated - 1;
+    }
+    return first.plusWeeks((n - 1) / perWeek)
+            .plusDays(Integer.numberOfTrailingZeros(rotated));
+  }
+
+  /**
+   * Counts the occurrences between two dates, inclusive.
+   *
+   * @param from first date of the range
+   * @param to   last date of the range
+   * @return the number of matching dates, or 0 if the range is empty
+   */
+  public long countBetween(LocalDate from, LocalDate to) {
+    long days = to.toEpochDay() - from.toEpochDay() + 1;
+    if (days <= 0 || mask == 0) {
+      return 0;
+    }
+    int partial = rotatedFrom(from) & ((1 << (int) (days % 7)) - 1);
+    return (days / 7) * Integer.bitCount(mask) + Integer.bitCount(partial);
+  }
+
+  /**
+   * Rotates the mask so that bit 0 is the weekday of the given date.
+   */
+  private int rotatedFrom(LocalDate date) {
+    int shift = date.getDayOfWeek().getValue() - 1;
+    return ((mask >>> shift) | (mask << (7 - shift))) & ALL_DAYS;
+  }
+
+  private static int bit(DayOfWeek day) {
+    return 1 << (day.getValue() - 1);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    return mask == ((OccurrenceGenerator) obj).mask;
+  }
+
+  @Override
+  public int hashCode() {
+    return mask;
+  }
+
+  @Override
+  public String toString() {
+    return "OccurrenceGenerator" + toWeekdays();
+  }
+}
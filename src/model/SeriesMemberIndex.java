@@ -0,0 +1,94 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index from series ID to the events that currently belong to that series.
+ * Members of each series are kept sorted by start time, so "this occurrence and every
+ * later one" is a binary search followed by a tail copy instead of a scan over every
+ * event in the calendar.
+ *
+ * <p>Events without a series ID are ignored. The index does not observe its events: an
+ * event must be removed before its start time or series ID changes and added again
+ * afterwards, which is what lets an edit detach an event from its series.
+ */
+public class SeriesMemberIndex {
+
+  /**
+   * Members of each series, sorted by start time.
+   */
+  private final Map<String, List<Event>> members;
+
+  /**
+   * Creates an empty series index.
+   */
+  public SeriesMemberIndex() {
+    this.members = new HashMap<>();
+  }
+
+  /**
+   * Registers an event under its series, if it has one.
+   *
+   * @param event the event to add
+   */
+  public void add(Event event) {
+    if (event.getSeriesId() == null || event.getStartDateTime() == null) {
+      return;
+    }
+    EventsByStart.insert(members.computeIfAbsent(event.getSeriesId(),
+            id -> new ArrayList<>()), event);
+  }
+
+  /**
+   * Removes an event from its series, if it has one.
+   *
+   * @param event the event to remove
+   */
+  public void remove(Event event) {
+    if (event.getSeriesId() == null || event.getStartDateTime() == null) {
+      return;
+    }
+    List<Event> series = members.get(event.getSeriesId());
+    if (series != null && EventsByStart.remove(series, event) && series.isEmpty()) {
+      members.remove(event.getSeriesId());
+    }
+  }
+
+  /**
+   * Gets every member of a series.
+   *
+   * @param seriesId the series to look up
+   * @return a new list of the members, sorted by start time
+   */
+  public List<Event> getMembers(String seriesId) {
+    List<Event> series = members.get(seriesId);
+    return series == null ? new ArrayList<>() : new ArrayList<>(series);
+  }
+
+  /**
+   * Gets the members of a series that start at or after the given time.
+   *
+   * @param seriesId the series to look up
+   * @param from     the earliest start time to include
+   * @return a new list of the matching members, sorted by start time
+   */
+  public List<Event> getMembersFrom(String seriesId, LocalDateTime from) {
+    List<Event> series = members.get(seriesId);
+    if (series == null) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(series.subList(EventsByStart.lowerBound(series, from),
+            series.size()));
+  }
+
+  /**
+   * Removes every series from the index.
+   */
+  public void clear() {
+    members.clear();
+  }
+}
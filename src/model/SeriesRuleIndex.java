@@ -0,0 +1,413 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Index of the recurrence rules held by a calendar.
+ * Each rule is an {@link EventSeries} whose occurrences are generated only when a query
+ * reaches them, so a long series is stored once instead of once per occurrence.
+ *
+ * <p>Rules are looked up by subject for duplicate detection, by series ID for series
+ * edits, and by first date for date and range queries, so that a query only visits the
+ * rules whose dates can reach it. A series edited "from this date on" may be split into
+ * several rules that share one series ID. Occurrences returned by this index are fresh
+ * events: changing them does not change the rule, and edits must go through the owning
+ * calendar.
+ */
+public class SeriesRuleIndex {
+
+  /**
+   * Rules grouped by the subject of their occurrences.
+   */
+  private final Map<String, List<EventSeries>> rulesBySubject;
+
+  /**
+   * Rules grouped by series ID.
+   */
+  private final Map<String, List<EventSeries>> rulesBySeriesId;
+
+  /**
+   * Rules that generate occurrences, grouped by their first date.
+   */
+  private final TreeMap<LocalDate, List<EventSeries>> rulesByFirstDate;
+
+  /**
+   * Most days any indexed rule has spanned from its first date to its last date. Rules
+   * only ever get shorter, so this stays an upper bound until the index is cleared.
+   */
+  private long longestSpan;
+
+  /**
+   * Number of changes made to the rules through this index.
+   */
+  private long modifications;
+
+  /**
+   * Creates an empty rule index.
+   */
+  public SeriesRuleIndex() {
+    this.rulesBySubject = new HashMap<>();
+    this.rulesBySeriesId = new HashMap<>();
+    this.rulesByFirstDate = new TreeMap<>();
+  }
+
+  /**
+   * Registers a rule.
+   *
+   * @param rule the rule to add
+   */
+  public void add(EventSeries rule) {
+    rulesBySubject.computeIfAbsent(rule.getSubject(), subject -> new ArrayList<>()).add(rule);
+    rulesBySeriesId.computeIfAbsent(rule.getSeriesId(), id -> new ArrayList<>()).add(rule);
+    if (rule.getFirstDate() != null && rule.getLastDate() != null) {
+      rulesByFirstDate.computeIfAbsent(rule.getFirstDate(), date -> new ArrayList<>()).add(rule);
+      longestSpan = Math.max(longestSpan,
+              rule.getLastDate().toEpochDay() - rule.getFirstDate().toEpochDay());
+    }
+    modifications++;
+  }
+
+  /**
+   * Checks whether any rule generates an occurrence with the given identity.
+   *
+   * @param key the subject, start, and end to look for
+   * @return true if a generated occurrence matches
+   */
+  public boolean contains(EventKey key) {
+    return findRule(key) != null;
+  }
+
+  /**
+   * Finds the rule generating an occurrence with the given identity.
+   *
+   * @param key the subject, start, and end to look for
+   * @return the rule, or null if no rule generates such an occurrence
+   */
+  public EventSeries findRule(EventKey key) {
+    for (EventSeries rule : rulesBySubject.getOrDefault(key.getSubject(), new ArrayList<>())) {
+      if (rule.generates(key)) {
+        return rule;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds the generated occurrence with the given identity.
+   *
+   * @param key the subject, start, and end to look for
+   * @return the occurrence, or null if no rule generates it
+   */
+  public Event find(EventKey key) {
+    EventSeries rule = findRule(key);
+    return rule == null ? null : rule.createOccurrence(key.getStartDateTime().toLocalDate());
+  }
+
+  /**
+   * Finds a generated occurrence by subject and start time.
+   *
+   * @param subject       occurrence subject
+   * @param startDateTime occurrence start time
+   * @return the occurrence, or null if no rule generates one
+   */
+  public Event findBySubjectAndStart(String subject, LocalDateTime startDateTime) {
+    LocalDate date = startDateTime.toLocalDate();
+    for (EventSeries rule : rulesBySubject.getOrDefault(subject, new ArrayList<>())) {
+      if (rule.occursOn(date) && date.atTime(rule.getStartTime()).equals(startDateTime)) {
+        return rule.createOccurrence(date);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Gets every rule with a series ID.
+   *
+   * @param seriesId the series to look up
+   * @return a new list of the rules, possibly empty
+   */
+  public List<EventSeries> getRules(String seriesId) {
+    return new ArrayList<>(rulesBySeriesId.getOrDefault(seriesId, new ArrayList<>()));
+  }
+
+  /**
+   * Gets every rule in the index.
+   *
+   * @return a new list of all rules
+   */
+  public List<EventSeries> getAllRules() {
+    List<EventSeries> result = new ArrayList<>();
+    for (List<EventSeries> rules : rulesBySeriesId.values()) {
+      result.addAll(rules);
+    }
+    return result;
+  }
+
+  /**
+   * Generates every occurrence on a date.
+   *
+   * @param date the date to look up
+   * @return occurrences ordered by start time
+   */
+  public List<Event> getOccurrencesOnDate(LocalDate date) {
+    List<Event> result = new ArrayList<>();
+    for (EventSeries rule : rulesCovering(date, date)) {
+      if (rule.occursOn(date)) {
+        result.add(rule.createOccurrence(date));
+      }
+    }
+    result.sort(Comparator.comparing(Event::getStartDateTime));
+    return result;
+  }
+
+  /**
+   * Generates every occurrence touching the closed range [from, to], with the same
+   * overlap semantics as {@link EventIntervalTree#query(LocalDateTime, LocalDateTime)}.
+   *
+   * @param from start of the range
+   * @param to   end of the range
+   * @return occurrences ordered by start time
+   */
+  public List<Event> getOccurrencesInRange(LocalDateTime from, LocalDateTime to) {
+    List<Event> result = new ArrayList<>();
+    for (EventSeries rule : rulesCovering(from.toLocalDate(), to.toLocalDate())) {
+      for (Event event : rule.getOccurrences(from.toLocalDate(), to.toLocalDate())) {
+        if (!event.getEndDateTime().isBefore(from) && !event.getStartDateTime().isAfter(to)) {
+          result.add(event);
+        }
+      }
+    }
+    result.sort(Comparator.comparing(Event::getStartDateTime));
+    return result;
+  }
+
+  /**
+   * Checks whether any generated occurrence is active at an instant.
+   *
+   * @param dateTime the instant to check
+   * @return true if an occurrence covers the instant
+   */
+  public boolean anyActiveAt(LocalDateTime dateTime) {
+    LocalDate date = dateTime.toLocalDate();
+    for (EventSeries rule : rulesCovering(date, date)) {
+      if (rule.isActiveAt(dateTime)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Generates every occurrence of every rule.
+   *
+   * @return all occurrences
+   */
+  public List<Event> getAllOccurrences() {
+    List<Event> result = new ArrayList<>();
+    for (List<EventSeries> rules : rulesBySeriesId.values()) {
+      for (EventSeries rule : rules) {
+        result.addAll(rule.getOccurrences());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Counts every occurrence of every rule.
+   *
+   * @return the occurrence count
+   */
+  public int countOccurrences() {
+    int count = 0;
+    for (List<EventSeries> rules : rulesBySeriesId.values()) {
+      for (EventSeries rule : rules) {
+        count += rule.countOccurrences();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Stops generating one occurrence and returns it, so the caller can store it as an
+   * event of its own before editing it.
+   *
+   * @param rule the rule generating the occurrence
+   * @param date the date of the occurrence
+   * @return the detached occurrence
+   */
+  public Event materialize(EventSeries rule, LocalDate date) {
+    Event event = rule.createOccurrence(date);
+    rule.addException(date);
+    modifications++;
+    return event;
+  }
+
+  /**
+   * Stops generating every occurrence of a rule on or after a date and returns them, so
+   * the caller can store them as events of their own.
+   *
+   * @param rule the rule to cut
+   * @param from the first date to detach
+   * @return the detached occurrences ordered by date
+   */
+  public List<Event> materializeFrom(EventSeries rule, LocalDate from) {
+    List<Event> detached = rule.getOccurrences(from, rule.getLastDate());
+    if (!from.isAfter(rule.getFirstDate())) {
+      remove(rule);
+    } else {
+      rule.truncateBefore(from);
+    }
+    modifications++;
+    return detached;
+  }
+
+  /**
+   * Splits a rule so that a separate rule covers the given date and everything after it.
+   *
+   * @param rule the rule to split
+   * @param from the first date of the returned rule
+   * @return the rule covering {@code from} onwards, which is {@code rule} itself when
+   *         {@code from} is not after its first date
+   */
+  public EventSeries splitAt(EventSeries rule, LocalDate from) {
+    if (!from.isAfter(rule.getFirstDate())) {
+      return rule;
+    }
+    EventSeries tail = rule.splitAt(from);
+    add(tail);
+    return tail;
+  }
+
+  /**
+   * Checks whether a property can be changed on a rule without detaching occurrences.
+   *
+   * @param property the property name
+   * @return true for subject, description, location, and status
+   */
+  public static boolean isRuleProperty(String property) {
+    switch (property.toLowerCase()) {
+      case "subject":
+      case "description":
+      case "location":
+      case "status":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Changes a property shared by every occurrence of a rule.
+   *
+   * @param rule     the rule to change
+   * @param property a property accepted by {@link #isRuleProperty(String)}
+   * @param newValue the new value
+   * @return true if the property was changed
+   */
+  public boolean setProperty(EventSeries rule, String property, String newValue) {
+    modifications++;
+    switch (property.toLowerCase()) {
+      case "subject":
+        removeBySubject(rule);
+        rule.setSubject(newValue);
+        rulesBySubject.computeIfAbsent(newValue, subject -> new ArrayList<>()).add(rule);
+        return true;
+      case "description":
+        rule.setDescription(newValue);
+        return true;
+      case "location":
+        rule.setLocation(newValue);
+        return true;
+      case "status":
+        rule.setStatus("public".equalsIgnoreCase(newValue)
+                ? EventStatus.PUBLIC : EventStatus.PRIVATE);
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Removes every rule from the index.
+   */
+  public void clear() {
+    rulesBySubject.clear();
+    rulesBySeriesId.clear();
+    rulesByFirstDate.clear();
+    longestSpan = 0;
+    modifications++;
+  }
+
+  /**
+   * Counts the changes made to the rules through this index, so that anything worked out
+   * from their occurrences can tell whether it is still current.
+   *
+   * @return a number that grows with every change
+   */
+  public long modificationCount() {
+    return modifications;
+  }
+
+  private void remove(EventSeries rule) {
+    removeBySubject(rule);
+    List<EventSeries> rules = rulesBySeriesId.get(rule.getSeriesId());
+    if (rules != null && removeInstance(rules, rule) && rules.isEmpty()) {
+      rulesBySeriesId.remove(rule.getSeriesId());
+    }
+    List<EventSeries> sameStart = rule.getFirstDate() == null
+            ? null : rulesByFirstDate.get(rule.getFirstDate());
+    if (sameStart != null && removeInstance(sameStart, rule) && sameStart.isEmpty()) {
+      rulesByFirstDate.remove(rule.getFirstDate());
+    }
+  }
+
+  /**
+   * Collects the rules whose dates overlap [from, to]. Only rules starting at most
+   * {@link #longestSpan} days before {@code from} can still be running by then, so the
+   * rules starting earlier are never visited.
+   *
+   * @param from the first date of the query
+   * @param to   the last date of the query
+   * @return the overlapping rules, in no particular order
+   */
+  private List<EventSeries> rulesCovering(LocalDate from, LocalDate to) {
+    long earliest = from.toEpochDay() - longestSpan;
+    Map<LocalDate, List<EventSeries>> candidates =
+            earliest < LocalDate.MIN.toEpochDay()
+                    ? rulesByFirstDate.headMap(to, true)
+                    : rulesByFirstDate.subMap(LocalDate.ofEpochDay(earliest), true, to, true);
+    List<EventSeries> result = new ArrayList<>();
+    for (List<EventSeries> rules : candidates.values()) {
+      for (EventSeries rule : rules) {
+        if (!rule.getLastDate().isBefore(from)) {
+          result.add(rule);
+        }
+      }
+    }
+    return result;
+  }
+
+  private void removeBySubject(EventSeries rule) {
+    List<EventSeries> rules = rulesBySubject.get(rule.getSubject());
+    if (rules != null && removeInstance(rules, rule) && rules.isEmpty()) {
+      rulesBySubject.remove(rule.getSubject());
+    }
+  }
+
+  private static boolean removeInstance(List<EventSeries> rules, EventSeries rule) {
+    for (int i = 0; i < rules.size(); i++) {
+      if (rules.get(i) == rule) {
+        rules.remove(i);
+        return true;
+      }
+    }
+    return false;
+  }
+}
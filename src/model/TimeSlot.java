@@ -0,0 +1,87 @@
+package model;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Immutable span of time between two instants, such as a free slot found by
+ * {@link ICalendarManager#findFreeSlots}. Slots are held as instants so that spans found
+ * across calendars in different timezones compare directly; they are turned back into
+ * local times only for display.
+ */
+public final class TimeSlot {
+  private final Instant start;
+  private final Instant end;
+
+  /**
+   * Creates a slot from its bounds.
+   *
+   * @param start the first instant of the slot
+   * @param end   the instant the slot ends, not included in it
+   */
+  public TimeSlot(Instant start, Instant end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  public Instant getStart() {
+    return start;
+  }
+
+  public Instant getEnd() {
+    return end;
+  }
+
+  /**
+   * Gets the length of the slot.
+   *
+   * @return the time from start to end
+   */
+  public Duration getDuration() {
+    return Duration.between(start, end);
+  }
+
+  /**
+   * Gets the start of the slot as a wall-clock time in a timezone.
+   *
+   * @param zone the timezone to show the start in
+   * @return the local start time
+   */
+  public LocalDateTime getStart(ZoneId zone) {
+    return LocalDateTime.ofInstant(start, zone);
+  }
+
+  /**
+   * Gets the end of the slot as a wall-clock time in a timezone.
+   *
+   * @param zone the timezone to show the end in
+   * @return the local end time
+   */
+  public LocalDateTime getEnd(ZoneId zone) {
+    return LocalDateTime.ofInstant(end, zone);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    TimeSlot other = (TimeSlot) obj;
+    return start.equals(other.start) && end.equals(other.end);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * start.hashCode() + end.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("TimeSlot{start=%s, end=%s}", start, end);
+  }
+}
@@ -0,0 +1,534 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, append-only log of records, each record being a list of string fields.
+ *
+ * <p>Records are written one per line as a CRC-32 checksum followed by the tab-separated,
+ * escaped fields. When the log is read back, the first line that is incomplete or fails
+ * its checksum marks the end of the log: it can only be the tail of a write that was cut
+ * off by a crash, so it and anything after it is truncated.
+ *
+ * <p>{@link #apply} runs a mutation and appends its record while holding the locks the
+ * caller passes in, so mutations that share a lock are logged in the order they took
+ * effect while mutations of unrelated state, such as different calendars, run
+ * concurrently. Waiting for the record to reach the disk happens outside those locks,
+ * with group commit: the first waiting thread writes every record appended so far and
+ * forces them to disk with a single {@code fsync}, while threads that appended in the
+ * meantime wait for that write to cover them. Throughput is therefore bounded by the
+ * disk's write bandwidth rather than by one {@code fsync} per record.
+ *
+ * <p>When the log outgrows its compaction threshold, {@link #compact} replaces it with a
+ * snapshot of the state it describes.
+ */
+public final class WriteAheadLog implements AutoCloseable {
+
+  /**
+   * Size, in bytes, at which a freshly compacted log becomes due for compaction again,
+   * unless the snapshot itself is larger.
+   */
+  public static final long DEFAULT_COMPACTION_THRESHOLD = 64L * 1024 * 1024;
+
+  private static final String NULL_FIELD = "\\N";
+
+  private final Path path;
+  private final long baseThreshold;
+  private FileChannel channel;
+
+  /**
+   * Shared by mutations from the moment they start until their record is appended, and
+   * held exclusively while the log is compacted or closed, so a snapshot never sees a
+   * mutation whose record is not in the log yet.
+   */
+  private final ReentrantReadWriteLock appendLock = new ReentrantReadWriteLock();
+
+  /**
+   * Guards the pending buffer, sequence numbers, and size, and signals finished syncs.
+   */
+  private final Object syncMonitor = new Object();
+  private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+  private long appendedSeq;
+  private long durableSeq;
+  private boolean syncing;
+  private long size;
+
+  /**
+   * Set when a failed write could not be cut back off the file, which leaves a torn record
+   * that later records must not be written after.
+   */
+  private IOException broken;
+  private long threshold;
+
+  private WriteAheadLog(Path path, FileChannel channel, long size, long baseThreshold) {
+    this.path = path;
+    this.channel = channel;
+    this.size = size;
+    this.baseThreshold = baseThreshold;
+    this.threshold = Math.max(baseThreshold, 2 * size);
+  }
+
+  /**
+   * Opens the log at a path with the default compaction threshold, creating it if needed
+   * and truncating any torn record at its end.
+   *
+   * @param path the log file
+   * @return the opened log
+   * @throws IOException if the file cannot be read or opened for writing
+   */
+  public static WriteAheadLog open(Path path) throws IOException {
+    return open(path, DEFAULT_COMPACTION_THRESHOLD);
+  }
+
+  /**
+   * Opens the log at a path, creating it if needed and truncating any torn record at its
+   * end.
+   *
+   * @param path                the log file
+   * @param compactionThreshold the size in bytes past which the log asks to be compacted
+   * @return the opened log
+   * @throws IOException if the file cannot be read or opened for writing
+   */
+  public static WriteAheadLog open(Path path, long compactionThreshold) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+    long validLength = scan(channel, null);
+    if (validLength < channel.size()) {
+      channel.truncate(validLength);
+      channel.force(true);
+    }
+    channel.position(validLength);
+    return new WriteAheadLog(path, channel, validLength, compactionThreshold);
+  }
+
+  /**
+   * Reads every record in the log, in the order they were appended.
+   *
+   * @return the records
+   * @throws IOException if the file cannot be read
+   */
+  public List<String[]> readRecords() throws IOException {
+    appendLock.readLock().lock();
+    try {
+      List<String[]> records = new ArrayList<>();
+      try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+        scan(reader, records);
+      }
+      return records;
+    } finally {
+      appendLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Runs a mutation and, if it should be logged, appends its record and waits until the
+   * record is on disk.
+   *
+   * @param order      locks taken in the given order before the mutation runs and released
+   *                   once its record is appended, before waiting for the disk; mutations
+   *                   sharing a lock are logged in the order they take effect
+   * @param mutation   the mutation to run
+   * @param logFailure whether to log the mutation even when it reports failure, for
+   *                   mutations that may change state before failing
+   * @param record     builds the record; called after the mutation, under the same locks
+   * @return the result of the mutation
+   * @throws UncheckedIOException if the record could not be made durable; the mutation has
+   *                              then taken effect in memory only
+   */
+  public boolean apply(List<? extends Lock> order, BooleanSupplier mutation,
+                       boolean logFailure, Supplier<String[]> record) {
+    long seq;
+    boolean result;
+    for (Lock lock : order) {
+      lock.lock();
+    }
+    appendLock.readLock().lock();
+    try {
+      result = mutation.getAsBoolean();
+      if (!result && !logFailure) {
+        return false;
+      }
+      seq = enqueue(record.get());
+    } finally {
+      appendLock.readLock().unlock();
+      for (int i = order.size() - 1; i >= 0; i--) {
+        order.get(i).unlock();
+      }
+    }
+
+    try {
+      awaitDurable(seq);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return result;
+  }
+
+  /**
+   * Checks whether the log has grown past its compaction threshold.
+   *
+   * @return true if the log should be compacted
+   */
+  public boolean needsCompaction() {
+    synchronized (syncMonitor) {
+      return size > threshold;
+    }
+  }
+
+  /**
+   * Replaces the log with a snapshot, unless another thread compacted it first. Waits for
+   * mutations already running through {@link #apply} to append their records, and keeps
+   * new ones from starting while the snapshot is taken and written. Returns only once the
+   * compacted log and its directory entry are on disk.
+   *
+   * @param snapshot builds the records that recreate the current state
+   * @throws IOException if the snapshot cannot be written; the old log is then kept
+   */
+  public void compact(Supplier<List<String[]>> snapshot) throws IOException {
+    appendLock.writeLock().lock();
+    try {
+      synchronized (syncMonitor) {
+        if (size <= threshold) {
+          return;
+        }
+      }
+      awaitDurable(appendedSeqSnapshot());
+
+      Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      for (String[] record : snapshot.get()) {
+        buffer.write(encode(record));
+      }
+      try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        writeFully(out, buffer.toByteArray());
+        out.force(true);
+      }
+
+      channel.close();
+      Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+      forceDirectory(path);
+      channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      channel.position(channel.size());
+      synchronized (syncMonitor) {
+        size = channel.size();
+        threshold = Math.max(baseThreshold, 2 * size);
+      }
+    } finally {
+      appendLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Gets the path of the log file.
+   *
+   * @return the log file
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Gets the current size of the log on disk.
+   *
+   * @return the durable size in bytes
+   */
+  public long size() {
+    synchronized (syncMonitor) {
+      return size;
+    }
+  }
+
+  /**
+   * Closes the log file. Every record appended through {@link #apply} is already durable.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    appendLock.writeLock().lock();
+    try {
+      channel.close();
+    } finally {
+      appendLock.writeLock().unlock();
+    }
+  }
+
+  private long appendedSeqSnapshot() {
+    synchronized (syncMonitor) {
+      return appendedSeq;
+    }
+  }
+
+  private long enqueue(String[] record) {
+    byte[] line = encode(record);
+    synchronized (syncMonitor) {
+      pending.write(line, 0, line.length);
+      return ++appendedSeq;
+    }
+  }
+
+  /**
+   * Waits until the record with the given sequence number is on disk, writing and
+   * forcing every pending record itself when no other thread is already doing so.
+   *
+   * <p>If writing or forcing a batch fails, the file is cut back to its durable size and
+   * the batch goes back in front of the pending records, so the next waiter writes it
+   * again instead of skipping it. If the file cannot be cut back, every later wait fails.
+   *
+   * @param seq the sequence number to wait for
+   * @throws IOException if writing or forcing the log fails
+   */
+  private void awaitDurable(long seq) throws IOException {
+    while (true) {
+      byte[] batch;
+      long batchEnd;
+      long batchStart;
+      synchronized (syncMonitor) {
+        while (syncing && durableSeq < seq) {
+          try {
+            syncMonitor.wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the log", e);
+          }
+        }
+        if (durableSeq >= seq) {
+          return;
+        }
+        if (broken != null) {
+          throw new IOException("The log could not be repaired after a failed write",
+                  broken);
+        }
+        syncing = true;
+        batch = pending.toByteArray();
+        batchEnd = appendedSeq;
+        batchStart = size;
+        pending = new ByteArrayOutputStream();
+      }
+
+      IOException failure = null;
+      IOException repairFailure = null;
+      try {
+        writeFully(channel, batch);
+        channel.force(false);
+      } catch (IOException e) {
+        failure = e;
+        try {
+          channel.truncate(batchStart);
+          channel.position(batchStart);
+        } catch (IOException e2) {
+          e2.addSuppressed(e);
+          repairFailure = e2;
+        }
+      }
+      synchronized (syncMonitor) {
+        syncing = false;
+        if (failure == null) {
+          durableSeq = batchEnd;
+          size += batch.length;
+        } else {
+          ByteArrayOutputStream retry = new ByteArrayOutputStream();
+          retry.write(batch, 0, batch.length);
+          byte[] appended = pending.toByteArray();
+          retry.write(appended, 0, appended.length);
+          pending = retry;
+          broken = repairFailure;
+        }
+        syncMonitor.notifyAll();
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  /**
+   * Forces the directory holding a file to disk, so that a rename into it survives a
+   * crash. Platforms that cannot open a directory as a channel, such as Windows, are
+   * skipped; their file systems commit a rename with the file's own metadata.
+   *
+   * @param file a file in the directory to force
+   * @throws IOException if the directory cannot be forced
+   */
+  static void forceDirectory(Path file) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+      dir.force(true);
+    } catch (AccessDeniedException e) {
+      // Directories cannot be opened for reading here.
+    }
+  }
+
+  private static void writeFully(FileChannel out, byte[] bytes) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+  }
+
+  /**
+   * Reads records from the start of a channel up to the first torn or corrupt line.
+   *
+   * @param in      the channel to read
+   * @param records where to collect the records, or null to only validate
+   * @return the length of the valid prefix
+   * @throws IOException if the channel cannot be read
+   */
+  private static long scan(FileChannel in, List<String[]> records) throws IOException {
+    in.position(0);
+    InputStream stream = new BufferedInputStream(Channels.newInputStream(in));
+    ByteArrayOutputStream line = new ByteArrayOutputStream();
+    long valid = 0;
+    long offset = 0;
+    int b;
+    while ((b = stream.read()) >= 0) {
+      offset++;
+      if (b != '\n') {
+        line.write(b);
+        continue;
+      }
+      String[] record = decode(line.toString(StandardCharsets.UTF_8));
+      if (record == null) {
+        break;
+      }
+      if (records != null) {
+        records.add(record);
+      }
+      valid = offset;
+      line.reset();
+    }
+    return valid;
+  }
+
+  /**
+   * Encodes a record as a checksummed line.
+   *
+   * @param fields the record fields
+   * @return the line's UTF-8 bytes, including the newline
+   */
+  static byte[] encode(String[] fields) {
+    StringBuilder payload = new StringBuilder();
+    for (int i = 0; i < fields.length; i++) {
+      if (i > 0) {
+        payload.append('\t');
+      }
+      escape(fields[i], payload);
+    }
+    byte[] body = payload.toString().getBytes(StandardCharsets.UTF_8);
+    CRC32 crc = new CRC32();
+    crc.update(body);
+    String header = String.format("%08x\t", crc.getValue());
+    byte[] line = new byte[header.length() + body.length + 1];
+    System.arraycopy(header.getBytes(StandardCharsets.US_ASCII), 0, line, 0, header.length());
+    System.arraycopy(body, 0, line, header.length(), body.length);
+    line[line.length - 1] = '\n';
+    return line;
+  }
+
+  /**
+   * Decodes a line without its newline.
+   *
+   * @param line the line
+   * @return the record fields, or null if the line is malformed or fails its checksum
+   */
+  static String[] decode(String line) {
+    if (line.length() < 9 || line.charAt(8) != '\t') {
+      return null;
+    }
+    String payload = line.substring(9);
+    CRC32 crc = new CRC32();
+    crc.update(payload.getBytes(StandardCharsets.UTF_8));
+    long expected;
+    try {
+      expected = Long.parseLong(line.substring(0, 8), 16);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    if (crc.getValue() != expected) {
+      return null;
+    }
+
+    List<String> fields = new ArrayList<>();
+    for (String field : payload.split("\t", -1)) {
+      fields.add(unescape(field));
+    }
+    return fields.toArray(new String[0]);
+  }
+
+  private static void escape(String value, StringBuilder out) {
+    if (value == null) {
+      out.append(NULL_FIELD);
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        default:
+          out.append(c);
+      }
+    }
+  }
+
+  private static String unescape(String field) {
+    if (field.equals(NULL_FIELD)) {
+      return null;
+    }
+    StringBuilder out = new StringBuilder(field.length());
+    for (int i = 0; i < field.length(); i++) {
+      char c = field.charAt(i);
+      if (c != '\\' || i + 1 == field.length()) {
+        out.append(c);
+        continue;
+      }
+      char next = field.charAt(++i);
+      switch (next) {
+        case 't':
+          out.append('\t');
+          break;
+        case 'n':
+          out.append('\n');
+          break;
+        case 'r':
+          out.append('\r');
+          break;
+        default:
+          out.append(next);
+      }
+    }
+    return out.toString();
+  }
+}
@@ -0,0 +1,182 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts wall-clock times of one timezone directly to the wall-clock times they show in
+ * another, as used when copying events between calendars.
+ *
+ * <p>The difference between the two zones' local times only changes when either zone
+ * changes its offset. For each year of source time, the source-local times at which the
+ * difference changes are worked out once from both zones' {@link ZoneTimeline}s and kept
+ * in a sorted array next to the difference that follows each of them, so a conversion is
+ * a binary search plus an add. One conversion is shared by every user of a pair of zones.
+ *
+ * <p>Results match {@code atZone(source).withZoneSameInstant(target)}: a source time in a
+ * daylight saving gap moves forward by the gap, and one in an overlap takes the earlier
+ * offset. Converting within a single timezone leaves every time unchanged.
+ */
+final class ZoneConversion {
+
+  private static final Map<ZoneId, Map<ZoneId, ZoneConversion>> CONVERSIONS =
+          new ConcurrentHashMap<>();
+
+  private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+  /**
+   * Extra time covered on each side of a year, longer than any offset from UTC.
+   */
+  private static final long YEAR_MARGIN = 2 * SECONDS_PER_DAY;
+
+  private final ZoneTimeline source;
+  private final ZoneTimeline target;
+  private final boolean identity;
+  private final Map<Integer, YearTable> years = new ConcurrentHashMap<>();
+
+  private ZoneConversion(ZoneId source, ZoneId target) {
+    this.source = ZoneTimeline.of(source);
+    this.target = ZoneTimeline.of(target);
+    this.identity = source.equals(target);
+  }
+
+  /**
+   * Gets the shared conversion from one timezone to another.
+   *
+   * @param source the timezone times are given in
+   * @param target the timezone times are wanted in
+   * @return the conversion between the two
+   */
+  static ZoneConversion between(ZoneId source, ZoneId target) {
+    return CONVERSIONS.computeIfAbsent(source, zone -> new ConcurrentHashMap<>())
+            .computeIfAbsent(target, zone -> new ZoneConversion(source, zone));
+  }
+
+  /**
+   * Converts a wall-clock time of the source timezone to the target timezone.
+   *
+   * @param dateTime the source wall-clock time
+   * @return the target wall-clock time of the same instant
+   */
+  LocalDateTime convert(LocalDateTime dateTime) {
+    if (identity) {
+      return dateTime;
+    }
+    long localSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+    return dateTime.plusSeconds(table(dateTime.getYear()).differenceAt(localSecond));
+  }
+
+  private YearTable table(int year) {
+    YearTable table = years.get(year);
+    if (table == null) {
+      table = years.computeIfAbsent(year, this::buildTable);
+    }
+    return table;
+  }
+
+  /**
+   * Finds every source-local time of a year at which the difference between the zones
+   * may change: where the source offset changes, and where a target offset change is
+   * reached under each offset the source uses that year.
+   */
+  private YearTable buildTable(int year) {
+    long from = LocalDate.of(year, 1, 1).toEpochDay() * SECONDS_PER_DAY - YEAR_MARGIN;
+    long to = LocalDate.of(year + 1, 1, 1).toEpochDay() * SECONDS_PER_DAY + YEAR_MARGIN;
+    List<ZoneOffsetTransition> sourceChanges = source.transitionsBetween(from - YEAR_MARGIN,
+            to + YEAR_MARGIN);
+
+    List<Integer> sourceOffsets = new ArrayList<>();
+    sourceOffsets.add(sourceOffset(from));
+    TreeSet<Long> candidates = new TreeSet<>();
+    for (ZoneOffsetTransition change : sourceChanges) {
+      int before = change.getOffsetBefore().getTotalSeconds();
+      int after = change.getOffsetAfter().getTotalSeconds();
+      sourceOffsets.add(after);
+      candidates.add(change.toEpochSecond() + Math.max(before, after));
+    }
+    for (ZoneOffsetTransition change : target.transitionsBetween(from - YEAR_MARGIN,
+            to + YEAR_MARGIN)) {
+      for (int offset : sourceOffsets) {
+        long local = change.toEpochSecond() + offset;
+        if (sourceOffset(local) == offset) {
+          candidates.add(local);
+        }
+      }
+    }
+
+    int initial = difference(from);
+    long[] starts = new long[candidates.size()];
+    int[] differences = new int[candidates.size()];
+    int size = 0;
+    int previous = initial;
+    for (long local : candidates) {
+      if (local <= from || local >= to) {
+        continue;
+      }
+      int next = difference(local);
+      if (next != previous) {
+        starts[size] = local;
+        differences[size] = next;
+        size++;
+        previous = next;
+      }
+    }
+    return new YearTable(initial, Arrays.copyOf(starts, size),
+            Arrays.copyOf(differences, size));
+  }
+
+  /**
+   * Gets the seconds a source-local time moves by when converted, the slow way.
+   */
+  private int difference(long localSecond) {
+    int sourceOffset = sourceOffset(localSecond);
+    return target.offsetAt(localSecond - sourceOffset).getTotalSeconds() - sourceOffset;
+  }
+
+  /**
+   * Gets the offset a source-local time converts with.
+   */
+  private int sourceOffset(long localSecond) {
+    return source.offsetOfLocal(LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC))
+            .getTotalSeconds();
+  }
+
+  /**
+   * The source-local times of one year at which the difference between the zones
+   * changes, with the difference that applies from each of them.
+   */
+  private static final class YearTable {
+    private final int initial;
+    private final long[] starts;
+    private final int[] differences;
+
+    YearTable(int initial, long[] starts, int[] differences) {
+      this.initial = initial;
+      this.starts = starts;
+      this.differences = differences;
+    }
+
+    int differenceAt(long localSecond) {
+      int low = 0;
+      int high = starts.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (starts[mid] <= localSecond) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low == 0 ? initial : differences[low - 1];
+    }
+  }
+}
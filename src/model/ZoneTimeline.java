@@ -0,0 +1,199 @@
+package model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts between the wall-clock times of one timezone and epoch seconds, so that times
+ * kept in different calendars can be compared as plain numbers.
+ *
+ * <p>Calendars keep their events as wall-clock times, which is what lets a calendar's
+ * timezone be changed without moving its events. This class is the boundary between
+ * those local times and the single UTC timeline: the offset changes of each year are
+ * read from the zone's rules once and kept in sorted arrays, so a conversion is a binary
+ * search over a handful of entries instead of a {@link ZoneRules} lookup. One timeline is
+ * shared by every user of a timezone.
+ *
+ * <p>Wall-clock times are converted the way {@link LocalDateTime#atZone} does: a time in
+ * a daylight saving gap moves forward by the length of the gap, and a time in an overlap
+ * takes the earlier offset.
+ */
+final class ZoneTimeline {
+
+  private static final Map<ZoneId, ZoneTimeline> TIMELINES = new ConcurrentHashMap<>();
+
+  private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+  /**
+   * Extra time covered on each side of a year, longer than any offset from UTC, so the
+   * table of a local year also covers every instant that year's times convert to.
+   */
+  private static final long YEAR_MARGIN = 2 * SECONDS_PER_DAY;
+
+  private final ZoneRules rules;
+  private final ZoneOffset fixedOffset;
+  private final Map<Integer, YearTable> years = new ConcurrentHashMap<>();
+
+  private ZoneTimeline(ZoneId zone) {
+    this.rules = zone.getRules();
+    this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : null;
+  }
+
+  /**
+   * Gets the shared timeline of a timezone.
+   *
+   * @param zone the timezone
+   * @return the timeline converting that timezone's wall-clock times
+   */
+  static ZoneTimeline of(ZoneId zone) {
+    return TIMELINES.computeIfAbsent(zone, ZoneTimeline::new);
+  }
+
+  /**
+   * Converts a wall-clock time to seconds since the epoch, dropping any fraction of a
+   * second.
+   *
+   * @param dateTime the wall-clock time
+   * @return the epoch second the time falls on
+   */
+  long toEpochSecond(LocalDateTime dateTime) {
+    return dateTime.toEpochSecond(offsetOfLocal(dateTime));
+  }
+
+  /**
+   * Converts seconds since the epoch to the wall-clock time they show in this timezone.
+   *
+   * @param epochSecond the epoch second
+   * @return the wall-clock time
+   */
+  LocalDateTime toLocal(long epochSecond) {
+    return LocalDateTime.ofEpochSecond(epochSecond, 0, offsetAt(epochSecond));
+  }
+
+  /**
+   * Gets the offset a wall-clock time converts with.
+   *
+   * @param dateTime the wall-clock time
+   * @return the offset in effect, or the one before a gap or overlap
+   */
+  ZoneOffset offsetOfLocal(LocalDateTime dateTime) {
+    if (fixedOffset != null) {
+      return fixedOffset;
+    }
+    return table(dateTime.getYear()).offsetOfLocal(dateTime.toEpochSecond(ZoneOffset.UTC));
+  }
+
+  /**
+   * Gets the offset in effect at an instant.
+   *
+   * @param epochSecond the instant, in epoch seconds
+   * @return the offset in effect
+   */
+  ZoneOffset offsetAt(long epochSecond) {
+    if (fixedOffset != null) {
+      return fixedOffset;
+    }
+    int year = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY)).getYear();
+    return table(year).offsetAt(epochSecond);
+  }
+
+  private YearTable table(int year) {
+    YearTable table = years.get(year);
+    if (table == null) {
+      table = years.computeIfAbsent(year, this::buildTable);
+    }
+    return table;
+  }
+
+  private YearTable buildTable(int year) {
+    long from = LocalDate.of(year, 1, 1).toEpochDay() * SECONDS_PER_DAY - YEAR_MARGIN;
+    long to = LocalDate.of(year + 1, 1, 1).toEpochDay() * SECONDS_PER_DAY + YEAR_MARGIN;
+    return new YearTable(rules.getOffset(Instant.ofEpochSecond(from)),
+            transitionsBetween(from, to));
+  }
+
+  /**
+   * Lists the offset changes of this timezone that happen in a span of time.
+   *
+   * @param from the first epoch second of the span
+   * @param to   the epoch second the span ends before
+   * @return the transitions in time order
+   */
+  List<ZoneOffsetTransition> transitionsBetween(long from, long to) {
+    List<ZoneOffsetTransition> transitions = new ArrayList<>();
+    if (fixedOffset != null) {
+      return transitions;
+    }
+    ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochSecond(from - 1));
+    while (next != null && next.toEpochSecond() < to) {
+      transitions.add(next);
+      next = rules.nextTransition(next.getInstant());
+    }
+    return transitions;
+  }
+
+  /**
+   * The offset changes of a zone around one year, as instants, as the wall-clock times
+   * from which the new offset applies, and as the offsets that follow them.
+   */
+  private static final class YearTable {
+    private final ZoneOffset initial;
+    private final long[] instants;
+    private final long[] localStarts;
+    private final ZoneOffset[] offsets;
+
+    YearTable(ZoneOffset initial, List<ZoneOffsetTransition> transitions) {
+      this.initial = initial;
+      int count = transitions.size();
+      this.instants = new long[count];
+      this.localStarts = new long[count];
+      this.offsets = new ZoneOffset[count];
+      for (int i = 0; i < count; i++) {
+        ZoneOffsetTransition transition = transitions.get(i);
+        int later = Math.max(transition.getOffsetBefore().getTotalSeconds(),
+                transition.getOffsetAfter().getTotalSeconds());
+        instants[i] = transition.toEpochSecond();
+        localStarts[i] = instants[i] + later;
+        offsets[i] = transition.getOffsetAfter();
+      }
+    }
+
+    ZoneOffset offsetOfLocal(long localSecond) {
+      return offsetAfter(countUpTo(localStarts, localSecond));
+    }
+
+    ZoneOffset offsetAt(long epochSecond) {
+      return offsetAfter(countUpTo(instants, epochSecond));
+    }
+
+    private ZoneOffset offsetAfter(int passed) {
+      return passed == 0 ? initial : offsets[passed - 1];
+    }
+
+    /**
+     * Counts the leading values of a sorted array that are at most {@code key}.
+     */
+    private static int countUpTo(long[] values, long key) {
+      int low = 0;
+      int high = values.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (values[mid] <= key) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
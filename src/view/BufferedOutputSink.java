@@ -0,0 +1,112 @@
+package view;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Implementation of IOutputSink that collects output in a buffer and writes it to its
+ * stream in large blocks: when the buffer fills and when {@link #flush} is called.
+ * Long scripts and large listings then cost a few writes rather than one flushed write
+ * per line, and appending single characters or whole strings copies them straight into
+ * the buffer. Text is encoded with the default charset, as {@code System.out} encodes it.
+ *
+ * <p>As with {@link java.io.PrintStream}, a failed write is not thrown. The sink stops
+ * writing and {@link #checkError} reports the failure.
+ */
+public class BufferedOutputSink implements IOutputSink {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final String LINE_SEPARATOR = System.lineSeparator();
+
+  private final Writer out;
+  private boolean failed;
+
+  /**
+   * Creates a sink writing to a stream, such as {@code System.out}.
+   *
+   * @param stream the stream to write to
+   */
+  public BufferedOutputSink(OutputStream stream) {
+    this.out = new BufferedWriter(new OutputStreamWriter(stream, Charset.defaultCharset()),
+            BUFFER_SIZE);
+  }
+
+  @Override
+  public void print(String text) {
+    append(String.valueOf(text));
+  }
+
+  @Override
+  public void println(String line) {
+    append(String.valueOf(line)).append(LINE_SEPARATOR);
+  }
+
+  @Override
+  public void flush() {
+    if (!failed) {
+      try {
+        out.flush();
+      } catch (IOException e) {
+        failed = true;
+      }
+    }
+  }
+
+  @Override
+  public IOutputSink append(CharSequence text) {
+    if (!failed) {
+      try {
+        if (text instanceof String) {
+          out.write((String) text);
+        } else {
+          out.append(text);
+        }
+      } catch (IOException e) {
+        failed = true;
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public IOutputSink append(CharSequence text, int start, int end) {
+    if (!failed) {
+      try {
+        if (text instanceof String) {
+          out.write((String) text, start, end - start);
+        } else {
+          out.append(text, start, end);
+        }
+      } catch (IOException e) {
+        failed = true;
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public IOutputSink append(char c) {
+    if (!failed) {
+      try {
+        out.write(c);
+      } catch (IOException e) {
+        failed = true;
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Flushes the sink and tells whether any write has failed.
+   *
+   * @return true if output has been lost
+   */
+  public boolean checkError() {
+    flush();
+    return failed;
+  }
+}
@@ -1,5 +1,7 @@
 package view;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -19,29 +21,76 @@ public class CalendarView implements ICalendarView {
 
   @Override
   public String formatEventsOnDate(LocalDate date, List<Event> events) {
-    if (events.isEmpty()) {
-      return "No events on " + date.format(DATE_FORMATTER) + ".";
+    StringBuilder result = new StringBuilder(64 + 64 * events.size());
+    try {
+      writeEventsOnDate(result, date, events);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // a StringBuilder never throws
     }
+    return trimEnd(result);
+  }
 
-    StringBuilder result = new StringBuilder("Events on " + date.format(DATE_FORMATTER) + ":\n");
-    for (Event event : events) {
-      result.append(event.toString()).append("\n");
+  @Override
+  public String formatEventsInRange(LocalDateTime start, LocalDateTime end, List<Event> events) {
+    StringBuilder result = new StringBuilder(64 + 64 * events.size());
+    try {
+      writeEventsInRange(result, start, end, events);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // a StringBuilder never throws
     }
-    return result.toString().trim();
+    return trimEnd(result);
   }
 
   @Override
-  public String formatEventsInRange(LocalDateTime start, LocalDateTime end, List<Event> events) {
+  public void writeEventsOnDate(Appendable out, LocalDate date, List<Event> events)
+          throws IOException {
     if (events.isEmpty()) {
-      return "No events in the specified range.";
+      out.append("No events on ");
+      DATE_FORMATTER.formatTo(date, out);
+      out.append('.');
+      return;
     }
 
-    StringBuilder result = new StringBuilder("Events from " + start.format(DATETIME_FORMATTER)
-            + " to " + end.format(DATETIME_FORMATTER) + ":\n");
+    out.append("Events on ");
+    DATE_FORMATTER.formatTo(date, out);
+    out.append(':');
+    writeEvents(out, events);
+  }
+
+  @Override
+  public void writeEventsInRange(Appendable out, LocalDateTime start, LocalDateTime end,
+                                 List<Event> events) throws IOException {
+    if (events.isEmpty()) {
+      out.append("No events in the specified range.");
+      return;
+    }
+
+    out.append("Events from ");
+    DATETIME_FORMATTER.formatTo(start, out);
+    out.append(" to ");
+    DATETIME_FORMATTER.formatTo(end, out);
+    out.append(':');
+    writeEvents(out, events);
+  }
+
+  private static void writeEvents(Appendable out, List<Event> events) throws IOException {
     for (Event event : events) {
-      result.append(event.toString()).append("\n");
+      out.append('\n');
+      event.appendTo(out);
+    }
+  }
+
+  /**
+   * Drops trailing whitespace, which is all that trimming a listing can remove as every
+   * listing starts with a word.
+   */
+  private static String trimEnd(StringBuilder text) {
+    int length = text.length();
+    while (length > 0 && text.charAt(length - 1) <= ' ') {
+      length--;
     }
-    return result.toString().trim();
+    text.setLength(length);
+    return text.toString();
   }
 
   @Override
@@ -0,0 +1,43 @@
+package view;
+
+/**
+ * Implementation of IOutputSink that writes straight to {@code System.out}.
+ * The stream is looked up on every write, so output follows {@link System#setOut}.
+ * Nothing is held back, which suits the GUI and callers that read the output as soon as
+ * a command returns.
+ */
+public class ConsoleOutputSink implements IOutputSink {
+
+  @Override
+  public void print(String text) {
+    System.out.print(text);
+  }
+
+  @Override
+  public void println(String line) {
+    System.out.println(line);
+  }
+
+  @Override
+  public void flush() {
+    System.out.flush();
+  }
+
+  @Override
+  public IOutputSink append(CharSequence text) {
+    System.out.append(text);
+    return this;
+  }
+
+  @Override
+  public IOutputSink append(CharSequence text, int start, int end) {
+    System.out.append(text, start, end);
+    return this;
+  }
+
+  @Override
+  public IOutputSink append(char c) {
+    System.out.append(c);
+    return this;
+  }
+}
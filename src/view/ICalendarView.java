@@ -2,6 +2,7 @@ package view;
 
 import model.Event;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +33,31 @@ public interface ICalendarView {
    */
   String formatEventsInRange(LocalDateTime start, LocalDateTime end, List<Event> events);
 
+  /**
+   * Writes the text of {@link #formatEventsOnDate} to an output, one event at a time,
+   * without building the whole listing first.
+   *
+   * @param out    where to write the listing
+   * @param date   the target date
+   * @param events list of events on that date
+   * @throws IOException if writing fails
+   */
+  void writeEventsOnDate(Appendable out, LocalDate date, List<Event> events)
+          throws IOException;
+
+  /**
+   * Writes the text of {@link #formatEventsInRange} to an output, one event at a time,
+   * without building the whole listing first.
+   *
+   * @param out    where to write the listing
+   * @param start  start date and time of range
+   * @param end    end date and time of range
+   * @param events list of events in the range
+   * @throws IOException if writing fails
+   */
+  void writeEventsInRange(Appendable out, LocalDateTime start, LocalDateTime end,
+                          List<Event> events) throws IOException;
+
   /**
    * Formats busy/available status.
    *
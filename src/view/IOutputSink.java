@@ -0,0 +1,41 @@
+package view;
+
+/**
+ * Interface for the destination of the text a command handler prints.
+ * Lets the text interfaces choose between writing through at once and holding output
+ * back, and lets tests collect output without replacing {@code System.out}.
+ *
+ * <p>A sink is also an {@link Appendable}, so events and listings can be written into it
+ * piece by piece. Sinks do not throw {@link java.io.IOException}; like
+ * {@link java.io.PrintStream}, they deal with write failures themselves.
+ */
+public interface IOutputSink extends Appendable {
+
+  /**
+   * Writes text without ending the line.
+   *
+   * @param text the text to write
+   */
+  void print(String text);
+
+  /**
+   * Writes a line of text.
+   *
+   * @param line the line to write, without its line separator
+   */
+  void println(String line);
+
+  /**
+   * Sends everything written so far on to its final destination.
+   */
+  void flush();
+
+  @Override
+  IOutputSink append(CharSequence text);
+
+  @Override
+  IOutputSink append(CharSequence text, int start, int end);
+
+  @Override
+  IOutputSink append(char c);
+}
@@ -544,4 +544,32 @@ class CalendarCommandHandlerTest {
     String output = outputStream.toString();
     assertTrue(output.contains("copied successfully"), "Should show success message");
   }
-}
\ No newline at end of file
+
+  /**
+   * Test find free lists shared free time in the first calendar's timezone.
+   */
+  @Test
+  @DisplayName("Test find free command across calendars")
+  void testFindFreeSlots() {
+    commandHandler.processCommand("create calendar --name work --timezone America/New_York");
+    commandHandler.processCommand("create calendar --name travel --timezone Europe/Paris");
+    commandHandler.processCommand("use calendar --name work");
+    commandHandler.processCommand(
+            "create event Standup from 2025-05-05T09:00 to 2025-05-05T10:00");
+    commandHandler.processCommand("use calendar --name travel");
+    commandHandler.processCommand("create event Call from 2025-05-05T16:00 to 2025-05-05T17:00");
+
+    outputStream.reset();
+    assertTrue(commandHandler.processCommand("find free 45 minutes from 2025-05-05T08:00 "
+            + "to 2025-05-05T14:00 --calendars work,travel --limit 5"));
+    assertEquals("Free time of at least 45 minutes (timezone: America/New_York):\n"
+            + "  2025-05-05T08:00 to 2025-05-05T09:00\n"
+            + "  2025-05-05T11:00 to 2025-05-05T14:00\n",
+            outputStream.toString().replace(System.lineSeparator(), "\n"));
+
+    outputStream.reset();
+    assertFalse(commandHandler.processCommand("find free 45 minutes from 2025-05-05T08:00 "
+            + "to 2025-05-05T14:00 --calendars work,home"));
+    assertTrue(outputStream.toString().contains("Calendar 'home' does not exist."));
+  }
+}
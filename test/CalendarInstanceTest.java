@@ -2,6 +2,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Method;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -460,4 +461,255 @@ class CalendarInstanceTest {
     assertTrue(result.contains("America/New_York"));
     assertTrue(result.contains("events=0"));
   }
-}
\ No newline at end of file
+
+  /**
+   * Test duplicate detection follows an event whose key fields were edited.
+   */
+  @Test
+  @DisplayName("Test duplicate detection tracks edited key fields")
+  void testDuplicateDetectionAfterKeyEdit() {
+    LocalDateTime start = LocalDateTime.of(2024, 9, 15, 14, 30);
+    LocalDateTime end = LocalDateTime.of(2024, 9, 15, 15, 30);
+    Event event = new Event("Meeting", start, end);
+    calendar.addEvent(event);
+
+    event.setSubject("Renamed");
+    event.setEndDateTime(end.plusHours(1));
+
+    assertTrue(calendar.createEvent("Meeting", start, end));
+    assertFalse(calendar.createEvent("Renamed", start, end.plusHours(1)));
+    assertEquals(event, calendar.findEvent("Renamed", start, end.plusHours(1)));
+    assertTrue(calendar.isBusy(end.plusMinutes(30)));
+    assertEquals(2, calendar.getAllEvents().size());
+  }
+
+  /**
+   * Test series creation rejects occurrences that duplicate existing events.
+   */
+  @Test
+  @DisplayName("Test series creation detects duplicates of existing events")
+  void testSeriesCreationDetectsDuplicates() {
+    LocalDateTime start = LocalDateTime.of(2024, 9, 18, 14, 30);
+    LocalDateTime end = LocalDateTime.of(2024, 9, 18, 15, 30);
+    calendar.createEvent("Weekly Meeting", start, end);
+    Set<DayOfWeek> weekdays = new HashSet<>();
+    weekdays.add(DayOfWeek.MONDAY);
+    weekdays.add(DayOfWeek.WEDNESDAY);
+
+    boolean result = calendar.createEventSeries("Weekly Meeting", start.minusDays(2),
+            end.minusDays(2), weekdays, 4, null, null, EventStatus.PUBLIC, 1);
+
+    assertFalse(result);
+    assertEquals(1, calendar.getAllEvents().size());
+  }
+
+  /**
+   * Test long series answer day, range, and busy queries without storing occurrences.
+   */
+  @Test
+  @DisplayName("Test long series generate occurrences on demand")
+  void testLongSeriesGeneratesOccurrences() {
+    Set<DayOfWeek> weekdays = new HashSet<>();
+    weekdays.add(DayOfWeek.MONDAY);
+    weekdays.add(DayOfWeek.TUESDAY);
+    weekdays.add(DayOfWeek.WEDNESDAY);
+    weekdays.add(DayOfWeek.THURSDAY);
+    weekdays.add(DayOfWeek.FRIDAY);
+
+    assertTrue(calendar.createEventSeriesUntil("Standup", LocalDateTime.of(2025, 1, 6, 9, 0),
+            LocalDateTime.of(2025, 1, 6, 9, 15), weekdays, LocalDate.of(2035, 12, 31),
+            null, null, EventStatus.PUBLIC, 1));
+    calendar.createEvent("Review", LocalDateTime.of(2030, 6, 3, 8, 0),
+            LocalDateTime.of(2030, 6, 3, 8, 30));
+
+    List<Event> day = calendar.getEventsOnDate(LocalDate.of(2030, 6, 3));
+    assertEquals(2, day.size());
+    assertEquals("Review", day.get(0).getSubject());
+    assertEquals("series-1", day.get(1).getSeriesId());
+    assertTrue(calendar.getEventsOnDate(LocalDate.of(2030, 6, 1)).isEmpty());
+    assertEquals(5, calendar.getEventsInRange(LocalDateTime.of(2035, 12, 24, 0, 0),
+            LocalDateTime.of(2035, 12, 30, 23, 59)).size());
+    assertTrue(calendar.isBusy(LocalDateTime.of(2035, 12, 31, 9, 10)));
+    assertFalse(calendar.isBusy(LocalDateTime.of(2036, 1, 1, 9, 10)));
+    assertFalse(calendar.createEvent("Standup", LocalDateTime.of(2033, 3, 3, 9, 0),
+            LocalDateTime.of(2033, 3, 3, 9, 15)));
+  }
+
+  /**
+   * Test single and from-date edits on generated occurrences of a series.
+   */
+  @Test
+  @DisplayName("Test edits on generated series occurrences")
+  void testEditGeneratedOccurrences() {
+    Set<DayOfWeek> weekdays = new HashSet<>();
+    weekdays.add(DayOfWeek.MONDAY);
+    LocalDateTime first = LocalDateTime.of(2025, 6, 2, 10, 0);
+    calendar.createEventSeries("Sync", first, first.plusHours(1), weekdays, 4,
+            null, null, EventStatus.PUBLIC, 1);
+
+    assertTrue(calendar.editEvent("location", "Sync", first.plusWeeks(1),
+            first.plusWeeks(1).plusHours(1), "Room 2"));
+    assertEquals("Room 2",
+            calendar.findEventBySubjectAndStart("Sync", first.plusWeeks(1)).getLocation());
+    assertNull(calendar.findEventBySubjectAndStart("Sync", first).getLocation());
+
+    assertTrue(calendar.editEventsFromDate("subject", "Sync", first.plusWeeks(2), "Retro"));
+    assertNotNull(calendar.findEventBySubjectAndStart("Sync", first.plusWeeks(1)));
+    assertNull(calendar.findEventBySubjectAndStart("Sync", first.plusWeeks(2)));
+    assertNotNull(calendar.findEventBySubjectAndStart("Retro", first.plusWeeks(3)));
+
+    assertTrue(calendar.editEntireSeries("description", "Sync", first, "Weekly"));
+    assertEquals("Weekly",
+            calendar.findEventBySubjectAndStart("Sync", first.plusWeeks(1)).getDescription());
+    assertNull(calendar.findEventBySubjectAndStart("Retro", first.plusWeeks(2))
+            .getDescription());
+    assertEquals(4, calendar.getAllEvents().size());
+  }
+
+  /**
+   * Test a series edit that is rejected leaves the series rules and events unchanged.
+   */
+  @Test
+  @DisplayName("Test rejected series edits leave the calendar unchanged")
+  void testRejectedSeriesEditChangesNothing() throws Exception {
+    Set<DayOfWeek> weekdays = new HashSet<>();
+    weekdays.add(DayOfWeek.MONDAY);
+    LocalDateTime first = LocalDateTime.of(2025, 6, 2, 10, 0);
+    calendar.createEventSeries("Sync", first, first.plusHours(1), weekdays, 10,
+            null, null, EventStatus.PUBLIC, 1);
+    Method storedEvents = CalendarInstance.class.getDeclaredMethod("getStoredEvents");
+    storedEvents.setAccessible(true);
+    int stored = ((List<?>) storedEvents.invoke(calendar)).size();
+
+    assertFalse(calendar.editEntireSeries("start", "Sync", first, "garbage"));
+    assertFalse(calendar.editEventsFromDate("end", "Sync", first.plusWeeks(3), "soon"));
+    assertFalse(calendar.editEntireSeries("colour", "Sync", first, "blue"));
+
+    assertEquals(stored, ((List<?>) storedEvents.invoke(calendar)).size());
+    assertEquals(10, calendar.getAllEvents().size());
+    for (int week = 0; week < 10; week++) {
+      assertNotNull(calendar.findEventBySubjectAndStart("Sync", first.plusWeeks(week)));
+    }
+  }
+
+  /**
+   * Test date and range queries find occurrences of long and short series, including
+   * after a series has been split and partly detached.
+   */
+  @Test
+  @DisplayName("Test queries reach series of every length")
+  void testQueriesReachSeriesOfEveryLength() {
+    Set<DayOfWeek> mondays = new HashSet<>();
+    mondays.add(DayOfWeek.MONDAY);
+    Set<DayOfWeek> fridays = new HashSet<>();
+    fridays.add(DayOfWeek.FRIDAY);
+    LocalDateTime yearly = LocalDateTime.of(2025, 1, 6, 9, 0);
+    calendar.createEventSeriesUntil("Planning", yearly, yearly.plusHours(1), mondays,
+            LocalDate.of(2025, 12, 31), null, null, EventStatus.PUBLIC, 1);
+    LocalDateTime brief = LocalDateTime.of(2025, 11, 7, 16, 0);
+    calendar.createEventSeries("Demo", brief, brief.plusHours(1), fridays, 2,
+            null, null, EventStatus.PUBLIC, 2);
+
+    LocalDateTime lateMonday = LocalDateTime.of(2025, 11, 10, 9, 30);
+    assertTrue(calendar.isBusy(lateMonday));
+    assertEquals(1, calendar.getEventsOnDate(LocalDate.of(2025, 11, 10)).size());
+    assertEquals(1, calendar.getEventsOnDate(LocalDate.of(2025, 11, 14)).size());
+    assertEquals(0, calendar.getEventsOnDate(LocalDate.of(2025, 11, 21)).size());
+    assertEquals(4, calendar.getEventsInRange(LocalDateTime.of(2025, 11, 7, 0, 0),
+            LocalDateTime.of(2025, 11, 17, 23, 59)).size());
+    assertEquals(0, calendar.getEventsInRange(LocalDateTime.of(2026, 1, 1, 0, 0),
+            LocalDateTime.of(2026, 3, 1, 0, 0)).size());
+
+    assertTrue(calendar.editEventsFromDate("location", "Planning",
+            LocalDateTime.of(2025, 6, 2, 9, 0), "Room 4"));
+    assertTrue(calendar.editEventsFromDate("start", "Planning",
+            LocalDateTime.of(2025, 9, 1, 9, 0), "2025-09-01T08:00"));
+    assertEquals(1, calendar.getEventsOnDate(LocalDate.of(2025, 3, 3)).size());
+    assertEquals("Room 4",
+            calendar.getEventsOnDate(LocalDate.of(2025, 6, 9)).get(0).getLocation());
+    assertTrue(calendar.isBusy(LocalDateTime.of(2025, 9, 1, 8, 30)));
+    assertTrue(calendar.isBusy(lateMonday));
+    assertEquals(54, calendar.getAllEvents().size());
+  }
+
+  /**
+   * Test a time edit fails without changing anything when a series occurrence collides
+   * with a stored event renamed onto the series.
+   */
+  @Test
+  @DisplayName("Test series detach fails on a colliding stored event")
+  void testSeriesDetachCollision() {
+    Set<DayOfWeek> mondays = new HashSet<>();
+    mondays.add(DayOfWeek.MONDAY);
+    LocalDateTime first = LocalDateTime.of(2024, 3, 4, 9, 0);
+    LocalDateTime second = first.plusWeeks(1);
+    calendar.createEventSeries("S", first, first.plusHours(1), mondays, 3,
+            null, null, EventStatus.PUBLIC, 1);
+    calendar.createEvent("X", second, second.plusHours(1));
+    assertTrue(calendar.editEvent("subject", "X", second, second.plusHours(1), "S"));
+
+    assertTrue(calendar.editEntireSeries("location", "S", first, "Room 1"));
+    assertFalse(calendar.editEntireSeries("end", "S", first, "2024-03-04T11:00"));
+
+    List<Event> day = calendar.getEventsOnDate(second.toLocalDate());
+    assertEquals(2, day.size());
+    int members = 0;
+    for (Event event : day) {
+      assertEquals(second.plusHours(1), event.getEndDateTime());
+      if (event.getSeriesId() != null) {
+        members++;
+        assertEquals("Room 1", event.getLocation());
+      }
+    }
+    assertEquals(1, members);
+    assertEquals(first.plusHours(1),
+            calendar.findEventBySubjectAndStart("S", first).getEndDateTime());
+  }
+
+  /**
+   * Test busy answers follow every kind of change after a day has been asked about.
+   */
+  @Test
+  @DisplayName("Test busy answers stay current after changes")
+  void testBusyAnswersFollowChanges() {
+    LocalDateTime nine = LocalDateTime.of(2025, 3, 4, 9, 0);
+    assertFalse(calendar.isBusy(nine));
+
+    calendar.createEvent("Standup", nine, nine.plusMinutes(15));
+    assertTrue(calendar.isBusy(nine));
+    assertTrue(calendar.isBusy(nine.plusMinutes(14)));
+    assertFalse(calendar.isBusy(nine.plusMinutes(15)));
+
+    calendar.findEventBySubjectAndStart("Standup", nine).setEndDateTime(nine.plusMinutes(45));
+    assertTrue(calendar.isBusy(nine.plusMinutes(30)));
+
+    Set<DayOfWeek> weekdays = new HashSet<>();
+    weekdays.add(DayOfWeek.TUESDAY);
+    LocalDateTime two = nine.withHour(14);
+    assertFalse(calendar.isBusy(two.plusWeeks(1)));
+    calendar.createEventSeries("Sync", two, two.plusHours(1), weekdays, 3,
+            null, null, EventStatus.PUBLIC, 1);
+    assertTrue(calendar.isBusy(two.plusWeeks(1)));
+    assertTrue(calendar.editEventsFromDate("start", "Sync", two.plusWeeks(1),
+            "2025-03-11T15:00"));
+    assertFalse(calendar.isBusy(two.plusWeeks(1)));
+    assertTrue(calendar.isBusy(two.plusWeeks(1).plusHours(1)));
+
+    LocalDateTime late = LocalDateTime.of(2025, 3, 5, 23, 30);
+    calendar.createEvent("Deploy", late, late.plusHours(1));
+    assertTrue(calendar.isBusy(late.plusMinutes(45)));
+    assertFalse(calendar.isBusy(late.plusHours(1)));
+
+    LocalDateTime odd = LocalDateTime.of(2025, 3, 6, 9, 0, 30);
+    calendar.createEvent("Call", odd, odd.plusMinutes(1));
+    assertFalse(calendar.isBusy(odd.withSecond(0)));
+    assertTrue(calendar.isBusy(odd));
+    assertFalse(calendar.isBusy(odd.plusMinutes(1)));
+
+    for (int day = 0; day < 400; day++) {
+      assertFalse(calendar.isBusy(LocalDateTime.of(2026, 1, 1, 9, 0).plusDays(day)));
+    }
+    assertTrue(calendar.isBusy(nine.plusMinutes(30)));
+    assertTrue(calendar.isBusy(late.plusMinutes(45)));
+  }
+}
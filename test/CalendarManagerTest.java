@@ -1,26 +1,44 @@
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import model.CalendarInstance;
 import model.CalendarManager;
+import model.CompactEventStore;
+import model.CopyResult;
 import model.Event;
 import model.EventCopyService;
 import model.EventStatus;
 import model.IEventCopyService;
+import model.TimeSlot;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -91,6 +109,189 @@ class CalendarManagerTest {
     assertEquals(1, calendarManager.getCalendarNames().size());
   }
 
+  /**
+   * Test creating a calendar with a chosen event store.
+   */
+  @Test
+  @DisplayName("Test create calendar with a custom event store")
+  void testCreateCalendarWithStore() {
+    assertTrue(calendarManager.createCalendar("compact", ZoneId.of("UTC"),
+            new CompactEventStore()));
+    assertTrue(calendarManager.useCalendar("compact"));
+    assertTrue(calendarManager.createEvent("Standup", LocalDateTime.of(2025, 4, 7, 9, 0),
+            LocalDateTime.of(2025, 4, 7, 9, 15), null, null, EventStatus.PUBLIC));
+    assertTrue(calendarManager.isBusy(LocalDateTime.of(2025, 4, 7, 9, 5)));
+    assertFalse(calendarManager.createCalendar("compact", ZoneId.of("UTC"),
+            new CompactEventStore()));
+  }
+
+  /**
+   * Test that sessions share calendars but keep their own current calendar.
+   */
+  @Test
+  @DisplayName("Test sessions select current calendars independently")
+  void testSessionsHaveOwnCurrentCalendar() {
+    CalendarManager other = calendarManager.openSession();
+    calendarManager.createCalendar("work", ZoneId.of("UTC"));
+    other.createCalendar("home", ZoneId.of("UTC"));
+
+    assertTrue(calendarManager.useCalendar("home"));
+    assertTrue(other.useCalendar("work"));
+    assertEquals("home", calendarManager.getCurrentCalendarName());
+    assertEquals("work", other.getCurrentCalendarName());
+
+    assertTrue(calendarManager.editCalendar("work", "name", "office"));
+    assertEquals("office", other.getCurrentCalendarName());
+    assertNull(calendarManager.openSession().getCurrentCalendar());
+  }
+
+  /**
+   * Test concurrent event creation and queries across sessions.
+   */
+  @Test
+  @DisplayName("Test concurrent sessions create and query events safely")
+  void testConcurrentSessions() throws Exception {
+    calendarManager.createCalendar("shared", ZoneId.of("UTC"));
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    List<Future<Integer>> results = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      int thread = t;
+      results.add(pool.submit(() -> {
+        CalendarManager session = calendarManager.openSession();
+        session.useCalendar("shared");
+        int created = 0;
+        for (int i = 0; i < 250; i++) {
+          LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i * 30L);
+          if (session.createEvent("Event " + i, start, start.plusMinutes(15))) {
+            created++;
+          }
+          session.createEventSeries("Series " + thread, start, start.plusMinutes(10),
+                  Set.of(DayOfWeek.MONDAY), 2);
+          session.getEventsOnDate(start.toLocalDate());
+        }
+        return created;
+      }));
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+    int created = 0;
+    for (Future<Integer> result : results) {
+      created += result.get();
+    }
+    assertEquals(250, created);
+    assertEquals(250, calendarManager.getCalendar("shared").getEventsInRange(
+            LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 6, 5, 0))
+            .stream().filter(e -> e.getSeriesId() == null).count());
+  }
+
+  /**
+   * Test a persistent manager restores its calendars from the log.
+   */
+  @Test
+  @DisplayName("Test persistent manager replays its log on open")
+  void testPersistentManagerReplaysLog(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("calendars.wal");
+    CalendarManager manager = CalendarManager.open(file);
+    populate(manager);
+    List<String> before = describe(manager);
+    manager.close();
+
+    CalendarManager reopened = CalendarManager.open(file);
+    assertEquals(before, describe(reopened));
+    reopened.useCalendar("home");
+    assertTrue(reopened.createEventSeries("Gym", LocalDateTime.of(2025, 5, 6, 18, 0),
+            LocalDateTime.of(2025, 5, 6, 19, 0), Set.of(DayOfWeek.TUESDAY), 2));
+    assertEquals("series-3", reopened.findEventBySubjectAndStart("Gym",
+            LocalDateTime.of(2025, 5, 6, 18, 0)).getSeriesId());
+    reopened.close();
+  }
+
+  /**
+   * Test a compacted log restores the same calendars as the full log.
+   */
+  @Test
+  @DisplayName("Test compacted log restores the same calendars")
+  void testCompactedLogReplays(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("calendars.wal");
+    CalendarManager manager = CalendarManager.open(file, 512);
+    populate(manager);
+    List<String> before = describe(manager);
+    manager.close();
+
+    assertTrue(Files.readString(file).contains("\tsnapshot\tcalendars.wal.snapshot-"));
+    try (Stream<Path> files = Files.list(dir)) {
+      assertEquals(1, files.filter(f -> f.getFileName().toString()
+              .startsWith("calendars.wal.snapshot-")).count());
+    }
+    CalendarManager reopened = CalendarManager.open(file);
+    assertEquals(before, describe(reopened));
+    reopened.close();
+  }
+
+  /**
+   * Test compaction keeps the snapshot the log refers to when an older one is numbered
+   * ahead of the clock.
+   */
+  @Test
+  @DisplayName("Test compaction numbers its snapshot after every existing one")
+  void testCompactionKeepsLiveSnapshot(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("calendars.wal");
+    Path stale = dir.resolve("calendars.wal.snapshot-" + (System.currentTimeMillis() + 3600000));
+    Files.write(stale, new byte[0]);
+    CalendarManager manager = CalendarManager.open(file, 512);
+    populate(manager);
+    List<String> before = describe(manager);
+    manager.close();
+
+    assertFalse(Files.exists(stale));
+    CalendarManager reopened = CalendarManager.open(file);
+    assertEquals(before, describe(reopened));
+    reopened.close();
+  }
+
+  private static void populate(CalendarManager manager) {
+    manager.createCalendar("work", ZoneId.of("America/New_York"));
+    manager.createCalendar("home", ZoneId.of("Europe/London"));
+    manager.useCalendar("work");
+    manager.createEvent("Review", LocalDateTime.of(2025, 5, 5, 9, 0),
+            LocalDateTime.of(2025, 5, 5, 10, 0), "Q2\tplan", "Room 1", EventStatus.PRIVATE);
+    manager.createAllDayEvent("Offsite", LocalDate.of(2025, 5, 9));
+    manager.createEventSeries("Standup", LocalDateTime.of(2025, 5, 5, 8, 0),
+            LocalDateTime.of(2025, 5, 5, 8, 15), Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY),
+            6);
+    manager.editEventsFromDate("location", "Standup", LocalDateTime.of(2025, 5, 12, 8, 0),
+            "Lab");
+    manager.editEvent("start", "Standup", LocalDateTime.of(2025, 5, 7, 8, 0),
+            LocalDateTime.of(2025, 5, 7, 8, 15), "2025-05-07T08:30");
+    manager.createAllDayEventSeriesUntil("Holiday", LocalDate.of(2025, 5, 10),
+            Set.of(DayOfWeek.SATURDAY), LocalDate.of(2025, 5, 31));
+    manager.copyEventsInRange(LocalDate.of(2025, 5, 5), LocalDate.of(2025, 5, 9), "home",
+            LocalDate.of(2025, 6, 2));
+    manager.copyAllOnDate(LocalDate.of(2025, 5, 5), "home", LocalDate.of(2025, 7, 7));
+    manager.copyAllOnDate(LocalDate.of(2025, 5, 5), "home", LocalDate.of(2025, 7, 7));
+    manager.editCalendar("work", "name", "office");
+    manager.editCalendar("home", "timezone", "Asia/Tokyo");
+  }
+
+  private static List<String> describe(CalendarManager manager) {
+    List<String> lines = new ArrayList<>();
+    for (String name : new TreeSet<>(manager.getCalendarNames())) {
+      CalendarInstance calendar = manager.getCalendar(name);
+      lines.add(name + " " + calendar.getTimezone());
+      List<String> events = new ArrayList<>();
+      for (Event event : calendar.getAllEvents()) {
+        events.add(event.getSubject() + "|" + event.getStartDateTime() + "|"
+                + event.getEndDateTime() + "|" + event.getDescription() + "|"
+                + event.getLocation() + "|" + event.getStatus() + "|" + event.isAllDay() + "|"
+                + (event.getSeriesId() != null));
+      }
+      events.sort(null);
+      lines.addAll(events);
+    }
+    return lines;
+  }
+
   /**
    * Test editing calendar timezone successfully.
    */
@@ -479,6 +680,18 @@ class CalendarManagerTest {
     boolean result3 = calendarManager.copyEventsInRange(startDate,
             endDate, "personal", targetStartDate);
     assertFalse(result3);
+
+    CopyResult result4 = calendarManager.copyAllOnDate(sourceDate, "personal", targetDate);
+    assertFalse(result4.isComplete());
+    assertEquals(CopyResult.Failure.NO_CALENDAR_IN_USE, result4.getFailure());
+
+    calendarManager.createCalendar("work", ZoneId.of("America/New_York"));
+    calendarManager.useCalendar("work");
+    CopyResult result5 = calendarManager.copyAllInRange(startDate, endDate, "missing",
+            targetStartDate);
+    assertEquals(CopyResult.Failure.UNKNOWN_TARGET, result5.getFailure());
+    assertTrue(calendarManager.copyAllInRange(startDate, endDate, "personal",
+            targetStartDate).isComplete());
   }
 
   /**
@@ -527,4 +740,86 @@ class CalendarManagerTest {
     assertTrue(updatedResult.contains("calendars=1"));
     assertTrue(updatedResult.contains("current='work'"));
   }
-}
\ No newline at end of file
+
+  /**
+   * Test free slots are found on one timeline across calendars in different timezones.
+   */
+  @Test
+  @DisplayName("Test free slot search across timezones")
+  void testFindFreeSlotsAcrossTimezones() {
+    calendarManager.createCalendar("work", ZoneId.of("America/New_York"));
+    calendarManager.createCalendar("travel", ZoneId.of("Europe/Paris"));
+    calendarManager.useCalendar("work");
+    calendarManager.createEvent("Standup", LocalDateTime.of(2025, 5, 5, 9, 0),
+            LocalDateTime.of(2025, 5, 5, 10, 0));
+    calendarManager.useCalendar("travel");
+    calendarManager.createEventSeries("Call", LocalDateTime.of(2025, 5, 5, 16, 0),
+            LocalDateTime.of(2025, 5, 5, 17, 0), Set.of(DayOfWeek.MONDAY), 3);
+
+    List<String> names = List.of("work", "travel");
+    Instant from = Instant.parse("2025-05-05T12:00:00Z");
+    Instant to = Instant.parse("2025-05-05T18:00:00Z");
+    assertEquals(List.of(
+            new TimeSlot(from, Instant.parse("2025-05-05T13:00:00Z")),
+            new TimeSlot(Instant.parse("2025-05-05T15:00:00Z"), to)),
+            calendarManager.findFreeSlots(names, from, to, Duration.ofMinutes(45), 5));
+    assertEquals(List.of(new TimeSlot(Instant.parse("2025-05-05T15:00:00Z"), to)),
+            calendarManager.findFreeSlots(names, from, to, Duration.ofMinutes(90), 5));
+    assertEquals(1, calendarManager.findFreeSlots(names, from, to, Duration.ofMinutes(30),
+            1).size());
+    assertThrows(IllegalArgumentException.class, () -> calendarManager.findFreeSlots(
+            List.of("work", "missing"), from, to, Duration.ofMinutes(30), 1));
+  }
+
+  /**
+   * Test free slot search agrees with checking every minute of every calendar, over a
+   * range spanning several weeks and the spring daylight saving changes.
+   */
+  @Test
+  @DisplayName("Test free slot search matches a minute-by-minute scan")
+  void testFindFreeSlotsMatchesScan() {
+    String[] zones = {"America/New_York", "Europe/Paris", "Asia/Tokyo", "UTC"};
+    Random random = new Random(21);
+    List<String> names = new ArrayList<>();
+    for (int c = 0; c < zones.length; c++) {
+      String name = "cal" + c;
+      names.add(name);
+      calendarManager.createCalendar(name, ZoneId.of(zones[c]));
+      calendarManager.useCalendar(name);
+      for (int i = 0; i < 60; i++) {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 6, 0)
+                .plusDays(random.nextInt(40)).plusMinutes(15 * random.nextInt(64));
+        calendarManager.createEvent("Event " + i, start,
+                start.plusMinutes(15 + 15 * random.nextInt(20)));
+      }
+    }
+    Instant from = Instant.parse("2025-03-01T00:00:00Z");
+    Instant to = Instant.parse("2025-04-10T00:00:00Z");
+    Duration length = Duration.ofMinutes(240);
+
+    List<TimeSlot> expected = new ArrayList<>();
+    Instant freeFrom = null;
+    for (Instant t = from; t.isBefore(to); t = t.plusSeconds(60)) {
+      boolean free = true;
+      for (String name : names) {
+        CalendarInstance calendar = calendarManager.getCalendar(name);
+        free &= !calendar.isBusy(LocalDateTime.ofInstant(t, calendar.getTimezone()));
+      }
+      if (free && freeFrom == null) {
+        freeFrom = t;
+      } else if (!free && freeFrom != null) {
+        if (Duration.between(freeFrom, t).compareTo(length) >= 0) {
+          expected.add(new TimeSlot(freeFrom, t));
+        }
+        freeFrom = null;
+      }
+    }
+    if (freeFrom != null && Duration.between(freeFrom, to).compareTo(length) >= 0) {
+      expected.add(new TimeSlot(freeFrom, to));
+    }
+
+    assertEquals(expected, calendarManager.findFreeSlots(names, from, to, length, 1000));
+    assertEquals(expected.subList(0, 3),
+            calendarManager.findFreeSlots(names, from, to, length, 3));
+  }
+}
@@ -0,0 +1,194 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import controller.CalendarServer;
+import model.CalendarManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CalendarServer functionality.
+ */
+class CalendarServerTest {
+
+  private CalendarManager calendarManager;
+  private CalendarServer server;
+
+  /**
+   * Start a server on a free port before each test.
+   */
+  @BeforeEach
+  void setUp() throws IOException {
+    calendarManager = new CalendarManager();
+    server = new CalendarServer(calendarManager, 0);
+    server.start();
+  }
+
+  /**
+   * Stop the server after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    server.stop();
+  }
+
+  /**
+   * Test creating a calendar and events and reading them back as JSON.
+   */
+  @Test
+  @DisplayName("Test calendars and events round-trip as JSON")
+  void testCreateAndList() throws IOException {
+    assertEquals(201, request("POST", "/calendars", "name=Work&timezone=America/New_York")
+            .status);
+    assertEquals(201, request("POST", "/calendars/Work/events",
+            "subject=Team+Sync&start=2025-05-05T09:00&end=2025-05-05T10:00&location=Room+1")
+            .status);
+    assertEquals(201, request("POST", "/calendars/Work/series",
+            "subject=Standup&start=2025-05-05T08:00&end=2025-05-05T08:15&weekdays=MW&count=4")
+            .status);
+
+    Reply events = request("GET", "/calendars/Work/events?date=2025-05-05", null);
+    assertEquals(200, events.status);
+    assertTrue(events.body.startsWith("{\"events\":[{\"subject\":\"Standup\""));
+    assertTrue(events.body.contains("\"subject\":\"Team Sync\",\"start\":\"2025-05-05T09:00\""));
+    assertTrue(events.body.contains("\"location\":\"Room 1\""));
+
+    assertEquals("{\"busy\":true}",
+            request("GET", "/calendars/Work/busy?at=2025-05-07T08:05", null).body);
+    assertEquals(200, request("PUT", "/calendars/Work/events",
+            "property=location&subject=Standup&start=2025-05-07T08:00&value=Lab&scope=following")
+            .status);
+    assertEquals("Lab", calendarManager.getCalendar("Work").findEventBySubjectAndStart(
+            "Standup", LocalDateTime.of(2025, 5, 12, 8, 0)).getLocation());
+    assertEquals("{\"calendars\":[{\"name\":\"Work\",\"timezone\":\"America/New_York\"}]}",
+            request("GET", "/calendars", null).body);
+  }
+
+  /**
+   * Test failures come back as structured errors with matching status codes.
+   */
+  @Test
+  @DisplayName("Test errors are reported with status codes and JSON bodies")
+  void testErrors() throws IOException {
+    request("POST", "/calendars", "name=Work&timezone=UTC");
+
+    Reply duplicate = request("POST", "/calendars", "name=Work&timezone=UTC");
+    assertEquals(409, duplicate.status);
+    assertTrue(duplicate.body.startsWith("{\"ok\":false,\"error\":"));
+    assertEquals(400, request("POST", "/calendars", "name=Home&timezone=Nowhere").status);
+    assertEquals(404, request("GET", "/calendars/Missing/events", null).status);
+    assertEquals(400, request("POST", "/calendars/Work/events",
+            "subject=Bad&start=tomorrow&end=2025-05-05T10:00").status);
+    assertEquals(405, request("DELETE", "/calendars/Work/events", null).status);
+  }
+
+  /**
+   * Test an unexpected failure is answered with a generic error that does not reveal the
+   * exception's details.
+   */
+  @Test
+  @DisplayName("Test internal errors do not leak exception details")
+  void testInternalErrorIsGeneric() throws IOException {
+    server.stop();
+    calendarManager = new CalendarManager() {
+      @Override
+      public Set<String> getCalendarNames() {
+        throw new UncheckedIOException(new IOException("/var/lib/calendar/wal.log"));
+      }
+    };
+    server = new CalendarServer(calendarManager, 0);
+    server.start();
+
+    Reply reply = request("GET", "/calendars", null);
+    assertEquals(500, reply.status);
+    assertEquals("{\"ok\":false,\"error\":\"Internal error\"}", reply.body);
+    assertFalse(reply.body.contains("wal.log"));
+  }
+
+  /**
+   * Test several requests pipelined on one kept-alive connection are answered in order.
+   */
+  @Test
+  @DisplayName("Test pipelined requests on one connection are answered in order")
+  void testPipelining() throws IOException {
+    request("POST", "/calendars", "name=Work&timezone=UTC");
+    String get = "GET /calendars/Work/busy?at=2025-05-05T09:30 HTTP/1.1\r\n"
+            + "Host: localhost\r\n\r\n";
+    String post = "POST /calendars/Work/events HTTP/1.1\r\nHost: localhost\r\n"
+            + "Content-Type: application/x-www-form-urlencoded\r\nContent-Length: 57\r\n\r\n"
+            + "subject=Focus&start=2025-05-05T09:00&end=2025-05-05T10:00";
+
+    try (Socket socket = new Socket("localhost", server.getPort())) {
+      socket.setSoTimeout(5000);
+      OutputStream out = socket.getOutputStream();
+      out.write((get + post + get).getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+
+      InputStream in = socket.getInputStream();
+      assertTrue(readResponse(in).endsWith("{\"busy\":false}"));
+      assertTrue(readResponse(in).endsWith("{\"ok\":true}"));
+      assertTrue(readResponse(in).endsWith("{\"busy\":true}"));
+    }
+  }
+
+  private Reply request(String method, String path, String form) throws IOException {
+    URL url = new URL("http://localhost:" + server.getPort() + path);
+    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    connection.setRequestMethod(method);
+    if (form != null) {
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(form.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    int status = connection.getResponseCode();
+    InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+    try (InputStream body = in) {
+      return new Reply(status, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  private static String readResponse(InputStream in) throws IOException {
+    StringBuilder head = new StringBuilder();
+    while (!head.toString().endsWith("\r\n\r\n")) {
+      int next = in.read();
+      if (next < 0) {
+        throw new IOException("Connection closed before the response ended");
+      }
+      head.append((char) next);
+    }
+    int length = 0;
+    for (String line : head.toString().split("\r\n")) {
+      if (line.toLowerCase().startsWith("content-length:")) {
+        length = Integer.parseInt(line.substring(15).trim());
+      }
+    }
+    return head + new String(in.readNBytes(length), StandardCharsets.UTF_8);
+  }
+
+  private static class Reply {
+    final int status;
+    final String body;
+
+    Reply(int status, String body) {
+      this.status = status;
+      this.body = body;
+    }
+  }
+}
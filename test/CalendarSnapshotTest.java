@@ -0,0 +1,128 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import model.CalendarInstance;
+import model.CalendarManager;
+import model.CalendarSnapshot;
+import model.CompactEventStore;
+import model.ConcurrentEventStore;
+import model.Event;
+import model.EventStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CalendarSnapshot functionality.
+ */
+class CalendarSnapshotTest {
+
+  @TempDir
+  Path dir;
+
+  /**
+   * Test every calendar, event, and series survives a snapshot and load.
+   */
+  @Test
+  @DisplayName("Test calendars round-trip through a snapshot")
+  void testRoundTrip() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("work", ZoneId.of("America/New_York"), new CompactEventStore());
+    manager.createCalendar("home", ZoneId.of("Asia/Tokyo"), new ConcurrentEventStore());
+    manager.createCalendar("empty", ZoneId.of("UTC"));
+    manager.useCalendar("work");
+    manager.createEvent("Review", LocalDateTime.of(2025, 5, 5, 9, 0, 30),
+            LocalDateTime.of(2025, 5, 5, 10, 0), "Q2 plan ✓", null, EventStatus.PRIVATE);
+    manager.createAllDayEvent("Offsite", LocalDate.of(2025, 5, 9));
+    manager.createEventSeries("Standup", LocalDateTime.of(2025, 5, 5, 8, 0),
+            LocalDateTime.of(2025, 5, 5, 8, 15), Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY),
+            6);
+    manager.editEvent("start", "Standup", LocalDateTime.of(2025, 5, 9, 8, 0),
+            LocalDateTime.of(2025, 5, 9, 8, 15), "2025-05-09T08:30");
+    manager.useCalendar("home");
+    manager.createAllDayEventSeriesUntil("Market", LocalDate.of(2025, 5, 10),
+            Set.of(DayOfWeek.SATURDAY), LocalDate.of(2025, 6, 28));
+
+    Path file = dir.resolve("calendars.snapshot");
+    CalendarSnapshot.write(manager, file);
+    CalendarManager loaded = CalendarSnapshot.load(file);
+
+    assertEquals(describe(manager), describe(loaded));
+    loaded.useCalendar("home");
+    assertTrue(loaded.createEventSeries("Gym", LocalDateTime.of(2025, 5, 6, 18, 0),
+            LocalDateTime.of(2025, 5, 6, 19, 0), Set.of(DayOfWeek.TUESDAY), 2));
+    assertEquals("series-3", loaded.findEventBySubjectAndStart("Gym",
+            LocalDateTime.of(2025, 5, 6, 18, 0)).getSeriesId());
+  }
+
+  /**
+   * Test files that are not snapshots of this version are rejected.
+   */
+  @Test
+  @DisplayName("Test foreign and future snapshot files are rejected")
+  void testRejectsInvalidFiles() throws IOException {
+    Path foreign = dir.resolve("foreign.snapshot");
+    Files.writeString(foreign, "not a snapshot at all");
+    assertThrows(IOException.class, () -> CalendarSnapshot.load(foreign));
+
+    Path future = dir.resolve("future.snapshot");
+    Files.write(future, ByteBuffer.allocate(16).putInt(0x43414C53).putInt(99).array());
+    assertThrows(IOException.class, () -> CalendarSnapshot.load(future));
+
+    Path truncated = dir.resolve("truncated.snapshot");
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("work", ZoneId.of("UTC"));
+    CalendarSnapshot.write(manager, dir.resolve("full.snapshot"));
+    byte[] bytes = Files.readAllBytes(dir.resolve("full.snapshot"));
+    Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 3));
+    assertThrows(IOException.class, () -> CalendarSnapshot.load(truncated));
+
+    Path badZone = dir.resolve("zone.snapshot");
+    byte[] zoneBytes = bytes.clone();
+    String text = new String(zoneBytes, StandardCharsets.ISO_8859_1);
+    zoneBytes[text.indexOf("UTC") + 1] = '?';
+    Files.write(badZone, zoneBytes);
+    assertThrows(IOException.class, () -> CalendarSnapshot.load(badZone));
+
+    Path badOffset = dir.resolve("offset.snapshot");
+    byte[] offsetBytes = bytes.clone();
+    ByteBuffer.wrap(offsetBytes).putLong(16, Long.MAX_VALUE / 2);
+    Files.write(badOffset, offsetBytes);
+    assertThrows(IOException.class, () -> CalendarSnapshot.load(badOffset));
+  }
+
+  private static List<String> describe(CalendarManager manager) {
+    List<String> lines = new ArrayList<>();
+    for (String name : new TreeSet<>(manager.getCalendarNames())) {
+      CalendarInstance calendar = manager.getCalendar(name);
+      lines.add(name + " " + calendar.getTimezone());
+      List<String> events = new ArrayList<>();
+      for (Event event : calendar.getAllEvents()) {
+        events.add(event.getSubject() + "|" + event.getStartDateTime() + "|"
+                + event.getEndDateTime() + "|" + event.getDescription() + "|"
+                + event.getLocation() + "|" + event.getStatus() + "|" + event.isAllDay() + "|"
+                + event.getSeriesId());
+      }
+      events.sort(null);
+      lines.addAll(events);
+    }
+    return lines;
+  }
+}
@@ -370,4 +370,80 @@ public class CalendarTest {
             weekdays, endDate));
     assertEquals(3, calendar.getAllEvents().size());
   }
-}
\ No newline at end of file
+
+  /**
+   * Tests that editing from a date only touches that occurrence and later ones,
+   * and that a start edit detaches the edited events from the series.
+   */
+  @Test
+  public void testEditEventsFromDateDetachesOnStartChange() {
+    Set<DayOfWeek> weekdays = new HashSet<>();
+    weekdays.add(DayOfWeek.MONDAY);
+
+    LocalDateTime firstStart = LocalDateTime.of(2025, 6, 2, 10, 0);
+    LocalDateTime firstEnd = LocalDateTime.of(2025, 6, 2, 11, 0);
+    LocalDateTime secondStart = firstStart.plusWeeks(1);
+
+    calendar.createEventSeries("Meeting", firstStart, firstEnd, weekdays, 3);
+
+    assertTrue(calendar.editEventsFromDate("location", "Meeting", secondStart, "Room 5"));
+    assertNull(calendar.findEventBySubjectAndStart("Meeting", firstStart).getLocation());
+    assertEquals("Room 5",
+            calendar.findEventBySubjectAndStart("Meeting", secondStart).getLocation());
+
+    assertTrue(calendar.editEvent("description", "Meeting", secondStart,
+            secondStart.plusHours(1), "Agenda"));
+    assertFalse(calendar.editEntireSeries("start", "Meeting", firstStart, "garbage"));
+    assertFalse(calendar.editEventsFromDate("START", "Meeting", secondStart, "garbage"));
+    assertFalse(calendar.editEntireSeries("colour", "Meeting", firstStart, "blue"));
+    for (int week = 0; week < 3; week++) {
+      assertNotNull(calendar.findEventBySubjectAndStart("Meeting",
+              firstStart.plusWeeks(week)).getSeriesId());
+    }
+    assertEquals(firstEnd,
+            calendar.findEventBySubjectAndStart("Meeting", firstStart).getEndDateTime());
+
+    assertTrue(calendar.editEventsFromDate("start", "Meeting", secondStart,
+            "2025-06-09T09:00"));
+    assertNull(calendar.findEventBySubjectAndStart("Meeting",
+            LocalDateTime.of(2025, 6, 9, 9, 0)).getSeriesId());
+
+    assertTrue(calendar.editEntireSeries("location", "Meeting", firstStart, "Room 7"));
+    assertEquals("Room 7",
+            calendar.findEventBySubjectAndStart("Meeting", firstStart).getLocation());
+    assertEquals("Room 5", calendar.findEventBySubjectAndStart("Meeting",
+            LocalDateTime.of(2025, 6, 9, 9, 0)).getLocation());
+  }
+
+  /**
+   * Test a time edit fails without changing anything when a series occurrence collides
+   * with a stored event renamed onto the series.
+   */
+  @Test
+  public void testSeriesDetachCollision() {
+    Set<DayOfWeek> mondays = new HashSet<>();
+    mondays.add(DayOfWeek.MONDAY);
+    LocalDateTime first = LocalDateTime.of(2024, 3, 4, 9, 0);
+    LocalDateTime second = first.plusWeeks(1);
+    calendar.createEventSeries("S", first, first.plusHours(1), mondays, 3);
+    calendar.createEvent("X", second, second.plusHours(1));
+    assertTrue(calendar.editEvent("subject", "X", second, second.plusHours(1), "S"));
+
+    assertTrue(calendar.editEntireSeries("location", "S", first, "Room 1"));
+    assertFalse(calendar.editEntireSeries("end", "S", first, "2024-03-04T11:00"));
+
+    List<Event> day = calendar.getEventsOnDate(second.toLocalDate());
+    assertEquals(2, day.size());
+    int members = 0;
+    for (Event event : day) {
+      assertEquals(second.plusHours(1), event.getEndDateTime());
+      if (event.getSeriesId() != null) {
+        members++;
+        assertEquals("Room 1", event.getLocation());
+      }
+    }
+    assertEquals(1, members);
+    assertEquals(first.plusHours(1),
+            calendar.findEventBySubjectAndStart("S", first).getEndDateTime());
+  }
+}
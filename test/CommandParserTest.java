@@ -0,0 +1,159 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import controller.CalendarCommand;
+import controller.CommandParser;
+import controller.CommandSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CommandParser functionality.
+ */
+class CommandParserTest {
+
+  /**
+   * Test event creation commands are parsed into typed arguments.
+   */
+  @Test
+  @DisplayName("Test create event commands parse into typed arguments")
+  void testCreateEvent() throws CommandSyntaxException {
+    CalendarCommand.CreateEvent single = (CalendarCommand.CreateEvent) CommandParser.parse(
+            "create event \"Team Meeting\" from 2025-05-05T09:00 to 2025-05-05T10:30");
+    assertEquals("Team Meeting", single.getSubject());
+    assertEquals(LocalDateTime.of(2025, 5, 5, 9, 0), single.getStart());
+    assertEquals(LocalDateTime.of(2025, 5, 5, 10, 30), single.getEnd());
+    assertFalse(single.isAllDay());
+    assertFalse(single.isRecurring());
+
+    CalendarCommand.CreateEvent series = (CalendarCommand.CreateEvent) CommandParser.parse(
+            "create event Standup on 2025-05-05 repeats MWF for 6 times");
+    assertTrue(series.isAllDay());
+    assertEquals(LocalDate.of(2025, 5, 5), series.getDate());
+    assertEquals(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY),
+            series.getWeekdays());
+    assertEquals(6, series.getOccurrences());
+    assertNull(series.getUntil());
+
+    CalendarCommand.CreateEvent until = (CalendarCommand.CreateEvent) CommandParser.parse(
+            "create event Gym from 2025-05-06T18:00 to 2025-05-06T19:00 repeats TR "
+                    + "until 2025-06-30");
+    assertTrue(until.isRecurring());
+    assertEquals(-1, until.getOccurrences());
+    assertEquals(LocalDate.of(2025, 6, 30), until.getUntil());
+  }
+
+  /**
+   * Test dates the fast path cannot decode keep the formatter's resolution.
+   */
+  @Test
+  @DisplayName("Test unusual dates resolve as the date formatters resolve them")
+  void testDateFallback() throws CommandSyntaxException {
+    CalendarCommand.TimeQuery clamped = (CalendarCommand.TimeQuery) CommandParser.parse(
+            "print events on 2025-02-30");
+    assertEquals(LocalDate.of(2025, 2, 28), clamped.getDate());
+
+    CalendarCommand.TimeQuery midnight = (CalendarCommand.TimeQuery) CommandParser.parse(
+            "show status 2025-05-05T24:00");
+    assertEquals(LocalDateTime.of(2025, 5, 6, 0, 0), midnight.getFrom());
+
+    CommandSyntaxException bad = assertThrows(CommandSyntaxException.class,
+        () -> CommandParser.parse("show status 2025-13-01T09:00"));
+    assertEquals(CommandSyntaxException.Reason.DATE_TIME, bad.getReason());
+  }
+
+  /**
+   * Test syntax errors report the command they were meant to be and why they failed.
+   */
+  @Test
+  @DisplayName("Test syntax errors carry the command kind and reason")
+  void testErrors() {
+    CommandSyntaxException unknown = assertThrows(CommandSyntaxException.class,
+        () -> CommandParser.parse("schedule lunch"));
+    assertNull(unknown.getKind());
+    assertEquals(CommandSyntaxException.Reason.UNKNOWN_COMMAND, unknown.getReason());
+
+    CommandSyntaxException quote = assertThrows(CommandSyntaxException.class,
+        () -> CommandParser.parse("create event \"Lunch on 2025-05-05"));
+    assertEquals(CalendarCommand.Kind.CREATE_EVENT, quote.getKind());
+    assertEquals("Missing closing quote for subject.", quote.getMessage());
+
+    CommandSyntaxException count = assertThrows(CommandSyntaxException.class,
+        () -> CommandParser.parse("create event Lunch on 2025-05-05 repeats M for 99999999999 "
+                + "times"));
+    assertEquals(CommandSyntaxException.Reason.COUNT, count.getReason());
+
+    CommandSyntaxException missing = assertThrows(CommandSyntaxException.class,
+        () -> CommandParser.parse("show status"));
+    assertEquals(CommandSyntaxException.Reason.MISSING_ARGUMENT, missing.getReason());
+
+    CommandSyntaxException copy = assertThrows(CommandSyntaxException.class,
+        () -> CommandParser.parse("copy events on 2025-05-05 --target Home"));
+    assertEquals(CalendarCommand.Kind.COPY_EVENTS_ON, copy.getKind());
+    assertEquals(CommandSyntaxException.Reason.SYNTAX, copy.getReason());
+  }
+
+  /**
+   * Test commands are selected by their full keywords, whatever order they are tried in.
+   */
+  @Test
+  @DisplayName("Test leading keywords select the command kind")
+  void testKindOf() throws CommandSyntaxException {
+    assertEquals(CalendarCommand.Kind.COPY_EVENTS_BETWEEN,
+            CommandParser.kindOf("copy events between 2025-05-01 and 2025-05-02"));
+    assertEquals(CalendarCommand.Kind.COPY_EVENT, CommandParser.kindOf("copy event X on"));
+    assertEquals(CalendarCommand.Kind.EDIT_EVENT, CommandParser.kindOf("edit series"));
+    assertEquals(CalendarCommand.Kind.SHOW_STATUS, CommandParser.kindOf("show \t status"));
+    assertEquals(CalendarCommand.Kind.EXIT, CommandParser.kindOf("ExIt"));
+    assertNull(CommandParser.kindOf("Show status"));
+    assertNull(CommandParser.kindOf("copy events"));
+    assertNull(CommandParser.kindOf("printevents"));
+
+    assertEquals(CalendarCommand.Kind.HELP, CommandParser.parse("  HELP ").getKind());
+    assertEquals(CalendarCommand.Kind.LIST_CALENDARS,
+            CommandParser.parse("list   calendars").getKind());
+    assertThrows(CommandSyntaxException.class, () -> CommandParser.parse("exit now"));
+    assertThrows(CommandSyntaxException.class, () -> CommandParser.parse("copy events"));
+  }
+
+  /**
+   * Test free slot queries parse their length, range, calendar list, and limit.
+   */
+  @Test
+  @DisplayName("Test find free commands parse into typed arguments")
+  void testFindFree() throws CommandSyntaxException {
+    CalendarCommand.FreeSlotQuery query = (CalendarCommand.FreeSlotQuery) CommandParser.parse(
+            "find free 45 minutes from 2025-05-05T09:00 to 2025-05-09T17:00 "
+                    + "--calendars work,personal,travel --limit 3");
+    assertEquals(45, query.getMinutes());
+    assertEquals(LocalDateTime.of(2025, 5, 5, 9, 0), query.getFrom());
+    assertEquals(LocalDateTime.of(2025, 5, 9, 17, 0), query.getTo());
+    assertEquals(List.of("work", "personal", "travel"), query.getCalendars());
+    assertEquals(3, query.getLimit());
+
+    CalendarCommand.FreeSlotQuery first = (CalendarCommand.FreeSlotQuery) CommandParser.parse(
+            "find free 30 minutes from 2025-05-05T09:00 to 2025-05-05T17:00 --calendars work");
+    assertEquals(List.of("work"), first.getCalendars());
+    assertEquals(1, first.getLimit());
+
+    CommandSyntaxException empty = assertThrows(CommandSyntaxException.class,
+        () -> CommandParser.parse("find free 30 minutes from 2025-05-05T09:00 to "
+                + "2025-05-05T17:00 --calendars work,,home"));
+    assertEquals(CalendarCommand.Kind.FIND_FREE_SLOTS, empty.getKind());
+    assertEquals(CommandSyntaxException.Reason.SYNTAX, empty.getReason());
+    CommandSyntaxException huge = assertThrows(CommandSyntaxException.class,
+        () -> CommandParser.parse("find free 99999999999 minutes from 2025-05-05T09:00 to "
+                + "2025-05-05T17:00 --calendars work"));
+    assertEquals(CommandSyntaxException.Reason.COUNT, huge.getReason());
+  }
+}
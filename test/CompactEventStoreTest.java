@@ -0,0 +1,184 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.CompactEventStore;
+import model.Event;
+import model.EventKey;
+import model.EventStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for CompactEventStore functionality.
+ */
+class CompactEventStoreTest {
+
+  private CompactEventStore store;
+
+  /**
+   * Set up test environment before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    store = new CompactEventStore();
+  }
+
+  /**
+   * Test events round-trip through the primitive columns.
+   */
+  @Test
+  @DisplayName("Test stored events keep all their properties")
+  void testRoundTrip() {
+    Event event = new Event("Lunch", LocalDateTime.of(2025, 3, 4, 12, 0),
+            LocalDateTime.of(2025, 3, 4, 13, 0), "Team", "Cafe", EventStatus.PRIVATE);
+    event.setSeriesId("series-1");
+    assertTrue(store.add(event));
+    assertTrue(store.add(new Event("Offsite", LocalDate.of(2025, 3, 5))));
+    assertFalse(store.add(new Event("Lunch", LocalDateTime.of(2025, 3, 4, 12, 0),
+            LocalDateTime.of(2025, 3, 4, 13, 0))));
+
+    Event found = store.find(EventKey.of(event));
+    assertEquals("Team", found.getDescription());
+    assertEquals("Cafe", found.getLocation());
+    assertEquals(EventStatus.PRIVATE, found.getStatus());
+    assertEquals("series-1", found.getSeriesId());
+    assertFalse(found.isAllDay());
+    assertTrue(store.getEventsOnDate(LocalDate.of(2025, 3, 5)).get(0).isAllDay());
+    assertEquals(2, store.size());
+  }
+
+  /**
+   * Test range, day, and busy queries including long events and boundaries.
+   */
+  @Test
+  @DisplayName("Test range, day, and busy queries")
+  void testQueries() {
+    store.add(new Event("Trip", LocalDateTime.of(2025, 3, 1, 9, 0),
+            LocalDateTime.of(2025, 3, 10, 17, 0)));
+    store.add(new Event("Call", LocalDateTime.of(2025, 3, 8, 10, 0),
+            LocalDateTime.of(2025, 3, 8, 10, 30)));
+
+    List<Event> range = store.getEventsInRange(LocalDateTime.of(2025, 3, 8, 10, 30),
+            LocalDateTime.of(2025, 3, 8, 11, 0));
+    assertEquals(2, range.size());
+    assertEquals("Trip", range.get(0).getSubject());
+    assertEquals(1, store.countInRange(LocalDateTime.of(2025, 3, 8, 10, 30, 1),
+            LocalDateTime.of(2025, 3, 8, 11, 0)));
+    assertEquals(2, store.getEventsOnDate(LocalDate.of(2025, 3, 8)).size());
+    assertEquals(1, store.getEventsOnDate(LocalDate.of(2025, 3, 10)).size());
+    assertTrue(store.anyActiveAt(LocalDateTime.of(2025, 3, 10, 16, 59)));
+    assertFalse(store.anyActiveAt(LocalDateTime.of(2025, 3, 10, 17, 0)));
+  }
+
+  /**
+   * Test an unordered batch is merged into the stored rows in start order, skipping
+   * duplicates and unstorable times, and that series lookups follow adds, edits, and
+   * removals.
+   */
+  @Test
+  @DisplayName("Test unordered batches and series lookups")
+  void testBatchMergeAndSeriesLookup() {
+    LocalDateTime nine = LocalDateTime.of(2025, 3, 4, 9, 0);
+    store.add(new Event("Standup", nine, nine.plusMinutes(15)));
+    store.add(new Event("Review", nine.plusDays(2), nine.plusDays(2).plusHours(1)));
+
+    List<Event> batch = new ArrayList<>();
+    for (int day = 4; day >= 0; day--) {
+      Event sync = new Event("Sync", nine.plusDays(day), nine.plusDays(day).plusHours(1));
+      sync.setSeriesId("series-9");
+      batch.add(sync);
+    }
+    batch.add(new Event("Standup", nine, nine.plusMinutes(15)));
+    batch.add(new Event("Early", nine.minusDays(1), nine.minusDays(1).plusHours(1)));
+    batch.add(new Event("Early", nine.minusDays(1), nine.minusDays(1).plusHours(1)));
+    batch.add(new Event("Odd", nine.plusSeconds(5), nine.plusHours(1)));
+    assertEquals(6, store.addAll(batch));
+    assertEquals(8, store.size());
+
+    List<Event> all = store.getAllEvents();
+    for (int i = 1; i < all.size(); i++) {
+      assertFalse(all.get(i).getStartDateTime().isBefore(all.get(i - 1).getStartDateTime()));
+    }
+    assertEquals("Early", all.get(0).getSubject());
+    assertEquals("Standup", all.get(1).getSubject());
+    assertEquals("Sync", all.get(2).getSubject());
+    assertEquals("Review", store.findByStart(nine.plusDays(2)).get(0).getSubject());
+    assertEquals(2, store.getEventsOnDate(LocalDate.of(2025, 3, 6)).size());
+
+    assertEquals(5, store.getSeriesMembers("series-9").size());
+    List<Event> later = store.getSeriesMembersFrom("series-9", nine.plusDays(2));
+    assertEquals(3, later.size());
+    assertEquals(nine.plusDays(2), later.get(0).getStartDateTime());
+
+    later.get(0).setSeriesId(null);
+    assertTrue(store.remove(later.get(2)));
+    later.get(1).setStartDateTime(nine.plusDays(10));
+    List<Event> members = store.getSeriesMembers("series-9");
+    assertEquals(3, members.size());
+    assertEquals(nine.plusDays(10), members.get(2).getStartDateTime());
+    assertTrue(store.getSeriesMembers("series-0").isEmpty());
+  }
+
+  /**
+   * Test edits made through a view are written back to the store.
+   */
+  @Test
+  @DisplayName("Test views write edits back")
+  void testViewWriteBack() {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 4, 12, 0);
+    store.add(new Event("Lunch", start, start.plusHours(1)));
+
+    Event view = store.findByStart(start).get(0);
+    view.setLocation("Patio");
+    view.setStartDateTime(start.plusDays(1));
+    view.setEndDateTime(start.plusDays(1).plusHours(1));
+
+    assertTrue(store.findByStart(start).isEmpty());
+    Event moved = store.findByStart(start.plusDays(1)).get(0);
+    assertEquals("Patio", moved.getLocation());
+
+    assertTrue(store.remove(moved));
+    assertEquals(0, store.size());
+    view.setSubject("Ignored");
+    assertEquals(0, store.size());
+  }
+
+  /**
+   * Test times that cannot be stored at minute precision are rejected, whether added
+   * or set on a view.
+   */
+  @Test
+  @DisplayName("Test sub-minute times are rejected")
+  void testRejectsSubMinuteTimes() {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 4, 12, 0, 30);
+    assertFalse(store.add(new Event("Odd", start, start.plusHours(1))));
+    assertNull(store.find(new EventKey("Odd", start, start.plusHours(1))));
+    assertEquals(0, store.size());
+
+    LocalDateTime noon = start.withSecond(0);
+    store.add(new Event("Lunch", noon, noon.plusHours(1)));
+    Event view = store.findByStart(noon).get(0);
+    assertThrows(IllegalArgumentException.class, () -> view.setStartDateTime(start));
+    assertThrows(IllegalArgumentException.class,
+            () -> view.setEndDateTime(start.plusHours(1)));
+    assertEquals(noon, view.getStartDateTime());
+    assertEquals(noon.plusHours(1), view.getEndDateTime());
+    Event stored = store.findByStart(noon).get(0);
+    assertEquals(noon.plusHours(1), stored.getEndDateTime());
+    assertEquals(1, store.size());
+
+    assertTrue(store.remove(view));
+    view.setStartDateTime(start);
+    assertEquals(start, view.getStartDateTime());
+  }
+}
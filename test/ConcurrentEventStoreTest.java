@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import model.CalendarInstance;
+import model.ConcurrentEventStore;
+import model.Event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for ConcurrentEventStore functionality.
+ */
+class ConcurrentEventStoreTest {
+
+  private ConcurrentEventStore store;
+
+  /**
+   * Set up test environment before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    store = new ConcurrentEventStore();
+  }
+
+  /**
+   * Test long events are found by queries that start after them.
+   */
+  @Test
+  @DisplayName("Test queries find long events that start before the range")
+  void testLongEventsFound() {
+    LocalDateTime start = LocalDateTime.of(2025, 6, 1, 9, 0);
+    assertTrue(store.add(new Event("Conference", start, start.plusDays(10))));
+    for (int day = 1; day <= 8; day++) {
+      store.add(new Event("Standup", start.plusDays(day), start.plusDays(day).plusMinutes(15)));
+    }
+
+    assertEquals(1, store.getEventsInRange(start.plusDays(9), start.plusDays(9).plusHours(1))
+            .size());
+    assertTrue(store.anyActiveAt(start.plusDays(9).plusHours(5)));
+    assertFalse(store.anyActiveAt(start.plusDays(10)));
+  }
+
+  /**
+   * Test racing duplicate adds store exactly one event per key.
+   */
+  @Test
+  @DisplayName("Test concurrent duplicate adds keep one event per key")
+  void testConcurrentAdds() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    List<Future<Integer>> results = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      results.add(pool.submit(() -> {
+        int added = 0;
+        for (int i = 0; i < 1000; i++) {
+          LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(i * 20L);
+          if (store.add(new Event("Event " + i, start, start.plusMinutes(10)))) {
+            added++;
+          }
+          store.getEventsInRange(start.minusHours(1), start);
+        }
+        return added;
+      }));
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+    int added = 0;
+    for (Future<Integer> result : results) {
+      added += result.get();
+    }
+    assertEquals(1000, added);
+    assertEquals(1000, store.size());
+    assertEquals(1000, store.getAllEvents().size());
+  }
+
+  /**
+   * Test calendars over the store accept parallel imports.
+   */
+  @Test
+  @DisplayName("Test calendar imports run in parallel over the concurrent store")
+  void testCalendarParallelImport() throws Exception {
+    CalendarInstance calendar = new CalendarInstance("Shared", ZoneId.of("UTC"), store);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    for (int t = 0; t < 4; t++) {
+      int thread = t;
+      pool.submit(() -> {
+        for (int i = 0; i < 500; i++) {
+          LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i);
+          calendar.createEvent("Import " + thread, start, start.plusMinutes(30));
+          calendar.isBusy(start.plusMinutes(5));
+        }
+      });
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+    assertEquals(2000, calendar.getAllEvents().size());
+    assertEquals(4, calendar.getEventsOnDate(LocalDateTime.of(2025, 1, 3, 0, 0)
+            .toLocalDate()).stream().filter(e -> e.getStartDateTime().getHour() == 7).count());
+  }
+}
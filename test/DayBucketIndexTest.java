@@ -0,0 +1,92 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import model.CalendarInstance;
+import model.DayBucketIndex;
+import model.Event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for DayBucketIndex functionality.
+ */
+class DayBucketIndexTest {
+
+  private DayBucketIndex index;
+
+  /**
+   * Set up test environment before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    index = new DayBucketIndex();
+  }
+
+  /**
+   * Test that day lookups come back sorted by start time.
+   */
+  @Test
+  @DisplayName("Test day lookup returns events sorted by start")
+  void testEventsSortedByStart() {
+    index.add(new Event("Lunch", LocalDateTime.of(2024, 9, 15, 12, 0),
+            LocalDateTime.of(2024, 9, 15, 13, 0)));
+    index.add(new Event("Breakfast", LocalDateTime.of(2024, 9, 15, 8, 0),
+            LocalDateTime.of(2024, 9, 15, 9, 0)));
+    index.add(new Event("Dinner", LocalDateTime.of(2024, 9, 15, 19, 0),
+            LocalDateTime.of(2024, 9, 15, 20, 0)));
+
+    List<Event> events = index.getEventsOnDate(LocalDate.of(2024, 9, 15));
+
+    assertEquals(3, events.size());
+    assertEquals("Breakfast", events.get(0).getSubject());
+    assertEquals("Lunch", events.get(1).getSubject());
+    assertEquals("Dinner", events.get(2).getSubject());
+  }
+
+  /**
+   * Test that multi-day events are found on every day they span.
+   */
+  @Test
+  @DisplayName("Test multi-day events are registered on every spanned day")
+  void testMultiDayEvent() {
+    Event trip = new Event("Trip", LocalDateTime.of(2024, 9, 14, 18, 0),
+            LocalDateTime.of(2024, 9, 17, 10, 0));
+    index.add(trip);
+
+    assertTrue(index.getEventsOnDate(LocalDate.of(2024, 9, 13)).isEmpty());
+    for (int day = 14; day <= 17; day++) {
+      assertEquals(1, index.getEventsOnDate(LocalDate.of(2024, 9, day)).size());
+    }
+    assertTrue(index.getEventsOnDate(LocalDate.of(2024, 9, 18)).isEmpty());
+
+    index.remove(trip);
+    for (int day = 14; day <= 17; day++) {
+      assertTrue(index.getEventsOnDate(LocalDate.of(2024, 9, day)).isEmpty());
+    }
+  }
+
+  /**
+   * Test that a calendar moves an event between days when its start is edited.
+   */
+  @Test
+  @DisplayName("Test calendar day lookup follows edited events")
+  void testCalendarDayLookupAfterEdit() {
+    CalendarInstance calendar = new CalendarInstance("Work",
+            ZoneId.of("America/New_York"));
+    calendar.createEvent("Review", LocalDateTime.of(2024, 9, 15, 9, 0),
+            LocalDateTime.of(2024, 9, 16, 10, 0));
+
+    calendar.editEvent("start", "Review", LocalDateTime.of(2024, 9, 15, 9, 0),
+            LocalDateTime.of(2024, 9, 16, 10, 0), "2024-09-16T09:00");
+
+    assertTrue(calendar.getEventsOnDate(LocalDate.of(2024, 9, 15)).isEmpty());
+    assertEquals(1, calendar.getEventsOnDate(LocalDate.of(2024, 9, 16)).size());
+  }
+}
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Set;
 
 import model.CalendarInstance;
+import model.CopyResult;
 import model.Event;
 import model.EventCopyService;
 import model.EventStatus;
@@ -400,4 +401,100 @@ class EventCopyServiceTest {
 
     assertEquals(originalDurationMinutes, copiedDurationMinutes);
   }
-}
\ No newline at end of file
+
+  /**
+   * Test copied times match the standard conversion around daylight saving changes,
+   * including years covered only by the zones' recurring rules.
+   */
+  @Test
+  @DisplayName("Test copy converts times correctly across daylight saving changes")
+  void testCopyAcrossDaylightSavingChanges() {
+    String[][] pairs = {
+        {"America/New_York", "Europe/London"},
+        {"Europe/London", "Australia/Sydney"},
+        {"Europe/London", "Europe/Paris"},
+        {"UTC", "Australia/Lord_Howe"},
+        {"Asia/Kolkata", "America/Los_Angeles"}};
+    LocalDate[] days = {LocalDate.of(2024, 3, 10), LocalDate.of(2024, 3, 31),
+        LocalDate.of(2024, 10, 6), LocalDate.of(2024, 10, 27), LocalDate.of(2024, 11, 3),
+        LocalDate.of(2040, 3, 11), LocalDate.of(2040, 11, 4), LocalDate.of(2040, 12, 31)};
+    for (String[] pair : pairs) {
+      ZoneId from = ZoneId.of(pair[0]);
+      ZoneId to = ZoneId.of(pair[1]);
+      CalendarInstance source = new CalendarInstance("Source", from);
+      LocalDateTime original = LocalDateTime.of(2024, 1, 2, 9, 0);
+      source.createEvent("Call", original, original.plusMinutes(30));
+      for (LocalDate day : days) {
+        for (LocalDateTime time = day.atStartOfDay(); time.isBefore(day.plusDays(1).atStartOfDay());
+             time = time.plusMinutes(10)) {
+          CalendarInstance target = new CalendarInstance("Target", to);
+          assertTrue(copyService.copyEvent("Call", original, source, target, time));
+          LocalDateTime expected = day.atTime(
+                  time.atZone(from).withZoneSameInstant(to).toLocalTime());
+          assertNotNull(target.findEventBySubjectAndStart("Call", expected),
+                  pair[0] + " -> " + pair[1] + " at " + time);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test a batch copy with a conflict reports it and leaves the target unchanged.
+   */
+  @Test
+  @DisplayName("Test batch copy is rejected whole when any event conflicts")
+  void testCopyAllRejectsConflictingBatch() {
+    LocalDate sourceDate = LocalDate.of(2024, 9, 15);
+    sourceCalendar.createEvent("Meeting 1", sourceDate.atTime(9, 0), sourceDate.atTime(10, 0));
+    sourceCalendar.createEvent("Meeting 2", sourceDate.atTime(14, 0),
+            sourceDate.atTime(15, 0));
+
+    LocalDate targetDate = LocalDate.of(2024, 9, 16);
+    targetCalendar.createEvent("Meeting 2", targetDate.atTime(14, 0),
+            targetDate.atTime(15, 0));
+
+    CopyResult result = copyService.copyAllOnDate(sourceDate, sourceCalendar,
+            targetCalendar, targetDate);
+
+    assertFalse(result.isComplete());
+    assertTrue(result.getCopied().isEmpty());
+    assertEquals(1, result.getConflicts().size());
+    CopyResult.Conflict conflict = result.getConflicts().get(0);
+    assertEquals(CopyResult.Reason.DUPLICATE_IN_TARGET, conflict.getReason());
+    assertEquals("Meeting 2", conflict.getSource().getSubject());
+    assertEquals(targetDate.atTime(14, 0), conflict.getCopy().getStartDateTime());
+    assertEquals(1, targetCalendar.getAllEvents().size());
+  }
+
+  /**
+   * Test a batch copy over a range adds every event when nothing conflicts.
+   */
+  @Test
+  @DisplayName("Test batch copy over a range adds every event")
+  void testCopyAllInRange() {
+    Set<DayOfWeek> weekdays = new HashSet<>();
+    weekdays.add(DayOfWeek.MONDAY);
+    weekdays.add(DayOfWeek.THURSDAY);
+    sourceCalendar.createEventSeries("Sync", LocalDateTime.of(2024, 9, 2, 10, 0),
+            LocalDateTime.of(2024, 9, 2, 11, 0), weekdays, 30, null, null,
+            EventStatus.PUBLIC, 1);
+    sourceCalendar.createEvent("Review", LocalDateTime.of(2024, 9, 3, 16, 0),
+            LocalDateTime.of(2024, 9, 3, 17, 0));
+
+    CopyResult result = copyService.copyAllInRange(LocalDate.of(2024, 9, 1),
+            LocalDate.of(2024, 12, 31), sourceCalendar, timezoneTargetCalendar,
+            LocalDate.of(2025, 1, 1));
+
+    assertTrue(result.isComplete());
+    assertEquals(31, result.getCopied().size());
+    assertEquals(31, timezoneTargetCalendar.getAllEvents().size());
+    assertNotNull(timezoneTargetCalendar.findEventBySubjectAndStart("Review",
+            LocalDateTime.of(2025, 1, 3, 21, 0)));
+
+    CopyResult again = copyService.copyAllInRange(LocalDate.of(2024, 9, 1),
+            LocalDate.of(2024, 12, 31), sourceCalendar, timezoneTargetCalendar,
+            LocalDate.of(2025, 1, 1));
+    assertEquals(31, again.getConflicts().size());
+    assertEquals(31, timezoneTargetCalendar.getAllEvents().size());
+  }
+}
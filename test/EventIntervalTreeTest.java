@@ -0,0 +1,165 @@
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.Event;
+import model.EventIntervalTree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for EventIntervalTree functionality.
+ */
+class EventIntervalTreeTest {
+
+  private EventIntervalTree tree;
+
+  /**
+   * Set up test environment before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    tree = new EventIntervalTree();
+  }
+
+  /**
+   * Test that range queries return overlapping events in start order.
+   */
+  @Test
+  @DisplayName("Test range query returns events sorted by start")
+  void testRangeQuerySortedByStart() {
+    Event late = new Event("Late", LocalDateTime.of(2024, 9, 15, 16, 0),
+            LocalDateTime.of(2024, 9, 15, 17, 0));
+    Event early = new Event("Early", LocalDateTime.of(2024, 9, 15, 9, 0),
+            LocalDateTime.of(2024, 9, 15, 10, 0));
+    Event outside = new Event("Outside", LocalDateTime.of(2024, 9, 20, 9, 0),
+            LocalDateTime.of(2024, 9, 20, 10, 0));
+    tree.insert(late);
+    tree.insert(outside);
+    tree.insert(early);
+
+    List<Event> result = tree.query(LocalDateTime.of(2024, 9, 15, 0, 0),
+            LocalDateTime.of(2024, 9, 15, 23, 59));
+
+    assertEquals(2, result.size());
+    assertEquals("Early", result.get(0).getSubject());
+    assertEquals("Late", result.get(1).getSubject());
+  }
+
+  /**
+   * Test that long events starting before the range are still found.
+   */
+  @Test
+  @DisplayName("Test range query finds events that start before the range")
+  void testRangeQueryFindsLongEvents() {
+    Event conference = new Event("Conference", LocalDateTime.of(2024, 9, 1, 9, 0),
+            LocalDateTime.of(2024, 9, 30, 17, 0));
+    tree.insert(conference);
+    for (int day = 2; day <= 28; day++) {
+      tree.insert(new Event("Standup", LocalDateTime.of(2024, 9, day, 9, 0),
+              LocalDateTime.of(2024, 9, day, 9, 15)));
+    }
+
+    List<Event> result = tree.query(LocalDateTime.of(2024, 9, 29, 0, 0),
+            LocalDateTime.of(2024, 9, 29, 23, 0));
+
+    assertEquals(1, result.size());
+    assertEquals("Conference", result.get(0).getSubject());
+  }
+
+  /**
+   * Test that range boundaries are inclusive on both ends.
+   */
+  @Test
+  @DisplayName("Test range query boundaries are inclusive")
+  void testRangeQueryInclusiveBoundaries() {
+    tree.insert(new Event("Touching", LocalDateTime.of(2024, 9, 15, 9, 0),
+            LocalDateTime.of(2024, 9, 15, 10, 0)));
+
+    assertEquals(1, tree.query(LocalDateTime.of(2024, 9, 15, 10, 0),
+            LocalDateTime.of(2024, 9, 15, 11, 0)).size());
+    assertEquals(1, tree.query(LocalDateTime.of(2024, 9, 15, 8, 0),
+            LocalDateTime.of(2024, 9, 15, 9, 0)).size());
+    assertEquals(0, tree.query(LocalDateTime.of(2024, 9, 15, 10, 1),
+            LocalDateTime.of(2024, 9, 15, 11, 0)).size());
+  }
+
+  /**
+   * Test stabbing queries use half-open intervals.
+   */
+  @Test
+  @DisplayName("Test stabbing query uses start-inclusive, end-exclusive spans")
+  void testAnyActiveAt() {
+    tree.insert(new Event("Meeting", LocalDateTime.of(2024, 9, 15, 9, 0),
+            LocalDateTime.of(2024, 9, 15, 10, 0)));
+
+    assertTrue(tree.anyActiveAt(LocalDateTime.of(2024, 9, 15, 9, 0)));
+    assertTrue(tree.anyActiveAt(LocalDateTime.of(2024, 9, 15, 9, 59)));
+    assertFalse(tree.anyActiveAt(LocalDateTime.of(2024, 9, 15, 10, 0)));
+    assertFalse(tree.anyActiveAt(LocalDateTime.of(2024, 9, 15, 8, 59)));
+  }
+
+  /**
+   * Test removing events, including events that share a start time.
+   */
+  @Test
+  @DisplayName("Test remove keeps remaining events queryable")
+  void testRemove() {
+    LocalDateTime start = LocalDateTime.of(2024, 9, 15, 9, 0);
+    Event first = new Event("First", start, start.plusHours(1));
+    Event second = new Event("Second", start, start.plusHours(3));
+    tree.insert(first);
+    tree.insert(second);
+
+    assertTrue(tree.remove(second));
+    assertFalse(tree.remove(second));
+    assertEquals(1, tree.size());
+    assertFalse(tree.anyActiveAt(start.plusHours(2)));
+    assertTrue(tree.anyActiveAt(start.plusMinutes(30)));
+  }
+
+  /**
+   * Test the tree against a linear scan after many inserts and removals.
+   */
+  @Test
+  @DisplayName("Test tree matches a linear scan after many updates")
+  void testMatchesLinearScan() {
+    List<Event> all = new ArrayList<>();
+    LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+    for (int i = 0; i < 2000; i++) {
+      LocalDateTime start = base.plusMinutes((i * 7919L) % 100000);
+      Event event = new Event("E" + i, start, start.plusMinutes(15 + (i % 300)));
+      all.add(event);
+      tree.insert(event);
+    }
+    for (int i = 0; i < all.size(); i += 3) {
+      assertTrue(tree.remove(all.get(i)));
+    }
+    List<Event> remaining = new ArrayList<>();
+    for (int i = 0; i < all.size(); i++) {
+      if (i % 3 != 0) {
+        remaining.add(all.get(i));
+      }
+    }
+
+    LocalDateTime from = base.plusMinutes(40000);
+    LocalDateTime to = base.plusMinutes(45000);
+    long expected = remaining.stream()
+            .filter(e -> !e.getEndDateTime().isBefore(from) && !e.getStartDateTime().isAfter(to))
+            .count();
+    List<Event> result = tree.query(from, to);
+
+    assertEquals(expected, result.size());
+    for (int i = 1; i < result.size(); i++) {
+      assertFalse(result.get(i).getStartDateTime()
+              .isBefore(result.get(i - 1).getStartDateTime()));
+    }
+    assertEquals(remaining.size(), tree.size());
+  }
+}
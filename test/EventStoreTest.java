@@ -0,0 +1,126 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import model.CalendarInstance;
+import model.CompactEventStore;
+import model.ConcurrentEventStore;
+import model.Event;
+import model.EventKey;
+import model.IEventStore;
+import model.IndexedEventStore;
+import model.NaiveEventStore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class checking every IEventStore implementation against the same behavior.
+ */
+class EventStoreTest {
+
+  private static List<IEventStore> stores() {
+    List<IEventStore> stores = new ArrayList<>();
+    stores.add(new NaiveEventStore());
+    stores.add(new IndexedEventStore());
+    stores.add(new CompactEventStore());
+    stores.add(new ConcurrentEventStore());
+    return stores;
+  }
+
+  /**
+   * Test every store answers lookups and queries the same way.
+   */
+  @Test
+  @DisplayName("Test stores agree on lookups and queries")
+  void testStoresAgree() {
+    for (IEventStore store : stores()) {
+      String name = store.getClass().getSimpleName();
+      LocalDateTime start = LocalDateTime.of(2025, 4, 7, 9, 0);
+      Event standup = new Event("Standup", start, start.plusMinutes(15));
+      standup.setSeriesId("series-1");
+      Event later = new Event("Standup", start.plusDays(7), start.plusDays(7).plusMinutes(15));
+      later.setSeriesId("series-1");
+
+      assertTrue(store.add(later), name);
+      assertTrue(store.add(standup), name);
+      assertTrue(store.add(new Event("Trip", LocalDate.of(2025, 4, 8))), name);
+      assertFalse(store.add(new Event("Standup", start, start.plusMinutes(15))), name);
+
+      assertEquals(3, store.size(), name);
+      assertTrue(store.contains(EventKey.of(standup)), name);
+      assertEquals(1, store.findByStart(start).size(), name);
+      assertEquals(1, store.getEventsOnDate(LocalDate.of(2025, 4, 8)).size(), name);
+      assertEquals(2, store.getEventsInRange(start, start.plusDays(1).plusHours(1)).size(),
+              name);
+      assertTrue(store.anyActiveAt(start.plusMinutes(14)), name);
+      assertFalse(store.anyActiveAt(start.plusMinutes(15)), name);
+      assertEquals(2, store.getSeriesMembers("series-1").size(), name);
+      assertEquals(1, store.getSeriesMembersFrom("series-1", start.plusMinutes(1)).size(),
+              name);
+      assertEquals(start, store.getAllEvents().get(0).getStartDateTime(), name);
+    }
+  }
+
+  /**
+   * Test edits made through returned events are reflected in later queries.
+   */
+  @Test
+  @DisplayName("Test edits through returned events update every store")
+  void testEditsThroughReturnedEvents() {
+    for (IEventStore store : stores()) {
+      String name = store.getClass().getSimpleName();
+      LocalDateTime start = LocalDateTime.of(2025, 4, 7, 9, 0);
+      store.add(new Event("Review", start, start.plusHours(1)));
+
+      Event found = store.find(new EventKey("Review", start, start.plusHours(1)));
+      found.setStartDateTime(start.plusDays(2));
+      found.setEndDateTime(start.plusDays(2).plusHours(1));
+      found.setLocation("Room 4");
+
+      assertTrue(store.findByStart(start).isEmpty(), name);
+      assertEquals(1, store.getEventsOnDate(LocalDate.of(2025, 4, 9)).size(), name);
+      assertEquals("Room 4", store.findByStart(start.plusDays(2)).get(0).getLocation(), name);
+      assertTrue(store.remove(store.findByStart(start.plusDays(2)).get(0)), name);
+      assertEquals(0, store.size(), name);
+    }
+  }
+
+  /**
+   * Test calendars behave the same whichever store they use.
+   */
+  @Test
+  @DisplayName("Test calendar instances work over every store")
+  void testCalendarInstanceOverStores() {
+    for (IEventStore store : stores()) {
+      String name = store.getClass().getSimpleName();
+      CalendarInstance calendar = new CalendarInstance("Work",
+              ZoneId.of("America/New_York"), store);
+      LocalDateTime start = LocalDateTime.of(2025, 4, 7, 9, 0);
+      Set<DayOfWeek> weekdays = new HashSet<>();
+      weekdays.add(DayOfWeek.MONDAY);
+
+      assertTrue(calendar.createEventSeries("Sync", start, start.plusHours(1), weekdays, 3,
+              null, null, null, 1), name);
+      assertTrue(calendar.editEventsFromDate("start", "Sync", start.plusWeeks(1),
+              "2025-04-14T10:00"), name);
+      assertNotNull(calendar.findEventBySubjectAndStart("Sync",
+              LocalDateTime.of(2025, 4, 14, 10, 0)), name);
+      assertTrue(calendar.editEvent("location", "Sync", start, start.plusHours(1), "Lab"),
+              name);
+      assertEquals("Lab", calendar.findEventBySubjectAndStart("Sync", start).getLocation(),
+              name);
+      assertEquals(3, calendar.getAllEvents().size(), name);
+    }
+  }
+}
@@ -317,6 +317,27 @@ public class EventTest {
     assertFalse("Should not contain 'at' when location is empty", result.contains(" at "));
   }
 
+  /**
+   * Tests appendTo writes exactly the text toString returns.
+   */
+  @Test
+  public void testAppendToMatchesToString() throws Exception {
+    Event[] events = {
+      new Event("Review", LocalDateTime.of(2025, 11, 28, 14, 5),
+              LocalDateTime.of(2025, 11, 28, 16, 45), "desc", "Room 4", EventStatus.PUBLIC),
+      new Event("Holiday", LocalDate.of(2025, 1, 1), null, "  ", EventStatus.PUBLIC),
+      new Event("Launch", LocalDateTime.of(2025, 3, 9, 0, 0),
+              LocalDateTime.of(2025, 3, 9, 9, 30), null, null, EventStatus.PRIVATE)
+    };
+
+    for (Event event : events) {
+      StringBuilder text = new StringBuilder();
+      event.appendTo(text);
+      assertEquals(event.toString(), text.toString());
+    }
+    assertEquals("\u2022 Review (Nov 28, 14:05 - 16:45) at Room 4", events[0].toString());
+  }
+
   /**
    * Tests series ID functionality.
    */
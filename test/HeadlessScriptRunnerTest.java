@@ -0,0 +1,175 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import controller.CalendarCommandHandler;
+import controller.HeadlessScriptRunner;
+import model.CalendarManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for HeadlessScriptRunner functionality.
+ */
+class HeadlessScriptRunnerTest {
+
+  @TempDir
+  Path dir;
+
+  private ByteArrayOutputStream output;
+  private PrintStream originalOut;
+  private PrintStream originalErr;
+
+  /**
+   * Send standard output and error to one buffer, so their interleaving is checked too.
+   */
+  @BeforeEach
+  void setUp() {
+    output = new ByteArrayOutputStream();
+    originalOut = System.out;
+    originalErr = System.err;
+    PrintStream capture = new PrintStream(output, true);
+    System.setOut(capture);
+    System.setErr(capture);
+  }
+
+  /**
+   * Restore standard output and error.
+   */
+  @AfterEach
+  void tearDown() {
+    System.setOut(originalOut);
+    System.setErr(originalErr);
+  }
+
+  /**
+   * Test a script spanning many batches prints what running it line by line prints.
+   */
+  @Test
+  @DisplayName("Test pipelined run matches a line-by-line run")
+  void testMatchesSequentialRun() throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add("# nightly import");
+    lines.add("create calendar --name work --timezone America/New_York");
+    lines.add("print events on 2025-05-05");
+    lines.add("use calendar --name work");
+    for (int i = 0; i < 1500; i++) {
+      int day = 1 + i % 28;
+      String date = String.format("2025-05-%02d", day);
+      switch (i % 6) {
+        case 0:
+          lines.add("create event \"Task " + (i % 40) + "\" from " + date + "T09:00 to "
+                  + date + "T10:00");
+          break;
+        case 1:
+          lines.add("show status " + date + "T09:30");
+          break;
+        case 2:
+          lines.add("  print events on " + date + "  ");
+          break;
+        case 3:
+          lines.add("create event Broken from " + date + "T09:00 to");
+          break;
+        case 4:
+          lines.add("");
+          break;
+        default:
+          lines.add("copy events on " + date + " --target home to " + date);
+          break;
+      }
+    }
+    lines.add("create calendar --name home --timezone Europe/Paris");
+    lines.add("copy events between 2025-05-01 and 2025-05-31 --target home to 2025-06-01");
+    lines.add("EXIT");
+    lines.add("create calendar --name never --timezone UTC");
+    String script = String.join("\n", lines);
+
+    CalendarManager pipelined = new CalendarManager();
+    assertTrue(new HeadlessScriptRunner(new CalendarCommandHandler(pipelined), 3)
+            .run(new BufferedReader(new StringReader(script))));
+    String actual = output.toString();
+
+    output.reset();
+    CalendarManager sequential = new CalendarManager();
+    CalendarCommandHandler handler = new CalendarCommandHandler(sequential);
+    for (String line : lines) {
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      if (line.equalsIgnoreCase("exit")) {
+        System.out.println("Goodbye!");
+        break;
+      }
+      if (!handler.processCommand(line)) {
+        System.err.println("Command failed: " + line);
+      }
+    }
+
+    assertEquals(output.toString(), actual);
+    assertEquals(sequential.getCalendarNames(), pipelined.getCalendarNames());
+    assertEquals(sequential.getCalendar("home").getAllEvents().size(),
+            pipelined.getCalendar("home").getAllEvents().size());
+  }
+
+  /**
+   * Test a script without an exit line runs every command and reports it had no exit.
+   */
+  @Test
+  @DisplayName("Test script without exit is reported")
+  void testMissingExit() throws IOException {
+    CalendarManager manager = new CalendarManager();
+    assertFalse(new HeadlessScriptRunner(new CalendarCommandHandler(manager), 2)
+            .run(new BufferedReader(new StringReader(
+                    "create calendar --name work --timezone UTC\n\n# done\n"))));
+    assertTrue(manager.calendarExists("work"));
+    assertFalse(output.toString().contains("Goodbye!"));
+  }
+
+  /**
+   * Test a script file read from mapped memory runs as the same text read as a stream.
+   */
+  @Test
+  @DisplayName("Test script files run the same as streamed scripts")
+  void testScriptFile() throws IOException {
+    String script = "# setup\r\n"
+            + "create calendar --name work --timezone UTC\r\n"
+            + "use calendar --name work\r"
+            + "   \t\n"
+            + "create event \"Caf\u00e9 \u2615\" from 2025-05-05T09:00 to 2025-05-05T10:00\n"
+            + "  print events on 2025-05-05\n"
+            + "bogus command\n"
+            + "exit";
+    Path file = dir.resolve("script.txt");
+    Files.write(file, script.getBytes(StandardCharsets.UTF_8));
+
+    CalendarManager mapped = new CalendarManager();
+    assertTrue(new HeadlessScriptRunner(new CalendarCommandHandler(mapped), 2).run(file));
+    String actual = output.toString(StandardCharsets.UTF_8);
+
+    output.reset();
+    CalendarManager streamed = new CalendarManager();
+    assertTrue(new HeadlessScriptRunner(new CalendarCommandHandler(streamed), 2)
+            .run(new BufferedReader(new StringReader(script))));
+
+    assertEquals(output.toString(StandardCharsets.UTF_8), actual);
+    assertTrue(actual.contains("Command failed: bogus command"));
+    assertEquals("Caf\u00e9 \u2615", mapped.getCalendar("work").getAllEvents().iterator()
+            .next().getSubject());
+  }
+}
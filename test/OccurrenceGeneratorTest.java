@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+
+import model.OccurrenceGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for OccurrenceGenerator functionality.
+ */
+class OccurrenceGeneratorTest {
+
+  /**
+   * Test weekday letters are parsed into the matching days.
+   */
+  @Test
+  @DisplayName("Test parsing weekday letters")
+  void testParse() {
+    OccurrenceGenerator generator = OccurrenceGenerator.parse("MWRU");
+
+    assertEquals(EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY,
+            DayOfWeek.SUNDAY), generator.toWeekdays());
+    assertTrue(generator.matches(LocalDate.of(2025, 6, 1)));
+    assertFalse(generator.matches(LocalDate.of(2025, 6, 3)));
+    assertTrue(OccurrenceGenerator.parse("xyz").isEmpty());
+  }
+
+  /**
+   * Test next, Nth, and count agree with a day-by-day walk for every weekday mask.
+   */
+  @Test
+  @DisplayName("Test arithmetic matches a day-by-day walk")
+  void testMatchesDailyWalk() {
+    LocalDate start = LocalDate.of(2025, 1, 1);
+    for (int mask = 1; mask < 128; mask++) {
+      OccurrenceGenerator generator = new OccurrenceGenerator(mask);
+      for (int offset = 0; offset < 7; offset++) {
+        LocalDate from = start.plusDays(offset);
+        LocalDate date = from;
+        int seen = 0;
+        for (int day = 0; day < 60; day++, date = date.plusDays(1)) {
+          if (generator.matches(date)) {
+            seen++;
+            assertEquals(date, generator.nth(from, seen));
+          }
+          assertEquals(seen, generator.countBetween(from, date));
+        }
+        assertEquals(generator.nth(from, 1), generator.nextFrom(from));
+      }
+    }
+  }
+
+  /**
+   * Test multi-decade ranges and empty generators.
+   */
+  @Test
+  @DisplayName("Test long ranges and empty generators")
+  void testLongRangesAndEmpty() {
+    OccurrenceGenerator weekdays = OccurrenceGenerator.parse("MTWRF");
+
+    assertEquals(LocalDate.of(2035, 12, 31),
+            weekdays.nth(LocalDate.of(2025, 1, 1), weekdays.countBetween(
+                    LocalDate.of(2025, 1, 1), LocalDate.of(2035, 12, 31))));
+    assertEquals(0, weekdays.countBetween(LocalDate.of(2025, 1, 2),
+            LocalDate.of(2025, 1, 1)));
+    assertNull(weekdays.nth(LocalDate.of(2025, 1, 1), 0));
+    assertNull(new OccurrenceGenerator(0).nextFrom(LocalDate.of(2025, 1, 1)));
+    assertEquals(0, new OccurrenceGenerator(0).countBetween(LocalDate.of(2025, 1, 1),
+            LocalDate.of(2030, 1, 1)));
+  }
+}
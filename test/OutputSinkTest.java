@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Scanner;
+
+import controller.CalendarCommandHandler;
+import model.CalendarManager;
+import view.BufferedOutputSink;
+import view.IOutputSink;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the output sinks the command handler prints through.
+ */
+class OutputSinkTest {
+
+  /**
+   * Test a handler prints every line through the sink it is given.
+   */
+  @Test
+  @DisplayName("Test command handler output goes to its sink")
+  void testHandlerUsesSink() {
+    StringBuilder text = new StringBuilder();
+    IOutputSink sink = new IOutputSink() {
+      @Override
+      public void print(String value) {
+        text.append(value);
+      }
+
+      @Override
+      public void println(String line) {
+        text.append(line).append('\n');
+      }
+
+      @Override
+      public void flush() {
+      }
+
+      @Override
+      public IOutputSink append(CharSequence value) {
+        text.append(value);
+        return this;
+      }
+
+      @Override
+      public IOutputSink append(CharSequence value, int start, int end) {
+        text.append(value, start, end);
+        return this;
+      }
+
+      @Override
+      public IOutputSink append(char c) {
+        text.append(c);
+        return this;
+      }
+    };
+    CalendarManager manager = new CalendarManager();
+    manager.createCalendar("work", ZoneId.of("UTC"));
+    manager.useCalendar("work");
+    manager.createEvent("Standup", LocalDateTime.of(2025, 5, 5, 9, 0),
+            LocalDateTime.of(2025, 5, 5, 9, 15));
+    CalendarCommandHandler handler = new CalendarCommandHandler(manager,
+            new Scanner(""), sink);
+
+    assertTrue(handler.processCommand("print events on 2025-05-05"));
+    assertEquals("Events on 2025-05-05:\n  \u2022 Standup (May 05, 9:00 - 9:15)\n",
+            text.toString());
+  }
+
+  /**
+   * Test the buffered sink writes nothing until it is flushed.
+   */
+  @Test
+  @DisplayName("Test buffered sink holds output until flushed")
+  void testBufferedSinkHoldsOutput() {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    BufferedOutputSink sink = new BufferedOutputSink(stream);
+    sink.print("> ");
+    sink.println("busy");
+
+    assertEquals(0, stream.size());
+    sink.flush();
+    assertEquals("> busy" + System.lineSeparator(), stream.toString());
+  }
+}
@@ -0,0 +1,324 @@
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import model.WriteAheadLog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for WriteAheadLog functionality.
+ */
+class WriteAheadLogTest {
+
+  private static final List<Lock> NO_LOCKS = Collections.emptyList();
+
+  @TempDir
+  Path dir;
+
+  /**
+   * Test records with separators, escapes, and nulls survive a reopen.
+   */
+  @Test
+  @DisplayName("Test records round-trip through the log file")
+  void testRoundTrip() throws IOException {
+    Path file = dir.resolve("calendar.wal");
+    String[] record = {"event", "Tab\there", "Line\nbreak", null, "back\\slash", ""};
+    try (WriteAheadLog log = WriteAheadLog.open(file)) {
+      assertTrue(log.apply(NO_LOCKS, () -> true, false, () -> record));
+      assertFalse(log.apply(NO_LOCKS, () -> false, false, () -> new String[] {"skipped"}));
+      assertFalse(log.apply(NO_LOCKS, () -> false, true, () -> new String[] {"failed"}));
+    }
+
+    try (WriteAheadLog log = WriteAheadLog.open(file)) {
+      List<String[]> records = log.readRecords();
+      assertEquals(2, records.size());
+      assertArrayEquals(record, records.get(0));
+      assertArrayEquals(new String[] {"failed"}, records.get(1));
+    }
+  }
+
+  /**
+   * Test a torn record at the end of the file is dropped and later appends still work.
+   */
+  @Test
+  @DisplayName("Test a torn tail is truncated on open")
+  void testTornTailTruncated() throws IOException {
+    Path file = dir.resolve("calendar.wal");
+    try (WriteAheadLog log = WriteAheadLog.open(file)) {
+      log.apply(NO_LOCKS, () -> true, false, () -> new String[] {"first"});
+    }
+    long intact = Files.size(file);
+    Files.write(file, "1234abcd\tsecond, cut o".getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.APPEND);
+
+    try (WriteAheadLog log = WriteAheadLog.open(file)) {
+      assertEquals(intact, Files.size(file));
+      log.apply(NO_LOCKS, () -> true, false, () -> new String[] {"third"});
+      assertEquals(2, log.readRecords().size());
+      assertEquals("third", log.readRecords().get(1)[0]);
+    }
+  }
+
+  /**
+   * Test concurrent appends keep the order in which their mutations ran.
+   */
+  @Test
+  @DisplayName("Test concurrent appends are logged in mutation order")
+  void testConcurrentAppendsKeepOrder() throws Exception {
+    Path file = dir.resolve("calendar.wal");
+    AtomicInteger counter = new AtomicInteger();
+    ReentrantLock order = new ReentrantLock();
+    try (WriteAheadLog log = WriteAheadLog.open(file)) {
+      ExecutorService pool = Executors.newFixedThreadPool(8);
+      for (int t = 0; t < 8; t++) {
+        pool.submit(() -> {
+          for (int i = 0; i < 100; i++) {
+            int[] value = new int[1];
+            log.apply(Collections.singletonList(order), () -> {
+              value[0] = counter.incrementAndGet();
+              return true;
+            }, false, () -> new String[] {String.valueOf(value[0])});
+          }
+        });
+      }
+      pool.shutdown();
+      assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+      List<String[]> records = log.readRecords();
+      List<Integer> values = new ArrayList<>();
+      for (String[] record : records) {
+        values.add(Integer.parseInt(record[0]));
+      }
+      assertEquals(800, values.size());
+      for (int i = 0; i < values.size(); i++) {
+        assertEquals(i + 1, values.get(i));
+      }
+    }
+  }
+
+  /**
+   * Test a mutation holding one lock does not block a mutation holding another.
+   */
+  @Test
+  @DisplayName("Test mutations under different locks do not block each other")
+  void testDifferentLocksDoNotBlock() throws Exception {
+    Path file = dir.resolve("calendar.wal");
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try (WriteAheadLog log = WriteAheadLog.open(file)) {
+      ExecutorService pool = Executors.newSingleThreadExecutor();
+      Future<Boolean> slow = pool.submit(() -> log.apply(
+              Collections.singletonList(new ReentrantLock()), () -> {
+                running.countDown();
+                try {
+                  return release.await(60, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  return false;
+                }
+              }, false, () -> new String[] {"slow"}));
+      assertTrue(running.await(60, TimeUnit.SECONDS));
+      assertTrue(log.apply(Collections.singletonList(new ReentrantLock()), () -> true, false,
+              () -> new String[] {"fast"}));
+      release.countDown();
+      assertTrue(slow.get(60, TimeUnit.SECONDS));
+      pool.shutdown();
+
+      List<String[]> records = log.readRecords();
+      assertEquals("fast", records.get(0)[0]);
+      assertEquals("slow", records.get(1)[0]);
+    }
+  }
+
+  /**
+   * Test compaction replaces the log with the snapshot once past the threshold.
+   */
+  @Test
+  @DisplayName("Test compaction replaces the log with a snapshot")
+  void testCompaction() throws IOException {
+    Path file = dir.resolve("calendar.wal");
+    try (WriteAheadLog log = WriteAheadLog.open(file, 100)) {
+      for (int i = 0; i < 20; i++) {
+        log.apply(NO_LOCKS, () -> true, false, () -> new String[] {"event", "Standup"});
+      }
+      assertTrue(log.needsCompaction());
+      List<String[]> snapshot = new ArrayList<>();
+      snapshot.add(new String[] {"snapshot"});
+      log.compact(() -> snapshot);
+      assertFalse(log.needsCompaction());
+      log.apply(NO_LOCKS, () -> true, false, () -> new String[] {"after"});
+
+      List<String[]> records = log.readRecords();
+      assertEquals(2, records.size());
+      assertEquals("snapshot", records.get(0)[0]);
+      assertEquals("after", records.get(1)[0]);
+    }
+  }
+
+  /**
+   * Test a batch whose write fails part way is retried whole by the next append, and no
+   * torn bytes are left in the middle of the log.
+   */
+  @Test
+  @DisplayName("Test a failed write is cut back and retried")
+  void testFailedWriteRetried() throws Exception {
+    Path file = dir.resolve("calendar.wal");
+    try (WriteAheadLog log = WriteAheadLog.open(file)) {
+      Field channelField = WriteAheadLog.class.getDeclaredField("channel");
+      channelField.setAccessible(true);
+      FailingChannel failing = new FailingChannel((FileChannel) channelField.get(log));
+      channelField.set(log, failing);
+
+      assertTrue(log.apply(NO_LOCKS, () -> true, false, () -> new String[] {"first"}));
+      failing.failNextWrite = true;
+      assertThrows(UncheckedIOException.class,
+          () -> log.apply(NO_LOCKS, () -> true, false, () -> new String[] {"second"}));
+      assertTrue(log.apply(NO_LOCKS, () -> true, false, () -> new String[] {"third"}));
+
+      List<String[]> records = log.readRecords();
+      assertEquals(3, records.size());
+      assertEquals("first", records.get(0)[0]);
+      assertEquals("second", records.get(1)[0]);
+      assertEquals("third", records.get(2)[0]);
+      assertEquals(Files.size(file), log.size());
+    }
+  }
+
+  /**
+   * File channel that can be told to write part of the next buffer and then fail.
+   */
+  private static final class FailingChannel extends FileChannel {
+    private final FileChannel delegate;
+    private boolean failNextWrite;
+
+    FailingChannel(FileChannel delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      if (failNextWrite) {
+        failNextWrite = false;
+        ByteBuffer part = src.duplicate();
+        part.limit(part.position() + Math.min(3, part.remaining()));
+        delegate.write(part);
+        throw new IOException("Injected write failure");
+      }
+      return delegate.write(src);
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      return delegate.read(dst);
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+      return delegate.read(dsts, offset, length);
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+      return delegate.write(srcs, offset, length);
+    }
+
+    @Override
+    public long position() throws IOException {
+      return delegate.position();
+    }
+
+    @Override
+    public FileChannel position(long newPosition) throws IOException {
+      delegate.position(newPosition);
+      return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+      return delegate.size();
+    }
+
+    @Override
+    public FileChannel truncate(long size) throws IOException {
+      delegate.truncate(size);
+      return this;
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+      delegate.force(metaData);
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target)
+            throws IOException {
+      return delegate.transferTo(position, count, target);
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count)
+            throws IOException {
+      return delegate.transferFrom(src, position, count);
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+      return delegate.read(dst, position);
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) throws IOException {
+      return delegate.write(src, position);
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+      return delegate.map(mode, position, size);
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+      return delegate.lock(position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+      return delegate.tryLock(position, size, shared);
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+      delegate.close();
+    }
+  }
+}